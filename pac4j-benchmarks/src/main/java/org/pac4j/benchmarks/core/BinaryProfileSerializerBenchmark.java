@@ -0,0 +1,63 @@
+package org.pac4j.benchmarks.core;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.serializer.BinaryProfileSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link BinaryProfileSerializer} round trips of a {@link CommonProfile}
+ * (same profile as the {@link JsonSerializerBenchmark}).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryProfileSerializerBenchmark {
+
+    private BinaryProfileSerializer serializer;
+
+    private CommonProfile profile;
+
+    private String serializedProfile;
+
+    @Setup
+    public void setUp() {
+        serializer = new BinaryProfileSerializer();
+        profile = new CommonProfile();
+        profile.setId("jdoe");
+        profile.setClientName("OidcClient");
+        profile.setLinkedId("linked-jdoe");
+        profile.addAttribute("email", "jdoe@pac4j.org");
+        profile.addAttribute("first_name", "John");
+        profile.addAttribute("family_name", "Doe");
+        profile.addAttribute("groups", List.of("staff", "admins", "developers"));
+        profile.addAuthenticationAttribute("acr", "urn:mace:incommon:iap:silver");
+        profile.addRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+        serializedProfile = serializer.serializeToString(profile);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return serializer.serializeToString(profile);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserializeFromString(serializedProfile);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        val serialized = serializer.serializeToBytes(profile);
+        return serializer.deserializeFromBytes(serialized);
+    }
+}
@@ -0,0 +1,47 @@
+package org.pac4j.benchmarks.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.matching.matcher.csrf.DefaultCsrfTokenGenerator;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DefaultCsrfTokenGenerator#get(org.pac4j.core.context.WebContext, SessionStore)} with and without token rotation.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsrfTokenGeneratorBenchmark {
+
+    @Param({"true", "false"})
+    private boolean rotateTokens;
+
+    private DefaultCsrfTokenGenerator generator;
+
+    private MockWebContext context;
+
+    private SessionStore sessionStore;
+
+    @Setup
+    public void setUp() {
+        generator = new DefaultCsrfTokenGenerator();
+        generator.setRotateTokens(rotateTokens);
+        context = MockWebContext.create();
+        sessionStore = new MockSessionStore();
+        generator.get(context, sessionStore);
+    }
+
+    @Benchmark
+    public String get() {
+        return generator.get(context, sessionStore);
+    }
+}
@@ -0,0 +1,78 @@
+package org.pac4j.benchmarks.core;
+
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.matching.matcher.PathMatcher;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PathMatcher#matches(CallContext)} with large sets of excluded paths, branches and regular expressions:
+ * <code>nbRules</code> of each kind are defined. The <code>excludedPath</code>, <code>excludedBranch</code> and
+ * <code>excludedRegex</code> cases request a path matching a rule of the given kind, the <code>securedPath</code> case
+ * requests a path matching none of them (worst case).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatcherBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int nbRules;
+
+    private PathMatcher matcher;
+
+    private CallContext excludedPathCtx;
+
+    private CallContext excludedBranchCtx;
+
+    private CallContext excludedRegexCtx;
+
+    private CallContext securedPathCtx;
+
+    @Setup
+    public void setUp() {
+        matcher = new PathMatcher();
+        for (var i = 0; i < nbRules; i++) {
+            matcher.excludePath("/static/file" + i + ".css");
+            matcher.excludeBranch("/public" + i);
+            matcher.excludeRegex("^/assets" + i + "/.*\\.js$");
+        }
+        excludedPathCtx = buildContext("/static/file" + (nbRules / 2) + ".css");
+        excludedBranchCtx = buildContext("/public" + (nbRules / 2) + "/images/logo.png");
+        excludedRegexCtx = buildContext("/assets" + (nbRules / 2) + "/js/app.js");
+        securedPathCtx = buildContext("/app/secured/resource");
+    }
+
+    private static CallContext buildContext(final String path) {
+        return new CallContext(MockWebContext.create().setPath(path), new MockSessionStore());
+    }
+
+    @Benchmark
+    public boolean excludedPath() {
+        return matcher.matches(excludedPathCtx);
+    }
+
+    @Benchmark
+    public boolean excludedBranch() {
+        return matcher.matches(excludedBranchCtx);
+    }
+
+    @Benchmark
+    public boolean excludedRegex() {
+        return matcher.matches(excludedRegexCtx);
+    }
+
+    @Benchmark
+    public boolean securedPath() {
+        return matcher.matches(securedPathCtx);
+    }
+}
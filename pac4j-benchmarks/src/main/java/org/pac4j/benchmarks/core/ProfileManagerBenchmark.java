@@ -0,0 +1,60 @@
+package org.pac4j.benchmarks.core;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileManager;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ProfileManager#getProfiles()} with one or several profiles saved in the session.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileManagerBenchmark {
+
+    @Param({"1", "5"})
+    private int nbProfiles;
+
+    private SessionStore sessionStore;
+
+    private ProfileManager manager;
+
+    @Setup
+    public void setUp() {
+        sessionStore = new MockSessionStore();
+        val context = MockWebContext.create();
+        val initManager = new ProfileManager(context, sessionStore);
+        for (var i = 0; i < nbProfiles; i++) {
+            val profile = new CommonProfile();
+            profile.setId("user" + i);
+            profile.setClientName("client" + i);
+            profile.addAttribute("email", "user" + i + "@pac4j.org");
+            profile.addRole("user");
+            initManager.save(true, profile, true);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newRequest() {
+        manager = new ProfileManager(MockWebContext.create(), sessionStore);
+    }
+
+    @Benchmark
+    public List<UserProfile> getProfiles() {
+        return manager.getProfiles();
+    }
+}
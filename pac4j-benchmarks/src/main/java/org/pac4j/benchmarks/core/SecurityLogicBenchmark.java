@@ -0,0 +1,78 @@
+package org.pac4j.benchmarks.core;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.client.direct.AnonymousClient;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.engine.DefaultSecurityLogic;
+import org.pac4j.core.engine.SecurityGrantedAccessAdapter;
+import org.pac4j.core.matching.matcher.PathMatcher;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileManager;
+import org.pac4j.core.profile.factory.ProfileManagerFactory;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DefaultSecurityLogic#perform(Config, SecurityGrantedAccessAdapter, String, String, String, FrameworkParameters)}:
+ * <code>session</code> loads an authenticated profile from the session, <code>direct</code> authenticates a direct client on each request.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityLogicBenchmark {
+
+    private static final FrameworkParameters PARAMETERS = new FrameworkParameters() {};
+
+    private static final SecurityGrantedAccessAdapter GRANTED = (context, sessionStore, profiles) -> profiles;
+
+    @Param({"session", "direct"})
+    private String scenario;
+
+    private Config config;
+
+    private SessionStore sessionStore;
+
+    private DefaultSecurityLogic logic;
+
+    private MockWebContext context;
+
+    @Setup
+    public void setUp() {
+        logic = new DefaultSecurityLogic();
+        config = new Config(new AnonymousClient());
+        config.addMatcher("excluded", new PathMatcher().excludePaths("/css", "/js", "/img").excludeBranch("/public"));
+        config.setProfileManagerFactory(ProfileManagerFactory.DEFAULT);
+        config.setHttpActionAdapter((action, ctx) -> action);
+        sessionStore = new MockSessionStore();
+        config.setSessionStoreFactory(p -> sessionStore);
+        config.setWebContextFactory(p -> context);
+        if ("session".equals(scenario)) {
+            val profile = new CommonProfile();
+            profile.setId("jdoe");
+            profile.setClientName(AnonymousClient.class.getSimpleName());
+            profile.addRole("admin");
+            new ProfileManager(MockWebContext.create(), sessionStore).save(true, profile, false);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newRequest() {
+        context = MockWebContext.create().setPath("/protected/resource");
+    }
+
+    @Benchmark
+    public Object perform() {
+        return logic.perform(config, GRANTED, "AnonymousClient", "isAuthenticated", "+excluded", PARAMETERS);
+    }
+}
@@ -0,0 +1,82 @@
+package org.pac4j.benchmarks.jwt;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.jwt.config.encryption.SecretEncryptionConfiguration;
+import org.pac4j.jwt.config.signature.RSASignatureConfiguration;
+import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.jwt.profile.JwtGenerator;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JwtAuthenticator#validate(CallContext, Credentials)} for plain, HS256, RS256 and encrypted (dir/A256GCM + HS256) JWTs.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticatorBenchmark {
+
+    @Param({"plain", "HS256", "RS256", "encrypted"})
+    private String tokenType;
+
+    private JwtAuthenticator authenticator;
+
+    private String token;
+
+    private CallContext ctx;
+
+    @Setup
+    public void setUp() {
+        val generator = new JwtGenerator();
+        authenticator = new JwtAuthenticator();
+        switch (tokenType) {
+            case "plain" -> {
+            }
+            case "HS256" -> {
+                val signature = new SecretSignatureConfiguration(JwtBenchmarkSupport.SIGNING_SECRET, JWSAlgorithm.HS256);
+                generator.setSignatureConfiguration(signature);
+                authenticator.addSignatureConfiguration(signature);
+            }
+            case "RS256" -> {
+                val signature = new RSASignatureConfiguration(JwtBenchmarkSupport.buildRsaKeyPair(), JWSAlgorithm.RS256);
+                generator.setSignatureConfiguration(signature);
+                authenticator.addSignatureConfiguration(signature);
+            }
+            case "encrypted" -> {
+                val signature = new SecretSignatureConfiguration(JwtBenchmarkSupport.SIGNING_SECRET, JWSAlgorithm.HS256);
+                val encryption = new SecretEncryptionConfiguration(JwtBenchmarkSupport.ENCRYPTION_SECRET, JWEAlgorithm.DIR,
+                    EncryptionMethod.A256GCM);
+                generator.setSignatureConfiguration(signature);
+                generator.setEncryptionConfiguration(encryption);
+                authenticator.addSignatureConfiguration(signature);
+                authenticator.addEncryptionConfiguration(encryption);
+            }
+            default -> throw new IllegalArgumentException("Unsupported token type: " + tokenType);
+        }
+        token = generator.generate(JwtBenchmarkSupport.buildProfile());
+        ctx = new CallContext(MockWebContext.create(), new MockSessionStore());
+        authenticator.init();
+    }
+
+    @Benchmark
+    public Optional<Credentials> validate() {
+        return authenticator.validate(ctx, new TokenCredentials(token));
+    }
+}
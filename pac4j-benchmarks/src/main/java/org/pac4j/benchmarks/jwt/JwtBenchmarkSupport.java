@@ -0,0 +1,45 @@
+package org.pac4j.benchmarks.jwt;
+
+import lombok.val;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Common material for the JWT benchmarks.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+final class JwtBenchmarkSupport {
+
+    static final String SIGNING_SECRET = "12345678901234567890123456789012";
+
+    static final String ENCRYPTION_SECRET = "abcdefghijklmnopqrstuvwxyz012345";
+
+    private JwtBenchmarkSupport() {}
+
+    static KeyPair buildRsaKeyPair() {
+        try {
+            val keyGen = KeyPairGenerator.getInstance("RSA");
+            keyGen.initialize(2048);
+            return keyGen.generateKeyPair();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    static CommonProfile buildProfile() {
+        val profile = new CommonProfile();
+        profile.setId("jdoe");
+        profile.addAttribute("email", "jdoe@pac4j.org");
+        profile.addAttribute("name", "John Doe");
+        profile.addAttribute("groups", List.of("staff", "admins"));
+        profile.addRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+        return profile;
+    }
+}
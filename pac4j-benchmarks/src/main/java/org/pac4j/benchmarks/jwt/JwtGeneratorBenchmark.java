@@ -0,0 +1,47 @@
+package org.pac4j.benchmarks.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.jwt.config.signature.RSASignatureConfiguration;
+import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
+import org.pac4j.jwt.profile.JwtGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link JwtGenerator#generate(org.pac4j.core.profile.UserProfile)} with HS256 and RS256 signatures.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtGeneratorBenchmark {
+
+    @Param({"HS256", "RS256"})
+    private String algorithm;
+
+    private JwtGenerator generator;
+
+    private CommonProfile profile;
+
+    @Setup
+    public void setUp() {
+        if ("RS256".equals(algorithm)) {
+            generator = new JwtGenerator(new RSASignatureConfiguration(JwtBenchmarkSupport.buildRsaKeyPair(), JWSAlgorithm.RS256));
+        } else {
+            generator = new JwtGenerator(new SecretSignatureConfiguration(JwtBenchmarkSupport.SIGNING_SECRET, JWSAlgorithm.HS256));
+        }
+        profile = JwtBenchmarkSupport.buildProfile();
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate(profile);
+    }
+}
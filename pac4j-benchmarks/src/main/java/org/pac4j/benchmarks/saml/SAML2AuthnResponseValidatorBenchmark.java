@@ -0,0 +1,109 @@
+package org.pac4j.benchmarks.saml;
+
+import lombok.val;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.core.SubjectConfirmation;
+import org.opensaml.saml.saml2.metadata.AssertionConsumerService;
+import org.openjdk.jmh.annotations.*;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.config.SAML2Configuration;
+import org.pac4j.saml.context.SAML2MessageContext;
+import org.pac4j.saml.util.Configuration;
+import org.pac4j.saml.util.ExcludingParametersURIComparator;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link org.pac4j.saml.sso.impl.SAML2AuthnResponseValidator#validate(SAML2MessageContext)} on a sample response,
+ * including the build of the signature trust engine (the signatures themselves are not verified).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SAML2AuthnResponseValidatorBenchmark {
+
+    private static final String ACS_URL = "https://auth.izslt.it/cas/login?client_name=idptest";
+
+    private SAML2Client client;
+
+    private byte[] responseXml;
+
+    private SAML2MessageContext context;
+
+    @Setup
+    public void setUp() throws IOException {
+        val workDir = Files.createTempDirectory("pac4j-benchmarks");
+        val cfg = new SAML2Configuration(new FileSystemResource(workDir.resolve("samlKeystore.jks").toFile()),
+            "pac4j-demo-passwd", "pac4j-demo-passwd", new ClassPathResource("saml/testshib-providers.xml"));
+        cfg.setServiceProviderEntityId("urn:mace:saml:pac4j.org");
+        cfg.setServiceProviderMetadataResource(new FileSystemResource(workDir.resolve("sp-metadata.xml").toFile()));
+        cfg.setForceServiceProviderMetadataGeneration(true);
+        cfg.setForceKeystoreGeneration(true);
+        cfg.setMaximumAuthenticationLifetime(3600);
+        cfg.setWantsAssertionsSigned(false);
+        cfg.setWantsResponsesSigned(false);
+        cfg.setAllSignatureValidationDisabled(true);
+        cfg.setUriComparator(new ExcludingParametersURIComparator());
+
+        client = new SAML2Client(cfg);
+        client.setCallbackUrl(ACS_URL);
+        client.init();
+
+        try (InputStream is = new ClassPathResource("saml/sample_authn_response.xml").getInputStream()) {
+            responseXml = is.readAllBytes();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newResponse() throws Exception {
+        // a new response (new identifiers and instants) for each validation to pass the replay checks
+        val response = (Response) XMLObjectSupport.unmarshallFromInputStream(Configuration.getParserPool(),
+            new ByteArrayInputStream(responseXml));
+        val now = Instant.now();
+        response.setSignature(null);
+        response.setID("_" + UUID.randomUUID());
+        response.setIssueInstant(now);
+        response.getAssertions().forEach(assertion -> {
+            assertion.setSignature(null);
+            assertion.setID("_" + UUID.randomUUID());
+            assertion.setIssueInstant(now);
+            val confirmation = assertion.getSubject().getSubjectConfirmations().get(0);
+            confirmation.setMethod(SubjectConfirmation.METHOD_BEARER);
+            confirmation.getSubjectConfirmationData().setNotOnOrAfter(now.plusSeconds(60));
+            assertion.getConditions().setNotOnOrAfter(now.plusSeconds(60));
+            assertion.getAuthnStatements().forEach(authnStatement -> authnStatement.setAuthnInstant(now));
+        });
+
+        context = new SAML2MessageContext(new CallContext(MockWebContext.create(), new MockSessionStore()));
+        context.setSaml2Configuration(client.getConfiguration());
+        context.getMessageContext().setMessage(response);
+        context.getSAMLSelfEntityContext().setEntityId("https://auth.izslt.it");
+        val endpoint = (AssertionConsumerService) XMLObjectSupport.buildXMLObject(AssertionConsumerService.DEFAULT_ELEMENT_NAME);
+        endpoint.setLocation(ACS_URL);
+        context.getSAMLEndpointContext().setEndpoint(endpoint);
+    }
+
+    @Benchmark
+    public Credentials validate() {
+        return client.getAuthnResponseValidator().validate(context);
+    }
+}
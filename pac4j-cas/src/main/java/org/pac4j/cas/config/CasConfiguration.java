@@ -9,6 +9,7 @@ import org.apereo.cas.client.validation.*;
 import org.pac4j.cas.client.CasProxyReceptor;
 import org.pac4j.cas.store.ProxyGrantingTicketStore;
 import org.pac4j.core.client.config.BaseClientConfiguration;
+import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.http.url.DefaultUrlResolver;
@@ -96,6 +97,17 @@ public class CasConfiguration extends BaseClientConfiguration {
 
     private SSLSocketFactory sslSocketFactory;
 
+    /** Whether the ticket validator is kept between the validations when it does not depend on the request. */
+    private boolean cacheTicketValidator = true;
+
+    /** Whether the connections to the CAS server are kept alive (and reused) between the ticket validations. */
+    private boolean keepAliveConnections = true;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile CachedTicketValidator cachedTicketValidator;
+
     /**
      * <p>Constructor for CasConfiguration.</p>
      */
@@ -149,6 +161,8 @@ public class CasConfiguration extends BaseClientConfiguration {
             algo = Objects.requireNonNullElse(privateKeyAlgorithm, "RSA");
             this.privateKey = PrivateKeyUtils.createKey(privateKeyPath, algo);
         }
+
+        cachedTicketValidator = null;
     }
 
     /**
@@ -173,7 +187,12 @@ public class CasConfiguration extends BaseClientConfiguration {
     }
 
     /**
-     * <p>retrieveTicketValidator.</p>
+     * Retrieve the ticket validator: the default one if defined, otherwise the one built for the protocol.
+     *
+     * The built ticket validator is kept (until the next (re)initialization) only if it does not depend on the request:
+     * the prefix URL must be absolute and resolved by the {@link DefaultUrlResolver} and no proxy receptor must be defined.
+     * Otherwise, as the prefix URL or the proxy callback URL may be computed from the request (like its <code>Host</code> header),
+     * a new ticket validator is built for each validation.
      *
      * @param context a {@link WebContext} object
      * @return a {@link TicketValidator} object
@@ -181,22 +200,51 @@ public class CasConfiguration extends BaseClientConfiguration {
     public TicketValidator retrieveTicketValidator(final WebContext context) {
         if (this.defaultTicketValidator != null) {
             return this.defaultTicketValidator;
+        }
+        init();
+        if (!cacheTicketValidator || !hasStaticTicketValidator()) {
+            return buildTicketValidator(context);
+        }
+        val cached = this.cachedTicketValidator;
+        if (cached != null && cached.protocol() == this.protocol) {
+            return cached.ticketValidator();
+        }
+        val ticketValidator = buildTicketValidator(context);
+        this.cachedTicketValidator = new CachedTicketValidator(this.protocol, ticketValidator);
+        return ticketValidator;
+    }
+
+    /**
+     * Whether the ticket validator does not depend on the request.
+     *
+     * @return whether the ticket validator can be reused for all the requests
+     */
+    protected boolean hasStaticTicketValidator() {
+        return this.proxyReceptor == null && this.urlResolver != null && this.urlResolver.getClass() == DefaultUrlResolver.class
+            && this.prefixUrl != null && this.prefixUrl.startsWith(HttpConstants.SCHEME_HTTP);
+    }
+
+    /**
+     * <p>buildTicketValidator.</p>
+     *
+     * @param context a {@link WebContext} object
+     * @return a new {@link TicketValidator} object for the protocol
+     */
+    protected TicketValidator buildTicketValidator(final WebContext context) {
+        if (this.protocol == CasProtocol.CAS10) {
+            return buildCas10TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS20) {
+            return buildCas20TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS20_PROXY) {
+            return buildCas20ProxyTicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS30) {
+            return buildCas30TicketValidator(context);
+        } else if (this.protocol == CasProtocol.CAS30_PROXY) {
+            return buildCas30ProxyTicketValidator(context);
+        } else if (this.protocol == CasProtocol.SAML) {
+            return buildSAMLTicketValidator(context);
         } else {
-            if (this.protocol == CasProtocol.CAS10) {
-                return buildCas10TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS20) {
-                return buildCas20TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS20_PROXY) {
-                return buildCas20ProxyTicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS30) {
-                return buildCas30TicketValidator(context);
-            } else if (this.protocol == CasProtocol.CAS30_PROXY) {
-                return buildCas30ProxyTicketValidator(context);
-            } else if (this.protocol == CasProtocol.SAML) {
-                return buildSAMLTicketValidator(context);
-            } else {
-                throw new TechnicalException("Unable to initialize the TicketValidator for protocol: " + this.protocol);
-            }
+            throw new TechnicalException("Unable to initialize the TicketValidator for protocol: " + this.protocol);
         }
     }
 
@@ -373,7 +421,7 @@ public class CasConfiguration extends BaseClientConfiguration {
     }
 
     private Optional<HttpURLConnectionFactory> getHttpURLConnectionFactory() {
-        if (this.sslSocketFactory == null && this.hostnameVerifier == null) {
+        if (this.sslSocketFactory == null && this.hostnameVerifier == null && !this.keepAliveConnections) {
             return Optional.empty();
         }
         HttpURLConnectionFactory factory = new HttpURLConnectionFactory() {
@@ -390,9 +438,14 @@ public class CasConfiguration extends BaseClientConfiguration {
                         httpsConnection.setHostnameVerifier(getHostnameVerifier());
                     }
                 }
+                if (isKeepAliveConnections()) {
+                    return new KeepAliveHttpURLConnection((HttpURLConnection) conn);
+                }
                 return (HttpURLConnection) conn;
             }
         };
         return Optional.of(factory);
     }
+
+    private record CachedTicketValidator(CasProtocol protocol, TicketValidator ticketValidator) {}
 }
@@ -0,0 +1,330 @@
+package org.pac4j.cas.config;
+
+import lombok.val;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.security.Permission;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A HTTP connection which keeps the underlying connection alive when it is disconnected after a complete read:
+ * the CAS client always disconnects after reading the validation response, which closes the connection
+ * instead of giving it back to the keep-alive cache of the JDK.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class KeepAliveHttpURLConnection extends HttpURLConnection {
+
+    private final HttpURLConnection delegate;
+
+    private TrackingInputStream inputStream;
+
+    /**
+     * <p>Constructor for KeepAliveHttpURLConnection.</p>
+     *
+     * @param delegate the real connection
+     */
+    public KeepAliveHttpURLConnection(final HttpURLConnection delegate) {
+        super(delegate.getURL());
+        this.delegate = delegate;
+    }
+
+    /**
+     * Only close the connection if the response has not been completely read: the connection is in the keep-alive cache
+     * once its input stream has been read until its end and closed.
+     */
+    @Override
+    public void disconnect() {
+        val stream = inputStream;
+        if (stream == null || !stream.fullyRead()) {
+            delegate.disconnect();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        var stream = inputStream;
+        if (stream == null) {
+            stream = new TrackingInputStream(delegate.getInputStream());
+            inputStream = stream;
+        }
+        return stream;
+    }
+
+    @Override
+    public void connect() throws IOException {
+        delegate.connect();
+    }
+
+    @Override
+    public boolean usingProxy() {
+        return delegate.usingProxy();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return delegate.getOutputStream();
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return delegate.getErrorStream();
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        return delegate.getResponseCode();
+    }
+
+    @Override
+    public String getResponseMessage() throws IOException {
+        return delegate.getResponseMessage();
+    }
+
+    @Override
+    public String getHeaderField(final int n) {
+        return delegate.getHeaderField(n);
+    }
+
+    @Override
+    public String getHeaderFieldKey(final int n) {
+        return delegate.getHeaderFieldKey(n);
+    }
+
+    @Override
+    public String getHeaderField(final String name) {
+        return delegate.getHeaderField(name);
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaderFields() {
+        return delegate.getHeaderFields();
+    }
+
+    @Override
+    public long getHeaderFieldDate(final String name, final long defaultValue) {
+        return delegate.getHeaderFieldDate(name, defaultValue);
+    }
+
+    @Override
+    public int getHeaderFieldInt(final String name, final int defaultValue) {
+        return delegate.getHeaderFieldInt(name, defaultValue);
+    }
+
+    @Override
+    public long getHeaderFieldLong(final String name, final long defaultValue) {
+        return delegate.getHeaderFieldLong(name, defaultValue);
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return delegate.getContentEncoding();
+    }
+
+    @Override
+    public int getContentLength() {
+        return delegate.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return delegate.getContentLengthLong();
+    }
+
+    @Override
+    public long getDate() {
+        return delegate.getDate();
+    }
+
+    @Override
+    public long getExpiration() {
+        return delegate.getExpiration();
+    }
+
+    @Override
+    public long getLastModified() {
+        return delegate.getLastModified();
+    }
+
+    @Override
+    public Permission getPermission() throws IOException {
+        return delegate.getPermission();
+    }
+
+    @Override
+    public void setRequestMethod(final String method) throws ProtocolException {
+        delegate.setRequestMethod(method);
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return delegate.getRequestMethod();
+    }
+
+    @Override
+    public void setRequestProperty(final String key, final String value) {
+        delegate.setRequestProperty(key, value);
+    }
+
+    @Override
+    public void addRequestProperty(final String key, final String value) {
+        delegate.addRequestProperty(key, value);
+    }
+
+    @Override
+    public String getRequestProperty(final String key) {
+        return delegate.getRequestProperty(key);
+    }
+
+    @Override
+    public Map<String, List<String>> getRequestProperties() {
+        return delegate.getRequestProperties();
+    }
+
+    @Override
+    public void setDoInput(final boolean doInput) {
+        delegate.setDoInput(doInput);
+    }
+
+    @Override
+    public boolean getDoInput() {
+        return delegate.getDoInput();
+    }
+
+    @Override
+    public void setDoOutput(final boolean doOutput) {
+        delegate.setDoOutput(doOutput);
+    }
+
+    @Override
+    public boolean getDoOutput() {
+        return delegate.getDoOutput();
+    }
+
+    @Override
+    public void setUseCaches(final boolean useCaches) {
+        delegate.setUseCaches(useCaches);
+    }
+
+    @Override
+    public boolean getUseCaches() {
+        return delegate.getUseCaches();
+    }
+
+    @Override
+    public void setAllowUserInteraction(final boolean allowUserInteraction) {
+        delegate.setAllowUserInteraction(allowUserInteraction);
+    }
+
+    @Override
+    public boolean getAllowUserInteraction() {
+        return delegate.getAllowUserInteraction();
+    }
+
+    @Override
+    public void setIfModifiedSince(final long ifModifiedSince) {
+        delegate.setIfModifiedSince(ifModifiedSince);
+    }
+
+    @Override
+    public long getIfModifiedSince() {
+        return delegate.getIfModifiedSince();
+    }
+
+    @Override
+    public void setConnectTimeout(final int timeout) {
+        delegate.setConnectTimeout(timeout);
+    }
+
+    @Override
+    public int getConnectTimeout() {
+        return delegate.getConnectTimeout();
+    }
+
+    @Override
+    public void setReadTimeout(final int timeout) {
+        delegate.setReadTimeout(timeout);
+    }
+
+    @Override
+    public int getReadTimeout() {
+        return delegate.getReadTimeout();
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(final boolean followRedirects) {
+        delegate.setInstanceFollowRedirects(followRedirects);
+    }
+
+    @Override
+    public boolean getInstanceFollowRedirects() {
+        return delegate.getInstanceFollowRedirects();
+    }
+
+    @Override
+    public void setFixedLengthStreamingMode(final int contentLength) {
+        delegate.setFixedLengthStreamingMode(contentLength);
+    }
+
+    @Override
+    public void setFixedLengthStreamingMode(final long contentLength) {
+        delegate.setFixedLengthStreamingMode(contentLength);
+    }
+
+    @Override
+    public void setChunkedStreamingMode(final int chunkLength) {
+        delegate.setChunkedStreamingMode(chunkLength);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private static final class TrackingInputStream extends FilterInputStream {
+
+        private boolean ended;
+
+        private boolean closed;
+
+        private TrackingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            val c = super.read();
+            ended |= c < 0;
+            return c;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            val n = super.read(b, off, len);
+            ended |= n < 0;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            closed = true;
+        }
+
+        private boolean fullyRead() {
+            return ended && closed;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.pac4j.cas.config;
+
+import lombok.val;
+import org.apereo.cas.client.validation.Cas20ServiceTicketValidator;
+import org.apereo.cas.client.validation.Cas30ServiceTicketValidator;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.http.url.DefaultUrlResolver;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.util.TestsConstants;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link CasConfiguration}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class CasConfigurationTests implements TestsConstants {
+
+    private static final String PREFIX_URL = "http://myserver/";
+
+    @Test
+    public void testTicketValidatorReused() {
+        val configuration = new CasConfiguration(LOGIN_URL, PREFIX_URL);
+        val context = MockWebContext.create();
+
+        val validator = configuration.retrieveTicketValidator(context);
+        assertTrue(validator instanceof Cas30ServiceTicketValidator);
+        assertSame(validator, configuration.retrieveTicketValidator(context));
+
+        configuration.setProtocol(CasProtocol.CAS20);
+        val cas20Validator = configuration.retrieveTicketValidator(context);
+        assertEquals(Cas20ServiceTicketValidator.class, cas20Validator.getClass());
+        assertSame(cas20Validator, configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorNotCachedForRelativePrefixUrl() {
+        val configuration = new CasConfiguration(LOGIN_URL, "/cas");
+        configuration.setUrlResolver(new DefaultUrlResolver(true));
+        val context = MockWebContext.create();
+        context.setServerName("host1");
+
+        val validator = configuration.retrieveTicketValidator(context);
+        assertNotSame(validator, configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorNotCachedForCustomUrlResolver() {
+        val configuration = new CasConfiguration(LOGIN_URL, PREFIX_URL);
+        configuration.setUrlResolver((url, context) -> url);
+        val context = MockWebContext.create();
+
+        assertNotSame(configuration.retrieveTicketValidator(context), configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorRebuiltOnReinit() {
+        val configuration = new CasConfiguration(LOGIN_URL, PREFIX_URL);
+        val context = MockWebContext.create();
+
+        val validator = configuration.retrieveTicketValidator(context);
+        configuration.init(true);
+        assertNotSame(validator, configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testTicketValidatorCacheDisabled() {
+        val configuration = new CasConfiguration(LOGIN_URL, PREFIX_URL);
+        configuration.setCacheTicketValidator(false);
+        val context = MockWebContext.create();
+
+        assertNotSame(configuration.retrieveTicketValidator(context), configuration.retrieveTicketValidator(context));
+    }
+
+    @Test
+    public void testKeepAliveConnection() throws IOException {
+        val delegate = mock(HttpURLConnection.class);
+        when(delegate.getURL()).thenReturn(new URL(PREFIX_URL));
+        when(delegate.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        val connection = new KeepAliveHttpURLConnection(delegate);
+        try (val stream = connection.getInputStream()) {
+            assertEquals(-1, stream.read());
+        }
+        connection.disconnect();
+        verify(delegate, never()).disconnect();
+    }
+
+    @Test
+    public void testKeepAliveConnectionNotFullyRead() throws IOException {
+        val delegate = mock(HttpURLConnection.class);
+        when(delegate.getURL()).thenReturn(new URL(PREFIX_URL));
+        when(delegate.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[] {1, 2}));
+
+        val connection = new KeepAliveHttpURLConnection(delegate);
+        connection.getInputStream().close();
+        connection.disconnect();
+        verify(delegate).disconnect();
+    }
+
+    @Test
+    public void testKeepAliveConnectionNotClosed() throws IOException {
+        val delegate = mock(HttpURLConnection.class);
+        when(delegate.getURL()).thenReturn(new URL(PREFIX_URL));
+        when(delegate.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        val connection = new KeepAliveHttpURLConnection(delegate);
+        assertEquals(-1, connection.getInputStream().read());
+        connection.disconnect();
+        verify(delegate).disconnect();
+    }
+
+    @Test
+    public void testKeepAliveConnectionFailure() throws IOException {
+        val delegate = mock(HttpURLConnection.class);
+        when(delegate.getURL()).thenReturn(new URL(PREFIX_URL));
+        when(delegate.getInputStream()).thenThrow(new IOException());
+
+        val connection = new KeepAliveHttpURLConnection(delegate);
+        assertThrows(IOException.class, connection::getInputStream);
+        connection.disconnect();
+        verify(delegate).disconnect();
+    }
+}
@@ -0,0 +1,159 @@
+package org.pac4j.config.ldaptive;
+
+import lombok.Getter;
+import lombok.val;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.LdapException;
+import org.ldaptive.PooledConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A LDAP connection pool, shared by the DN resolver, entry resolver and authentication handlers of an authenticator,
+ * which exposes its statistics for monitoring. It can be closed several times (once per user), only the first call closes it.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public class LdapConnectionPool implements ConnectionFactory {
+
+    @Getter
+    private final PooledConnectionFactory pooledConnectionFactory;
+
+    private final LongAdder checkouts = new LongAdder();
+
+    private final LongAdder failedCheckouts = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * <p>Constructor for LdapConnectionPool.</p>
+     *
+     * @param pooledConnectionFactory the underlying (initialized) pool
+     */
+    public LdapConnectionPool(final PooledConnectionFactory pooledConnectionFactory) {
+        this.pooledConnectionFactory = pooledConnectionFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Connection getConnection() throws LdapException {
+        val start = System.nanoTime();
+        try {
+            val connection = pooledConnectionFactory.getConnection();
+            checkouts.increment();
+            return connection;
+        } catch (final LdapException | RuntimeException e) {
+            failedCheckouts.increment();
+            throw e;
+        } finally {
+            val wait = System.nanoTime() - start;
+            waitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ConnectionConfig getConnectionConfig() {
+        return pooledConnectionFactory.getConnectionConfig();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            pooledConnectionFactory.close();
+        }
+    }
+
+    /**
+     * <p>isClosed.</p>
+     *
+     * @return whether the pool has been closed
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * <p>getActiveCount.</p>
+     *
+     * @return the number of connections currently checked out
+     */
+    public int getActiveCount() {
+        return pooledConnectionFactory.activeCount();
+    }
+
+    /**
+     * <p>getIdleCount.</p>
+     *
+     * @return the number of connections available in the pool
+     */
+    public int getIdleCount() {
+        return pooledConnectionFactory.availableCount();
+    }
+
+    /**
+     * <p>getCheckouts.</p>
+     *
+     * @return the number of successful checkouts
+     */
+    public long getCheckouts() {
+        return checkouts.sum();
+    }
+
+    /**
+     * <p>getFailedCheckouts.</p>
+     *
+     * @return the number of failed checkouts (pool exhausted after the block wait time, connection errors...)
+     */
+    public long getFailedCheckouts() {
+        return failedCheckouts.sum();
+    }
+
+    /**
+     * <p>getTotalWaitTime.</p>
+     *
+     * @return the total time spent waiting for a connection
+     */
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    /**
+     * <p>getMaxWaitTime.</p>
+     *
+     * @return the longest time spent waiting for a connection
+     */
+    public Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitNanos.get());
+    }
+
+    /**
+     * <p>getAverageWaitTime.</p>
+     *
+     * @return the average time spent waiting for a connection
+     */
+    public Duration getAverageWaitTime() {
+        val count = checkouts.sum() + failedCheckouts.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(waitNanos.sum() / count);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "LdapConnectionPool(ldapUrl=" + getConnectionConfig().getLdapUrl() + ", active=" + getActiveCount()
+            + ", idle=" + getIdleCount() + ", checkouts=" + getCheckouts() + ", failedCheckouts=" + getFailedCheckouts()
+            + ", averageWaitTime=" + getAverageWaitTime() + ", maxWaitTime=" + getMaxWaitTime() + ")";
+    }
+}
@@ -19,6 +19,11 @@ import org.ldaptive.ssl.SslConfig;
 import org.ldaptive.ssl.X509CredentialConfig;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Copy/pasted from CAS server v5.0.4: Beans + LdapAuthenticationConfiguration classes, only the Ldaptive stuffs are kept.
@@ -28,6 +33,9 @@ import java.time.Duration;
 @Slf4j
 public class LdaptiveAuthenticatorBuilder {
 
+    /** The connection pools of the built authenticators, released with them. */
+    private static final Map<Authenticator, ConnectionPools> AUTHENTICATOR_POOLS = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * <p>Constructor for LdaptiveAuthenticatorBuilder.</p>
      */
@@ -45,58 +53,86 @@ public class LdaptiveAuthenticatorBuilder {
     /**
      * <p>getAuthenticator.</p>
      *
+     * The connection pools are created for the returned authenticator and shared by its DN resolver, entry resolver
+     * and authentication handler: they are closed by {@link Authenticator#close()}.
+     *
      * @param l a {@link LdapAuthenticationProperties} object
      * @return a {@link Authenticator} object
      */
     public static Authenticator getAuthenticator(final LdapAuthenticationProperties l) {
+        val pools = new ConnectionPools(l);
+        try {
+            val authenticator = getAuthenticator(l, pools);
+            AUTHENTICATOR_POOLS.put(authenticator, pools);
+            return authenticator;
+        } catch (final RuntimeException e) {
+            pools.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Return the connection pools (search pool first, then the bind pool if it is a dedicated one) of an authenticator
+     * built by {@link #getAuthenticator(LdapAuthenticationProperties)}, to monitor their statistics.
+     *
+     * @param authenticator the authenticator
+     * @return the connection pools (empty if the authenticator has not been built by this builder)
+     */
+    public static List<LdapConnectionPool> getConnectionPools(final Authenticator authenticator) {
+        val pools = AUTHENTICATOR_POOLS.get(authenticator);
+        return pools == null ? List.of() : pools.list();
+    }
+
+    private static Authenticator getAuthenticator(final LdapAuthenticationProperties l, final ConnectionPools pools) {
         if (l.getType() == LdapAuthenticationProperties.AuthenticationTypes.AD) {
             LOGGER.debug("Creating active directory authenticator for {}", l.getLdapUrl());
-            return getActiveDirectoryAuthenticator(l);
+            return getActiveDirectoryAuthenticator(l, pools);
         }
         if (l.getType() == LdapAuthenticationProperties.AuthenticationTypes.DIRECT) {
             LOGGER.debug("Creating direct-bind authenticator for {}", l.getLdapUrl());
-            return getDirectBindAuthenticator(l);
+            return getDirectBindAuthenticator(l, pools);
         }
         if (l.getType() == LdapAuthenticationProperties.AuthenticationTypes.SASL) {
             LOGGER.debug("Creating SASL authenticator for {}", l.getLdapUrl());
-            return getSaslAuthenticator(l);
+            return getSaslAuthenticator(l, pools);
         }
         if (l.getType() == LdapAuthenticationProperties.AuthenticationTypes.AUTHENTICATED) {
             LOGGER.debug("Creating authenticated authenticator for {}", l.getLdapUrl());
-            return getAuthenticatedOrAnonSearchAuthenticator(l);
+            return getAuthenticatedOrAnonSearchAuthenticator(l, pools);
         }
 
         LOGGER.debug("Creating anonymous authenticator for {}", l.getLdapUrl());
-        return getAuthenticatedOrAnonSearchAuthenticator(l);
+        return getAuthenticatedOrAnonSearchAuthenticator(l, pools);
     }
 
-    private static Authenticator getSaslAuthenticator(final LdapAuthenticationProperties l) {
+    private static Authenticator getSaslAuthenticator(final LdapAuthenticationProperties l, final ConnectionPools pools) {
         val resolver = new SearchDnResolver();
         resolver.setBaseDn(l.getBaseDn());
         resolver.setSubtreeSearch(l.isSubtreeSearch());
         resolver.setAllowMultipleDns(l.isAllowMultipleDns());
-        resolver.setConnectionFactory(newPooledConnectionFactory(l));
+        resolver.setConnectionFactory(pools.getSearchPool());
         resolver.setUserFilter(l.getUserFilter());
-        return new Authenticator(resolver, getPooledBindAuthenticationHandler(l));
+        return new Authenticator(resolver, getPooledBindAuthenticationHandler(pools));
     }
 
-    private static Authenticator getAuthenticatedOrAnonSearchAuthenticator(final LdapAuthenticationProperties l) {
+    private static Authenticator getAuthenticatedOrAnonSearchAuthenticator(final LdapAuthenticationProperties l,
+                                                                           final ConnectionPools pools) {
         val resolver = new SearchDnResolver();
         resolver.setBaseDn(l.getBaseDn());
         resolver.setSubtreeSearch(l.isSubtreeSearch());
         resolver.setAllowMultipleDns(l.isAllowMultipleDns());
-        resolver.setConnectionFactory(newPooledConnectionFactory(l));
+        resolver.setConnectionFactory(pools.getSearchPool());
         resolver.setUserFilter(l.getUserFilter());
 
         final Authenticator auth;
         if (StringUtils.isBlank(l.getPrincipalAttributePassword())) {
-            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(l));
+            auth = new Authenticator(resolver, getPooledBindAuthenticationHandler(pools));
         } else {
-            auth = new Authenticator(resolver, getPooledCompareAuthenticationHandler(l));
+            auth = new Authenticator(resolver, getPooledCompareAuthenticationHandler(l, pools));
         }
 
         if (l.isEnhanceWithEntryResolver()) {
-            auth.setEntryResolver(newSearchEntryResolver(l));
+            auth.setEntryResolver(newSearchEntryResolver(l, pools.getSearchPool()));
         }
 
         if (l.isEnablePasswordPolicy()) {
@@ -107,15 +143,15 @@ public class LdaptiveAuthenticatorBuilder {
         return auth;
     }
 
-    private static Authenticator getDirectBindAuthenticator(final LdapAuthenticationProperties l) {
+    private static Authenticator getDirectBindAuthenticator(final LdapAuthenticationProperties l, final ConnectionPools pools) {
         if (StringUtils.isBlank(l.getDnFormat())) {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for direct bind authentication");
         }
         val resolver = new FormatDnResolver(l.getDnFormat());
-        val authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l));
+        val authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(pools));
 
         if (l.isEnhanceWithEntryResolver()) {
-            authenticator.setEntryResolver(newSearchEntryResolver(l));
+            authenticator.setEntryResolver(newSearchEntryResolver(l, pools.getSearchPool()));
         }
 
         if (l.isEnablePasswordPolicy()) {
@@ -126,15 +162,15 @@ public class LdaptiveAuthenticatorBuilder {
         return authenticator;
     }
 
-    private static Authenticator getActiveDirectoryAuthenticator(final LdapAuthenticationProperties l) {
+    private static Authenticator getActiveDirectoryAuthenticator(final LdapAuthenticationProperties l, final ConnectionPools pools) {
         if (StringUtils.isBlank(l.getDnFormat())) {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for active directory authentication");
         }
         val resolver = new FormatDnResolver(l.getDnFormat());
-        val authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l));
+        val authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(pools));
 
         if (l.isEnhanceWithEntryResolver()) {
-            authn.setEntryResolver(newSearchEntryResolver(l));
+            authn.setEntryResolver(newSearchEntryResolver(l, pools.getSearchPool()));
         }
 
         if (l.isEnablePasswordPolicy()) {
@@ -143,12 +179,13 @@ public class LdaptiveAuthenticatorBuilder {
         return authn;
     }
 
-    private static SimpleBindAuthenticationHandler getPooledBindAuthenticationHandler(final LdapAuthenticationProperties l) {
-        return new SimpleBindAuthenticationHandler(newPooledConnectionFactory(l));
+    private static SimpleBindAuthenticationHandler getPooledBindAuthenticationHandler(final ConnectionPools pools) {
+        return new SimpleBindAuthenticationHandler(pools.getBindPool());
     }
 
-    private static CompareAuthenticationHandler getPooledCompareAuthenticationHandler(final LdapAuthenticationProperties l) {
-        val handler = new CompareAuthenticationHandler(newPooledConnectionFactory(l));
+    private static CompareAuthenticationHandler getPooledCompareAuthenticationHandler(final LdapAuthenticationProperties l,
+                                                                                      final ConnectionPools pools) {
+        val handler = new CompareAuthenticationHandler(pools.getSearchPool());
         handler.setPasswordAttribute(l.getPrincipalAttributePassword());
         return handler;
     }
@@ -164,15 +201,25 @@ public class LdaptiveAuthenticatorBuilder {
     /**
      * New dn resolver entry resolver.
      *
+     * The entry resolver uses a new connection pool which is owned by the caller: it must be closed via
+     * <code>((SearchEntryResolver) resolver).getConnectionFactory().close()</code>.
+     *
      * @param l the ldap settings
      * @return the entry resolver
+     * @deprecated use {@link #getAuthenticator(LdapAuthenticationProperties)} with
+     * {@link LdapAuthenticationProperties#isEnhanceWithEntryResolver()}: its entry resolver shares the pools of the authenticator
      */
+    @Deprecated
     public static EntryResolver newSearchEntryResolver(final LdapAuthenticationProperties l) {
+        return newSearchEntryResolver(l, new LdapConnectionPool(newPooledConnectionFactory(l)));
+    }
+
+    private static EntryResolver newSearchEntryResolver(final LdapAuthenticationProperties l, final LdapConnectionPool pool) {
         val entryResolver = new SearchEntryResolver();
         entryResolver.setBaseDn(l.getBaseDn());
         entryResolver.setUserFilter(l.getUserFilter());
         entryResolver.setSubtreeSearch(l.isSubtreeSearch());
-        entryResolver.setConnectionFactory(newPooledConnectionFactory(l));
+        entryResolver.setConnectionFactory(pool);
         return entryResolver;
     }
 
@@ -234,6 +281,15 @@ public class LdaptiveAuthenticatorBuilder {
         return cc;
     }
 
+    private static boolean isBindConnectionReusable(final AbstractLdapProperties l) {
+        if (StringUtils.isBlank(l.getPoolPassivator())) {
+            return false;
+        }
+        val passivator = AbstractLdapProperties.LdapConnectionPoolPassivator.valueOf(l.getPoolPassivator().toUpperCase());
+        return passivator == AbstractLdapProperties.LdapConnectionPoolPassivator.BIND
+            || passivator == AbstractLdapProperties.LdapConnectionPoolPassivator.CLOSE;
+    }
+
     /**
      * New pooled connection factory.
      *
@@ -353,5 +409,59 @@ public class LdaptiveAuthenticatorBuilder {
             .build());
         return operation;
     }
-}
 
+    /**
+     * The connection pools of an authenticator, created on first use: the search (and compare) pool and the bind pool.
+     * The bind pool is the search pool if the connections are restored when they are returned to the pool
+     * (bind or close passivator), a dedicated pool otherwise as a connection bound by a user cannot be reused for the searches.
+     */
+    private static final class ConnectionPools {
+
+        private final AbstractLdapProperties properties;
+
+        private LdapConnectionPool searchPool;
+
+        private LdapConnectionPool bindPool;
+
+        private ConnectionPools(final AbstractLdapProperties properties) {
+            this.properties = properties;
+        }
+
+        private LdapConnectionPool getSearchPool() {
+            if (searchPool == null) {
+                searchPool = new LdapConnectionPool(newPooledConnectionFactory(properties));
+            }
+            return searchPool;
+        }
+
+        private LdapConnectionPool getBindPool() {
+            if (isBindConnectionReusable(properties)) {
+                return getSearchPool();
+            }
+            if (bindPool == null) {
+                bindPool = new LdapConnectionPool(newPooledConnectionFactory(properties));
+            }
+            return bindPool;
+        }
+
+        private List<LdapConnectionPool> list() {
+            final List<LdapConnectionPool> pools = new ArrayList<>(2);
+            if (searchPool != null) {
+                pools.add(searchPool);
+            }
+            if (bindPool != null) {
+                pools.add(bindPool);
+            }
+            return Collections.unmodifiableList(pools);
+        }
+
+        private void close() {
+            if (searchPool != null) {
+                searchPool.close();
+            }
+            if (bindPool != null) {
+                bindPool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.pac4j.config.ldaptive;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.Credential;
+import org.ldaptive.auth.AuthenticationRequest;
+import org.ldaptive.auth.SearchDnResolver;
+import org.ldaptive.auth.SearchEntryResolver;
+import org.ldaptive.auth.SimpleBindAuthenticationHandler;
+import org.pac4j.test.ldap.LdapServer;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.pac4j.test.ldap.LdapServer.*;
+
+/**
+ * Tests {@link LdaptiveAuthenticatorBuilder}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class LdaptiveAuthenticatorBuilderTests implements TestsConstants {
+
+    private LdapServer ldapServer;
+
+    private LdapAuthenticationProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        ldapServer = new LdapServer();
+        ldapServer.start();
+        properties = new LdapAuthenticationProperties();
+        properties.setType(LdapAuthenticationProperties.AuthenticationTypes.ANONYMOUS);
+        properties.setLdapUrl("ldap://localhost:" + ldapServer.getPort());
+        properties.setBaseDn(BASE_PEOPLE_DN);
+        properties.setUserFilter(CN + "={user}");
+        properties.setMinPoolSize(1);
+        properties.setMaxPoolSize(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ldapServer.stop();
+    }
+
+    @Test
+    public void testSearchPoolShared() throws Exception {
+        val authenticator = LdaptiveAuthenticatorBuilder.getAuthenticator(properties);
+        try {
+            val pool = (LdapConnectionPool) ((SearchDnResolver) authenticator.getDnResolver()).getConnectionFactory();
+            assertSame(pool, ((SearchEntryResolver) authenticator.getEntryResolver()).getConnectionFactory());
+            val bindPool = (LdapConnectionPool)
+                ((SimpleBindAuthenticationHandler) authenticator.getAuthenticationHandler()).getConnectionFactory();
+            // a connection bound by a user must not be used for the searches
+            assertNotSame(pool, bindPool);
+
+            assertEquals(List.of(pool, bindPool), LdaptiveAuthenticatorBuilder.getConnectionPools(authenticator));
+
+            val response = authenticator.authenticate(new AuthenticationRequest(GOOD_USERNAME, new Credential(PASSWORD)));
+            assertTrue(response.isSuccess());
+            assertEquals(2, pool.getCheckouts());
+            assertEquals(0, pool.getFailedCheckouts());
+            assertEquals(0, pool.getActiveCount());
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(1, bindPool.getCheckouts());
+        } finally {
+            authenticator.close();
+        }
+    }
+
+    @Test
+    public void testSinglePoolWithPassivator() {
+        properties.setPoolPassivator("close");
+
+        val authenticator = LdaptiveAuthenticatorBuilder.getAuthenticator(properties);
+        try {
+            val pool = ((SearchDnResolver) authenticator.getDnResolver()).getConnectionFactory();
+            assertSame(pool, ((SimpleBindAuthenticationHandler) authenticator.getAuthenticationHandler()).getConnectionFactory());
+        } finally {
+            authenticator.close();
+        }
+    }
+
+    @Test
+    public void testPoolsNotSharedBetweenAuthenticators() {
+        val authenticator = LdaptiveAuthenticatorBuilder.getAuthenticator(properties);
+        val authenticator2 = LdaptiveAuthenticatorBuilder.getAuthenticator(properties);
+        try {
+            assertNotSame(((SearchDnResolver) authenticator.getDnResolver()).getConnectionFactory(),
+                ((SearchDnResolver) authenticator2.getDnResolver()).getConnectionFactory());
+        } finally {
+            authenticator.close();
+            authenticator2.close();
+        }
+    }
+
+    @Test
+    public void testPoolsClosedWithAuthenticator() {
+        val authenticator = LdaptiveAuthenticatorBuilder.getAuthenticator(properties);
+        val pool = (LdapConnectionPool) ((SearchDnResolver) authenticator.getDnResolver()).getConnectionFactory();
+        val bindPool = (LdapConnectionPool)
+            ((SimpleBindAuthenticationHandler) authenticator.getAuthenticationHandler()).getConnectionFactory();
+
+        authenticator.close();
+        assertTrue(pool.isClosed());
+        assertTrue(bindPool.isClosed());
+    }
+}
@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.matching.matcher.csrf.HmacCsrfTokenGenerator;
 import org.pac4j.core.profile.UserProfile;
 import org.pac4j.core.util.Pac4jConstants;
 
@@ -35,6 +36,8 @@ public class CsrfAuthorizer implements Authorizer {
 
     private boolean checkAllRequests = false;
 
+    private HmacCsrfTokenGenerator hmacCsrfTokenGenerator;
+
     /**
      * <p>Constructor for CsrfAuthorizer.</p>
      */
@@ -64,6 +67,15 @@ public class CsrfAuthorizer implements Authorizer {
         this.checkAllRequests = checkAllRequests;
     }
 
+    /**
+     * <p>Constructor for CsrfAuthorizer (stateless tokens).</p>
+     *
+     * @param hmacCsrfTokenGenerator the generator of the signed tokens to check
+     */
+    public CsrfAuthorizer(final HmacCsrfTokenGenerator hmacCsrfTokenGenerator) {
+        this.hmacCsrfTokenGenerator = hmacCsrfTokenGenerator;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean isAuthorized(final WebContext context, final SessionStore sessionStore, final List<UserProfile> profiles) {
@@ -73,6 +85,11 @@ public class CsrfAuthorizer implements Authorizer {
             val headerToken = context.getRequestHeader(headerName).orElse(null);
             LOGGER.debug("parameterToken: {}", parameterToken);
             LOGGER.debug("headerToken: {}", headerToken);
+            if (hmacCsrfTokenGenerator != null) {
+                // stateless tokens: no session read or write
+                return hmacCsrfTokenGenerator.isValid(context, sessionStore, parameterToken)
+                    | hmacCsrfTokenGenerator.isValid(context, sessionStore, headerToken);
+            }
             val sessionPreviousToken = sessionStore.get(context, Pac4jConstants.PREVIOUS_CSRF_TOKEN);
             val sessionToken = sessionStore.get(context, Pac4jConstants.CSRF_TOKEN);
             val sessionDate = sessionStore.get(context, Pac4jConstants.CSRF_TOKEN_EXPIRATION_DATE);
@@ -31,4 +31,16 @@ public interface AuthorizationChecker {
      */
     boolean isAuthorized(WebContext context, SessionStore sessionStore, List<UserProfile> profiles, String authorizerNames,
                          Map<String, Authorizer> authorizersMap, List<Client> clients);
+
+    /**
+     * Bind this authorization checker to the given authorizers, so that the names are resolved only once.
+     *
+     * @param authorizerNames the authorizers
+     * @param authorizersMap the map of authorizers
+     * @return the compiled authorization checker
+     */
+    default CompiledAuthorizationChecker compile(final String authorizerNames, final Map<String, Authorizer> authorizersMap) {
+        return (context, sessionStore, profiles, clients) ->
+            isAuthorized(context, sessionStore, profiles, authorizerNames, authorizersMap, clients);
+    }
 }
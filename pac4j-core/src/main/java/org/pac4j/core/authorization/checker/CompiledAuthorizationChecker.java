@@ -0,0 +1,29 @@
+package org.pac4j.core.authorization.checker;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.UserProfile;
+
+import java.util.List;
+
+/**
+ * An authorization checker bound to a given authorizers definition.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface CompiledAuthorizationChecker {
+
+    /**
+     * Check whether the user is authorized.
+     *
+     * @param context the web context
+     * @param sessionStore the session store
+     * @param profiles the profile
+     * @param clients the clients
+     * @return whether the user is authorized.
+     */
+    boolean isAuthorized(WebContext context, SessionStore sessionStore, List<UserProfile> profiles, List<Client> clients);
+}
@@ -14,6 +14,7 @@ import org.pac4j.core.util.Pac4jConstants;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -48,6 +49,56 @@ public class DefaultAuthorizationChecker implements AuthorizationChecker {
         return isAuthorized(context, sessionStore, profiles, authorizers);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The authorizers are resolved once: when the default authorizers apply,
+     * only the types of the current clients are checked per request.
+     * If a subclass overrides {@link #computeAuthorizers(WebContext, List, String, Map, List)},
+     * {@link #computeDefaultAuthorizers(WebContext, List, List, Map)} or
+     * {@link #isAuthorized(WebContext, SessionStore, List, String, Map, List)}, these methods are called for each request instead.
+     */
+    @Override
+    public CompiledAuthorizationChecker compile(final String authorizersValue, final Map<String, Authorizer> authorizersMap) {
+        if (overridesRequestMethods()) {
+            return AuthorizationChecker.super.compile(authorizersValue, authorizersMap);
+        }
+        if (StringUtils.isBlank(authorizersValue) || authorizersValue.trim().startsWith(Pac4jConstants.ADD_ELEMENT)) {
+            final List<Authorizer> additionalAuthorizers = StringUtils.isBlank(authorizersValue) ? List.of()
+                : computeAuthorizersFromNames(StringUtils.substringAfter(authorizersValue, Pac4jConstants.ADD_ELEMENT), authorizersMap);
+            val csrfAuthorizer = retrieveAuthorizer(DefaultAuthorizers.CSRF_CHECK, authorizersMap);
+            val isAuthenticatedAuthorizer = retrieveAuthorizer(DefaultAuthorizers.IS_AUTHENTICATED, authorizersMap);
+            // all the combinations of the default authorizers, indexed by: (csrf check ? 2 : 0) + (is authenticated ? 1 : 0)
+            final List<List<Authorizer>> variants = new ArrayList<>(4);
+            for (var i = 0; i < 4; i++) {
+                final List<Authorizer> authorizers = new ArrayList<>();
+                if ((i & 2) != 0) {
+                    authorizers.add(csrfAuthorizer);
+                }
+                if ((i & 1) != 0) {
+                    authorizers.add(isAuthenticatedAuthorizer);
+                }
+                authorizers.addAll(additionalAuthorizers);
+                variants.add(Collections.unmodifiableList(authorizers));
+            }
+            return (context, sessionStore, profiles, clients) -> {
+                val index = (containsClientType(clients, IndirectClient.class) ? 2 : 0)
+                    + (containsClientType(clients, AnonymousClient.class) ? 0 : 1);
+                return isAuthorized(context, sessionStore, profiles, variants.get(index));
+            };
+        }
+        val authorizers = Collections.unmodifiableList(computeAuthorizersFromNames(authorizersValue, authorizersMap));
+        return (context, sessionStore, profiles, clients) -> isAuthorized(context, sessionStore, profiles, authorizers);
+    }
+
+    private boolean overridesRequestMethods() {
+        val base = DefaultAuthorizationChecker.class;
+        return isOverridden(this, base, "computeAuthorizers", WebContext.class, List.class, String.class, Map.class, List.class)
+            || isOverridden(this, base, "computeDefaultAuthorizers", WebContext.class, List.class, List.class, Map.class)
+            || isOverridden(this, base, "isAuthorized", WebContext.class, SessionStore.class, List.class, String.class, Map.class,
+            List.class);
+    }
+
     /**
      * <p>computeAuthorizers.</p>
      *
@@ -3,10 +3,10 @@ package org.pac4j.core.authorization.generator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
-import lombok.val;
 import org.pac4j.core.context.CallContext;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.profile.service.BatchingLinkedProfileFinder;
 import org.pac4j.core.profile.service.ProfileService;
 import org.pac4j.core.util.CommonHelper;
 
@@ -25,6 +25,9 @@ public class LoadLinkedUserAuthorizationGenerator implements AuthorizationGenera
 
     private ProfileService profileService;
 
+    /* if defined, the concurrent lookups are batched by this finder instead of calling the profile service for each one */
+    private BatchingLinkedProfileFinder linkedProfileFinder;
+
     private boolean failIfLinkedUserNotFound = true;
 
     /**
@@ -41,12 +44,25 @@ public class LoadLinkedUserAuthorizationGenerator implements AuthorizationGenera
         this.profileService = profileService;
     }
 
+    /**
+     * <p>Constructor for LoadLinkedUserAuthorizationGenerator (with batched lookups).</p>
+     *
+     * @param linkedProfileFinder a {@link BatchingLinkedProfileFinder} object
+     */
+    public LoadLinkedUserAuthorizationGenerator(final BatchingLinkedProfileFinder linkedProfileFinder) {
+        this.linkedProfileFinder = linkedProfileFinder;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<UserProfile> generate(final CallContext ctx, final UserProfile profile) {
-        CommonHelper.assertNotNull("profileService", profileService);
-
-        val linkedProfile = profileService.findByLinkedId(profile.getId());
+        final UserProfile linkedProfile;
+        if (linkedProfileFinder != null) {
+            linkedProfile = linkedProfileFinder.findByLinkedId(profile.getId());
+        } else {
+            CommonHelper.assertNotNull("profileService", profileService);
+            linkedProfile = profileService.findByLinkedId(profile.getId());
+        }
 
         if (linkedProfile != null) {
             return Optional.ofNullable(linkedProfile);
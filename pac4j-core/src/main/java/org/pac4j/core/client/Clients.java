@@ -1,5 +1,6 @@
 package org.pac4j.core.client;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -14,11 +15,13 @@ import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.InitializableObject;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>This class is made to group multiple clients, generally on one callback url.</p>
  *
- * <p>Clients can be changed at any time.</p>
+ * <p>Clients can be changed at any time, through the setters or the list returned by {@link #getClients()}.
+ * Changes made directly to a list given to {@link #setClients(List)} are not detected.</p>
  *
  * @author Jerome Leleu
  * @since 1.3.0
@@ -29,11 +32,17 @@ import java.util.*;
 @ToString
 public class Clients extends InitializableObject {
 
-    private volatile List<Client> clients = new ArrayList<>();
+    private volatile List<Client> clients = new VersionedClients(new ArrayList<>());
 
-    private Map<String, Client> clientsMap;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLong version = new AtomicLong();
 
-    private volatile Integer oldClientsHash;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile ClientsSnapshot snapshot;
 
     private String callbackUrl;
 
@@ -100,7 +109,17 @@ public class Clients extends InitializableObject {
             return true;
         }
 
-        return oldClientsHash == null || oldClientsHash.intValue() != clients.hashCode();
+        return !isUpToDate(snapshot);
+    }
+
+    /**
+     * Check if the snapshot has been built for the current version of the clients.
+     *
+     * @param snapshot the snapshot
+     * @return whether the snapshot is up to date
+     */
+    private boolean isUpToDate(final ClientsSnapshot snapshot) {
+        return snapshot != null && snapshot.version() == version.get();
     }
 
     /**
@@ -111,8 +130,9 @@ public class Clients extends InitializableObject {
      */
     @Override
     protected void internalInit(final boolean forceReinit) {
-        clientsMap = new HashMap<>();
-        for (val client : this.clients) {
+        val currentVersion = version.get();
+        final Map<String, Client> clientsMap = new HashMap<>();
+        for (val client : this.clients.toArray(new Client[0])) {
             val name = client.getName();
             CommonHelper.assertNotBlank("name", name);
             val lowerTrimmedName = name.toLowerCase().trim();
@@ -139,7 +159,7 @@ public class Clients extends InitializableObject {
                 baseClient.addAuthorizationGenerators(this.authorizationGenerators);
             }
         }
-        this.oldClientsHash = this.clients.hashCode();
+        this.snapshot = new ClientsSnapshot(currentVersion, Map.copyOf(clientsMap));
     }
 
     /**
@@ -150,9 +170,24 @@ public class Clients extends InitializableObject {
      */
     public Optional<Client> findClient(final String name) {
         CommonHelper.assertNotBlank("name", name);
-        init();
+        var currentSnapshot = this.snapshot;
+        if (!isUpToDate(currentSnapshot)) {
+            // the previous snapshot remains in use while another thread builds the new one
+            init();
+            currentSnapshot = this.snapshot;
+            if (currentSnapshot == null) {
+                LOGGER.debug("Clients not initialized yet, no client found for name: {}", name);
+                return Optional.empty();
+            }
+        }
 
-        val foundClient = clientsMap.get(name.toLowerCase().trim());
+        var foundClient = currentSnapshot.clientsMap().get(name);
+        if (foundClient == null) {
+            val lowerTrimmedName = name.toLowerCase().trim();
+            if (!lowerTrimmedName.equals(name)) {
+                foundClient = currentSnapshot.clientsMap().get(lowerTrimmedName);
+            }
+        }
         LOGGER.debug("Found client: {} for name: {}", foundClient, name);
         return Optional.ofNullable(foundClient);
     }
@@ -184,7 +219,8 @@ public class Clients extends InitializableObject {
      */
     public void setClients(final List<Client> clients) {
         CommonHelper.assertNotNull("clients", clients);
-        this.clients = clients;
+        this.clients = new VersionedClients(clients instanceof VersionedClients versioned ? versioned.delegate : clients);
+        this.version.incrementAndGet();
     }
 
     /**
@@ -197,6 +233,26 @@ public class Clients extends InitializableObject {
         setClients(new ArrayList<>(Arrays.asList(clients)));
     }
 
+    /**
+     * <p>Setter for the field <code>defaultSecurityClients</code>.</p>
+     *
+     * @param defaultSecurityClients a {@link String} object
+     */
+    public void setDefaultSecurityClients(final String defaultSecurityClients) {
+        this.defaultSecurityClients = defaultSecurityClients;
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Return the version of the clients: it changes each time the clients or the default security clients are updated
+     * through the setters or the list returned by {@link #getClients()}.
+     *
+     * @return the version of the clients
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * <p>Setter for the field <code>authorizationGenerators</code>.</p>
      *
@@ -235,4 +291,51 @@ public class Clients extends InitializableObject {
         CommonHelper.assertNotNull("authorizationGenerator", authorizationGenerator);
         this.authorizationGenerators.add(authorizationGenerator);
     }
+
+    /**
+     * Immutable view of the initialized clients, indexed by their normalized (lower-cased and trimmed) names.
+     */
+    private record ClientsSnapshot(long version, Map<String, Client> clientsMap) {}
+
+    /**
+     * List of clients increasing the version of the clients on each change.
+     */
+    private final class VersionedClients extends AbstractList<Client> implements RandomAccess {
+
+        private final List<Client> delegate;
+
+        private VersionedClients(final List<Client> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Client get(final int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Client set(final int index, final Client client) {
+            val previous = delegate.set(index, client);
+            version.incrementAndGet();
+            return previous;
+        }
+
+        @Override
+        public void add(final int index, final Client client) {
+            delegate.add(index, client);
+            version.incrementAndGet();
+        }
+
+        @Override
+        public Client remove(final int index) {
+            val previous = delegate.remove(index);
+            version.incrementAndGet();
+            return previous;
+        }
+    }
 }
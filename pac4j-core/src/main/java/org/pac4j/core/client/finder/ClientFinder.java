@@ -24,4 +24,15 @@ public interface ClientFinder {
      * @return a {@link List} object
      */
     List<Client> find(Clients clients, WebContext context, String clientNames);
+
+    /**
+     * Bind this client finder to the given clients and client names, so that the names are resolved only once.
+     *
+     * @param clients the clients
+     * @param clientNames the client names
+     * @return the compiled client finder
+     */
+    default CompiledClientFinder compile(final Clients clients, final String clientNames) {
+        return context -> find(clients, context, clientNames);
+    }
 }
@@ -0,0 +1,24 @@
+package org.pac4j.core.client.finder;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.WebContext;
+
+import java.util.List;
+
+/**
+ * A client finder bound to a given set of clients and client names.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface CompiledClientFinder {
+
+    /**
+     * Find the clients for the current request.
+     *
+     * @param context the web context
+     * @return the found clients (a new list the caller can modify)
+     */
+    List<Client> find(WebContext context);
+}
@@ -12,7 +12,6 @@ import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.Pac4jConstants;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,23 +33,9 @@ public class DefaultSecurityClientFinder implements ClientFinder {
     public List<Client> find(final Clients clients, final WebContext context, final String clientNames) {
         final List<Client> result = new ArrayList<>();
 
-        var securityClientNames = clientNames;
-        // we don't have defined clients to secure the URL, use the general default security ones from the Clients if they exist
-        // we check the nullity and not the blankness to allow the blank string to mean no client
-        // so no clients parameter -> use the default security ones; clients=blank string -> no clients defined
-        LOGGER.debug("Provided clientNames: {}", securityClientNames);
-        if (securityClientNames == null) {
-            securityClientNames = clients.getDefaultSecurityClients();
-            LOGGER.debug("Default security clients: {}", securityClientNames);
-            // still no clients defined and we only have one client, use it
-            if (securityClientNames == null && clients.findAllClients().size() == 1) {
-                securityClientNames = clients.getClients().get(0).getName();
-                LOGGER.debug("Only client: {}", securityClientNames);
-            }
-        }
-
+        val securityClientNames = computeSecurityClientNames(clients, clientNames);
         if (StringUtils.isNotBlank(securityClientNames)) {
-            val names = Arrays.asList(securityClientNames.split(Pac4jConstants.ELEMENT_SEPARATOR));
+            val names = securityClientNames.split(Pac4jConstants.ELEMENT_SEPARATOR);
             val clientOnRequest = context.getRequestParameter(clientNameParameter);
 
             // if a client is provided on the request, get the client
@@ -58,17 +43,7 @@ public class DefaultSecurityClientFinder implements ClientFinder {
             LOGGER.debug("clientNameOnRequest: {}", clientOnRequest);
             if (clientOnRequest.isPresent()) {
                 // from the request
-                val client = clients.findClient(clientOnRequest.get());
-                if (client.isPresent()) {
-                    val nameFound = client.get().getName();
-                    // if allowed -> return it
-                    for (val name : names) {
-                        if (CommonHelper.areEqualsIgnoreCaseAndTrim(name, nameFound)) {
-                            result.add(client.get());
-                            break;
-                        }
-                    }
-                }
+                result.addAll(findRequestedClient(clients, names, clientOnRequest.get()));
             } else {
                 // no client provided, return all
                 for (val name : names) {
@@ -83,4 +58,85 @@ public class DefaultSecurityClientFinder implements ClientFinder {
         LOGGER.debug("result: {}", result.stream().map(Client::getName).collect(Collectors.toList()));
         return result;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The client names are resolved once: only the client requested via the {@link #clientNameParameter} is looked up per request.
+     * As for {@link #find(Clients, WebContext, String)}, a new mutable list is returned for each request.
+     * If a subclass overrides {@link #find(Clients, WebContext, String)}, it is called for each request instead.
+     */
+    @Override
+    public CompiledClientFinder compile(final Clients clients, final String clientNames) {
+        if (CommonHelper.isOverridden(this, DefaultSecurityClientFinder.class, "find", Clients.class, WebContext.class, String.class)) {
+            return ClientFinder.super.compile(clients, clientNames);
+        }
+        val securityClientNames = computeSecurityClientNames(clients, clientNames);
+        if (StringUtils.isBlank(securityClientNames)) {
+            return context -> new ArrayList<>();
+        }
+
+        val names = securityClientNames.split(Pac4jConstants.ELEMENT_SEPARATOR);
+        final List<Client> allowedClients = new ArrayList<>();
+        for (val name : names) {
+            clients.findClient(name).ifPresent(allowedClients::add);
+        }
+        LOGGER.debug("Compiled clients: {} for names: {}", allowedClients, securityClientNames);
+
+        return context -> {
+            val clientOnRequest = context.getRequestParameter(clientNameParameter);
+            if (clientOnRequest.isPresent()) {
+                LOGGER.debug("clientNameOnRequest: {}", clientOnRequest);
+                return new ArrayList<>(findRequestedClient(clients, names, clientOnRequest.get()));
+            }
+            return new ArrayList<>(allowedClients);
+        };
+    }
+
+    /**
+     * Compute the names of the clients to use for security.
+     *
+     * @param clients the clients
+     * @param clientNames the client names
+     * @return the client names to use
+     */
+    protected String computeSecurityClientNames(final Clients clients, final String clientNames) {
+        var securityClientNames = clientNames;
+        // we don't have defined clients to secure the URL, use the general default security ones from the Clients if they exist
+        // we check the nullity and not the blankness to allow the blank string to mean no client
+        // so no clients parameter -> use the default security ones; clients=blank string -> no clients defined
+        LOGGER.debug("Provided clientNames: {}", securityClientNames);
+        if (securityClientNames == null) {
+            securityClientNames = clients.getDefaultSecurityClients();
+            LOGGER.debug("Default security clients: {}", securityClientNames);
+            // still no clients defined and we only have one client, use it
+            if (securityClientNames == null && clients.findAllClients().size() == 1) {
+                securityClientNames = clients.getClients().get(0).getName();
+                LOGGER.debug("Only client: {}", securityClientNames);
+            }
+        }
+        return securityClientNames;
+    }
+
+    /**
+     * Find the client requested on the request if it is allowed (defined in the list of the client names).
+     *
+     * @param clients the clients
+     * @param names the allowed client names
+     * @param clientOnRequest the client name provided on the request
+     * @return the requested client if it is allowed
+     */
+    protected List<Client> findRequestedClient(final Clients clients, final String[] names, final String clientOnRequest) {
+        val client = clients.findClient(clientOnRequest);
+        if (client.isPresent()) {
+            val nameFound = client.get().getName();
+            // if allowed -> return it
+            for (val name : names) {
+                if (CommonHelper.areEqualsIgnoreCaseAndTrim(name, nameFound)) {
+                    return List.of(client.get());
+                }
+            }
+        }
+        return List.of();
+    }
 }
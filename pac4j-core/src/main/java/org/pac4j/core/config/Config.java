@@ -16,11 +16,13 @@ import org.pac4j.core.logout.handler.DefaultSessionLogoutHandler;
 import org.pac4j.core.logout.handler.SessionLogoutHandler;
 import org.pac4j.core.matching.matcher.Matcher;
 import org.pac4j.core.profile.factory.ProfileManagerFactory;
+import org.pac4j.core.profile.renewal.ProfileRenewer;
 import org.pac4j.core.util.CommonHelper;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The configuration with clients, authorizers, matchers, etc.
@@ -59,6 +61,11 @@ public class Config {
 
     private SessionLogoutHandler sessionLogoutHandler = DEFAULT_SESSION_LOGOUT_HANDLER;
 
+    private ProfileRenewer profileRenewer = ProfileRenewer.DEFAULT;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong version = new AtomicLong();
+
     /**
      * <p>Constructor for Config.</p>
      */
@@ -231,6 +238,7 @@ public class Config {
     public Config setClients(final Clients clients) {
         this.clients = clients;
         setConfigForClients();
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -243,6 +251,7 @@ public class Config {
     public Config addClient(final Client client) {
         this.clients.addClient(client);
         setConfigForClients();
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -255,6 +264,7 @@ public class Config {
     public Config setAuthorizer(final Authorizer authorizer) {
         CommonHelper.assertNotNull("authorizer", authorizer);
         this.authorizers.put(authorizer.getClass().getSimpleName(), authorizer);
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -267,6 +277,7 @@ public class Config {
     public Config setAuthorizers(final Map<String, Authorizer> authorizers) {
         CommonHelper.assertNotNull("authorizers", authorizers);
         this.authorizers = authorizers;
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -279,6 +290,7 @@ public class Config {
      */
     public Config addAuthorizer(final String name, final Authorizer authorizer) {
         authorizers.put(name, authorizer);
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -291,6 +303,7 @@ public class Config {
     public Config setMatcher(final Matcher matcher) {
         CommonHelper.assertNotNull("matcher", matcher);
         this.matchers.put(matcher.getClass().getSimpleName(), matcher);
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -303,6 +316,7 @@ public class Config {
     public Config setMatchers(final Map<String, Matcher> matchers) {
         CommonHelper.assertNotNull("matchers", matchers);
         this.matchers = matchers;
+        this.version.incrementAndGet();
         return this;
     }
 
@@ -315,9 +329,20 @@ public class Config {
      */
     public Config addMatcher(final String name, final Matcher matcher) {
         matchers.put(name, matcher);
+        this.version.incrementAndGet();
         return this;
     }
 
+    /**
+     * Return the version of the configuration: it changes each time the clients, authorizers or matchers
+     * are updated through this configuration.
+     *
+     * @return the version of the configuration
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * <p>Setter for the field <code>securityLogic</code>.</p>
      *
@@ -29,6 +29,9 @@ public interface HttpConstants {
     /** Constant <code>SEE_OTHER=303</code> */
     int SEE_OTHER = 303;
 
+    /** Constant <code>NOT_MODIFIED=304</code> */
+    int NOT_MODIFIED = 304;
+
     /** Constant <code>TEMPORARY_REDIRECT=307</code> */
     int TEMPORARY_REDIRECT = 307;
 
@@ -114,4 +117,16 @@ public interface HttpConstants {
 
     /** Constant <code>ACCESS_CONTROL_ALLOW_HEADERS_HEADER="Access-Control-Allow-Headers"</code> */
     String ACCESS_CONTROL_ALLOW_HEADERS_HEADER = "Access-Control-Allow-Headers";
+
+    /** Constant <code>ETAG_HEADER="ETag"</code> */
+    String ETAG_HEADER = "ETag";
+
+    /** Constant <code>LAST_MODIFIED_HEADER="Last-Modified"</code> */
+    String LAST_MODIFIED_HEADER = "Last-Modified";
+
+    /** Constant <code>IF_NONE_MATCH_HEADER="If-None-Match"</code> */
+    String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    /** Constant <code>IF_MODIFIED_SINCE_HEADER="If-Modified-Since"</code> */
+    String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
 }
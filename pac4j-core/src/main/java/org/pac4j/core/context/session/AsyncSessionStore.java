@@ -0,0 +1,190 @@
+package org.pac4j.core.context.session;
+
+import lombok.val;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of the {@link SessionStore} (for example, for a session saved in a remote cache).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public interface AsyncSessionStore {
+
+    /**
+     * Get or create the session identifier and initialize the session with it if necessary.
+     *
+     * @param context the web context
+     * @param createSession whether the session must be created
+     * @return the completion stage of the optional session identifier
+     */
+    CompletionStage<Optional<String>> getSessionId(WebContext context, boolean createSession);
+
+    /**
+     * Get the object from its key in store.
+     *
+     * @param context the web context
+     * @param key the key of the object
+     * @return the completion stage of the (optional) object in store
+     */
+    CompletionStage<Optional<Object>> get(WebContext context, String key);
+
+    /**
+     * Save an object in the store by its key.
+     *
+     * @param context the web context
+     * @param key the key of the object
+     * @param value the value to save in store
+     * @return the completion stage of the save
+     */
+    CompletionStage<Void> set(WebContext context, String key, Object value);
+
+    /**
+     * Destroy the web session.
+     *
+     * @param context the web context
+     * @return the completion stage of whether the session has been destroyed
+     */
+    CompletionStage<Boolean> destroySession(WebContext context);
+
+    /**
+     * Get the native session as a trackable object.
+     *
+     * @param context the web context
+     * @return the completion stage of the trackable object
+     */
+    CompletionStage<Optional<Object>> getTrackableSession(WebContext context);
+
+    /**
+     * Build a new session store from a trackable session.
+     *
+     * @param context the web context
+     * @param trackableSession the trackable session
+     * @return the completion stage of the new session store
+     */
+    CompletionStage<Optional<AsyncSessionStore>> buildFromTrackableSession(WebContext context, Object trackableSession);
+
+    /**
+     * Renew the native session by copying all data to a new one.
+     *
+     * @param context the web context
+     * @return the completion stage of whether the session store has renewed the session
+     */
+    CompletionStage<Boolean> renewSession(WebContext context);
+
+    /**
+     * Adapt this session store to the blocking pipeline: the calling thread waits for the results
+     * (which is cheap when the pipeline runs on a virtual thread).
+     *
+     * @return the blocking session store
+     */
+    default SessionStore toBlocking() {
+        val store = this;
+        return new SessionStore() {
+            @Override
+            public Optional<String> getSessionId(final WebContext context, final boolean createSession) {
+                return AsyncHelper.join(store.getSessionId(context, createSession));
+            }
+
+            @Override
+            public Optional<Object> get(final WebContext context, final String key) {
+                return AsyncHelper.join(store.get(context, key));
+            }
+
+            @Override
+            public void set(final WebContext context, final String key, final Object value) {
+                AsyncHelper.join(store.set(context, key, value));
+            }
+
+            @Override
+            public boolean destroySession(final WebContext context) {
+                return AsyncHelper.join(store.destroySession(context));
+            }
+
+            @Override
+            public Optional<Object> getTrackableSession(final WebContext context) {
+                return AsyncHelper.join(store.getTrackableSession(context));
+            }
+
+            @Override
+            public Optional<SessionStore> buildFromTrackableSession(final WebContext context, final Object trackableSession) {
+                return AsyncHelper.join(store.buildFromTrackableSession(context, trackableSession))
+                    .map(AsyncSessionStore::toBlocking);
+            }
+
+            @Override
+            public boolean renewSession(final WebContext context) {
+                return AsyncHelper.join(store.renewSession(context));
+            }
+        };
+    }
+
+    /**
+     * Adapt a blocking session store: it is run on the given executor.
+     *
+     * @param sessionStore the blocking session store
+     * @param executor the executor
+     * @return the asynchronous session store
+     */
+    static AsyncSessionStore fromBlocking(final SessionStore sessionStore, final Executor executor) {
+        CommonHelper.assertNotNull("sessionStore", sessionStore);
+        CommonHelper.assertNotNull("executor", executor);
+        return new AsyncSessionStore() {
+            @Override
+            public CompletionStage<Optional<String>> getSessionId(final WebContext context, final boolean createSession) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.getSessionId(context, createSession), executor);
+            }
+
+            @Override
+            public CompletionStage<Optional<Object>> get(final WebContext context, final String key) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.get(context, key), executor);
+            }
+
+            @Override
+            public CompletionStage<Void> set(final WebContext context, final String key, final Object value) {
+                return AsyncHelper.supplyAsync(() -> {
+                    sessionStore.set(context, key, value);
+                    return null;
+                }, executor);
+            }
+
+            @Override
+            public CompletionStage<Boolean> destroySession(final WebContext context) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.destroySession(context), executor);
+            }
+
+            @Override
+            public CompletionStage<Optional<Object>> getTrackableSession(final WebContext context) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.getTrackableSession(context), executor);
+            }
+
+            @Override
+            public CompletionStage<Optional<AsyncSessionStore>> buildFromTrackableSession(final WebContext context,
+                                                                                         final Object trackableSession) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.buildFromTrackableSession(context, trackableSession)
+                    .map(store -> fromBlocking(store, executor)), executor);
+            }
+
+            @Override
+            public CompletionStage<Boolean> renewSession(final WebContext context) {
+                return AsyncHelper.supplyAsync(() -> sessionStore.renewSession(context), executor);
+            }
+        };
+    }
+
+    /**
+     * Adapt a blocking session store: it is run on the default executor.
+     *
+     * @param sessionStore the blocking session store
+     * @return the asynchronous session store
+     */
+    static AsyncSessionStore fromBlocking(final SessionStore sessionStore) {
+        return fromBlocking(sessionStore, AsyncHelper.defaultExecutor());
+    }
+}
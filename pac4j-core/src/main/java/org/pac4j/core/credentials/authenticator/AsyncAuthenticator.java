@@ -0,0 +1,63 @@
+package org.pac4j.core.credentials.authenticator;
+
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of the {@link Authenticator}: the returned stage completes exceptionally
+ * with a {@link org.pac4j.core.exception.CredentialsException} if the authentication fails.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AsyncAuthenticator {
+
+    /**
+     * Validate the credentials.
+     *
+     * @param ctx the context
+     * @param credentials the given credentials
+     * @return the completion stage of the credentials
+     */
+    CompletionStage<Optional<Credentials>> validate(CallContext ctx, Credentials credentials);
+
+    /**
+     * Adapt this authenticator to the blocking pipeline: the calling thread waits for the result
+     * (which is cheap when the pipeline runs on a virtual thread).
+     *
+     * @return the blocking authenticator
+     */
+    default Authenticator toBlocking() {
+        return (ctx, credentials) -> AsyncHelper.join(validate(ctx, credentials));
+    }
+
+    /**
+     * Adapt a blocking authenticator: it is run on the given executor.
+     *
+     * @param authenticator the blocking authenticator
+     * @param executor the executor
+     * @return the asynchronous authenticator
+     */
+    static AsyncAuthenticator fromBlocking(final Authenticator authenticator, final Executor executor) {
+        CommonHelper.assertNotNull("authenticator", authenticator);
+        CommonHelper.assertNotNull("executor", executor);
+        return (ctx, credentials) -> AsyncHelper.supplyAsync(() -> authenticator.validate(ctx, credentials), executor);
+    }
+
+    /**
+     * Adapt a blocking authenticator: it is run on the default executor.
+     *
+     * @param authenticator the blocking authenticator
+     * @return the asynchronous authenticator
+     */
+    static AsyncAuthenticator fromBlocking(final Authenticator authenticator) {
+        return fromBlocking(authenticator, AsyncHelper.defaultExecutor());
+    }
+}
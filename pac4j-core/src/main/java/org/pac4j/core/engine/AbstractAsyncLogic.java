@@ -0,0 +1,51 @@
+package org.pac4j.core.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Run a blocking logic on an executor (by default, a virtual thread per request when available)
+ * so that the calling thread (for example, an event loop) is never blocked.
+ *
+ * <p>The whole blocking pipeline (authenticators, profile creators, session store...) runs on the executor thread:
+ * the asynchronous components can be plugged in it via their <code>toBlocking()</code> adapters, so they are waited for
+ * on the executor thread and never composed asynchronously. If the executor rejects the logic, the returned stage fails.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString
+public abstract class AbstractAsyncLogic {
+
+    private Executor executor;
+
+    /**
+     * <p>Constructor for AbstractAsyncLogic.</p>
+     *
+     * @param executor the executor
+     */
+    protected AbstractAsyncLogic(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Run the blocking logic on the executor; if its result is itself a completion stage
+     * (returned by the success adapter), it is flattened.
+     *
+     * @param logic the blocking logic
+     * @return the completion stage of the result
+     */
+    protected CompletionStage<Object> performAsync(final Supplier<Object> logic) {
+        CommonHelper.assertNotNull("executor", executor);
+        return AsyncHelper.supplyAsync(logic, executor).thenCompose(AsyncHelper::flatten);
+    }
+}
@@ -0,0 +1,29 @@
+package org.pac4j.core.engine;
+
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking callback logic (for reactive and virtual-thread servers).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AsyncCallbackLogic {
+
+    /**
+     * Perform the callback logic.
+     *
+     * @param config the configuration
+     * @param defaultUrl the default url
+     * @param renewSession whether the session must be renewed
+     * @param defaultClient the default client
+     * @param parameters framework parameters
+     * @return the completion stage of the resulting action of the callback
+     */
+    CompletionStage<Object> perform(Config config, String defaultUrl, Boolean renewSession, String defaultClient,
+                                    FrameworkParameters parameters);
+}
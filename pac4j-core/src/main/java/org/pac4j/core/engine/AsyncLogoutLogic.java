@@ -0,0 +1,31 @@
+package org.pac4j.core.engine;
+
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking logout logic (for reactive and virtual-thread servers).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AsyncLogoutLogic {
+
+    /**
+     * Perform the application logout logic.
+     *
+     * @param config the security configuration
+     * @param defaultUrl the default url
+     * @param logoutUrlPattern the logout url pattern
+     * @param localLogout whether a local logout is required
+     * @param destroySession whether the web session must be destroyed
+     * @param centralLogout whether a central logout is required
+     * @param parameters framework parameters
+     * @return the completion stage of the resulting action for logout
+     */
+    CompletionStage<Object> perform(Config config, String defaultUrl, String logoutUrlPattern, Boolean localLogout,
+                                    Boolean destroySession, Boolean centralLogout, FrameworkParameters parameters);
+}
@@ -0,0 +1,30 @@
+package org.pac4j.core.engine;
+
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking security logic to protect an url (for reactive and virtual-thread servers).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AsyncSecurityLogic {
+
+    /**
+     * Perform the security logic.
+     *
+     * @param config the configuration
+     * @param securityGrantedAccessAdapter the success adapter (it may return a {@link CompletionStage})
+     * @param clients the defined clients
+     * @param authorizers the defined authorizers
+     * @param matchers the defined matchers
+     * @param parameters framework parameters
+     * @return the completion stage of the resulting action of the security
+     */
+    CompletionStage<Object> perform(Config config, SecurityGrantedAccessAdapter securityGrantedAccessAdapter, String clients,
+                                    String authorizers, String matchers, FrameworkParameters parameters);
+}
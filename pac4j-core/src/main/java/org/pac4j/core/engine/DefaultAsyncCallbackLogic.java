@@ -0,0 +1,52 @@
+package org.pac4j.core.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Default asynchronous callback logic: the blocking {@link CallbackLogic} is run on the executor.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class DefaultAsyncCallbackLogic extends AbstractAsyncLogic implements AsyncCallbackLogic {
+
+    private CallbackLogic callbackLogic;
+
+    /**
+     * <p>Constructor for DefaultAsyncCallbackLogic.</p>
+     */
+    public DefaultAsyncCallbackLogic() {
+        this(DefaultCallbackLogic.INSTANCE, AsyncHelper.defaultExecutor());
+    }
+
+    /**
+     * <p>Constructor for DefaultAsyncCallbackLogic.</p>
+     *
+     * @param callbackLogic the blocking callback logic
+     * @param executor the executor
+     */
+    public DefaultAsyncCallbackLogic(final CallbackLogic callbackLogic, final Executor executor) {
+        super(executor);
+        this.callbackLogic = callbackLogic;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletionStage<Object> perform(final Config config, final String defaultUrl, final Boolean renewSession,
+                                           final String defaultClient, final FrameworkParameters parameters) {
+        CommonHelper.assertNotNull("callbackLogic", callbackLogic);
+        return performAsync(() -> callbackLogic.perform(config, defaultUrl, renewSession, defaultClient, parameters));
+    }
+}
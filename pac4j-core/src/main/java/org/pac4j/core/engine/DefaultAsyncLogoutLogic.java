@@ -0,0 +1,54 @@
+package org.pac4j.core.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Default asynchronous logout logic: the blocking {@link LogoutLogic} is run on the executor.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class DefaultAsyncLogoutLogic extends AbstractAsyncLogic implements AsyncLogoutLogic {
+
+    private LogoutLogic logoutLogic;
+
+    /**
+     * <p>Constructor for DefaultAsyncLogoutLogic.</p>
+     */
+    public DefaultAsyncLogoutLogic() {
+        this(DefaultLogoutLogic.INSTANCE, AsyncHelper.defaultExecutor());
+    }
+
+    /**
+     * <p>Constructor for DefaultAsyncLogoutLogic.</p>
+     *
+     * @param logoutLogic the blocking logout logic
+     * @param executor the executor
+     */
+    public DefaultAsyncLogoutLogic(final LogoutLogic logoutLogic, final Executor executor) {
+        super(executor);
+        this.logoutLogic = logoutLogic;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletionStage<Object> perform(final Config config, final String defaultUrl, final String logoutUrlPattern,
+                                           final Boolean localLogout, final Boolean destroySession, final Boolean centralLogout,
+                                           final FrameworkParameters parameters) {
+        CommonHelper.assertNotNull("logoutLogic", logoutLogic);
+        return performAsync(() -> logoutLogic.perform(config, defaultUrl, logoutUrlPattern, localLogout, destroySession,
+            centralLogout, parameters));
+    }
+}
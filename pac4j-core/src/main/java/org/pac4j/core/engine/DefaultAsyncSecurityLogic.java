@@ -0,0 +1,54 @@
+package org.pac4j.core.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Default asynchronous security logic: the blocking {@link SecurityLogic} is run on the executor.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class DefaultAsyncSecurityLogic extends AbstractAsyncLogic implements AsyncSecurityLogic {
+
+    private SecurityLogic securityLogic;
+
+    /**
+     * <p>Constructor for DefaultAsyncSecurityLogic.</p>
+     */
+    public DefaultAsyncSecurityLogic() {
+        this(DefaultSecurityLogic.INSTANCE, AsyncHelper.defaultExecutor());
+    }
+
+    /**
+     * <p>Constructor for DefaultAsyncSecurityLogic.</p>
+     *
+     * @param securityLogic the blocking security logic
+     * @param executor the executor
+     */
+    public DefaultAsyncSecurityLogic(final SecurityLogic securityLogic, final Executor executor) {
+        super(executor);
+        this.securityLogic = securityLogic;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletionStage<Object> perform(final Config config, final SecurityGrantedAccessAdapter securityGrantedAccessAdapter,
+                                           final String clients, final String authorizers, final String matchers,
+                                           final FrameworkParameters parameters) {
+        CommonHelper.assertNotNull("securityLogic", securityLogic);
+        return performAsync(() -> securityLogic.perform(config, securityGrantedAccessAdapter, clients, authorizers, matchers,
+            parameters));
+    }
+}
@@ -1,5 +1,6 @@
 package org.pac4j.core.engine;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -29,6 +30,8 @@ import org.pac4j.core.util.HttpActionHelper;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.pac4j.core.util.CommonHelper.*;
 
@@ -47,6 +50,9 @@ import static org.pac4j.core.util.CommonHelper.*;
  * <p>Finally, if the user is not authenticated (no profile), he is redirected to the appropriate identity provider
  * if the first defined client is an indirect one in the <code>clients</code> configuration. Otherwise, a 401 error page is displayed.</p>
  *
+ * <p>The <code>clients</code>, <code>authorizers</code> and <code>matchers</code> definitions are resolved once per configuration
+ * into a {@link SecurityPlan} which is cached (up to <code>maxSecurityPlans</code> plans) and rebuilt when the configuration changes.</p>
+ *
  * @author Jerome Leleu
  * @since 1.9.0
  */
@@ -70,6 +76,12 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
 
     private boolean loadProfilesFromSession = true;
 
+    private int maxSecurityPlans = 1000;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Map<SecurityPlanKey, SecurityPlan> securityPlans = new ConcurrentHashMap<>();
+
     /** {@inheritDoc} */
     @Override
     public Object perform(final Config config, final SecurityGrantedAccessAdapter securityGrantedAccessAdapter,
@@ -96,10 +108,11 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
             // logic
             LOGGER.debug("url: {}", webContext.getFullRequestURL());
             LOGGER.debug("clients: {} | matchers: {}", clients, matchers);
-            val currentClients = clientFinder.find(configClients, webContext, clients);
+            val plan = getSecurityPlan(config, clients, authorizers, matchers);
+            val currentClients = plan.getCompiledClientFinder().find(webContext);
             LOGGER.debug("currentClients: {}", currentClients);
 
-            if (matchingChecker.matches(ctx, matchers, config.getMatchers(), currentClients)) {
+            if (plan.getCompiledMatchingChecker().matches(ctx, currentClients)) {
 
                 val manager = ctx.profileManagerFactory().apply(webContext, sessionStore);
                 manager.setConfig(config);
@@ -145,8 +158,7 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
                 // we have profile(s) -> check authorizations; otherwise, redirect to identity provider or 401
                 if (isNotEmpty(profiles)) {
                     LOGGER.debug("authorizers: {}", authorizers);
-                    if (authorizationChecker.isAuthorized(webContext, sessionStore, profiles,
-                                                          authorizers, config.getAuthorizers(), currentClients)) {
+                    if (plan.getCompiledAuthorizationChecker().isAuthorized(webContext, sessionStore, profiles, currentClients)) {
                         LOGGER.debug("authenticated and authorized -> grant access");
                         return securityGrantedAccessAdapter.adapt(webContext, sessionStore, profiles);
                     } else {
@@ -177,6 +189,40 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
         return httpActionAdapter.adapt(action, webContext);
     }
 
+    /**
+     * Get the security plan for the given definition: reuse the cached one if it is still valid for the configuration,
+     * build a new one otherwise.
+     *
+     * @param config the configuration
+     * @param clients the clients
+     * @param authorizers the authorizers
+     * @param matchers the matchers
+     * @return the security plan
+     */
+    protected SecurityPlan getSecurityPlan(final Config config, final String clients, final String authorizers, final String matchers) {
+        val key = new SecurityPlanKey(config, clients, authorizers, matchers);
+        var plan = securityPlans.get(key);
+        if (plan == null || !plan.isValid(config, clientFinder, authorizationChecker, matchingChecker)) {
+            plan = new SecurityPlan(config, clientFinder, authorizationChecker, matchingChecker, clients, authorizers, matchers);
+            LOGGER.debug("New security plan: {}", plan);
+            if (securityPlans.size() >= maxSecurityPlans && !securityPlans.containsKey(key)) {
+                evictSecurityPlan();
+            }
+            securityPlans.put(key, plan);
+        }
+        return plan;
+    }
+
+    private void evictSecurityPlan() {
+        val keys = securityPlans.keySet().iterator();
+        if (keys.hasNext()) {
+            val evicted = keys.next();
+            keys.remove();
+            LOGGER.debug("Evicted security plan for clients: {} | authorizers: {} | matchers: {}",
+                evicted.clients(), evicted.authorizers(), evicted.matchers());
+        }
+    }
+
     /**
      * Load the profiles.
      *
@@ -250,4 +296,6 @@ public class DefaultSecurityLogic extends AbstractExceptionAwareLogic implements
     protected HttpAction unauthorized(final CallContext ctx, final List<Client> currentClients) {
         return HttpActionHelper.buildUnauthenticatedAction(ctx.webContext());
     }
+
+    private record SecurityPlanKey(Config config, String clients, String authorizers, String matchers) {}
 }
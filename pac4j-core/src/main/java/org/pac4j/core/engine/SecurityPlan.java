@@ -0,0 +1,114 @@
+package org.pac4j.core.engine;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.pac4j.core.authorization.authorizer.Authorizer;
+import org.pac4j.core.authorization.checker.AuthorizationChecker;
+import org.pac4j.core.authorization.checker.CompiledAuthorizationChecker;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.finder.ClientFinder;
+import org.pac4j.core.client.finder.CompiledClientFinder;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.matching.checker.CompiledMatchingChecker;
+import org.pac4j.core.matching.checker.MatchingChecker;
+import org.pac4j.core.matching.matcher.Matcher;
+
+import java.util.Map;
+
+/**
+ * The security plan of a (clients, authorizers, matchers) definition: the client finder, the matching checker and
+ * the authorization checker compiled once for a given configuration and reused for all the requests.
+ *
+ * Each part is compiled on its first use and the plan must be discarded when the configuration changes
+ * (see {@link #isValid(Config, ClientFinder, AuthorizationChecker, MatchingChecker)}).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class SecurityPlan {
+
+    private final Config config;
+
+    private final long configVersion;
+
+    private final Clients configClients;
+
+    private final long clientsVersion;
+
+    private final Map<String, Authorizer> authorizersMap;
+
+    private final Map<String, Matcher> matchersMap;
+
+    private final ClientFinder clientFinder;
+
+    private final AuthorizationChecker authorizationChecker;
+
+    private final MatchingChecker matchingChecker;
+
+    @ToString.Include
+    private final String clients;
+
+    @ToString.Include
+    private final String authorizers;
+
+    @ToString.Include
+    private final String matchers;
+
+    @Getter(lazy = true)
+    private final CompiledClientFinder compiledClientFinder = clientFinder.compile(configClients, clients);
+
+    @Getter(lazy = true)
+    private final CompiledMatchingChecker compiledMatchingChecker = matchingChecker.compile(matchers, matchersMap);
+
+    @Getter(lazy = true)
+    private final CompiledAuthorizationChecker compiledAuthorizationChecker = authorizationChecker.compile(authorizers, authorizersMap);
+
+    /**
+     * <p>Constructor for SecurityPlan.</p>
+     *
+     * @param config the configuration
+     * @param clientFinder the client finder
+     * @param authorizationChecker the authorization checker
+     * @param matchingChecker the matching checker
+     * @param clients the clients
+     * @param authorizers the authorizers
+     * @param matchers the matchers
+     */
+    public SecurityPlan(final Config config, final ClientFinder clientFinder, final AuthorizationChecker authorizationChecker,
+                        final MatchingChecker matchingChecker, final String clients, final String authorizers, final String matchers) {
+        this.config = config;
+        this.configVersion = config.getVersion();
+        this.configClients = config.getClients();
+        this.clientsVersion = configClients.getVersion();
+        this.authorizersMap = config.getAuthorizers();
+        this.matchersMap = config.getMatchers();
+        this.clientFinder = clientFinder;
+        this.authorizationChecker = authorizationChecker;
+        this.matchingChecker = matchingChecker;
+        this.clients = clients;
+        this.authorizers = authorizers;
+        this.matchers = matchers;
+    }
+
+    /**
+     * Whether this plan is still valid for the given configuration and components.
+     *
+     * Only the versions of the {@link Config} and {@link Clients} are compared: the changes made through their setters
+     * and through the list returned by {@link Clients#getClients()} are detected, but not the changes made directly
+     * to the authorizers and matchers maps (use the {@link Config} setters instead).
+     *
+     * @param config the configuration
+     * @param clientFinder the client finder
+     * @param authorizationChecker the authorization checker
+     * @param matchingChecker the matching checker
+     * @return whether this plan is still valid
+     */
+    public boolean isValid(final Config config, final ClientFinder clientFinder, final AuthorizationChecker authorizationChecker,
+                           final MatchingChecker matchingChecker) {
+        return this.config == config && this.configVersion == config.getVersion()
+            && this.clientsVersion == configClients.getVersion()
+            && this.clientFinder == clientFinder && this.authorizationChecker == authorizationChecker
+            && this.matchingChecker == matchingChecker;
+    }
+}
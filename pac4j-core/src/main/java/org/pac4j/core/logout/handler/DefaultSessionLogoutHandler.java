@@ -12,6 +12,7 @@ import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.profile.factory.ProfileManagerFactory;
 import org.pac4j.core.store.GuavaStore;
 import org.pac4j.core.store.Store;
+import org.pac4j.core.util.CommonHelper;
 
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +20,11 @@ import java.util.concurrent.TimeUnit;
 /**
  * Default session logout handler.
  *
+ * <p>It maintains a two-way index between the keys and the web session identifiers (<code>store</code>), which only contains
+ * strings so it can be shared between the nodes of a cluster (JDBC, Redis... stores), and keeps the trackable sessions
+ * of the current node in a local store (<code>trackableSessionStore</code>). When a back channel logout is received
+ * for a web session owned by another node, it is broadcast to this node via the {@link LogoutBroadcaster}.</p>
+ *
  * @author Jerome Leleu
  * @since 2.0.0
  */
@@ -28,14 +34,54 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
 
-    private Store<String, Object> store = new GuavaStore<>(10000, 30, TimeUnit.MINUTES);
+    /** Constant <code>DEFAULT_STORE_SIZE=10000</code> */
+    public static final int DEFAULT_STORE_SIZE = 10000;
+
+    /** Constant <code>DEFAULT_STORE_TIMEOUT=30</code> (minutes) */
+    public static final int DEFAULT_STORE_TIMEOUT = 30;
+
+    private static final char SEPARATOR = '|';
+
+    // key -> nodeId|sessionId and sessionId -> key
+    private Store<String, Object> store;
+
+    // sessionId -> trackable session (for the current node), created on first use if not defined
+    private volatile Store<String, Object> trackableSessionStore;
+
+    // size, timeout and time unit of the default local trackable session store, applied when it is created on first use
+    private int size = DEFAULT_STORE_SIZE;
+
+    private int timeout = DEFAULT_STORE_TIMEOUT;
+
+    private TimeUnit timeUnit = TimeUnit.MINUTES;
+
+    private String nodeId = CommonHelper.randomString(16);
+
+    private LogoutBroadcaster broadcaster;
 
     private boolean destroySession;
 
     /**
      * <p>Constructor for DefaultSessionLogoutHandler.</p>
      */
-    public DefaultSessionLogoutHandler() {}
+    public DefaultSessionLogoutHandler() {
+        this(DEFAULT_STORE_SIZE, DEFAULT_STORE_TIMEOUT, TimeUnit.MINUTES);
+    }
+
+    /**
+     * <p>Constructor for DefaultSessionLogoutHandler.</p>
+     *
+     * @param size the maximum number of recorded sessions (per node)
+     * @param timeout the time after which the recorded sessions are forgotten (it should match the web session lifetime)
+     * @param timeUnit the time unit of the timeout
+     */
+    public DefaultSessionLogoutHandler(final int size, final int timeout, final TimeUnit timeUnit) {
+        // two entries per recorded session in the index
+        this.store = new GuavaStore<>(2 * size, timeout, timeUnit);
+        this.size = size;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
 
     /**
      * <p>Constructor for DefaultSessionLogoutHandler.</p>
@@ -46,6 +92,49 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
         this.store = store;
     }
 
+    /**
+     * <p>Constructor for DefaultSessionLogoutHandler (cluster).</p>
+     *
+     * @param store the index store shared between the nodes
+     * @param nodeId the identifier of the current node
+     * @param broadcaster the broadcaster of the back channel logouts to the other nodes
+     */
+    public DefaultSessionLogoutHandler(final Store<String, Object> store, final String nodeId, final LogoutBroadcaster broadcaster) {
+        this(store);
+        setNodeId(nodeId);
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * <p>Setter for the field <code>nodeId</code>.</p>
+     *
+     * @param nodeId the identifier of the current node
+     */
+    public void setNodeId(final String nodeId) {
+        CommonHelper.assertNotBlank("nodeId", nodeId);
+        CommonHelper.assertTrue(nodeId.indexOf(SEPARATOR) < 0, "nodeId cannot contain: " + SEPARATOR);
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * <p>Getter for the field <code>trackableSessionStore</code>.</p>
+     *
+     * @return the store of the trackable sessions of the current node (a local Guava store by default)
+     */
+    public Store<String, Object> getTrackableSessionStore() {
+        var trackableSessions = trackableSessionStore;
+        if (trackableSessions == null) {
+            synchronized (this) {
+                trackableSessions = trackableSessionStore;
+                if (trackableSessions == null) {
+                    trackableSessions = new GuavaStore<>(size, timeout, timeUnit);
+                    trackableSessionStore = trackableSessions;
+                }
+            }
+        }
+        return trackableSessions;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void recordSession(final CallContext ctx, final String key) {
@@ -66,7 +155,8 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
                     val trackableSession = optTrackableSession.get();
                     LOGGER.debug("key: {} -> trackableSession: {}", key, trackableSession);
                     LOGGER.debug("sessionId: {}", sessionId);
-                    store.set(key, trackableSession);
+                    getTrackableSessionStore().set(sessionId, trackableSession);
+                    store.set(key, nodeId + SEPARATOR + sessionId);
                     store.set(sessionId, key);
                 } else {
                     LOGGER.debug("No trackable session for the current session store: {}", sessionStore);
@@ -81,8 +171,8 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
         val webContext = ctx.webContext();
         val sessionStore = ctx.sessionStore();
 
-        val optTrackableSession = store.get(key);
-        if (optTrackableSession.isPresent()) {
+        val optRecord = store.get(key);
+        if (optRecord.isPresent()) {
             store.remove(key);
         }
 
@@ -101,6 +191,7 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
             store.remove(currentSessionId);
 
             if (StringUtils.equals(key, keyForCurrentSession)) {
+                getTrackableSessionStore().remove(currentSessionId);
                 destroy(webContext, sessionStore, ctx.profileManagerFactory(), "front");
                 return;
             } else {
@@ -110,24 +201,61 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
             LOGGER.debug("No web session: cannot perform front channel logout");
         }
 
-        LOGGER.debug("TrackableSession: {} for key: {}", optTrackableSession, key);
-        if (optTrackableSession.isEmpty()) {
-            LOGGER.debug("No trackable session: cannot perform back channel logout");
+        LOGGER.debug("Record: {} for key: {}", optRecord, key);
+        val record = optRecord.orElse(null);
+        if (!(record instanceof String recordValue) || recordValue.indexOf(SEPARATOR) <= 0) {
+            LOGGER.warn("No session recorded for key: {} (already logged out or forgotten because of the store size/timeout): "
+                + "cannot perform back channel logout", key);
+            return;
+        }
+        val separatorIndex = recordValue.indexOf(SEPARATOR);
+        val ownerNodeId = recordValue.substring(0, separatorIndex);
+        val sessionId = recordValue.substring(separatorIndex + 1);
+        if (nodeId.equals(ownerNodeId)) {
+            destroyRecordedSession(ctx, sessionId);
+        } else if (broadcaster != null) {
+            LOGGER.debug("Broadcast back channel logout to node: {} for sessionId: {}", ownerNodeId, sessionId);
+            broadcaster.broadcast(ownerNodeId, sessionId);
         } else {
+            LOGGER.warn("Web session owned by the node: {} and no broadcaster: cannot perform back channel logout", ownerNodeId);
+        }
+    }
 
-            val optNewSessionStore = sessionStore
-                .buildFromTrackableSession(webContext, optTrackableSession.get());
-            if (optNewSessionStore.isPresent()) {
-                val newSessionStore = optNewSessionStore.get();
-                LOGGER.debug("newSesionStore: {}", newSessionStore);
-                val sessionId = newSessionStore.getSessionId(webContext, true).get();
-                LOGGER.debug("new sessionId: {}", sessionId);
-                store.remove(sessionId);
+    /**
+     * Destroy a web session recorded on the current node (back channel logout, possibly broadcast by another node).
+     *
+     * @param ctx the context (the session store is used to rebuild the recorded web session)
+     * @param sessionId the web session identifier
+     * @return whether the web session has been found
+     */
+    public boolean destroyRecordedSession(final CallContext ctx, final String sessionId) {
+        val trackableSessions = getTrackableSessionStore();
+        val optTrackableSession = trackableSessions.get(sessionId);
+        trackableSessions.remove(sessionId);
+        cleanIndex(sessionId);
 
-                destroy(webContext, newSessionStore, ctx.profileManagerFactory(), "back");
-            } else {
-                LOGGER.warn("Cannot build new session store from tracked session: cannot perform back channel logout");
-            }
+        LOGGER.debug("TrackableSession: {} for sessionId: {}", optTrackableSession, sessionId);
+        if (optTrackableSession.isEmpty()) {
+            LOGGER.warn("No trackable session for sessionId: {} (forgotten because of the store size/timeout): "
+                + "cannot perform back channel logout", sessionId);
+            return false;
+        }
+
+        val webContext = ctx.webContext();
+        val sessionStore = ctx.sessionStore();
+        if (sessionStore == null) {
+            LOGGER.warn("No session store. Cannot destroy session");
+            return false;
+        }
+        val optNewSessionStore = sessionStore.buildFromTrackableSession(webContext, optTrackableSession.get());
+        if (optNewSessionStore.isPresent()) {
+            val newSessionStore = optNewSessionStore.get();
+            LOGGER.debug("newSesionStore: {}", newSessionStore);
+            destroy(webContext, newSessionStore, ctx.profileManagerFactory(), "back");
+            return true;
+        } else {
+            LOGGER.warn("Cannot build new session store from tracked session: cannot perform back channel logout");
+            return false;
         }
     }
 
@@ -167,12 +295,22 @@ public class DefaultSessionLogoutHandler implements SessionLogoutHandler {
     /** {@inheritDoc} */
     @Override
     public Optional<String> cleanRecord(final String sessionId) {
+        getTrackableSessionStore().remove(sessionId);
+        val key = cleanIndex(sessionId);
+        LOGGER.debug("cleaning sessionId: {} -> key: {}", sessionId, key);
+        return Optional.ofNullable(key);
+    }
+
+    private String cleanIndex(final String sessionId) {
         val key = (String) store.get(sessionId).orElse(null);
         store.remove(sessionId);
-        LOGGER.debug("cleaning sessionId: {} -> key: {}", sessionId, key);
         if (key != null) {
-            store.remove(key);
+            // the key may have been recorded since for another web session
+            val record = store.get(key).orElse(null);
+            if (record instanceof String recordValue && recordValue.endsWith(SEPARATOR + sessionId)) {
+                store.remove(key);
+            }
         }
-        return Optional.ofNullable(key);
+        return key;
     }
 }
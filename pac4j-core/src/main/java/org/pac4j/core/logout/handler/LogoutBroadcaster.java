@@ -0,0 +1,20 @@
+package org.pac4j.core.logout.handler;
+
+/**
+ * Broadcast a back channel logout to the node of a cluster owning the web session (for example via a message broker).
+ * The receiving node must call {@link DefaultSessionLogoutHandler#destroyRecordedSession(org.pac4j.core.context.CallContext, String)}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface LogoutBroadcaster {
+
+    /**
+     * Ask a node to destroy a web session.
+     *
+     * @param nodeId the identifier of the node owning the web session
+     * @param sessionId the web session identifier
+     */
+    void broadcast(String nodeId, String sessionId);
+}
@@ -0,0 +1,25 @@
+package org.pac4j.core.matching.checker;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.CallContext;
+
+import java.util.List;
+
+/**
+ * A matching checker bound to a given matchers definition.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface CompiledMatchingChecker {
+
+    /**
+     * Check if the web context matches.
+     *
+     * @param ctx the context
+     * @param clients the clients
+     * @return whether the web context matches
+     */
+    boolean matches(CallContext ctx, List<Client> clients);
+}
@@ -50,6 +50,10 @@ public class DefaultMatchingChecker implements MatchingChecker {
     /** Constant <code>CORS_MATCHER</code> */
     protected static final CorsMatcher CORS_MATCHER = new CorsMatcher();
 
+    /** Constant <code>SECURITYHEADERS_AND_CSRF_TOKEN</code> */
+    protected static final String SECURITYHEADERS_AND_CSRF_TOKEN =
+        DefaultMatchers.SECURITYHEADERS + Pac4jConstants.ELEMENT_SEPARATOR + DefaultMatchers.CSRF_TOKEN;
+
     static {
         CORS_MATCHER.setAllowOrigin("*");
         CORS_MATCHER.setAllowCredentials(true);
@@ -71,6 +75,44 @@ public class DefaultMatchingChecker implements MatchingChecker {
         return matches(ctx, matchers);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The matchers are resolved once, both with and without the default CSRF token matcher:
+     * only {@link #isCsrfTokenRequired(CallContext, Iterable)} is evaluated per request when the default matchers apply.
+     * If a subclass overrides {@link #computeMatchers(CallContext, String, Map, List)},
+     * {@link #computeDefaultMatcherNames(CallContext, Iterable, Map)} or {@link #matches(CallContext, String, Map, List)},
+     * these methods are called for each request instead.
+     */
+    @Override
+    public CompiledMatchingChecker compile(final String matchersValue, final Map<String, Matcher> matchersMap) {
+        if (overridesRequestMethods()) {
+            return MatchingChecker.super.compile(matchersValue, matchersMap);
+        }
+        if (StringUtils.isBlank(matchersValue) || matchersValue.trim().startsWith(Pac4jConstants.ADD_ELEMENT)) {
+            val additionalNames = StringUtils.isBlank(matchersValue) ? null
+                : StringUtils.substringAfter(matchersValue, Pac4jConstants.ADD_ELEMENT);
+            val defaultMatchers = Collections.unmodifiableList(computeMatchersFromNames(
+                appendMatcherNames(DefaultMatchers.SECURITYHEADERS, additionalNames), matchersMap));
+            val defaultMatchersWithCsrfToken = Collections.unmodifiableList(computeMatchersFromNames(
+                appendMatcherNames(SECURITYHEADERS_AND_CSRF_TOKEN, additionalNames), matchersMap));
+            return (ctx, clients) -> matches(ctx, isCsrfTokenRequired(ctx, clients) ? defaultMatchersWithCsrfToken : defaultMatchers);
+        }
+        val matchers = Collections.unmodifiableList(computeMatchersFromNames(matchersValue, matchersMap));
+        return (ctx, clients) -> matches(ctx, matchers);
+    }
+
+    private boolean overridesRequestMethods() {
+        val base = DefaultMatchingChecker.class;
+        return isOverridden(this, base, "computeMatchers", CallContext.class, String.class, Map.class, List.class)
+            || isOverridden(this, base, "computeDefaultMatcherNames", CallContext.class, Iterable.class, Map.class)
+            || isOverridden(this, base, "matches", CallContext.class, String.class, Map.class, List.class);
+    }
+
+    private static String appendMatcherNames(final String defaultNames, final String additionalNames) {
+        return additionalNames == null ? defaultNames : defaultNames + Pac4jConstants.ELEMENT_SEPARATOR + additionalNames;
+    }
+
     /**
      * <p>computeMatchers.</p>
      *
@@ -86,8 +128,8 @@ public class DefaultMatchingChecker implements MatchingChecker {
         if (StringUtils.isBlank(matchersValue)) {
             matcherNames = computeDefaultMatcherNames(ctx, clients, matchersMap);
         } else if (matchersValue.trim().startsWith(Pac4jConstants.ADD_ELEMENT)) {
-            matcherNames = computeDefaultMatcherNames(ctx, clients, matchersMap) +
-                Pac4jConstants.ELEMENT_SEPARATOR + StringUtils.substringAfter(matchersValue, Pac4jConstants.ADD_ELEMENT);
+            matcherNames = appendMatcherNames(computeDefaultMatcherNames(ctx, clients, matchersMap),
+                StringUtils.substringAfter(matchersValue, Pac4jConstants.ADD_ELEMENT));
         } else {
             matcherNames = matchersValue;
         }
@@ -104,18 +146,26 @@ public class DefaultMatchingChecker implements MatchingChecker {
      */
     protected String computeDefaultMatcherNames(final CallContext ctx, final Iterable<Client> clients,
                                                 final Map<String, Matcher> matchersMap) {
-        String name = DefaultMatchers.SECURITYHEADERS;
+        return isCsrfTokenRequired(ctx, clients) ? SECURITYHEADERS_AND_CSRF_TOKEN : DefaultMatchers.SECURITYHEADERS;
+    }
+
+    /**
+     * Whether the CSRF token matcher must be added to the default matchers: when a session exists or when an indirect client is used.
+     *
+     * @param ctx a {@link CallContext} object
+     * @param clients a {@link List} object
+     * @return a boolean
+     */
+    protected boolean isCsrfTokenRequired(final CallContext ctx, final Iterable<Client> clients) {
         if (ctx.sessionStore().getSessionId(ctx.webContext(), false).isPresent()) {
-            name += Pac4jConstants.ELEMENT_SEPARATOR + DefaultMatchers.CSRF_TOKEN;
-            return name;
+            return true;
         }
         for (val client : clients) {
             if (client instanceof IndirectClient) {
-                name += Pac4jConstants.ELEMENT_SEPARATOR + DefaultMatchers.CSRF_TOKEN;
-                return name;
+                return true;
             }
         }
-        return name;
+        return false;
     }
 
     /**
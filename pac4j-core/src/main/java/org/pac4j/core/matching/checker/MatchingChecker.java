@@ -26,4 +26,15 @@ public interface MatchingChecker {
      * @return whether the web context matches
      */
     boolean matches(CallContext ctx, String matcherNames, Map<String, Matcher> matchersMap, List<Client> clients);
+
+    /**
+     * Bind this matching checker to the given matchers, so that the names are resolved only once.
+     *
+     * @param matcherNames the matchers
+     * @param matchersMap the map of matchers
+     * @return the compiled matching checker
+     */
+    default CompiledMatchingChecker compile(final String matcherNames, final Map<String, Matcher> matchersMap) {
+        return (ctx, clients) -> matches(ctx, matcherNames, matchersMap, clients);
+    }
 }
@@ -0,0 +1,287 @@
+package org.pac4j.core.matching.matcher;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The rules of a {@link PathMatcher} compiled into a character trie, so that a request path is checked in a single pass:
+ * <ul>
+ *     <li>the excluded paths are looked up in a hash set</li>
+ *     <li>the included paths and the excluded branches are trie nodes</li>
+ *     <li>the excluded regular expressions are attached to the node of their literal prefix (for example <code>/assets/</code>
+ *     for <code>^/assets/.*\.js$</code>) and combined into one pattern per node: they are only evaluated for the paths
+ *     starting with this prefix.</li>
+ * </ul>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+final class CompiledPathRules {
+
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
+
+    private static final String BRANCH_SUFFIX = "(/.*)?$";
+
+    private static final Pattern GROUP_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)|\\(\\?<[a-zA-Z]");
+
+    private final Node includedRoot;
+
+    private final Set<String> excludedPaths;
+
+    private final Node excludedRoot;
+
+    private final long version;
+
+    CompiledPathRules(final long version, final Collection<String> includedPaths, final Collection<String> excludedPaths,
+                      final Collection<Pattern> excludedPatterns) {
+        this.version = version;
+
+        if (includedPaths.isEmpty()) {
+            this.includedRoot = null;
+        } else {
+            val root = new NodeBuilder();
+            for (val path : includedPaths) {
+                root.add(path).included = true;
+            }
+            this.includedRoot = root.build();
+        }
+
+        this.excludedPaths = Set.copyOf(excludedPaths);
+
+        val root = new NodeBuilder();
+        for (val pattern : excludedPatterns) {
+            val branch = literalBranch(pattern);
+            if (branch != null) {
+                root.add(branch).branch = true;
+            } else {
+                root.add(literalPrefix(pattern)).patterns.add(pattern);
+            }
+        }
+        this.excludedRoot = root.build();
+    }
+
+    /**
+     * Whether these rules have been compiled from this version of the rules.
+     */
+    boolean isUpToDate(final long version) {
+        return this.version == version;
+    }
+
+    /**
+     * Same semantics as the original rules: if there are included paths, the path must start with one of them.
+     * Otherwise, it must not be an excluded path, nor belong to an excluded branch, nor match an excluded regular expression.
+     */
+    boolean matches(final String path) {
+        if (includedRoot != null) {
+            return path != null && startsWithIncludedPath(path);
+        }
+        return path == null || !isExcluded(path);
+    }
+
+    private boolean startsWithIncludedPath(final String path) {
+        var node = includedRoot;
+        val length = path.length();
+        for (var i = 0; i < length; i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.included) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isExcluded(final String path) {
+        if (excludedPaths.contains(path)) {
+            return true;
+        }
+        var node = excludedRoot;
+        val length = path.length();
+        var i = 0;
+        while (true) {
+            if (node.branch && (i == length || path.charAt(i) == '/')) {
+                return true;
+            }
+            for (val pattern : node.patterns) {
+                if (pattern.matcher(path).matches()) {
+                    return true;
+                }
+            }
+            if (i == length) {
+                return false;
+            }
+            node = node.child(path.charAt(i++));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The literal path of a pattern built by {@link PathMatcher#excludeBranch(String)} (or an equivalent regular expression).
+     */
+    static String literalBranch(final Pattern pattern) {
+        val regex = pattern.pattern();
+        if (pattern.flags() != Pattern.DOTALL || !regex.startsWith("^") || !regex.endsWith(BRANCH_SUFFIX)) {
+            return null;
+        }
+        val path = regex.substring(1, regex.length() - BRANCH_SUFFIX.length());
+        for (var i = 0; i < path.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(path.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * The literal characters every path matching a (<code>^</code> anchored) regular expression starts with.
+     */
+    static String literalPrefix(final Pattern pattern) {
+        val regex = pattern.pattern();
+        if (pattern.flags() != Pattern.DOTALL || !regex.startsWith("^") || regex.contains("\\Q") || hasTopLevelAlternation(regex)) {
+            return "";
+        }
+        val prefix = new StringBuilder();
+        for (var i = 1; i < regex.length(); i++) {
+            val c = regex.charAt(i);
+            if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                // the previous character is optional or repeated
+                if ((c == '?' || c == '*' || c == '{' || c == '+') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String regex) {
+        var depth = 0;
+        var inClass = false;
+        for (var i = 0; i < regex.length(); i++) {
+            val c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Combine the patterns into as few patterns as possible: the ones with group references or specific flags are kept apart.
+     */
+    static Pattern[] combine(final List<Pattern> patterns) {
+        if (patterns.size() <= 1) {
+            return patterns.toArray(new Pattern[0]);
+        }
+        final List<Pattern> result = new ArrayList<>();
+        val combined = new StringBuilder();
+        var nbCombined = 0;
+        for (val pattern : patterns) {
+            if (pattern.flags() == Pattern.DOTALL && !GROUP_REFERENCE.matcher(pattern.pattern()).find()) {
+                if (nbCombined++ > 0) {
+                    combined.append('|');
+                }
+                combined.append("(?:").append(pattern.pattern()).append(')');
+            } else {
+                result.add(pattern);
+            }
+        }
+        if (nbCombined > 0) {
+            try {
+                result.add(0, Pattern.compile(combined.toString(), Pattern.DOTALL));
+            } catch (final PatternSyntaxException e) {
+                for (val pattern : patterns) {
+                    if (!result.contains(pattern)) {
+                        result.add(pattern);
+                    }
+                }
+            }
+        }
+        return result.toArray(new Pattern[0]);
+    }
+
+    private static final class Node {
+
+        private static final Pattern[] NO_PATTERNS = new Pattern[0];
+
+        private final char[] keys;
+
+        private final Node[] children;
+
+        private final boolean included;
+
+        private final boolean branch;
+
+        private final Pattern[] patterns;
+
+        private Node(final char[] keys, final Node[] children, final boolean included, final boolean branch,
+                     final Pattern[] patterns) {
+            this.keys = keys;
+            this.children = children;
+            this.included = included;
+            this.branch = branch;
+            this.patterns = patterns.length == 0 ? NO_PATTERNS : patterns;
+        }
+
+        private Node child(final char c) {
+            val index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class NodeBuilder {
+
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+
+        private final List<Pattern> patterns = new ArrayList<>();
+
+        private boolean included;
+
+        private boolean branch;
+
+        private NodeBuilder add(final String path) {
+            var node = this;
+            for (var i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new NodeBuilder());
+            }
+            return node;
+        }
+
+        private Node build() {
+            val keys = new char[children.size()];
+            val nodes = new Node[children.size()];
+            var i = 0;
+            for (val entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(keys, nodes, included, branch, combine(patterns));
+        }
+    }
+}
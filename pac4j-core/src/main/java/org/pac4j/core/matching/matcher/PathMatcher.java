@@ -9,13 +9,20 @@ import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.util.Announcement;
 import org.pac4j.core.util.CommonHelper;
 
+import java.util.AbstractSet;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
  * Matches all request paths except whitelisted (excluded) paths.
  *
+ * <p>The rules are compiled on first use (and after any change) into a {@link CompiledPathRules} trie,
+ * so that a request path is checked in a single pass whatever the number of rules. Any change of the rules,
+ * including through the sets returned by the getters, increments a version which triggers the recompilation.</p>
+ *
  * @author Rob Ward
  * @since 2.0.0
  */
@@ -28,11 +35,17 @@ public class PathMatcher implements Matcher {
     private static final Announcement ANNOUNCE_INCLUDE = new Announcement("Be careful when using the 'includePath' or 'includePaths' "
         + "methods. The security will only apply on these paths. It could not be secure enough.");
 
-    private final Set<String> includedPaths = new HashSet<>();
+    @ToString.Exclude
+    private final AtomicLong version = new AtomicLong();
+
+    private final Set<String> includedPaths = new VersionedSet<>();
     @Getter
-    private final Set<String> excludedPaths = new HashSet<>();
+    private final Set<String> excludedPaths = new VersionedSet<>();
     @Getter
-    private final Set<Pattern> excludedPatterns = new HashSet<>();
+    private final Set<Pattern> excludedPatterns = new VersionedSet<>();
+
+    @ToString.Exclude
+    private volatile CompiledPathRules compiledRules;
 
     private static boolean warnedRegexp;
     private static boolean warnedInclude;
@@ -140,29 +153,22 @@ public class PathMatcher implements Matcher {
 
         LOGGER.debug("request path to match: {}", requestPath);
 
-        if (!includedPaths.isEmpty()) {
-            for (val path : includedPaths) {
-                // accepts any request path starting with the included path
-                if (requestPath != null && requestPath.startsWith(path)) {
-                    return true;
-                }
-            }
-
-            return false;
-        }
-
-        // just exclude the exact matching request path
-        if (excludedPaths.contains(requestPath)) {
-            return false;
-        }
+        return getCompiledRules().matches(requestPath);
+    }
 
-        for (val pattern : excludedPatterns) {
-            if (pattern.matcher(requestPath).matches()) {
-                return false;
-            }
+    /**
+     * The compiled rules, rebuilt if the rules have changed since their compilation.
+     *
+     * @return the compiled rules
+     */
+    private CompiledPathRules getCompiledRules() {
+        var rules = this.compiledRules;
+        val currentVersion = version.get();
+        if (rules == null || !rules.isUpToDate(currentVersion)) {
+            rules = new CompiledPathRules(currentVersion, includedPaths, excludedPaths, excludedPatterns);
+            this.compiledRules = rules;
         }
-
-        return true;
+        return rules;
     }
 
     /**
@@ -211,4 +217,68 @@ public class PathMatcher implements Matcher {
             throw new TechnicalException("Excluded path must begin with a /");
         }
     }
+
+    /**
+     * A set of rules which increments the version of the matcher when it is modified.
+     */
+    private final class VersionedSet<E> extends AbstractSet<E> {
+
+        private final Set<E> delegate = new HashSet<>();
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return delegate.contains(o);
+        }
+
+        @Override
+        public boolean add(final E e) {
+            val added = delegate.add(e);
+            if (added) {
+                version.incrementAndGet();
+            }
+            return added;
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            val removed = delegate.remove(o);
+            if (removed) {
+                version.incrementAndGet();
+            }
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            version.incrementAndGet();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            val iterator = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    version.incrementAndGet();
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package org.pac4j.core.matching.matcher.csrf;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.StripedSecureRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Stateless CSRF token generator: the tokens are signed (HMAC-SHA256) and bound to the session identifier,
+ * with their issuing time, so nothing is saved in the web session. They must be checked by a {@link
+ * org.pac4j.core.authorization.authorizer.CsrfAuthorizer} built with the same generator.
+ *
+ * <p>A token is valid for <code>ttlInSeconds</code> seconds. All the nodes of a cluster must share the same secret
+ * (at least 32 characters).</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+@Setter
+@ToString(exclude = "secret")
+public class HmacCsrfTokenGenerator implements CsrfTokenGenerator {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int NONCE_SIZE = 16;
+
+    private static final int MIN_SECRET_SIZE = 32;
+
+    private static final char SEPARATOR = '.';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private String secret;
+
+    // 4 hours
+    private int ttlInSeconds = 4*60*60;
+
+    // to tolerate clock differences between the nodes
+    private int clockSkewInSeconds = 60;
+
+    /**
+     * <p>Constructor for HmacCsrfTokenGenerator.</p>
+     */
+    public HmacCsrfTokenGenerator() {}
+
+    /**
+     * <p>Constructor for HmacCsrfTokenGenerator.</p>
+     *
+     * @param secret the signing secret
+     */
+    public HmacCsrfTokenGenerator(final String secret) {
+        this.secret = secret;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String get(final WebContext context, final SessionStore sessionStore) {
+        val sessionId = sessionStore.getSessionId(context, true)
+            .orElseThrow(() -> new TechnicalException("No session available to bind the CSRF token"));
+
+        val payload = Long.toString(now(), Character.MAX_RADIX) + SEPARATOR
+            + ENCODER.encodeToString(StripedSecureRandom.randomBytes(NONCE_SIZE));
+        val token = payload + SEPARATOR + ENCODER.encodeToString(sign(sessionId, payload));
+        LOGGER.debug("generated CSRF token: {} for current URL: {}", token, context.getFullRequestURL());
+        return token;
+    }
+
+    /**
+     * Check a token: it must be signed for the current session and not be expired.
+     *
+     * @param context the current web context
+     * @param sessionStore the session store
+     * @param token the token to check
+     * @return whether the token is valid
+     */
+    public boolean isValid(final WebContext context, final SessionStore sessionStore, final String token) {
+        if (StringUtils.isBlank(token)) {
+            return false;
+        }
+        val optSessionId = sessionStore.getSessionId(context, false);
+        if (optSessionId.isEmpty()) {
+            return false;
+        }
+
+        val signatureIndex = token.lastIndexOf(SEPARATOR);
+        val timeIndex = token.indexOf(SEPARATOR);
+        if (timeIndex <= 0 || signatureIndex <= timeIndex) {
+            return false;
+        }
+        try {
+            val payload = token.substring(0, signatureIndex);
+            val signature = DECODER.decode(token.substring(signatureIndex + 1));
+            val isGoodSignature = MessageDigest.isEqual(sign(optSessionId.get(), payload), signature);
+            val age = now() - Long.parseLong(token.substring(0, timeIndex), Character.MAX_RADIX);
+            return isGoodSignature & age >= -clockSkewInSeconds & age <= ttlInSeconds;
+        } catch (final IllegalArgumentException e) {
+            LOGGER.debug("Invalid CSRF token: {}", token);
+            return false;
+        }
+    }
+
+    private byte[] sign(final String sessionId, final String payload) {
+        CommonHelper.assertTrue(secret != null && secret.length() >= MIN_SECRET_SIZE,
+            "secret must be at least " + MIN_SECRET_SIZE + " characters");
+        try {
+            val mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            mac.update(sessionId.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) SEPARATOR);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (final GeneralSecurityException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
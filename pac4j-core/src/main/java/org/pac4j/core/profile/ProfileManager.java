@@ -12,6 +12,8 @@ import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.exception.http.HttpAction;
+import org.pac4j.core.profile.renewal.ProfileRenewer;
+import org.pac4j.core.profile.renewal.RenewalInProgressException;
 import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.Pac4jConstants;
 import org.slf4j.Logger;
@@ -87,27 +89,58 @@ public class ProfileManager {
     /**
      * Retrieve the map of profiles from the session or the request.
      *
+     * <p>The result is kept in a request-scoped snapshot: the next calls in the same request (even from other profile managers)
+     * reuse it as long as the profiles of the request have not been changed, without reading the session again.</p>
+     *
      * @param readFromSession if the user profiles must be read from session
      * @return the map of profiles
      */
     protected LinkedHashMap<String, UserProfile> retrieveAll(final boolean readFromSession) {
+        val requestProfiles = (Map<String, UserProfile>) this.context.getRequestAttribute(Pac4jConstants.USER_PROFILES).orElse(null);
+        val snapshot = getSnapshot();
+        if (snapshot != null && snapshot.requestProfiles() == requestProfiles && snapshot.withSession() == readFromSession) {
+            LOGGER.debug("Retrieved profiles (snapshot): {}", snapshot.profiles());
+            return new LinkedHashMap<>(snapshot.profiles());
+        }
+
         val profiles = new LinkedHashMap<String, UserProfile>();
-        this.context.getRequestAttribute(Pac4jConstants.USER_PROFILES)
-            .ifPresent(requestAttribute -> {
-                LOGGER.debug("Retrieved profiles (request): {}", requestAttribute);
-                profiles.putAll((Map<String, UserProfile>) requestAttribute);
-            });
+        if (requestProfiles != null) {
+            LOGGER.debug("Retrieved profiles (request): {}", requestProfiles);
+            profiles.putAll(requestProfiles);
+        }
+        var sessionRead = snapshot != null && snapshot.sessionRead();
+        var sessionProfiles = sessionRead ? snapshot.sessionProfiles() : null;
         if (readFromSession) {
-            this.sessionStore.get(this.context, Pac4jConstants.USER_PROFILES)
-                .ifPresent(sessionAttribute -> {
-                    LOGGER.debug("Retrieved profiles (session): {}", sessionAttribute);
-                    profiles.putAll((Map<String, UserProfile>) sessionAttribute);
-                });
+            if (!sessionRead) {
+                sessionProfiles = (Map<String, UserProfile>) this.sessionStore.get(this.context, Pac4jConstants.USER_PROFILES)
+                    .orElse(null);
+                sessionRead = true;
+            }
+            if (sessionProfiles != null) {
+                LOGGER.debug("Retrieved profiles (session): {}", sessionProfiles);
+                profiles.putAll(sessionProfiles);
+            }
         }
 
         removeOrRenewExpiredProfiles(profiles, readFromSession);
 
-        return profiles;
+        // the expired profiles may have been removed or renewed and then saved
+        val currentRequestProfiles = this.context.getRequestAttribute(Pac4jConstants.USER_PROFILES).orElse(null);
+        if (readFromSession && currentRequestProfiles != requestProfiles) {
+            sessionProfiles = profiles;
+        }
+        saveSnapshot(new ProfilesSnapshot(currentRequestProfiles, readFromSession, profiles, sessionRead, sessionProfiles));
+
+        return new LinkedHashMap<>(profiles);
+    }
+
+    private ProfilesSnapshot getSnapshot() {
+        val snapshot = this.context.getRequestAttribute(Pac4jConstants.USER_PROFILES_SNAPSHOT).orElse(null);
+        return snapshot instanceof ProfilesSnapshot profilesSnapshot ? profilesSnapshot : null;
+    }
+
+    private void saveSnapshot(final ProfilesSnapshot snapshot) {
+        this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES_SNAPSHOT, snapshot);
     }
 
     /**
@@ -118,6 +151,7 @@ public class ProfileManager {
      */
     protected void removeOrRenewExpiredProfiles(final LinkedHashMap<String, UserProfile> profiles, final boolean readFromSession) {
         var profilesUpdated = false;
+        var renewalInProgress = false;
         for (Iterator<Map.Entry<String, UserProfile>> profileIterator = profiles.entrySet().iterator(); profileIterator.hasNext(); ) {
             val entry= profileIterator.next();
             val key = entry.getKey();
@@ -130,12 +164,15 @@ public class ProfileManager {
                     val client = config.getClients().findClient(profile.getClientName());
                     if (client.isPresent()) {
                         try {
-                            val newProfile = client.get().renewUserProfile(new CallContext(context, sessionStore), profile);
+                            val newProfile = getProfileRenewer().renew(new CallContext(context, sessionStore), client.get(), profile);
                             if (newProfile.isPresent()) {
                                 LOGGER.debug("Renewed by profile: {}", newProfile);
                                 removeEntry = false;
                                 entry.setValue(newProfile.get());
                             }
+                        } catch (final RenewalInProgressException e) {
+                            LOGGER.debug("Renewal in progress for key: {}, the session is not updated", key);
+                            renewalInProgress = true;
                         } catch (final RuntimeException e) {
                             logger.error("Unable to renew the user profile for key: {}", key, e);
                         }
@@ -143,24 +180,52 @@ public class ProfileManager {
                 }
                 if(removeEntry)
                     profileIterator.remove();
+            } else if (config != null && profile.getClientName() != null && getProfileRenewer().shouldRenewAhead(profile)) {
+                val client = config.getClients().findClient(profile.getClientName());
+                if (client.isPresent()) {
+                    try {
+                        val newProfile = getProfileRenewer().renewAhead(new CallContext(context, sessionStore), client.get(), profile);
+                        if (newProfile.isPresent() && newProfile.get() != profile) {
+                            LOGGER.debug("Renewed ahead by profile: {}", newProfile);
+                            profilesUpdated = true;
+                            entry.setValue(newProfile.get());
+                        }
+                    } catch (final RuntimeException e) {
+                        logger.warn("Unable to renew ahead the user profile for key: {}", key, e);
+                    }
+                }
             }
         }
         if (profilesUpdated) {
-            saveAll(profiles, readFromSession);
+            // the request renewing the profile saves it in session: don't overwrite it
+            saveAll(profiles, readFromSession && !renewalInProgress);
         }
     }
 
+    /**
+     * <p>getProfileRenewer.</p>
+     *
+     * @return the profile renewer of the configuration or the default one
+     */
+    protected ProfileRenewer getProfileRenewer() {
+        val profileRenewer = config != null ? config.getProfileRenewer() : null;
+        return profileRenewer != null ? profileRenewer : ProfileRenewer.DEFAULT;
+    }
+
     /**
      * Remove the current user profile(s).
      */
     public void removeProfiles() {
         val sessionExists = sessionStore.getSessionId(context, false).isPresent();
+        final Map<String, UserProfile> sessionProfiles = sessionExists ? new LinkedHashMap<>() : null;
         if (sessionExists) {
             LOGGER.debug("Removing profiles from session");
-            this.sessionStore.set(this.context, Pac4jConstants.USER_PROFILES, new LinkedHashMap<String, UserProfile>());
+            this.sessionStore.set(this.context, Pac4jConstants.USER_PROFILES, sessionProfiles);
         }
         LOGGER.debug("Removing profiles from request");
-        this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES, new LinkedHashMap<String, UserProfile>());
+        val requestProfiles = new LinkedHashMap<String, UserProfile>();
+        this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES, requestProfiles);
+        saveSnapshot(new ProfilesSnapshot(requestProfiles, true, new LinkedHashMap<>(), true, sessionProfiles));
     }
 
     /**
@@ -212,6 +277,17 @@ public class ProfileManager {
         }
         LOGGER.debug("Saving profiles (request): {}", profiles);
         this.context.setRequestAttribute(Pac4jConstants.USER_PROFILES, profiles);
+
+        val snapshot = getSnapshot();
+        if (saveInSession) {
+            saveSnapshot(new ProfilesSnapshot(profiles, true, new LinkedHashMap<>(profiles), true, profiles));
+        } else if (snapshot != null) {
+            // the session is unchanged
+            saveSnapshot(new ProfilesSnapshot(profiles, false, new LinkedHashMap<>(profiles), snapshot.sessionRead(),
+                snapshot.sessionProfiles()));
+        } else {
+            saveSnapshot(new ProfilesSnapshot(profiles, false, new LinkedHashMap<>(profiles), false, null));
+        }
     }
 
     /**
@@ -227,4 +303,16 @@ public class ProfileManager {
             throw new TechnicalException(e);
         }
     }
+
+    /**
+     * The profiles retrieved for the current request.
+     *
+     * @param requestProfiles the profiles of the request attribute the snapshot has been computed from
+     * @param withSession whether the profiles of the session are included
+     * @param profiles the (not expired) profiles
+     * @param sessionRead whether the profiles of the session are known
+     * @param sessionProfiles the profiles of the session (if known)
+     */
+    private record ProfilesSnapshot(Object requestProfiles, boolean withSession, LinkedHashMap<String, UserProfile> profiles,
+                                    boolean sessionRead, Map<String, UserProfile> sessionProfiles) {}
 }
@@ -168,6 +168,17 @@ public interface UserProfile extends Serializable {
      */
     boolean isExpired();
 
+    /**
+     * Whether the profile will be expired within the given number of seconds.
+     * By default, same as {@link #isExpired()}.
+     *
+     * @param seconds the number of seconds
+     * @return whether the profile will be expired
+     */
+    default boolean willExpireWithin(final int seconds) {
+        return isExpired();
+    }
+
     /**
      * <p>asPrincipal.</p>
      *
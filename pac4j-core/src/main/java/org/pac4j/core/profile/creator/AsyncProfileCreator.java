@@ -0,0 +1,63 @@
+package org.pac4j.core.profile.creator;
+
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of the {@link ProfileCreator}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AsyncProfileCreator {
+
+    /**
+     * Create a profile from a credentials.
+     *
+     * @param ctx the context
+     * @param credentials the given credentials
+     * @return the completion stage of the created profile (optional)
+     */
+    CompletionStage<Optional<UserProfile>> create(CallContext ctx, Credentials credentials);
+
+    /**
+     * Adapt this profile creator to the blocking pipeline: the calling thread waits for the result
+     * (which is cheap when the pipeline runs on a virtual thread).
+     *
+     * @return the blocking profile creator
+     */
+    default ProfileCreator toBlocking() {
+        return (ctx, credentials) -> AsyncHelper.join(create(ctx, credentials));
+    }
+
+    /**
+     * Adapt a blocking profile creator: it is run on the given executor.
+     *
+     * @param profileCreator the blocking profile creator
+     * @param executor the executor
+     * @return the asynchronous profile creator
+     */
+    static AsyncProfileCreator fromBlocking(final ProfileCreator profileCreator, final Executor executor) {
+        CommonHelper.assertNotNull("profileCreator", profileCreator);
+        CommonHelper.assertNotNull("executor", executor);
+        return (ctx, credentials) -> AsyncHelper.supplyAsync(() -> profileCreator.create(ctx, credentials), executor);
+    }
+
+    /**
+     * Adapt a blocking profile creator: it is run on the default executor.
+     *
+     * @param profileCreator the blocking profile creator
+     * @return the asynchronous profile creator
+     */
+    static AsyncProfileCreator fromBlocking(final ProfileCreator profileCreator) {
+        return fromBlocking(profileCreator, AsyncHelper.defaultExecutor());
+    }
+}
@@ -0,0 +1,52 @@
+package org.pac4j.core.profile.renewal;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.profile.UserProfile;
+
+import java.util.Optional;
+
+/**
+ * Renew the expired user profiles for the {@link org.pac4j.core.profile.ProfileManager}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface ProfileRenewer {
+
+    /** Constant <code>DEFAULT</code>: the profile is directly renewed by the client. */
+    ProfileRenewer DEFAULT = (ctx, client, profile) -> client.renewUserProfile(ctx, profile);
+
+    /**
+     * Renew an expired user profile.
+     *
+     * @param ctx the call context
+     * @param client the client of the profile
+     * @param profile the expired profile
+     * @return the renewed profile (if any)
+     */
+    Optional<UserProfile> renew(CallContext ctx, Client client, UserProfile profile);
+
+    /**
+     * Whether a not yet expired profile should be renewed ahead.
+     *
+     * @param profile the profile
+     * @return whether the profile should be renewed ahead
+     */
+    default boolean shouldRenewAhead(final UserProfile profile) {
+        return false;
+    }
+
+    /**
+     * Renew a not yet expired user profile ahead of its expiration.
+     *
+     * @param ctx the call context
+     * @param client the client of the profile
+     * @param profile the profile which will expire soon
+     * @return the renewed profile if it is already available
+     */
+    default Optional<UserProfile> renewAhead(final CallContext ctx, final Client client, final UserProfile profile) {
+        return Optional.empty();
+    }
+}
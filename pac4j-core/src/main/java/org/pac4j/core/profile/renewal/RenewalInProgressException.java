@@ -0,0 +1,27 @@
+package org.pac4j.core.profile.renewal;
+
+import org.pac4j.core.exception.TechnicalException;
+
+import java.io.Serial;
+
+/**
+ * The renewal of a profile is still in progress in another request: the profile must neither be used
+ * nor removed from the session (where the renewing request will save the renewed profile).
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public class RenewalInProgressException extends TechnicalException {
+
+    @Serial
+    private static final long serialVersionUID = -3036418417326542413L;
+
+    /**
+     * <p>Constructor for RenewalInProgressException.</p>
+     *
+     * @param message a {@link String} object
+     */
+    public RenewalInProgressException(final String message) {
+        super(message);
+    }
+}
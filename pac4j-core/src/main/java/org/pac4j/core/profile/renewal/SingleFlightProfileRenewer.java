@@ -0,0 +1,204 @@
+package org.pac4j.core.profile.renewal;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.UserProfile;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Profile renewer which coalesces the concurrent renewals of the same profile in the same session: the first request
+ * renews the profile while the other ones wait (at most <code>maxWaitInMilliseconds</code>) and reuse its result.
+ * This avoids sending as many refresh token requests to the identity provider as there are parallel requests.</p>
+ *
+ * <p>The profiles can also be renewed ahead, when they expire within <code>renewAheadInSeconds</code>.
+ * By default, the renewal ahead is done in the thread of the first request while the other requests go on with
+ * the current profile. If an asynchronous <code>executor</code> is defined, the renewal is done in the background
+ * and its result is used by the next requests: only use it with clients which do not need the web context
+ * to renew the profiles as the request may be completed when the renewal is performed.</p>
+ *
+ * <p>Profiles without session are renewed directly (and never ahead).</p>
+ *
+ * <p>A request which times out waiting for the renewal gets a {@link RenewalInProgressException}: the
+ * {@link org.pac4j.core.profile.ProfileManager} then ignores the profile for this request but keeps the session untouched.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+@Setter
+@ToString
+public class SingleFlightProfileRenewer implements ProfileRenewer {
+
+    /**
+     * Maximum time (in milliseconds) a request waits for the renewal in progress of the same profile.
+     */
+    private long maxWaitInMilliseconds = 10_000;
+
+    /**
+     * Renew the profiles which expire within this number of seconds, {@code 0} (default) disables the renewal ahead.
+     */
+    private int renewAheadInSeconds = 0;
+
+    /**
+     * Time (in milliseconds) a failed renewal is reported to the requests of the same profile before being retried.
+     */
+    private long retentionInMilliseconds = 5_000;
+
+    /**
+     * The executor of the renewals ahead (in the calling thread by default).
+     */
+    private Executor executor = Runnable::run;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Map<String, Renewal> renewals = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<UserProfile> renew(final CallContext ctx, final Client client, final UserProfile profile) {
+        val key = computeKey(ctx, client, profile);
+        if (key == null) {
+            return client.renewUserProfile(ctx, profile);
+        }
+
+        val renewal = startOrJoin(key, ctx, client, profile, Runnable::run);
+        try {
+            return renewal.future.get(maxWaitInMilliseconds, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Renewal in progress for: {} not finished after {} ms", key, maxWaitInMilliseconds);
+            throw new RenewalInProgressException("Renewal in progress for: " + key);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RenewalInProgressException("Interrupted while waiting for the renewal of: " + key);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TechnicalException(e.getCause());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean shouldRenewAhead(final UserProfile profile) {
+        return renewAheadInSeconds > 0 && profile.willExpireWithin(renewAheadInSeconds);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<UserProfile> renewAhead(final CallContext ctx, final Client client, final UserProfile profile) {
+        val key = computeKey(ctx, client, profile);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        val renewal = startOrJoin(key, ctx, client, profile, executor);
+        if (renewal.future.isDone() && !renewal.future.isCompletedExceptionally()) {
+            return renewal.future.join();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Compute the key identifying the renewals of a profile: the client name, the session identifier and the typed
+     * profile identifier, or {@code null} if there is no session.
+     *
+     * @param ctx the call context
+     * @param client the client
+     * @param profile the profile
+     * @return the key
+     */
+    protected String computeKey(final CallContext ctx, final Client client, final UserProfile profile) {
+        if (ctx == null || ctx.webContext() == null || ctx.sessionStore() == null) {
+            return null;
+        }
+        return ctx.sessionStore().getSessionId(ctx.webContext(), false)
+            .map(sessionId -> client.getName() + "|" + sessionId + "|" + profile.getTypedId())
+            .orElse(null);
+    }
+
+    private Renewal startOrJoin(final String key, final CallContext ctx, final Client client, final UserProfile profile,
+                                final Executor renewalExecutor) {
+        purgeIfNeeded();
+        while (true) {
+            val existing = renewals.get(key);
+            if (existing != null && existing.isReusable(retentionInMilliseconds)) {
+                LOGGER.debug("Reusing renewal for: {}", key);
+                return existing;
+            }
+            val renewal = new Renewal();
+            val started = existing == null ? renewals.putIfAbsent(key, renewal) == null : renewals.replace(key, existing, renewal);
+            if (started) {
+                LOGGER.debug("Starting renewal for: {}", key);
+                try {
+                    renewalExecutor.execute(() -> renewal.run(ctx, client, profile));
+                } catch (final RuntimeException e) {
+                    renewal.fail(e);
+                    throw e;
+                }
+                return renewal;
+            }
+        }
+    }
+
+    private void purgeIfNeeded() {
+        val now = System.currentTimeMillis();
+        val last = lastPurge.get();
+        if (now - last > retentionInMilliseconds && lastPurge.compareAndSet(last, now)) {
+            renewals.values().removeIf(renewal -> !renewal.isReusable(retentionInMilliseconds));
+        }
+    }
+
+    private static final class Renewal {
+
+        private final CompletableFuture<Optional<UserProfile>> future = new CompletableFuture<>();
+
+        private volatile long completedAt;
+
+        private void run(final CallContext ctx, final Client client, final UserProfile profile) {
+            try {
+                val renewedProfile = client.renewUserProfile(ctx, profile);
+                completedAt = System.currentTimeMillis();
+                future.complete(renewedProfile);
+            } catch (final Throwable t) {
+                fail(t);
+            }
+        }
+
+        private void fail(final Throwable e) {
+            completedAt = System.currentTimeMillis();
+            future.completeExceptionally(e);
+        }
+
+        private boolean isReusable(final long retentionInMilliseconds) {
+            if (!future.isDone()) {
+                return true;
+            }
+            if (!future.isCompletedExceptionally()) {
+                val renewedProfile = future.join();
+                if (renewedProfile.isPresent()) {
+                    return !renewedProfile.get().isExpired();
+                }
+            }
+            return System.currentTimeMillis() - completedAt < retentionInMilliseconds;
+        }
+    }
+}
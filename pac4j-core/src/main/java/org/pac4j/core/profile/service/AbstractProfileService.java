@@ -27,6 +27,7 @@ import java.util.*;
 import static org.pac4j.core.profile.AttributeLocation.PROFILE_ATTRIBUTE;
 import static org.pac4j.core.util.CommonHelper.assertNotBlank;
 import static org.pac4j.core.util.CommonHelper.assertNotNull;
+import static org.pac4j.core.util.CommonHelper.assertTrue;
 import static org.pac4j.core.util.Pac4jConstants.PASSWORD;
 import static org.pac4j.core.util.Pac4jConstants.USERNAME;
 
@@ -52,6 +53,9 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
     /** Constant <code>SERIALIZED_PROFILE="serializedprofile"</code> */
     public static final String SERIALIZED_PROFILE = "serializedprofile";
 
+    /** Constant <code>DEFAULT_READ_BATCH_SIZE=100</code> */
+    public static final int DEFAULT_READ_BATCH_SIZE = 100;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Setter
@@ -72,6 +76,10 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
     @Getter
     private Serializer serializer = new JsonSerializer();
 
+    @Setter
+    @Getter
+    private int readBatchSize = DEFAULT_READ_BATCH_SIZE;
+
     // removed in v7
     @Deprecated
     @Setter
@@ -89,6 +97,7 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
         assertNotBlank("passwordAttribute", this.passwordAttribute);
         assertNotBlank("idAttribute", this.idAttribute);
         assertNotNull("serializer", serializer);
+        assertTrue(readBatchSize > 0, "readBatchSize must be greater than 0");
 
         if (StringUtils.isNotBlank(attributes)) {
             attributeNames = attributes.split(",");
@@ -230,6 +239,34 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
         return convertAttributesToProfile(listAttributes, null);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The linked identifiers are read by batches of <code>readBatchSize</code> values.
+     */
+    @Override
+    public Map<String, U> findByLinkedIds(final Collection<String> linkedIds) {
+        init();
+
+        assertNotNull("linkedIds", linkedIds);
+
+        final List<String> values = new ArrayList<>(new LinkedHashSet<>(linkedIds));
+        values.removeIf(StringUtils::isBlank);
+        Map<String, U> profiles = new HashMap<>();
+        val names = defineAttributesToRead();
+        for (var i = 0; i < values.size(); i += readBatchSize) {
+            val batch = values.subList(i, Math.min(values.size(), i + readBatchSize));
+            for (val storageAttributes : readAll(names, LINKEDID, batch)) {
+                val linkedId = storageAttributes.get(LINKEDID);
+                // as for a single read, the first result wins
+                if (linkedId != null && !profiles.containsKey(linkedId.toString())) {
+                    profiles.put(linkedId.toString(), convertAttributesToProfile(Collections.singletonList(storageAttributes), null));
+                }
+            }
+        }
+        return profiles;
+    }
+
     /**
      * Define the attributes to read in the storage.
      *
@@ -313,6 +350,23 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
      */
     protected abstract List<Map<String, Object>> read(final List<String> names, final String key, final String value);
 
+    /**
+     * Read the list of defined attributes in the storage for a key=value1 or key=value2... query.
+     * By default, one read per value is performed: the storages should override it to perform a single query.
+     *
+     * @param names the attribute names to read
+     * @param key the key for the query
+     * @param values the values for the query
+     * @return the list of map of attributes
+     */
+    protected List<Map<String, Object>> readAll(final List<String> names, final String key, final Collection<String> values) {
+        List<Map<String, Object>> listAttributes = new ArrayList<>();
+        for (val value : values) {
+            listAttributes.addAll(read(names, key, value));
+        }
+        return listAttributes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Credentials> validate(final CallContext ctx, Credentials cred) {
@@ -325,25 +379,15 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
         assertNotBlank(USERNAME, username);
         assertNotBlank(PASSWORD, password);
 
-        val attributesToRead = defineAttributesToRead();
-        // + password to check
-        attributesToRead.add(getPasswordAttribute());
-
         try {
-            val listAttributes = read(attributesToRead, getUsernameAttribute(), username);
-            if (listAttributes == null || listAttributes.isEmpty()) {
-                throw new AccountNotFoundException("No account found for: " + username);
-            } else if (listAttributes.size() > 1) {
-                throw new MultipleAccountsFoundException("Too many accounts found for: " + username);
+            val storageAttributes = readAccount(username);
+            val retrievedPassword = (String) storageAttributes.get(getPasswordAttribute());
+            // check password
+            if (!passwordEncoder.matches(password, retrievedPassword)) {
+                throw new BadCredentialsException("Bad credentials for: " + username);
             } else {
-                val retrievedPassword = (String) listAttributes.get(0).get(getPasswordAttribute());
-                // check password
-                if (!passwordEncoder.matches(password, retrievedPassword)) {
-                    throw new BadCredentialsException("Bad credentials for: " + username);
-                } else {
-                    val profile = convertAttributesToProfile(listAttributes, null);
-                    credentials.setUserProfile(profile);
-                }
+                val profile = convertAttributesToProfile(Collections.singletonList(storageAttributes), null);
+                credentials.setUserProfile(profile);
             }
 
         } catch (final TechnicalException e) {
@@ -354,6 +398,26 @@ public abstract class AbstractProfileService<U extends CommonProfile> extends Pr
         return Optional.of(cred);
     }
 
+    /**
+     * Read the account of a user in the storage: the defined attributes and the (encoded) password.
+     *
+     * @param username the username
+     * @return the map of attributes of the account
+     */
+    protected Map<String, Object> readAccount(final String username) {
+        val attributesToRead = defineAttributesToRead();
+        // + password to check
+        attributesToRead.add(getPasswordAttribute());
+
+        val listAttributes = read(attributesToRead, getUsernameAttribute(), username);
+        if (listAttributes == null || listAttributes.isEmpty()) {
+            throw new AccountNotFoundException("No account found for: " + username);
+        } else if (listAttributes.size() > 1) {
+            throw new MultipleAccountsFoundException("Too many accounts found for: " + username);
+        }
+        return listAttributes.get(0);
+    }
+
     /**
      * <p>isLegacyMode.</p>
      *
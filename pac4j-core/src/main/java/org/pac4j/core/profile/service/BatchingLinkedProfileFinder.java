@@ -0,0 +1,182 @@
+package org.pac4j.core.profile.service;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.CommonHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Find the profiles by their linked identifiers, coalescing the concurrent lookups arriving within a small time window
+ * into a single {@link ProfileService#findByLinkedIds(java.util.Collection)} call.
+ *
+ * <p>No thread is created: the first caller of a batch waits for the time window (or until the batch is full),
+ * then performs the batch read for all the callers of the batch.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class BatchingLinkedProfileFinder<U extends CommonProfile> {
+
+    /** Constant <code>DEFAULT_WINDOW_IN_MILLISECONDS=5</code> */
+    public static final long DEFAULT_WINDOW_IN_MILLISECONDS = 5;
+
+    /** Constant <code>DEFAULT_MAX_BATCH_SIZE=100</code> */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    @Getter
+    @ToString.Include
+    private final ProfileService<U> profileService;
+
+    @Getter
+    @ToString.Include
+    private final long windowInMilliseconds;
+
+    @Getter
+    @ToString.Include
+    private final int maxBatchSize;
+
+    private final LongAdder lookups = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final Object lock = new Object();
+
+    private Batch<U> currentBatch;
+
+    /**
+     * <p>Constructor for BatchingLinkedProfileFinder.</p>
+     *
+     * @param profileService the profile service
+     */
+    public BatchingLinkedProfileFinder(final ProfileService<U> profileService) {
+        this(profileService, DEFAULT_WINDOW_IN_MILLISECONDS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * <p>Constructor for BatchingLinkedProfileFinder.</p>
+     *
+     * @param profileService the profile service
+     * @param windowInMilliseconds the time window to gather the lookups
+     * @param maxBatchSize the maximum number of linked identifiers per batch
+     */
+    public BatchingLinkedProfileFinder(final ProfileService<U> profileService, final long windowInMilliseconds,
+                                       final int maxBatchSize) {
+        CommonHelper.assertNotNull("profileService", profileService);
+        CommonHelper.assertTrue(windowInMilliseconds >= 0, "windowInMilliseconds cannot be negative");
+        CommonHelper.assertTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+        this.profileService = profileService;
+        this.windowInMilliseconds = windowInMilliseconds;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Find a profile by its linked identifier.
+     *
+     * @param linkedId the linked identifier
+     * @return the found profile
+     */
+    public U findByLinkedId(final String linkedId) {
+        CommonHelper.assertNotBlank("linkedId", linkedId);
+        lookups.increment();
+
+        final Batch<U> batch;
+        final CompletableFuture<U> future;
+        var leader = false;
+        synchronized (lock) {
+            if (currentBatch == null) {
+                currentBatch = new Batch<>();
+                leader = true;
+            }
+            batch = currentBatch;
+            future = batch.futures.computeIfAbsent(linkedId, k -> new CompletableFuture<>());
+            if (batch.futures.size() >= maxBatchSize) {
+                currentBatch = null;
+                batch.full.countDown();
+            }
+        }
+
+        if (leader) {
+            executeBatch(batch);
+        }
+
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TechnicalException(e.getCause());
+        }
+    }
+
+    private void executeBatch(final Batch<U> batch) {
+        try {
+            if (windowInMilliseconds > 0 && !batch.full.await(windowInMilliseconds, TimeUnit.MILLISECONDS)) {
+                LOGGER.trace("Time window elapsed before the batch is full");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            if (currentBatch == batch) {
+                currentBatch = null;
+            }
+        }
+
+        batches.increment();
+        val futures = batch.futures;
+        LOGGER.debug("Finding profiles for {} linked identifier(s)", futures.size());
+        try {
+            val profiles = profileService.findByLinkedIds(futures.keySet());
+            for (val entry : futures.entrySet()) {
+                entry.getValue().complete(profiles.get(entry.getKey()));
+            }
+        } catch (final RuntimeException | Error e) {
+            // the other callers of the batch must never wait forever
+            for (val future : futures.values()) {
+                future.completeExceptionally(e);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * <p>getLookups.</p>
+     *
+     * @return the number of lookups
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * <p>getBatches.</p>
+     *
+     * @return the number of batch reads performed
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    private static final class Batch<U> {
+        // only modified under the lock, and until the batch is closed
+        private final Map<String, CompletableFuture<U>> futures = new LinkedHashMap<>();
+
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,439 @@
+package org.pac4j.core.profile.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.exception.AccountNotFoundException;
+import org.pac4j.core.exception.BadCredentialsException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileHelper;
+import org.pac4j.core.store.GuavaStore;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.InitializableObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.pac4j.core.util.Pac4jConstants.PASSWORD;
+import static org.pac4j.core.util.Pac4jConstants.USERNAME;
+
+/**
+ * A profile service which caches the profiles read by another profile service (LDAP, SQL, MongoDB, in memory...).
+ *
+ * <p>The profiles are cached in their deserialized form, by identifier, linked identifier and username (for the password check),
+ * in a bounded cache with a time-to-live. The unknown users are also cached, for a shorter time (<code>negativeTimeout</code>,
+ * 0 to disable it). Any creation, update or removal performed through this service invalidates the cached entries
+ * (by identifier, linked identifier and username) of the previous and new versions of the profile: the previous version
+ * is read from the cached profile service before an update or a removal.
+ * A copy of the cached profile is returned each time, so the callers can modify it.</p>
+ *
+ * <p>For the password check, the account is read each time by default: the encoded passwords are only cached
+ * if a <code>passwordTimeout</code> is defined, for this (short) time, and checked by the password encoder of the profile service.
+ * For a profile service without password encoder (LDAP), the password check is always delegated.</p>
+ *
+ * Add the <code>guava</code> dependency to use this class.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+@Slf4j
+public class CachingProfileService<U extends CommonProfile> extends InitializableObject implements ProfileService<U>, Authenticator {
+
+    /** Constant <code>DEFAULT_CACHE_SIZE=10000</code> */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    /** Constant <code>DEFAULT_TIMEOUT=300</code> */
+    public static final int DEFAULT_TIMEOUT = 300;
+
+    /** Constant <code>DEFAULT_NEGATIVE_TIMEOUT=30</code> */
+    public static final int DEFAULT_NEGATIVE_TIMEOUT = 30;
+
+    private static final String ID_KEY = "id:";
+
+    private static final String LINKED_ID_KEY = "linkedid:";
+
+    private static final String USERNAME_KEY = "username:";
+
+    private AbstractProfileService<U> delegate;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+
+    private int timeout = DEFAULT_TIMEOUT;
+
+    private int negativeTimeout = DEFAULT_NEGATIVE_TIMEOUT;
+
+    /** The time-to-live of the cached encoded passwords, 0 (the default) to never cache them. */
+    private int passwordTimeout;
+
+    private TimeUnit timeUnit = TimeUnit.SECONDS;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private GuavaStore<String, Entry<U>> store;
+
+    /** Incremented by each write, so that the profiles read during a write are not cached. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The entries read before this generation have been invalidated by {@link #invalidateAll()}. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile long invalidatedGeneration;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LongAdder hits = new LongAdder();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * <p>Constructor for CachingProfileService.</p>
+     */
+    public CachingProfileService() {}
+
+    /**
+     * <p>Constructor for CachingProfileService.</p>
+     *
+     * @param delegate the cached profile service
+     */
+    public CachingProfileService(final AbstractProfileService<U> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * <p>Constructor for CachingProfileService.</p>
+     *
+     * @param delegate the cached profile service
+     * @param cacheSize the maximum number of cached entries
+     * @param timeout the time-to-live of the cached profiles
+     * @param timeUnit the time unit of the timeouts
+     */
+    public CachingProfileService(final AbstractProfileService<U> delegate, final int cacheSize,
+                                 final int timeout, final TimeUnit timeUnit) {
+        this.delegate = delegate;
+        this.cacheSize = cacheSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertNotNull("delegate", delegate);
+        CommonHelper.assertTrue(negativeTimeout >= 0, "negativeTimeout cannot be negative");
+        CommonHelper.assertTrue(passwordTimeout >= 0, "passwordTimeout cannot be negative");
+
+        store = new GuavaStore<>(cacheSize, timeout, timeUnit);
+        store.init();
+        delegate.init(forceReinit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void create(final U profile, final String password) {
+        init();
+
+        try {
+            delegate.create(profile, password);
+        } finally {
+            invalidate(null, profile);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void update(final U profile, final String password) {
+        init();
+
+        val oldProfile = findPrevious(profile);
+        try {
+            delegate.update(profile, password);
+        } finally {
+            invalidate(oldProfile, profile);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove(final U profile) {
+        init();
+
+        val oldProfile = findPrevious(profile);
+        try {
+            delegate.remove(profile);
+        } finally {
+            invalidate(oldProfile, profile);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeById(final String id) {
+        init();
+
+        val oldProfile = StringUtils.isNotBlank(id) ? delegate.findById(id) : null;
+        try {
+            delegate.removeById(id);
+        } finally {
+            invalidate(oldProfile, null);
+            removeKey(ID_KEY, id);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public U findById(final String id) {
+        init();
+
+        CommonHelper.assertNotBlank(AbstractProfileService.ID, id);
+
+        return findAndCache(ID_KEY + id, () -> delegate.findById(id));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public U findByLinkedId(final String linkedId) {
+        init();
+
+        CommonHelper.assertNotBlank(AbstractProfileService.LINKEDID, linkedId);
+
+        return findAndCache(LINKED_ID_KEY + linkedId, () -> delegate.findByLinkedId(linkedId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the linked identifiers which are not cached are read by the cached profile service.
+     */
+    @Override
+    public Map<String, U> findByLinkedIds(final Collection<String> linkedIds) {
+        init();
+
+        CommonHelper.assertNotNull("linkedIds", linkedIds);
+
+        Map<String, U> profiles = new HashMap<>();
+        List<String> notCached = new ArrayList<>();
+        for (val linkedId : new LinkedHashSet<>(linkedIds)) {
+            if (StringUtils.isNotBlank(linkedId)) {
+                val entry = get(LINKED_ID_KEY + linkedId);
+                if (entry == null) {
+                    notCached.add(linkedId);
+                } else if (entry.profile != null) {
+                    profiles.put(linkedId, copy(entry.profile));
+                }
+            }
+        }
+
+        if (!notCached.isEmpty()) {
+            val currentGeneration = generation.get();
+            val found = delegate.findByLinkedIds(notCached);
+            for (val linkedId : notCached) {
+                val profile = found.get(linkedId);
+                put(LINKED_ID_KEY + linkedId, new Entry<>(profile, null, currentGeneration));
+                if (profile != null) {
+                    profiles.put(linkedId, copy(profile));
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<Credentials> validate(final CallContext ctx, final Credentials cred) {
+        init();
+
+        val passwordEncoder = delegate.getPasswordEncoder();
+        if (passwordEncoder == null) {
+            return delegate.validate(ctx, cred);
+        }
+
+        CommonHelper.assertNotNull("credentials", cred);
+        val credentials = (UsernamePasswordCredentials) cred;
+        val username = credentials.getUsername();
+        val password = credentials.getPassword();
+        CommonHelper.assertNotBlank(USERNAME, username);
+        CommonHelper.assertNotBlank(PASSWORD, password);
+
+        val key = USERNAME_KEY + username;
+        var entry = get(key);
+        if (entry == null) {
+            val currentGeneration = generation.get();
+            try {
+                val storageAttributes = delegate.readAccount(username);
+                val profile = delegate.convertAttributesToProfile(Collections.singletonList(storageAttributes), null);
+                entry = new Entry<>(profile, (String) storageAttributes.get(delegate.getPasswordAttribute()), currentGeneration);
+            } catch (final AccountNotFoundException e) {
+                put(key, new Entry<>(null, null, currentGeneration));
+                throw e;
+            }
+            if (passwordTimeout > 0) {
+                put(key, entry);
+            }
+        }
+
+        if (entry.profile == null) {
+            throw new AccountNotFoundException("No account found for: " + username);
+        } else if (!passwordEncoder.matches(password, entry.password)) {
+            throw new BadCredentialsException("Bad credentials for: " + username);
+        }
+        credentials.setUserProfile(copy(entry.profile));
+        return Optional.of(cred);
+    }
+
+    /**
+     * Invalidate all the cached entries.
+     */
+    public void invalidateAll() {
+        // the entries of the previous generations are ignored
+        invalidatedGeneration = generation.incrementAndGet();
+    }
+
+    /**
+     * <p>getHits.</p>
+     *
+     * @return the number of lookups served by the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * <p>getMisses.</p>
+     *
+     * @return the number of lookups delegated to the cached profile service
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private U findPrevious(final U profile) {
+        if (profile != null && StringUtils.isNotBlank(profile.getId())) {
+            return delegate.findById(profile.getId());
+        }
+        return null;
+    }
+
+    private void invalidate(final U oldProfile, final U newProfile) {
+        // the profiles read concurrently are not cached
+        generation.incrementAndGet();
+        removeKeys(oldProfile);
+        removeKeys(newProfile);
+    }
+
+    private void removeKeys(final U profile) {
+        if (profile != null) {
+            removeKey(ID_KEY, profile.getId());
+            removeKey(LINKED_ID_KEY, profile.getLinkedId());
+            removeKey(USERNAME_KEY, profile.getUsername());
+        }
+    }
+
+    private void removeKey(final String prefix, final String value) {
+        if (StringUtils.isNotBlank(value)) {
+            LOGGER.debug("Invalidating: {}{}", prefix, value);
+            store.remove(prefix + value);
+        }
+    }
+
+    private U findAndCache(final String key, final Supplier<U> finder) {
+        val entry = get(key);
+        if (entry != null) {
+            return entry.profile != null ? copy(entry.profile) : null;
+        }
+
+        val currentGeneration = generation.get();
+        val profile = finder.get();
+        put(key, new Entry<>(profile, null, currentGeneration));
+        return profile != null ? copy(profile) : null;
+    }
+
+    private Entry<U> get(final String key) {
+        val optEntry = store.get(key);
+        if (optEntry.isPresent()) {
+            val entry = optEntry.get();
+            if (entry.generation >= invalidatedGeneration && System.nanoTime() - entry.created < maxAge(entry)) {
+                LOGGER.debug("Cache hit for: {}", key);
+                hits.increment();
+                return entry;
+            }
+            store.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private long maxAge(final Entry<U> entry) {
+        if (entry.profile == null) {
+            return timeUnit.toNanos(negativeTimeout);
+        } else if (entry.password != null) {
+            return timeUnit.toNanos(passwordTimeout);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private void put(final String key, final Entry<U> entry) {
+        if ((entry.profile != null || negativeTimeout > 0) && entry.generation == generation.get()) {
+            store.set(key, entry);
+            // a write has started meanwhile: the entry may already be stale
+            if (entry.generation != generation.get()) {
+                store.remove(key);
+            }
+        }
+    }
+
+    private U copy(final U profile) {
+        val copy = (U) ProfileHelper.buildUserProfileByClassCompleteName(profile.getClass().getName());
+        copy.build(profile.getId(), profile.getAttributes(), profile.getAuthenticationAttributes());
+        copy.setRemembered(profile.isRemembered());
+        copy.addRoles(profile.getRoles());
+        copy.setClientName(profile.getClientName());
+        copy.setLinkedId(profile.getLinkedId());
+        return copy;
+    }
+
+    private static final class Entry<U> {
+        private final U profile;
+
+        private final String password;
+
+        private final long generation;
+
+        private final long created = System.nanoTime();
+
+        private Entry(final U profile, final String password, final long generation) {
+            this.profile = profile;
+            this.password = password;
+            this.generation = generation;
+        }
+    }
+}
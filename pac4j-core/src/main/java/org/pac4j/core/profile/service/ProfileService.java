@@ -1,7 +1,12 @@
 package org.pac4j.core.profile.service;
 
+import lombok.val;
 import org.pac4j.core.profile.CommonProfile;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Profile services: creation, update, delete and retrievals in the storage.
  *
@@ -55,4 +60,21 @@ public interface ProfileService<U extends CommonProfile> {
      * @return the found profile
      */
     U findByLinkedId(String linkedId);
+
+    /**
+     * Find profiles by their linked identifiers.
+     *
+     * @param linkedIds the linked identifiers
+     * @return the found profiles by linked identifier (the linked identifiers without profile are missing)
+     */
+    default Map<String, U> findByLinkedIds(final Collection<String> linkedIds) {
+        Map<String, U> profiles = new HashMap<>();
+        for (val linkedId : linkedIds) {
+            val profile = findByLinkedId(linkedId);
+            if (profile != null) {
+                profiles.put(linkedId, profile);
+            }
+        }
+        return profiles;
+    }
 }
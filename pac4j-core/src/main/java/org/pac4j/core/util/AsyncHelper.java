@@ -0,0 +1,154 @@
+package org.pac4j.core.util;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.exception.TechnicalException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Helper methods to run the blocking pac4j components asynchronously.
+ *
+ * <p>The default executor starts a virtual thread per task when the JVM supports them (Java 21+),
+ * and falls back to a bounded pool of daemon platform threads otherwise: when all its threads are busy
+ * and its queue is full, the task is rejected (it never runs on the calling thread, which may be an event loop).
+ * For a higher load, supply a dedicated executor.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+public final class AsyncHelper {
+
+    /** The maximum number of platform threads of the fallback executor. */
+    public static final int MAX_PLATFORM_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    /** The maximum number of pending tasks of the fallback executor. */
+    public static final int MAX_PENDING_TASKS = 1000;
+
+    private static final DefaultExecutor DEFAULT_EXECUTOR = buildDefaultExecutor();
+
+    private record DefaultExecutor(ExecutorService executor, boolean virtualThreads) {}
+
+    private AsyncHelper() {}
+
+    private static DefaultExecutor buildDefaultExecutor() {
+        try {
+            val method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            val executor = (ExecutorService) method.invoke(null);
+            LOGGER.debug("Using virtual threads for the asynchronous logics");
+            return new DefaultExecutor(executor, true);
+        } catch (final ReflectiveOperationException e) {
+            LOGGER.debug("No virtual threads available, using at most {} platform threads for the asynchronous logics",
+                MAX_PLATFORM_THREADS);
+            val counter = new AtomicInteger();
+            val executor = new ThreadPoolExecutor(MAX_PLATFORM_THREADS, MAX_PLATFORM_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_PENDING_TASKS), r -> {
+                    val thread = new Thread(r, "pac4j-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return new DefaultExecutor(executor, false);
+        }
+    }
+
+    /**
+     * Return the default executor.
+     *
+     * @return the default executor
+     */
+    public static Executor defaultExecutor() {
+        return DEFAULT_EXECUTOR.executor();
+    }
+
+    /**
+     * Whether the default executor uses virtual threads.
+     *
+     * @return whether virtual threads are used
+     */
+    public static boolean isVirtualThreadExecutor() {
+        return DEFAULT_EXECUTOR.virtualThreads();
+    }
+
+    /**
+     * Run a blocking call on an executor.
+     *
+     * @param supplier the blocking call
+     * @param executor the executor
+     * @param <T> the type of the result
+     * @return the completion stage of the result, failed with a {@link RejectedExecutionException} if the executor rejects the call
+     */
+    public static <T> CompletionStage<T> supplyAsync(final Supplier<T> supplier, final Executor executor) {
+        CommonHelper.assertNotNull("executor", executor);
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Asynchronous call rejected by the executor: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wait for the result of a completion stage (cheap on a virtual thread), unwrapping the runtime exceptions.
+     *
+     * @param stage the completion stage
+     * @param <T> the type of the result
+     * @return the result
+     */
+    public static <T> T join(final CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException(e);
+        } catch (final ExecutionException | CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Unwrap the exception of a completion stage.
+     *
+     * @param e the exception
+     * @return the original runtime exception (or a technical exception wrapping a checked one)
+     */
+    public static RuntimeException unwrap(final Throwable e) {
+        var cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        } else if (cause instanceof Error error) {
+            throw error;
+        }
+        return new TechnicalException(cause);
+    }
+
+    /**
+     * Flatten a result: if it is itself a completion stage, wait for its completion (without blocking).
+     *
+     * @param result the result
+     * @return the completion stage of the final result
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletionStage<Object> flatten(final Object result) {
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<Object>) result).thenCompose(AsyncHelper::flatten);
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+}
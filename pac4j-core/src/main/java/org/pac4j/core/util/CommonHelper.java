@@ -143,18 +143,13 @@ public final class CommonHelper {
     }
 
     /**
-     * Return a random string of a certain size.
+     * Return a random string of a certain size (lowercase hexadecimal characters).
      *
      * @param size the size
      * @return the random size
      */
     public static String randomString(final int size) {
-        val builder = new StringBuilder();
-        while (builder.length() < size) {
-            val suffix = UUID.randomUUID().toString().replace("-", Pac4jConstants.EMPTY_STRING);
-            builder.append(suffix);
-        }
-        return builder.substring(0, size);
+        return StripedSecureRandom.randomHexString(size);
     }
 
     /**
@@ -228,6 +223,27 @@ public final class CommonHelper {
         return !isNotBlank(s);
     }
 
+    /**
+     * Check whether a method declared by a base class is overridden by the class of the given object.
+     *
+     * @param object the object
+     * @param baseClass the base class declaring the method
+     * @param methodName the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return whether the method is overridden
+     */
+    public static boolean isOverridden(final Object object, final Class<?> baseClass, final String methodName,
+                                       final Class<?>... parameterTypes) {
+        for (Class<?> clazz = object.getClass(); clazz != null && clazz != baseClass; clazz = clazz.getSuperclass()) {
+            for (val method : clazz.getDeclaredMethods()) {
+                if (method.getName().equals(methodName) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Deprecated
     public static boolean areEquals(final String s1, final String s2) {
         return s1 == null ? s2 == null : s1.equals(s2);
@@ -0,0 +1,73 @@
+package org.pac4j.core.util;
+
+import lombok.val;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random bytes from a set of {@link SecureRandom} instances, to avoid the contention on a single shared instance
+ * (like the one behind {@link java.util.UUID#randomUUID()}) under load.
+ *
+ * <p>The instance is picked randomly for each call, which also works with virtual threads
+ * (no thread-local <code>SecureRandom</code> to seed per thread).</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class StripedSecureRandom {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final SecureRandom[] STRIPES;
+
+    static {
+        var nb = 1;
+        while (nb < Runtime.getRuntime().availableProcessors()) {
+            nb <<= 1;
+        }
+        STRIPES = new SecureRandom[nb];
+        for (var i = 0; i < nb; i++) {
+            STRIPES[i] = new SecureRandom();
+        }
+    }
+
+    private StripedSecureRandom() {}
+
+    /**
+     * Fill the bytes with random values.
+     *
+     * @param bytes the bytes to fill
+     */
+    public static void nextBytes(final byte[] bytes) {
+        STRIPES[ThreadLocalRandom.current().nextInt(STRIPES.length)].nextBytes(bytes);
+    }
+
+    /**
+     * Generate random bytes.
+     *
+     * @param size the number of bytes
+     * @return the random bytes
+     */
+    public static byte[] randomBytes(final int size) {
+        val bytes = new byte[size];
+        nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Generate a random string of lowercase hexadecimal characters.
+     *
+     * @param size the size of the string
+     * @return the random string
+     */
+    public static String randomHexString(final int size) {
+        val bytes = randomBytes((size + 1) / 2);
+        val chars = new char[size];
+        for (var i = 0; i < size; i++) {
+            val b = bytes[i / 2];
+            chars[i] = HEX[(i % 2 == 0 ? b >> 4 : b) & 0x0f];
+        }
+        return new String(chars);
+    }
+}
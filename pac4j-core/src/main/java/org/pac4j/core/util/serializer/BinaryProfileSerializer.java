@@ -0,0 +1,604 @@
+package org.pac4j.core.util.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.profile.AnonymousProfile;
+import org.pac4j.core.profile.BasicUserProfile;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.definition.CommonProfileDefinition;
+import org.pac4j.core.profile.jwt.JwtClaims;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>A compact binary serializer for the user profiles (and the maps of profiles saved in the web session),
+ * which relies on the {@link Externalizable} implementation of the {@link BasicUserProfile}.</p>
+ *
+ * <p>The profile types are written in a type table and the strings (attribute names, but also repeated values) in a string table:
+ * each of them is only written once per payload and referenced afterwards. Both tables are pre-filled with the core profile types
+ * and the common attribute names. Lengths, indexes and integers are written as variable-length integers.
+ * The values which are not strings, numbers, booleans, dates, URIs, bytes arrays, standard collections or profiles
+ * are delegated to the <code>fallbackSerializer</code> (JSON by default).</p>
+ *
+ * <p>The values read back by the <code>fallbackSerializer</code> must belong to a trusted package or class
+ * (see {@link #addTrustedPackage(String)} and {@link #addTrustedClass(Class)}): the class name is part of the payload.</p>
+ *
+ * <p>As a compatibility reader, the payloads which have not been written by this serializer (like the ones written
+ * by the {@link JsonSerializer}) are decoded by the <code>fallbackSerializer</code>.</p>
+ *
+ * <p>The number, size and duration of the serializations and deserializations are recorded.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+@ToString(onlyExplicitlyIncluded = true)
+public class BinaryProfileSerializer extends AbstractSerializer {
+
+    private static final byte[] MAGIC = {(byte) 0xAC, 0x4A};
+
+    private static final byte VERSION = 1;
+
+    private static final List<String> KNOWN_TYPES = List.of(BasicUserProfile.class.getName(), CommonProfile.class.getName(),
+        AnonymousProfile.class.getName());
+
+    private static final List<String> KNOWN_STRINGS = List.of(CommonProfileDefinition.EMAIL, CommonProfileDefinition.FIRST_NAME,
+        CommonProfileDefinition.FAMILY_NAME, CommonProfileDefinition.DISPLAY_NAME, CommonProfileDefinition.GENDER,
+        CommonProfileDefinition.LOCALE, CommonProfileDefinition.PICTURE_URL, CommonProfileDefinition.PROFILE_URL,
+        CommonProfileDefinition.LOCATION, JwtClaims.SUBJECT, JwtClaims.ISSUER, JwtClaims.AUDIENCE, JwtClaims.EXPIRATION_TIME,
+        JwtClaims.NOT_BEFORE, JwtClaims.ISSUED_AT, JwtClaims.JWT_ID, "access_token", "id_token", "refresh_token", "token_type",
+        "expiration", "name", "preferred_username", "given_name", "groups", "roles", "acr", "amr", "auth_time", "nonce", "sid");
+
+    private static final Set<Class<?>> STANDARD_TYPES = Stream.of(ArrayList.class, LinkedList.class, HashSet.class,
+        LinkedHashSet.class, TreeSet.class, HashMap.class, LinkedHashMap.class, TreeMap.class, Arrays.asList().getClass(),
+        List.of().getClass(), List.of(1).getClass(), Set.of().getClass(), Set.of(1).getClass(), Map.of().getClass(),
+        Map.of(1, 1).getClass(), Collections.emptyList().getClass(), Collections.emptySet().getClass(),
+        Collections.emptyMap().getClass(), Collections.singletonList(1).getClass(), Collections.singleton(1).getClass(),
+        Collections.singletonMap(1, 1).getClass(), Collections.unmodifiableList(new ArrayList<>()).getClass(),
+        Collections.unmodifiableList(new LinkedList<>()).getClass(), Collections.unmodifiableSet(new HashSet<>()).getClass(),
+        Collections.unmodifiableMap(new HashMap<>()).getClass()).collect(Collectors.toUnmodifiableSet());
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int STRING_REF = 2;
+    private static final int TRUE = 3;
+    private static final int FALSE = 4;
+    private static final int INT = 5;
+    private static final int LONG = 6;
+    private static final int DOUBLE = 7;
+    private static final int FLOAT = 8;
+    private static final int DATE = 9;
+    private static final int INSTANT = 10;
+    private static final int URI_VALUE = 11;
+    private static final int BYTES = 12;
+    private static final int LIST = 13;
+    private static final int SET = 14;
+    private static final int MAP = 15;
+    private static final int PROFILE = 16;
+    private static final int FALLBACK = 17;
+
+    /**
+     * The serializer of the values not supported natively and of the compatibility payloads.
+     */
+    @Getter
+    @Setter
+    private Serializer fallbackSerializer = new JsonSerializer();
+
+    private final Set<String> trustedPackages = new HashSet<>(Arrays.asList("java.lang.", "java.math.", "java.net.",
+        "java.time.", "java.util.", "org.pac4j.", "com.github.scribejava.", "org.opensaml.", "com.nimbusds.", "net.minidev.json.",
+        "org.bson.types."));
+
+    private final Set<Class<?>> trustedClasses = new HashSet<>();
+
+    private volatile RestrictedObjectMapper restrictedObjectMapper;
+
+    private final LongAdder serializations = new LongAdder();
+
+    private final LongAdder serializedBytes = new LongAdder();
+
+    private final LongAdder serializationNanos = new LongAdder();
+
+    private final LongAdder deserializations = new LongAdder();
+
+    private final LongAdder deserializedBytes = new LongAdder();
+
+    private final LongAdder deserializationNanos = new LongAdder();
+
+    private final LongAdder fallbackDeserializations = new LongAdder();
+
+    /** {@inheritDoc} */
+    @Override
+    protected byte[] internalSerializeToBytes(final Object obj) {
+        val start = System.nanoTime();
+        val bytes = new ByteArrayOutputStream();
+        try (val out = new ProfileOutput(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeObject(obj);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Cannot encode object", e);
+            return null;
+        }
+        val result = bytes.toByteArray();
+        serializations.increment();
+        serializedBytes.add(result.length);
+        serializationNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Object internalDeserializeFromBytes(final byte[] encoded) {
+        if (!isBinary(encoded)) {
+            fallbackDeserializations.increment();
+            return fallbackSerializer.deserializeFromBytes(encoded);
+        }
+        val start = System.nanoTime();
+        try (val in = new ProfileInput(new ByteArrayInputStream(encoded, MAGIC.length + 1, encoded.length - MAGIC.length - 1))) {
+            val result = in.readObject();
+            deserializations.increment();
+            deserializedBytes.add(encoded.length);
+            deserializationNanos.add(System.nanoTime() - start);
+            return result;
+        } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+            LOGGER.error("Cannot decode bytes", e);
+            return null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Object internalDeserializeFromString(final String encoded) {
+        // JSON payloads start with an object or an array, never a Base64 character
+        val trimmed = encoded.stripLeading();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            fallbackDeserializations.increment();
+            return fallbackSerializer.deserializeFromString(encoded);
+        }
+        return super.internalDeserializeFromString(encoded);
+    }
+
+    private static boolean isBinary(final byte[] encoded) {
+        return encoded.length > MAGIC.length && encoded[0] == MAGIC[0] && encoded[1] == MAGIC[1]
+            && encoded[MAGIC.length] == VERSION;
+    }
+
+    /**
+     * Returns an immutable set of the packages trusted for the values read by the fallback serializer.
+     *
+     * @return the trusted packages
+     */
+    public Set<String> getTrustedPackages() {
+        return Collections.unmodifiableSet(trustedPackages);
+    }
+
+    /**
+     * Returns an immutable set of the classes trusted for the values read by the fallback serializer.
+     *
+     * @return the trusted classes
+     */
+    public Set<Class<?>> getTrustedClasses() {
+        return Collections.unmodifiableSet(trustedClasses);
+    }
+
+    /**
+     * <p>addTrustedPackage.</p>
+     *
+     * @param trustedPackage a {@link String} object
+     */
+    public void addTrustedPackage(final String trustedPackage) {
+        this.trustedPackages.add(trustedPackage);
+        this.restrictedObjectMapper = null;
+    }
+
+    /**
+     * <p>addTrustedClass.</p>
+     *
+     * @param trustedClass a {@link Class} object
+     */
+    public void addTrustedClass(final Class<?> trustedClass) {
+        this.trustedClasses.add(trustedClass);
+        this.restrictedObjectMapper = null;
+    }
+
+    /**
+     * <p>clearTrustedPackages.</p>
+     */
+    public void clearTrustedPackages() {
+        this.trustedPackages.clear();
+        this.restrictedObjectMapper = null;
+    }
+
+    /**
+     * A copy of the JSON object mapper which only accepts the trusted types as polymorphic (typed) values.
+     */
+    private ObjectMapper restrictedObjectMapper(final ObjectMapper objectMapper) {
+        var restricted = this.restrictedObjectMapper;
+        if (restricted == null || restricted.source() != objectMapper) {
+            val validator = BasicPolymorphicTypeValidator.builder();
+            trustedPackages.forEach(validator::allowIfSubType);
+            trustedClasses.forEach(validator::allowIfSubType);
+            val ptv = validator.build();
+            val copy = objectMapper.copy();
+            copy.setPolymorphicTypeValidator(ptv);
+            if (objectMapper.getDeserializationConfig().getDefaultTyper(null) != null) {
+                copy.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
+            }
+            restricted = new RestrictedObjectMapper(objectMapper, copy);
+            this.restrictedObjectMapper = restricted;
+        }
+        return restricted.mapper();
+    }
+
+    private Class<?> resolveTrustedClass(final String className) throws ClassNotFoundException {
+        for (val trustedClass : trustedClasses) {
+            if (trustedClass.getName().equals(className)) {
+                return trustedClass;
+            }
+        }
+        if (trustedPackages.stream().anyMatch(className::startsWith)) {
+            return Class.forName(className, false, BinaryProfileSerializer.class.getClassLoader());
+        }
+        throw new ClassNotFoundException("Wont resolve untrusted class: " + className);
+    }
+
+    /**
+     * <p>getSerializations.</p>
+     *
+     * @return the number of serializations
+     */
+    @ToString.Include
+    public long getSerializations() {
+        return serializations.sum();
+    }
+
+    /**
+     * <p>getSerializedBytes.</p>
+     *
+     * @return the total size (in bytes) of the serialized payloads
+     */
+    @ToString.Include
+    public long getSerializedBytes() {
+        return serializedBytes.sum();
+    }
+
+    /**
+     * <p>getSerializationNanos.</p>
+     *
+     * @return the total duration (in nanoseconds) of the serializations
+     */
+    public long getSerializationNanos() {
+        return serializationNanos.sum();
+    }
+
+    /**
+     * <p>getDeserializations.</p>
+     *
+     * @return the number of binary deserializations
+     */
+    @ToString.Include
+    public long getDeserializations() {
+        return deserializations.sum();
+    }
+
+    /**
+     * <p>getDeserializedBytes.</p>
+     *
+     * @return the total size (in bytes) of the binary payloads deserialized
+     */
+    @ToString.Include
+    public long getDeserializedBytes() {
+        return deserializedBytes.sum();
+    }
+
+    /**
+     * <p>getDeserializationNanos.</p>
+     *
+     * @return the total duration (in nanoseconds) of the binary deserializations
+     */
+    public long getDeserializationNanos() {
+        return deserializationNanos.sum();
+    }
+
+    /**
+     * <p>getFallbackDeserializations.</p>
+     *
+     * @return the number of payloads decoded by the fallback serializer
+     */
+    @ToString.Include
+    public long getFallbackDeserializations() {
+        return fallbackDeserializations.sum();
+    }
+
+    /**
+     * The output passed to the {@link BasicUserProfile#writeExternal(ObjectOutput)} method.
+     */
+    private final class ProfileOutput extends DataOutputStream implements ObjectOutput {
+
+        private final Map<String, Integer> types = new HashMap<>();
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private ProfileOutput(final OutputStream out) {
+            super(out);
+            KNOWN_TYPES.forEach(type -> types.put(type, types.size()));
+            KNOWN_STRINGS.forEach(s -> strings.put(s, strings.size()));
+        }
+
+        @Override
+        public void writeObject(final Object obj) throws IOException {
+            if (obj == null) {
+                writeByte(NULL);
+            } else if (obj instanceof String s) {
+                writeString(s);
+            } else if (obj instanceof Boolean b) {
+                writeByte(b ? TRUE : FALSE);
+            } else if (obj instanceof Integer i) {
+                writeByte(INT);
+                writeVarLong(zigZag(i));
+            } else if (obj instanceof Long l) {
+                writeByte(LONG);
+                writeVarLong(zigZag(l));
+            } else if (obj instanceof Double d) {
+                writeByte(DOUBLE);
+                writeDouble(d);
+            } else if (obj instanceof Float f) {
+                writeByte(FLOAT);
+                writeFloat(f);
+            } else if (obj.getClass() == Date.class) {
+                writeByte(DATE);
+                writeVarLong(zigZag(((Date) obj).getTime()));
+            } else if (obj instanceof Instant instant) {
+                writeByte(INSTANT);
+                writeVarLong(zigZag(instant.getEpochSecond()));
+                writeVarLong(instant.getNano());
+            } else if (obj instanceof URI uri) {
+                writeByte(URI_VALUE);
+                writeString(uri.toString());
+            } else if (obj instanceof byte[] bytes) {
+                writeByte(BYTES);
+                writeBytes(bytes);
+            } else if (obj instanceof BasicUserProfile profile) {
+                writeByte(PROFILE);
+                writeType(profile.getClass().getName());
+                profile.writeExternal(this);
+            } else if (isStandard(obj) && obj instanceof Map<?, ?> map) {
+                writeByte(MAP);
+                writeVarLong(map.size());
+                for (val entry : map.entrySet()) {
+                    writeObject(entry.getKey());
+                    writeObject(entry.getValue());
+                }
+            } else if (isStandard(obj) && obj instanceof Collection<?> collection) {
+                writeByte(obj instanceof Set ? SET : LIST);
+                writeVarLong(collection.size());
+                for (val item : collection) {
+                    writeObject(item);
+                }
+            } else {
+                writeByte(FALLBACK);
+                writeString(obj.getClass().getName());
+                writeBytes(fallbackSerializer.serializeToBytes(obj));
+            }
+        }
+
+        private boolean isStandard(final Object obj) {
+            return STANDARD_TYPES.contains(obj.getClass());
+        }
+
+        private void writeType(final String type) throws IOException {
+            val index = types.get(type);
+            if (index != null) {
+                writeVarLong(index);
+            } else {
+                // a new type: the next index followed by its name
+                writeVarLong(types.size());
+                writeUtf8(type);
+                types.put(type, types.size());
+            }
+        }
+
+        private void writeString(final String s) throws IOException {
+            val index = strings.get(s);
+            if (index != null) {
+                writeByte(STRING_REF);
+                writeVarLong(index);
+            } else {
+                writeByte(STRING);
+                writeUtf8(s);
+                strings.put(s, strings.size());
+            }
+        }
+
+        private void writeUtf8(final String s) throws IOException {
+            writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(final byte[] bytes) throws IOException {
+            writeVarLong(bytes.length);
+            write(bytes);
+        }
+
+        private void writeVarLong(final long value) throws IOException {
+            var v = value;
+            while ((v & ~0x7FL) != 0) {
+                writeByte((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            writeByte((int) v);
+        }
+
+        private long zigZag(final long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * The input passed to the {@link BasicUserProfile#readExternal(ObjectInput)} method.
+     */
+    private final class ProfileInput extends DataInputStream implements ObjectInput {
+
+        private final List<String> types = new ArrayList<>(KNOWN_TYPES);
+
+        private final List<String> strings = new ArrayList<>(KNOWN_STRINGS);
+
+        private ProfileInput(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public Object readObject() throws ClassNotFoundException, IOException {
+            val tag = readUnsignedByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case STRING:
+                    val s = readUtf8();
+                    strings.add(s);
+                    return s;
+                case STRING_REF:
+                    return strings.get(readVarInt());
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) unZigZag(readVarLong());
+                case LONG:
+                    return unZigZag(readVarLong());
+                case DOUBLE:
+                    return readDouble();
+                case FLOAT:
+                    return readFloat();
+                case DATE:
+                    return new Date(unZigZag(readVarLong()));
+                case INSTANT:
+                    val seconds = unZigZag(readVarLong());
+                    return Instant.ofEpochSecond(seconds, readVarLong());
+                case URI_VALUE:
+                    return URI.create((String) readObject());
+                case BYTES:
+                    return readBytes();
+                case LIST:
+                    val size = readCount(1);
+                    final List<Object> list = new ArrayList<>();
+                    for (var i = 0; i < size; i++) {
+                        list.add(readObject());
+                    }
+                    return list;
+                case SET:
+                    val nbItems = readCount(1);
+                    final Set<Object> set = new LinkedHashSet<>();
+                    for (var i = 0; i < nbItems; i++) {
+                        set.add(readObject());
+                    }
+                    return set;
+                case MAP:
+                    val nbEntries = readCount(2);
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    for (var i = 0; i < nbEntries; i++) {
+                        map.put(readObject(), readObject());
+                    }
+                    return map;
+                case PROFILE:
+                    val profile = newProfile(readType());
+                    profile.readExternal(this);
+                    return profile;
+                case FALLBACK:
+                    return readFallbackValue((String) readObject(), readBytes());
+                default:
+                    throw new StreamCorruptedException("Unknown tag: " + tag);
+            }
+        }
+
+        private Object readFallbackValue(final String className, final byte[] bytes) throws ClassNotFoundException, IOException {
+            // the JSON payload of a final class has no type information: use the recorded type
+            val clazz = resolveTrustedClass(className);
+            if (fallbackSerializer instanceof JsonSerializer jsonSerializer) {
+                return restrictedObjectMapper(jsonSerializer.getObjectMapper()).readValue(bytes, clazz);
+            }
+            val value = fallbackSerializer.deserializeFromBytes(bytes);
+            if (value != null && !clazz.isInstance(value)) {
+                throw new InvalidClassException(className, "unexpected fallback value: " + value.getClass().getName());
+            }
+            return value;
+        }
+
+        private BasicUserProfile newProfile(final String type) throws ClassNotFoundException, IOException {
+            val clazz = Class.forName(type, false, BinaryProfileSerializer.class.getClassLoader());
+            if (!BasicUserProfile.class.isAssignableFrom(clazz)) {
+                throw new ClassNotFoundException("Not a profile type: " + type);
+            }
+            try {
+                return (BasicUserProfile) clazz.getDeclaredConstructor().newInstance();
+            } catch (final ReflectiveOperationException e) {
+                throw new InvalidClassException(type, "cannot instantiate profile: " + e.getMessage());
+            }
+        }
+
+        private String readType() throws IOException {
+            val index = readVarInt();
+            if (index < types.size()) {
+                return types.get(index);
+            }
+            val type = readUtf8();
+            types.add(type);
+            return type;
+        }
+
+        private String readUtf8() throws IOException {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes() throws IOException {
+            val bytes = new byte[readCount(1)];
+            readFully(bytes);
+            return bytes;
+        }
+
+        /**
+         * Read a length or a number of items, which cannot exceed the remaining input.
+         */
+        private int readCount(final int minBytesPerItem) throws IOException {
+            val count = readVarInt();
+            if (count < 0 || (long) count * minBytesPerItem > available()) {
+                throw new StreamCorruptedException("Invalid length: " + count);
+            }
+            return count;
+        }
+
+        private int readVarInt() throws IOException {
+            return Math.toIntExact(readVarLong());
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (var shift = 0; shift < 64; shift += 7) {
+                val b = readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable-length integer");
+        }
+
+        private long unZigZag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private record RestrictedObjectMapper(ObjectMapper source, ObjectMapper mapper) {}
+}
@@ -7,12 +7,15 @@ import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.core.matching.matcher.csrf.DefaultCsrfTokenGenerator;
+import org.pac4j.core.matching.matcher.csrf.HmacCsrfTokenGenerator;
 import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.test.context.MockWebContext;
 import org.pac4j.test.context.session.MockSessionStore;
 import org.pac4j.test.util.TestsConstants;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -198,4 +201,26 @@ public final class CsrfAuthorizerTests implements TestsConstants {
 
         assertFalse(authorizer.isAuthorized(context, sessionStore, null));
     }
+
+    @Test
+    public void testHmacTokens() {
+        val generator = new HmacCsrfTokenGenerator("12345678901234567890123456789012");
+        val hmacAuthorizer = new CsrfAuthorizer(generator);
+        final Map<String, Object> data = new HashMap<>();
+        val sessionStore = new MockSessionStore(data);
+        val token = generator.get(MockWebContext.create(), sessionStore);
+
+        val context = MockWebContext.create()
+            .setRequestMethod(HttpConstants.HTTP_METHOD.POST.name())
+            .addRequestHeader(Pac4jConstants.CSRF_TOKEN, token);
+        assertTrue(hmacAuthorizer.isAuthorized(context, sessionStore, null));
+        assertTrue(data.isEmpty());
+
+        val badContext = MockWebContext.create()
+            .setRequestMethod(HttpConstants.HTTP_METHOD.POST.name())
+            .addRequestParameter(Pac4jConstants.CSRF_TOKEN, VALUE);
+        assertFalse(hmacAuthorizer.isAuthorized(badContext, sessionStore, null));
+        assertFalse(hmacAuthorizer.isAuthorized(MockWebContext.create().setRequestMethod(HttpConstants.HTTP_METHOD.POST.name()),
+            sessionStore, null));
+    }
 }
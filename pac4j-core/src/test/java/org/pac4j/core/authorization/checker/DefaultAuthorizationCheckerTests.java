@@ -57,6 +57,22 @@ public final class DefaultAuthorizationCheckerTests implements TestsConstants {
         }
     }
 
+    @Test
+    public void testCompiledCheckerCallsOverriddenComputeAuthorizers() {
+        val overridingChecker = new DefaultAuthorizationChecker() {
+            @Override
+            protected List<Authorizer> computeAuthorizers(final WebContext context, final List<UserProfile> profiles,
+                                                          final String authorizersValue, final Map<String, Authorizer> authorizersMap,
+                                                          final List<Client> clients) {
+                return List.of(new IdAuthorizer());
+            }
+        };
+        val compiledChecker = overridingChecker.compile(null, new HashMap<>());
+        assertFalse(compiledChecker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, new ArrayList<>()));
+        profile.setId(VALUE);
+        assertTrue(compiledChecker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles, new ArrayList<>()));
+    }
+
     @Test
     public void testBlankAuthorizerNameAProfile() {
         assertTrue(checker.isAuthorized(MockWebContext.create(), new MockSessionStore(), profiles,
@@ -0,0 +1,66 @@
+package org.pac4j.core.authorization.generator;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.service.BatchingLinkedProfileFinder;
+import org.pac4j.core.profile.service.ProfileService;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link LoadLinkedUserAuthorizationGenerator}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class LoadLinkedUserAuthorizationGeneratorTests implements TestsConstants {
+
+    private static final CallContext CTX = new CallContext(MockWebContext.create(), new MockSessionStore());
+
+    private static CommonProfile buildProfile(final String id) {
+        val profile = new CommonProfile();
+        profile.setId(id);
+        return profile;
+    }
+
+    @Test
+    public void testLinkedProfile() {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        val linkedProfile = buildProfile(NAME);
+        when(service.findByLinkedId(ID)).thenReturn(linkedProfile);
+
+        val generator = new LoadLinkedUserAuthorizationGenerator(service);
+        assertSame(linkedProfile, generator.generate(CTX, buildProfile(ID)).get());
+    }
+
+    @Test
+    public void testLinkedProfileNotFound() {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        val generator = new LoadLinkedUserAuthorizationGenerator(service);
+
+        assertThrows(TechnicalException.class, () -> generator.generate(CTX, buildProfile(ID)));
+        generator.setFailIfLinkedUserNotFound(false);
+        assertEquals(ID, generator.generate(CTX, buildProfile(ID)).get().getId());
+    }
+
+    @Test
+    public void testBatchedLinkedProfile() {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        val linkedProfile = buildProfile(NAME);
+        when(service.findByLinkedIds(anyCollection())).thenReturn(Map.of(ID, linkedProfile));
+
+        val generator = new LoadLinkedUserAuthorizationGenerator(new BatchingLinkedProfileFinder<>(service, 0, 10));
+        assertSame(linkedProfile, generator.generate(CTX, buildProfile(ID)).get());
+        verify(service, never()).findByLinkedId(any());
+    }
+}
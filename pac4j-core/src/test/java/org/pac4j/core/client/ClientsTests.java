@@ -193,6 +193,47 @@ public final class ClientsTests implements TestsConstants {
         assertTrue(fclient.getCallbackUrlResolver() instanceof NoParameterCallbackUrlResolver);
     }
 
+    @Test
+    public void testNoReinitWhenClientsUnchanged() {
+        val facebookClient = newFacebookClient();
+        val yahooClient = newYahooClient();
+        val clients = new Clients(CALLBACK_URL, facebookClient);
+        assertEquals(facebookClient, clients.findClient("facebookclient").get());
+        assertEquals(facebookClient, clients.findClient("FacebookClient").get());
+        assertTrue(clients.findClient("YahooClient").isEmpty());
+        assertEquals(1, clients.getNbAttempts());
+        clients.addClient(yahooClient);
+        assertEquals(yahooClient, clients.findClient("YahooClient").get());
+        assertEquals(2, clients.getNbAttempts());
+        assertEquals(facebookClient, clients.findClient("FacebookClient").get());
+        assertEquals(2, clients.getNbAttempts());
+    }
+
+    @Test
+    public void testClientReplacedInPlace() {
+        val facebookClient = newFacebookClient();
+        val otherFacebookClient = newFacebookClient();
+        val clients = new Clients(CALLBACK_URL, facebookClient, newYahooClient());
+        assertSame(facebookClient, clients.findClient("FacebookClient").get());
+        clients.getClients().set(0, otherFacebookClient);
+        assertSame(otherFacebookClient, clients.findClient("FacebookClient").get());
+        assertEquals(2, clients.getNbAttempts());
+    }
+
+    @Test
+    public void testVersion() {
+        val clients = new Clients(CALLBACK_URL, newFacebookClient());
+        val version = clients.getVersion();
+        assertTrue(clients.findClient("FacebookClient").isPresent());
+        assertEquals(version, clients.getVersion());
+        clients.getClients().add(newYahooClient());
+        assertNotEquals(version, clients.getVersion());
+        assertTrue(clients.findClient("YahooClient").isPresent());
+        clients.getClients().removeIf(client -> "YahooClient".equals(client.getName()));
+        assertFalse(clients.findClient("YahooClient").isPresent());
+        assertEquals(3, clients.getNbAttempts());
+    }
+
     @Test
     @Disabled
     public void testPerfFind() {
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.pac4j.core.client.Client;
 import org.pac4j.core.client.Clients;
 import org.pac4j.core.client.MockIndirectClient;
 import org.pac4j.core.context.WebContext;
@@ -15,10 +16,13 @@ import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.test.context.MockWebContext;
 import org.pac4j.test.util.TestsConstants;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -50,6 +54,31 @@ public final class DefaultSecurityClientFinderTests implements TestsConstants, P
         assertTrue(currentClients.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should return a new mutable list for each request when compiled")
+    public void testCompiledFinderReturnsCopies() {
+        val client = new MockIndirectClient(NAME, new FoundAction(LOGIN_URL), Optional.empty(), new CommonProfile());
+        val compiledFinder = finder.compile(new Clients(client), NAME);
+        val currentClients = compiledFinder.find(MockWebContext.create());
+        assertEquals(1, currentClients.size());
+        currentClients.clear();
+        assertEquals(1, compiledFinder.find(MockWebContext.create()).size());
+        assertNotSame(compiledFinder.find(MockWebContext.create()), compiledFinder.find(MockWebContext.create()));
+    }
+
+    @Test
+    @DisplayName("Should call the overridden find method when compiled")
+    public void testCompiledFinderCallsOverriddenFind() {
+        val client = new MockIndirectClient(NAME, new FoundAction(LOGIN_URL), Optional.empty(), new CommonProfile());
+        val overridingFinder = new DefaultSecurityClientFinder() {
+            @Override
+            public List<Client> find(final Clients clients, final WebContext context, final String clientNames) {
+                return new ArrayList<>();
+            }
+        };
+        assertTrue(overridingFinder.compile(new Clients(client), NAME).find(MockWebContext.create()).isEmpty());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {DEFAULT_FORCE_CLIENT_PARAMETER, "custom"})
     @DisplayName("Should find client when client name is allowed on request")
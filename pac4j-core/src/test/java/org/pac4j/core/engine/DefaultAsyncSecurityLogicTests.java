@@ -0,0 +1,125 @@
+package org.pac4j.core.engine;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.adapter.FrameworkAdapter;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.MockIndirectClient;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.FrameworkParameters;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.credentials.MockCredentials;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.exception.http.FoundAction;
+import org.pac4j.core.exception.http.HttpAction;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.AsyncHelper;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+import org.pac4j.test.util.TestsHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests {@link DefaultAsyncSecurityLogic}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class DefaultAsyncSecurityLogicTests implements TestsConstants {
+
+    private DefaultAsyncSecurityLogic logic;
+
+    private MockWebContext context;
+
+    private SessionStore sessionStore;
+
+    private Config config;
+
+    private HttpAction action;
+
+    private Thread adapterThread;
+
+    @BeforeEach
+    public void setUp() {
+        logic = new DefaultAsyncSecurityLogic();
+        config = new Config();
+        context = MockWebContext.create();
+        config.setWebContextFactory(p -> context);
+        sessionStore = new MockSessionStore();
+        config.setSessionStoreFactory(p -> sessionStore);
+        config.setHttpActionAdapter((act, ctx) -> { action = act; return act.getCode(); });
+        config.setClients(new Clients(CALLBACK_URL, new MockIndirectClient(NAME, new FoundAction(PAC4J_URL),
+            Optional.of(new MockCredentials()), new CommonProfile())));
+        FrameworkAdapter.INSTANCE.applyDefaultSettingsIfUndefined(config);
+    }
+
+    private CompletionStage<Object> call(final SecurityGrantedAccessAdapter adapter) {
+        return logic.perform(config, adapter, null, null, null, mock(FrameworkParameters.class));
+    }
+
+    private void authenticate() {
+        val profile = new CommonProfile();
+        profile.setId(ID);
+        final Map<String, CommonProfile> profiles = new LinkedHashMap<>();
+        profiles.put(NAME, profile);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+    }
+
+    @Test
+    public void testGrantedAccessOnExecutor() {
+        authenticate();
+        val result = AsyncHelper.join(call((ctx, store, profiles) -> {
+            adapterThread = Thread.currentThread();
+            return profiles.iterator().next().getId();
+        }));
+        assertEquals(ID, result);
+        assertNotNull(adapterThread);
+        assertNotSame(Thread.currentThread(), adapterThread);
+        assertNull(action);
+    }
+
+    @Test
+    public void testGrantedAccessReturningStage() {
+        authenticate();
+        val future = new CompletableFuture<Object>();
+        val stage = call((ctx, store, profiles) -> future);
+        assertFalse(stage.toCompletableFuture().isDone());
+        future.complete(VALUE);
+        assertEquals(VALUE, AsyncHelper.join(stage));
+    }
+
+    @Test
+    public void testRedirectionToIdentityProvider() {
+        assertEquals(302, AsyncHelper.join(call((ctx, store, profiles) -> fail("access must not be granted"))));
+        assertEquals(302, action.getCode());
+    }
+
+    @Test
+    public void testExceptionCompletesStage() {
+        config = null;
+        val stage = call((ctx, store, profiles) -> null);
+        TestsHelper.expectException(() -> AsyncHelper.join(stage), TechnicalException.class, "config cannot be null");
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        logic.setExecutor(Runnable::run);
+        authenticate();
+        assertEquals(VALUE, AsyncHelper.join(call((ctx, store, profiles) -> {
+            adapterThread = Thread.currentThread();
+            return VALUE;
+        })));
+        assertSame(Thread.currentThread(), adapterThread);
+    }
+}
@@ -328,4 +328,47 @@ public final class DefaultSecurityLogicTests implements TestsConstants {
         call();
         assertEquals(401, action.getCode());
     }
+
+    @Test
+    public void testSecurityPlanReusedAndRebuiltOnConfigChange() {
+        val profile = new CommonProfile();
+        profile.setId(ID);
+        Map<String, CommonProfile> profiles = new LinkedHashMap<>();
+        profiles.put(NAME, profile);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        final IndirectClient indirectClient = new MockIndirectClient(NAME, null, Optional.of(new MockCredentials()), new CommonProfile());
+        authorizers = NAME;
+        config.setClients(new Clients(CALLBACK_URL, indirectClient));
+        config.addAuthorizer(NAME, (context, store, prof) -> false);
+        call();
+        assertEquals(403, action.getCode());
+        val plan = logic.getSecurityPlan(config, clients, authorizers, matchers);
+        call();
+        assertSame(plan, logic.getSecurityPlan(config, clients, authorizers, matchers));
+
+        action = null;
+        config.addAuthorizer(NAME, (context, store, prof) -> true);
+        call();
+        assertNull(action);
+        assertEquals(1, nbCall);
+        assertNotSame(plan, logic.getSecurityPlan(config, clients, authorizers, matchers));
+    }
+
+    @Test
+    public void testSecurityPlanRebuiltOnDirectReplacement() {
+        final IndirectClient indirectClient = new MockIndirectClient(NAME, null, Optional.of(new MockCredentials()), new CommonProfile());
+        authorizers = NAME;
+        config.setClients(new Clients(CALLBACK_URL, indirectClient));
+        config.addAuthorizer(NAME, (context, store, prof) -> false);
+        val plan = logic.getSecurityPlan(config, clients, authorizers, matchers);
+        assertSame(plan, logic.getSecurityPlan(config, clients, authorizers, matchers));
+
+        config.getClients().getClients().set(0,
+            new MockIndirectClient(NAME, null, Optional.of(new MockCredentials()), new CommonProfile()));
+        val plan2 = logic.getSecurityPlan(config, clients, authorizers, matchers);
+        assertNotSame(plan, plan2);
+
+        config.getClients().setDefaultSecurityClients(NAME);
+        assertNotSame(plan2, logic.getSecurityPlan(config, clients, authorizers, matchers));
+    }
 }
@@ -0,0 +1,161 @@
+package org.pac4j.core.logout.handler;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileManager;
+import org.pac4j.core.store.GuavaStore;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link DefaultSessionLogoutHandler}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class DefaultSessionLogoutHandlerTests implements TestsConstants {
+
+    private static final String NODE1 = "node1";
+    private static final String NODE2 = "node2";
+
+    /**
+     * A session store whose web session (the map) always exists, as for a real trackable session.
+     */
+    private static final class ExistingSessionStore extends MockSessionStore {
+
+        private ExistingSessionStore(final Map<String, Object> session) {
+            super(session);
+            this.id = String.valueOf(System.identityHashCode(session));
+        }
+
+        @Override
+        public Optional<SessionStore> buildFromTrackableSession(final WebContext context, final Object trackableSession) {
+            return Optional.of(new ExistingSessionStore((Map<String, Object>) trackableSession));
+        }
+    }
+
+    private static CallContext login(final DefaultSessionLogoutHandler handler, final Map<String, Object> session) {
+        val ctx = new CallContext(MockWebContext.create(), new ExistingSessionStore(session));
+        val profile = new CommonProfile();
+        profile.setId(ID);
+        new ProfileManager(ctx.webContext(), ctx.sessionStore()).save(true, profile, false);
+        handler.recordSession(ctx, KEY);
+        return ctx;
+    }
+
+    private static boolean isAuthenticated(final Map<String, Object> session) {
+        return new ProfileManager(MockWebContext.create(), new ExistingSessionStore(session)).isAuthenticated();
+    }
+
+    @Test
+    public void testLocalTrackableSessionStoreConfigurable() {
+        val handler = new DefaultSessionLogoutHandler(new GuavaStore<>(100, 1, TimeUnit.HOURS), NODE1, null);
+        handler.setSize(50);
+        handler.setTimeout(2);
+        handler.setTimeUnit(TimeUnit.HOURS);
+        val trackableSessionStore = (GuavaStore<String, Object>) handler.getTrackableSessionStore();
+        assertEquals(50, trackableSessionStore.getSize());
+        assertEquals(2, trackableSessionStore.getTimeout());
+        assertEquals(TimeUnit.HOURS, trackableSessionStore.getTimeUnit());
+    }
+
+    @Test
+    public void testFrontChannelLogout() {
+        val handler = new DefaultSessionLogoutHandler();
+        final Map<String, Object> session = new HashMap<>();
+        val ctx = login(handler, session);
+        assertTrue(isAuthenticated(session));
+
+        handler.destroySession(ctx, KEY);
+        assertFalse(isAuthenticated(session));
+        assertTrue(handler.getStore().get(KEY).isEmpty());
+    }
+
+    @Test
+    public void testBackChannelLogout() {
+        val handler = new DefaultSessionLogoutHandler();
+        final Map<String, Object> session = new HashMap<>();
+        login(handler, session);
+
+        handler.destroySession(new CallContext(MockWebContext.create(), new ExistingSessionStore(new HashMap<>())), KEY);
+        assertFalse(isAuthenticated(session));
+        assertTrue(handler.getStore().get(KEY).isEmpty());
+    }
+
+    @Test
+    public void testCleanRecord() {
+        val handler = new DefaultSessionLogoutHandler(100, 1, TimeUnit.HOURS);
+        final Map<String, Object> session = new HashMap<>();
+        val ctx = login(handler, session);
+        val sessionId = ctx.sessionStore().getSessionId(ctx.webContext(), false).get();
+
+        assertEquals(KEY, handler.cleanRecord(sessionId).get());
+        assertTrue(handler.getStore().get(KEY).isEmpty());
+        assertTrue(handler.getTrackableSessionStore().get(sessionId).isEmpty());
+
+        handler.destroySession(new CallContext(MockWebContext.create(), new ExistingSessionStore(new HashMap<>())), KEY);
+        assertTrue(isAuthenticated(session));
+    }
+
+    @Test
+    public void testClusterBackChannelLogout() {
+        // the index is shared between the nodes
+        val index = new GuavaStore<String, Object>(100, 1, TimeUnit.HOURS);
+        final Map<String, DefaultSessionLogoutHandler> nodes = new HashMap<>();
+        final LogoutBroadcaster broadcaster = (nodeId, sessionId) -> assertTrue(nodes.get(nodeId)
+            .destroyRecordedSession(new CallContext(MockWebContext.create(), new ExistingSessionStore(new HashMap<>())), sessionId));
+        val handler1 = new DefaultSessionLogoutHandler(index, NODE1, broadcaster);
+        val handler2 = new DefaultSessionLogoutHandler(index, NODE2, broadcaster);
+        nodes.put(NODE1, handler1);
+        nodes.put(NODE2, handler2);
+
+        final Map<String, Object> session = new HashMap<>();
+        login(handler1, session);
+        assertTrue(handler2.getTrackableSessionStore().get(KEY).isEmpty());
+
+        // logout request received by the node 2
+        handler2.destroySession(new CallContext(MockWebContext.create(), new ExistingSessionStore(new HashMap<>())), KEY);
+        assertFalse(isAuthenticated(session));
+        assertTrue(index.get(KEY).isEmpty());
+    }
+
+    @Test
+    public void testClusterNoBroadcaster() {
+        val index = new GuavaStore<String, Object>(100, 1, TimeUnit.HOURS);
+        val handler1 = new DefaultSessionLogoutHandler(index, NODE1, null);
+        val handler2 = new DefaultSessionLogoutHandler(index, NODE2, null);
+
+        final Map<String, Object> session = new HashMap<>();
+        login(handler1, session);
+
+        handler2.destroySession(new CallContext(MockWebContext.create(), new ExistingSessionStore(new HashMap<>())), KEY);
+        assertTrue(isAuthenticated(session));
+    }
+
+    @Test
+    public void testTrackableSessionStoreCreatedOnFirstUse() {
+        val handler = new DefaultSessionLogoutHandler(new GuavaStore<>(100, 1, TimeUnit.HOURS));
+        final Map<String, Object> session = new HashMap<>();
+        login(handler, session);
+        val trackableSessions = handler.getTrackableSessionStore();
+        assertNotNull(trackableSessions);
+        assertSame(trackableSessions, handler.getTrackableSessionStore());
+
+        val index = new GuavaStore<String, Object>(100, 1, TimeUnit.HOURS);
+        val handler2 = new DefaultSessionLogoutHandler(index);
+        handler2.setTrackableSessionStore(index);
+        assertSame(index, handler2.getTrackableSessionStore());
+    }
+}
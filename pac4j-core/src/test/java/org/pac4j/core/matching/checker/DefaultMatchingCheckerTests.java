@@ -53,6 +53,19 @@ public final class DefaultMatchingCheckerTests implements TestsConstants {
         }
     }
 
+    @Test
+    public void testCompiledCheckerCallsOverriddenComputeMatchers() {
+        val overridingChecker = new DefaultMatchingChecker() {
+            @Override
+            protected List<Matcher> computeMatchers(final CallContext ctx, final String matchersValue,
+                                                    final Map<String, Matcher> matchersMap, final List<Client> clients) {
+                return List.of(new AlwaysFalseMatcher());
+            }
+        };
+        val compiledChecker = overridingChecker.compile(null, new HashMap<>());
+        assertFalse(compiledChecker.matches(new CallContext(MockWebContext.create(), new MockSessionStore()), new ArrayList<>()));
+    }
+
     @Test
     public void testNoMatcherName() {
         val context = MockWebContext.create();
@@ -128,4 +128,69 @@ public class PathMatcherTests {
         assertFalse(matcher.matches(new CallContext(MockWebContext.create().setPath("/callback"), new MockSessionStore())));
         assertFalse(matcher.matches(new CallContext(MockWebContext.create().setPath("/notprotected"), new MockSessionStore())));
     }
+
+    @Test
+    public void testManyRules() {
+        val matcher = new PathMatcher();
+        for (var i = 0; i < 100; i++) {
+            matcher.excludePath("/static/file" + i + ".css");
+            matcher.excludeBranch("/public" + i);
+            matcher.excludeRegex("^/assets" + i + "/.*\\.js$");
+        }
+
+        assertFalse(matcher.matches("/static/file50.css"));
+        assertTrue(matcher.matches("/static/file50.css/"));
+        assertFalse(matcher.matches("/public50"));
+        assertFalse(matcher.matches("/public50/img/logo.png"));
+        assertTrue(matcher.matches("/public500"));
+        assertFalse(matcher.matches("/assets50/js/app.js"));
+        assertTrue(matcher.matches("/assets50/js/app.css"));
+        assertTrue(matcher.matches("/app/secured"));
+    }
+
+    @Test
+    public void testRegexWithoutLiteralPrefix() {
+        val matcher = new PathMatcher().excludeRegex("^/a$|^/b/.*$").excludeRegex("^/ab?c$").excludeRegex("^.*\\.png$");
+
+        assertFalse(matcher.matches("/a"));
+        assertFalse(matcher.matches("/b/c"));
+        assertFalse(matcher.matches("/ac"));
+        assertFalse(matcher.matches("/abc"));
+        assertFalse(matcher.matches("/img/logo.png"));
+        assertTrue(matcher.matches("/abbc"));
+        assertTrue(matcher.matches("/c"));
+    }
+
+    @Test
+    public void testRulesUpdatedAfterMatching() {
+        val matcher = new PathMatcher().excludePath("/foo");
+        assertFalse(matcher.matches("/foo"));
+        assertTrue(matcher.matches("/bar"));
+
+        matcher.getExcludedPaths().add("/bar");
+        assertFalse(matcher.matches("/bar"));
+
+        matcher.setExcludedPath("/baz");
+        assertTrue(matcher.matches("/foo"));
+        assertFalse(matcher.matches("/baz"));
+    }
+
+    @Test
+    public void testRulesUpdatedAfterSameSizeChange() {
+        val matcher = new PathMatcher().excludePath("/foo").excludeRegex("^/a$");
+        assertFalse(matcher.matches("/foo"));
+        assertFalse(matcher.matches("/a"));
+
+        matcher.getExcludedPaths().remove("/foo");
+        matcher.getExcludedPaths().add("/bar");
+        assertTrue(matcher.matches("/foo"));
+        assertFalse(matcher.matches("/bar"));
+
+        val iterator = matcher.getExcludedPatterns().iterator();
+        iterator.next();
+        iterator.remove();
+        matcher.excludeRegex("^/b$");
+        assertTrue(matcher.matches("/a"));
+        assertFalse(matcher.matches("/b"));
+    }
 }
@@ -0,0 +1,97 @@
+package org.pac4j.core.matching.matcher.csrf;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+import org.pac4j.test.util.TestsHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link HmacCsrfTokenGenerator}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class HmacCsrfTokenGeneratorTests implements TestsConstants {
+
+    private static final String SECRET = "12345678901234567890123456789012";
+
+    @Test
+    public void testGenerateAndCheck() {
+        val generator = new HmacCsrfTokenGenerator(SECRET);
+        final WebContext context = MockWebContext.create();
+        final Map<String, Object> data = new HashMap<>();
+        val sessionStore = new MockSessionStore(data);
+
+        val token = generator.get(context, sessionStore);
+        val token2 = generator.get(context, sessionStore);
+        assertNotEquals(token, token2);
+        assertTrue(generator.isValid(context, sessionStore, token));
+        assertTrue(generator.isValid(context, sessionStore, token2));
+        // nothing is saved in the session
+        assertTrue(data.isEmpty());
+    }
+
+    @Test
+    public void testOtherSession() {
+        val generator = new HmacCsrfTokenGenerator(SECRET);
+        final WebContext context = MockWebContext.create();
+        val token = generator.get(context, new MockSessionStore());
+
+        val otherSessionStore = new MockSessionStore() {
+            @Override
+            public Optional<String> getSessionId(final WebContext context, final boolean createSession) {
+                return Optional.of(KEY);
+            }
+        };
+        assertFalse(generator.isValid(context, otherSessionStore, token));
+    }
+
+    @Test
+    public void testOtherSecret() {
+        final WebContext context = MockWebContext.create();
+        val sessionStore = new MockSessionStore();
+        val token = new HmacCsrfTokenGenerator(SECRET).get(context, sessionStore);
+        assertFalse(new HmacCsrfTokenGenerator(SECRET + SECRET).isValid(context, sessionStore, token));
+    }
+
+    @Test
+    public void testExpiredToken() {
+        val generator = new HmacCsrfTokenGenerator(SECRET);
+        final WebContext context = MockWebContext.create();
+        val sessionStore = new MockSessionStore();
+        val token = generator.get(context, sessionStore);
+        generator.setTtlInSeconds(-1);
+        assertFalse(generator.isValid(context, sessionStore, token));
+    }
+
+    @Test
+    public void testTamperedTokens() {
+        val generator = new HmacCsrfTokenGenerator(SECRET);
+        final WebContext context = MockWebContext.create();
+        val sessionStore = new MockSessionStore();
+        val token = generator.get(context, sessionStore);
+
+        assertFalse(generator.isValid(context, sessionStore, null));
+        assertFalse(generator.isValid(context, sessionStore, VALUE));
+        assertFalse(generator.isValid(context, sessionStore, "a.b.c"));
+        assertFalse(generator.isValid(context, sessionStore, "zzzzzzzzzzzzzzzzzzzzzzz" + token));
+        assertFalse(generator.isValid(context, sessionStore, token + "A"));
+        assertFalse(generator.isValid(context, sessionStore, "1" + token.substring(token.indexOf('.'))));
+    }
+
+    @Test
+    public void testShortSecret() {
+        TestsHelper.expectException(() -> new HmacCsrfTokenGenerator(KEY).get(MockWebContext.create(), new MockSessionStore()),
+            TechnicalException.class, "secret must be at least 32 characters");
+    }
+}
@@ -8,6 +8,8 @@ import org.pac4j.core.client.BaseClient;
 import org.pac4j.core.config.Config;
 import org.pac4j.core.context.CallContext;
 import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.renewal.RenewalInProgressException;
+import org.pac4j.core.profile.renewal.SingleFlightProfileRenewer;
 import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.test.context.MockWebContext;
 import org.pac4j.test.context.session.MockSessionStore;
@@ -113,6 +115,28 @@ public final class ProfileManagerTests {
         assertEquals(profile2, profiles.get(CLIENT1));
     }
 
+    @Test
+    public void testGetOneProfileRenewedAheadFromSession() {
+        profile1 = Mockito.mock(CommonProfile.class);
+        Mockito.when(profile1.getId()).thenReturn(ID1);
+        Mockito.when(profile1.getTypedId()).thenReturn(ID1);
+        Mockito.when(profile1.getClientName()).thenReturn(CLIENT1);
+        Mockito.when(profile1.isExpired()).thenReturn(false);
+        Mockito.when(profile1.willExpireWithin(60)).thenReturn(true);
+        profiles.put(CLIENT1, profile1);
+        val client1 = Mockito.mock(BaseClient.class);
+        Mockito.when(client1.getName()).thenReturn(CLIENT1);
+        val renewer = new SingleFlightProfileRenewer();
+        renewer.setRenewAheadInSeconds(60);
+        profileManager.setConfig(new Config(client1).setProfileRenewer(renewer));
+        Mockito.when(client1.renewUserProfile(any(), eq(profile1))).thenReturn(Optional.of(profile2));
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        assertEquals(profile2, profileManager.getProfile().get());
+        Map<String, UserProfile> profiles =
+            (LinkedHashMap<String, UserProfile>) sessionStore.get(context, Pac4jConstants.USER_PROFILES).get();
+        assertEquals(profile2, profiles.get(CLIENT1));
+    }
+
     @Test
     public void testGetOneRenewedProfileFromSessionButNoConfig() {
         profile1 = Mockito.mock(CommonProfile.class);
@@ -252,6 +276,31 @@ public final class ProfileManagerTests {
         assertSame(profile2, retrievedProfiles.get(0));
     }
 
+    @Test
+    public void testGetAllTwoProfilesOneExpiredRenewalInProgress() {
+        CommonProfile expiredProfile = Mockito.mock(CommonProfile.class);
+        Mockito.when(expiredProfile.getClientName()).thenReturn(CLIENT1);
+        Mockito.when(expiredProfile.isExpired()).thenReturn(true);
+
+        profiles.put(CLIENT1, expiredProfile);
+        profiles.put(CLIENT2, profile2);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+
+        val client1 = Mockito.mock(BaseClient.class);
+        Mockito.when(client1.getName()).thenReturn(CLIENT1);
+        Mockito.when(client1.renewUserProfile(any(),eq(expiredProfile))).thenThrow(new RenewalInProgressException("in progress"));
+        profileManager.setConfig(new Config(client1));
+
+        final List<UserProfile> retrievedProfiles = profileManager.getProfiles();
+
+        assertEquals(1,retrievedProfiles.size());
+        assertSame(profile2, retrievedProfiles.get(0));
+        final Map<String, UserProfile> sessionProfiles =
+            (Map<String, UserProfile>) sessionStore.get(context, Pac4jConstants.USER_PROFILES).get();
+        assertEquals(2, sessionProfiles.size());
+        assertSame(expiredProfile, sessionProfiles.get(CLIENT1));
+    }
+
     @Test
     public void testRemoveSession() {
         profiles.put(CLIENT1, profile1);
@@ -312,6 +361,56 @@ public final class ProfileManagerTests {
         assertEquals(profile3, profiles.get(1));
     }
 
+    @Test
+    public void testSessionReadOncePerRequest() {
+        profiles.put(CLIENT1, profile1);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        val spiedSessionStore = Mockito.spy(sessionStore);
+
+        assertEquals(profile1, new ProfileManager(context, spiedSessionStore).getProfile().get());
+        val otherManager = new ProfileManager(context, spiedSessionStore);
+        assertEquals(List.of(profile1), otherManager.getProfiles());
+        assertTrue(otherManager.isAuthenticated());
+
+        Mockito.verify(spiedSessionStore, Mockito.times(1)).get(context, Pac4jConstants.USER_PROFILES);
+    }
+
+    @Test
+    public void testNoSessionReadAfterSave() {
+        val spiedSessionStore = Mockito.spy(sessionStore);
+        val manager = new ProfileManager(context, spiedSessionStore);
+
+        manager.save(true, profile1, false);
+        assertEquals(List.of(profile1), manager.getProfiles());
+
+        Mockito.verify(spiedSessionStore, Mockito.never()).get(context, Pac4jConstants.USER_PROFILES);
+    }
+
+    @Test
+    public void testSnapshotUpdatedOnSaveAndRemove() {
+        profiles.put(CLIENT1, profile1);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        assertEquals(List.of(profile1), profileManager.getProfiles());
+
+        profileManager.save(false, profile2, true);
+        assertEquals(List.of(profile2, profile1), profileManager.getProfiles());
+
+        profileManager.removeProfiles();
+        assertTrue(profileManager.getProfiles().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotInvalidatedWhenRequestProfilesChange() {
+        profiles.put(CLIENT1, profile1);
+        sessionStore.set(context, Pac4jConstants.USER_PROFILES, profiles);
+        assertEquals(List.of(profile1), profileManager.getProfiles());
+
+        Map<String, CommonProfile> requestProfiles = new LinkedHashMap<>();
+        requestProfiles.put(CLIENT2, profile2);
+        context.setRequestAttribute(Pac4jConstants.USER_PROFILES, requestProfiles);
+        assertEquals(List.of(profile2, profile1), profileManager.getProfiles());
+    }
+
     @Test
     public void testIsAuthenticatedAnonymousProfile() {
         profiles.put(CLIENT1, AnonymousProfile.INSTANCE);
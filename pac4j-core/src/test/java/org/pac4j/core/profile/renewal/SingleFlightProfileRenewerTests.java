@@ -0,0 +1,210 @@
+package org.pac4j.core.profile.renewal;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Tests {@link SingleFlightProfileRenewer}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class SingleFlightProfileRenewerTests implements TestsConstants {
+
+    private SingleFlightProfileRenewer renewer;
+
+    private CallContext ctx;
+
+    private BaseClient client;
+
+    private CommonProfile renewedProfile;
+
+    private AtomicInteger nbRenewals;
+
+    @BeforeEach
+    public void setUp() {
+        renewer = new SingleFlightProfileRenewer();
+        val sessionStore = new MockSessionStore();
+        val context = MockWebContext.create();
+        sessionStore.getSessionId(context, true);
+        ctx = new CallContext(context, sessionStore);
+        client = Mockito.mock(BaseClient.class);
+        Mockito.when(client.getName()).thenReturn(MY_CLIENT_NAME);
+        renewedProfile = new CommonProfile();
+        renewedProfile.setId(ID);
+        nbRenewals = new AtomicInteger();
+    }
+
+    private CommonProfile expiringProfile(final boolean expired) {
+        val profile = Mockito.mock(CommonProfile.class);
+        Mockito.when(profile.getTypedId()).thenReturn(ID);
+        Mockito.when(profile.isExpired()).thenReturn(expired);
+        Mockito.when(profile.willExpireWithin(Mockito.anyInt())).thenReturn(true);
+        return profile;
+    }
+
+    @Test
+    public void testConcurrentRenewalsAreCoalesced() throws Exception {
+        val latch = new CountDownLatch(1);
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            return Optional.of(renewedProfile);
+        });
+        val profile = expiringProfile(true);
+
+        val executor = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<Optional<UserProfile>>> results = new ArrayList<>();
+            for (var i = 0; i < 5; i++) {
+                results.add(executor.submit(() -> renewer.renew(ctx, client, profile)));
+            }
+            Thread.sleep(200);
+            latch.countDown();
+            for (val result : results) {
+                assertSame(renewedProfile, result.get(5, TimeUnit.SECONDS).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, nbRenewals.get());
+
+        assertSame(renewedProfile, renewer.renew(ctx, client, profile).get());
+        assertEquals(1, nbRenewals.get());
+    }
+
+    @Test
+    public void testFailedRenewalIsReported() {
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            throw new IllegalStateException("refresh token already used");
+        });
+        val profile = expiringProfile(true);
+
+        assertThrows(IllegalStateException.class, () -> renewer.renew(ctx, client, profile));
+        assertThrows(IllegalStateException.class, () -> renewer.renew(ctx, client, profile));
+        assertEquals(1, nbRenewals.get());
+
+        renewer.setRetentionInMilliseconds(0);
+        assertThrows(IllegalStateException.class, () -> renewer.renew(ctx, client, profile));
+        assertEquals(2, nbRenewals.get());
+    }
+
+    @Test
+    public void testRenewalInProgressAfterTimeout() throws Exception {
+        val latch = new CountDownLatch(1);
+        val started = new CountDownLatch(1);
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            return Optional.of(renewedProfile);
+        });
+        val profile = expiringProfile(true);
+        renewer.setMaxWaitInMilliseconds(50);
+
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            val leader = executor.submit(() -> renewer.renew(ctx, client, profile));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertThrows(RenewalInProgressException.class, () -> renewer.renew(ctx, client, profile));
+            latch.countDown();
+            assertSame(renewedProfile, leader.get(5, TimeUnit.SECONDS).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRenewalErrorIsReported() {
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            throw new AssertionError("unexpected");
+        });
+        val profile = expiringProfile(true);
+
+        assertThrows(TechnicalException.class, () -> renewer.renew(ctx, client, profile));
+        assertThrows(TechnicalException.class, () -> renewer.renew(ctx, client, profile));
+        assertEquals(1, nbRenewals.get());
+    }
+
+    @Test
+    public void testNoSessionNoCoalescing() {
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            return Optional.of(renewedProfile);
+        });
+        val noSessionCtx = new CallContext(MockWebContext.create(), new MockSessionStore());
+        val profile = expiringProfile(true);
+
+        assertSame(renewedProfile, renewer.renew(noSessionCtx, client, profile).get());
+        assertSame(renewedProfile, renewer.renew(noSessionCtx, client, profile).get());
+        assertEquals(2, nbRenewals.get());
+        assertTrue(renewer.renewAhead(noSessionCtx, client, profile).isEmpty());
+        assertEquals(2, nbRenewals.get());
+    }
+
+    @Test
+    public void testRenewAhead() {
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            return Optional.of(renewedProfile);
+        });
+        val profile = expiringProfile(false);
+
+        assertFalse(renewer.shouldRenewAhead(profile));
+        renewer.setRenewAheadInSeconds(60);
+        assertTrue(renewer.shouldRenewAhead(profile));
+
+        assertSame(renewedProfile, renewer.renewAhead(ctx, client, profile).get());
+        assertSame(renewedProfile, renewer.renewAhead(ctx, client, profile).get());
+        assertEquals(1, nbRenewals.get());
+    }
+
+    @Test
+    public void testRenewAheadInBackground() throws Exception {
+        val latch = new CountDownLatch(1);
+        Mockito.when(client.renewUserProfile(any(), any())).thenAnswer(invocation -> {
+            nbRenewals.incrementAndGet();
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            return Optional.of(renewedProfile);
+        });
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            renewer.setRenewAheadInSeconds(60);
+            renewer.setExecutor(executor);
+            val profile = expiringProfile(false);
+
+            assertTrue(renewer.renewAhead(ctx, client, profile).isEmpty());
+            assertTrue(renewer.renewAhead(ctx, client, profile).isEmpty());
+            latch.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertSame(renewedProfile, renewer.renewAhead(ctx, client, profile).get());
+            assertEquals(1, nbRenewals.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
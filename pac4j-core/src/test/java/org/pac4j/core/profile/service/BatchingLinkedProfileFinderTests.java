@@ -0,0 +1,155 @@
+package org.pac4j.core.profile.service;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link BatchingLinkedProfileFinder}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class BatchingLinkedProfileFinderTests implements TestsConstants {
+
+    private static final class RecordingProfileService extends InMemoryProfileService<CommonProfile> {
+
+        private final List<Collection<String>> calls = new CopyOnWriteArrayList<>();
+
+        private RecordingProfileService() {
+            super(x -> new CommonProfile());
+        }
+
+        @Override
+        public Map<String, CommonProfile> findByLinkedIds(final Collection<String> linkedIds) {
+            calls.add(new ArrayList<>(linkedIds));
+            return super.findByLinkedIds(linkedIds);
+        }
+    }
+
+    private static RecordingProfileService buildProfileService(final int nb) {
+        val service = new RecordingProfileService();
+        service.setPasswordEncoder(mock(org.pac4j.core.credentials.password.PasswordEncoder.class));
+        for (var i = 0; i < nb; i++) {
+            val profile = new CommonProfile();
+            profile.setId(ID + i);
+            profile.setLinkedId(VALUE + i);
+            profile.addAttribute(USERNAME, NAME + i);
+            service.create(profile, PASSWORD);
+        }
+        return service;
+    }
+
+    @Test
+    public void testConcurrentLookupsBatched() throws Exception {
+        val service = buildProfileService(10);
+        val finder = new BatchingLinkedProfileFinder<>(service, 1000, 10);
+
+        val executor = Executors.newFixedThreadPool(10);
+        try {
+            val start = new CountDownLatch(1);
+            final List<Future<CommonProfile>> futures = new ArrayList<>();
+            for (var i = 0; i < 10; i++) {
+                val linkedId = VALUE + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return finder.findByLinkedId(linkedId);
+                }));
+            }
+            start.countDown();
+            for (var i = 0; i < 10; i++) {
+                assertEquals(ID + i, futures.get(i).get().getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // the batch is executed as soon as it is full, without waiting for the whole time window
+        assertEquals(1, service.calls.size());
+        assertEquals(10, service.calls.get(0).size());
+        assertEquals(10, finder.getLookups());
+        assertEquals(1, finder.getBatches());
+    }
+
+    @Test
+    public void testSingleLookup() {
+        val service = buildProfileService(2);
+        val finder = new BatchingLinkedProfileFinder<>(service, 0, 10);
+
+        assertEquals(ID + 1, finder.findByLinkedId(VALUE + 1).getId());
+        assertNull(finder.findByLinkedId(VALUE));
+        assertEquals(2, service.calls.size());
+    }
+
+    @Test
+    public void testBatchFailure() {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        when(service.findByLinkedIds(anyCollection())).thenThrow(new TechnicalException(KEY));
+        val finder = new BatchingLinkedProfileFinder<>(service, 0, 10);
+
+        val e = assertThrows(TechnicalException.class, () -> finder.findByLinkedId(VALUE));
+        assertEquals(KEY, e.getMessage());
+    }
+
+    @Test
+    public void testBatchErrorReleasesAllCallers() throws Exception {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        val error = new StackOverflowError(KEY);
+        when(service.findByLinkedIds(anyCollection())).thenThrow(error);
+        val finder = new BatchingLinkedProfileFinder<>(service, 1000, 2);
+
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Throwable>> futures = new ArrayList<>();
+            for (var i = 0; i < 2; i++) {
+                val linkedId = VALUE + i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        finder.findByLinkedId(linkedId);
+                        return null;
+                    } catch (final Throwable t) {
+                        return t;
+                    }
+                }));
+            }
+            final List<Throwable> failures = new ArrayList<>();
+            for (val future : futures) {
+                failures.add(future.get(10, TimeUnit.SECONDS));
+            }
+            // the leader gets the error, the follower a technical exception caused by it
+            assertTrue(failures.contains(error));
+            assertTrue(failures.stream().anyMatch(t -> t instanceof TechnicalException && t.getCause() == error));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultFindByLinkedIds() {
+        final ProfileService<CommonProfile> service = mock(ProfileService.class);
+        when(service.findByLinkedIds(anyCollection())).thenCallRealMethod();
+        val profile = new CommonProfile();
+        when(service.findByLinkedId(VALUE)).thenReturn(profile);
+
+        final Map<String, CommonProfile> expected = new HashMap<>();
+        expected.put(VALUE, profile);
+        assertEquals(expected, service.findByLinkedIds(List.of(VALUE, KEY)));
+    }
+}
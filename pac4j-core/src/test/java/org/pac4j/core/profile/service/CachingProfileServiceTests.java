@@ -0,0 +1,214 @@
+package org.pac4j.core.profile.service;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.exception.AccountNotFoundException;
+import org.pac4j.core.exception.BadCredentialsException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.test.util.TestsConstants;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link CachingProfileService}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class CachingProfileServiceTests implements TestsConstants {
+
+    private static final String IDPERSON1 = "idperson1";
+    private static final String IDPERSON2 = "idperson2";
+    private static final String LINKED_ID1 = "linkedId1";
+    private static final String LINKED_ID2 = "linkedId2";
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private CachingProfileService<CommonProfile> service;
+
+    @BeforeEach
+    public void setUp() {
+        val delegate = new InMemoryProfileService<CommonProfile>(x -> new CommonProfile()) {
+            @Override
+            protected List<Map<String, Object>> read(final List<String> names, final String key, final String value) {
+                reads.incrementAndGet();
+                return super.read(names, key, value);
+            }
+        };
+        delegate.setPasswordEncoder(InMemoryProfileServiceTests.PASSWORD_ENCODER);
+        service = new CachingProfileService<>(delegate);
+        service.create(buildProfile(IDPERSON1, GOOD_USERNAME, LINKED_ID1), PASSWORD);
+        service.create(buildProfile(IDPERSON2, MULTIPLE_USERNAME, LINKED_ID2), PASSWORD);
+    }
+
+    private static CommonProfile buildProfile(final String id, final String username, final String linkedId) {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(USERNAME, username);
+        attributes.put(FIRSTNAME, FIRSTNAME_VALUE);
+        val profile = new CommonProfile();
+        profile.build(id, attributes);
+        profile.setLinkedId(linkedId);
+        return profile;
+    }
+
+    @Test
+    public void testFindByIdIsCached() {
+        val profile = service.findById(IDPERSON1);
+        assertEquals(IDPERSON1, profile.getId());
+        assertEquals(FIRSTNAME_VALUE, profile.getAttribute(FIRSTNAME));
+        profile.addRole(KEY);
+        profile.addAttribute(FIRSTNAME, VALUE);
+
+        val profile2 = service.findById(IDPERSON1);
+        assertNotSame(profile, profile2);
+        assertEquals(FIRSTNAME_VALUE, profile2.getAttribute(FIRSTNAME));
+        assertTrue(profile2.getRoles().isEmpty());
+        assertEquals(LINKED_ID1, profile2.getLinkedId());
+        assertEquals(1, reads.get());
+        assertEquals(1, service.getHits());
+        assertEquals(1, service.getMisses());
+    }
+
+    @Test
+    public void testUnknownUserIsCached() {
+        assertNull(service.findById(ID));
+        assertNull(service.findById(ID));
+        assertEquals(1, reads.get());
+
+        service.create(buildProfile(ID, NAME, null), PASSWORD);
+        assertNotNull(service.findById(ID));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testNegativeCachingDisabled() {
+        service.setNegativeTimeout(0);
+        assertNull(service.findById(ID));
+        assertNull(service.findById(ID));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testUpdateInvalidates() {
+        assertEquals(LINKED_ID1, service.findByLinkedId(LINKED_ID1).getLinkedId());
+        service.update(buildProfile(IDPERSON1, GOOD_USERNAME, VALUE), null);
+
+        assertNull(service.findByLinkedId(LINKED_ID1));
+        assertEquals(IDPERSON1, service.findByLinkedId(VALUE).getId());
+        // the previous profile is read to invalidate its entries
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    public void testUpdateOnlyInvalidatesTheUpdatedProfile() {
+        assertNotNull(service.findById(IDPERSON1));
+        assertNotNull(service.findByLinkedId(LINKED_ID1));
+        assertNotNull(service.findById(IDPERSON2));
+        assertNotNull(service.findByLinkedId(LINKED_ID2));
+        assertNull(service.findById(ID));
+        assertEquals(5, reads.get());
+
+        service.update(buildProfile(IDPERSON1, GOOD_USERNAME, VALUE), null);
+        assertEquals(6, reads.get());
+
+        assertNotNull(service.findById(IDPERSON2));
+        assertNotNull(service.findByLinkedId(LINKED_ID2));
+        assertNull(service.findById(ID));
+        assertEquals(6, reads.get());
+
+        assertEquals(VALUE, service.findById(IDPERSON1).getLinkedId());
+        assertNull(service.findByLinkedId(LINKED_ID1));
+        assertEquals(8, reads.get());
+    }
+
+    @Test
+    public void testCreateInvalidatesTheUnknownUser() {
+        assertNull(service.findByLinkedId(VALUE));
+        assertNotNull(service.findById(IDPERSON1));
+        assertEquals(2, reads.get());
+
+        service.create(buildProfile(ID, NAME, VALUE), PASSWORD);
+        assertEquals(ID, service.findByLinkedId(VALUE).getId());
+        assertNotNull(service.findById(IDPERSON1));
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        assertNotNull(service.findById(IDPERSON1));
+        service.invalidateAll();
+        assertNotNull(service.findById(IDPERSON1));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testRemoveInvalidates() {
+        assertNotNull(service.findById(IDPERSON2));
+        service.removeById(IDPERSON2);
+        assertNull(service.findById(IDPERSON2));
+    }
+
+    @Test
+    public void testFindByLinkedIds() {
+        assertNotNull(service.findByLinkedId(LINKED_ID1));
+        assertEquals(1, reads.get());
+
+        val profiles = service.findByLinkedIds(Arrays.asList(LINKED_ID1, LINKED_ID2, VALUE));
+        assertEquals(2, profiles.size());
+        assertEquals(IDPERSON1, profiles.get(LINKED_ID1).getId());
+        assertEquals(IDPERSON2, profiles.get(LINKED_ID2).getId());
+        // only the not cached linked identifiers are read
+        assertEquals(3, reads.get());
+
+        assertEquals(2, service.findByLinkedIds(Arrays.asList(LINKED_ID1, LINKED_ID2, VALUE)).size());
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testPasswordNotCachedByDefault() {
+        val ctx = new CallContext(null, null);
+        val credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        service.validate(ctx, credentials);
+        assertEquals(IDPERSON1, credentials.getUserProfile().getId());
+        service.validate(ctx, new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testValidateIsCached() {
+        service.setPasswordTimeout(30);
+        val ctx = new CallContext(null, null);
+        val credentials = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        service.validate(ctx, credentials);
+        assertEquals(IDPERSON1, credentials.getUserProfile().getId());
+
+        val credentials2 = new UsernamePasswordCredentials(GOOD_USERNAME, PASSWORD);
+        service.validate(ctx, credentials2);
+        assertEquals(IDPERSON1, credentials2.getUserProfile().getId());
+        assertNotSame(credentials.getUserProfile(), credentials2.getUserProfile());
+        assertEquals(1, reads.get());
+
+        assertThrows(BadCredentialsException.class,
+            () -> service.validate(ctx, new UsernamePasswordCredentials(GOOD_USERNAME, BAD_USERNAME)));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testValidateUnknownUserIsCached() {
+        val ctx = new CallContext(null, null);
+        assertThrows(AccountNotFoundException.class,
+            () -> service.validate(ctx, new UsernamePasswordCredentials(BAD_USERNAME, PASSWORD)));
+        assertThrows(AccountNotFoundException.class,
+            () -> service.validate(ctx, new UsernamePasswordCredentials(BAD_USERNAME, PASSWORD)));
+        assertEquals(1, reads.get());
+    }
+}
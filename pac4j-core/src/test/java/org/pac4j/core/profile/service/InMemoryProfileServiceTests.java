@@ -147,6 +147,28 @@ public final class InMemoryProfileServiceTests implements TestsConstants {
         assertEquals(0, results3.size());
     }
 
+    @Test
+    public void testFindByLinkedIds() {
+        for (var i = 0; i < 3; i++) {
+            val profile = new CommonProfile();
+            profile.setId(TEST_ID + i);
+            profile.setLinkedId(TEST_LINKED_ID + i);
+            profile.addAttribute(USERNAME, TEST_USER + i);
+            inMemoryProfileService.create(profile, TEST_PASS);
+        }
+        inMemoryProfileService.setReadBatchSize(2);
+
+        val profiles = inMemoryProfileService.findByLinkedIds(List.of(TEST_LINKED_ID + 0, TEST_LINKED_ID + 2, TEST_LINKED_ID + 0,
+            TEST_LINKED_ID + 1, TEST_LINKED_ID));
+
+        assertEquals(3, profiles.size());
+        for (var i = 0; i < 3; i++) {
+            assertEquals(TEST_ID + i, profiles.get(TEST_LINKED_ID + i).getId());
+            assertEquals(TEST_USER + i, profiles.get(TEST_LINKED_ID + i).getUsername());
+        }
+        assertFalse(profiles.containsKey(TEST_LINKED_ID));
+    }
+
     private List<Map<String, Object>> getData(final String id) {
         return inMemoryProfileService.read(Arrays.asList("id", "username", "linkedid", "password", "serializedprofile"), "id", id);
     }
@@ -0,0 +1,98 @@
+package org.pac4j.core.util;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.CallContext;
+import org.pac4j.core.context.session.AsyncSessionStore;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.credentials.authenticator.AsyncAuthenticator;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.creator.AsyncProfileCreator;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.context.session.MockSessionStore;
+import org.pac4j.test.util.TestsConstants;
+import org.pac4j.test.util.TestsHelper;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link AsyncHelper} and the asynchronous adapters.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class AsyncHelperTests implements TestsConstants {
+
+    @Test
+    public void testJoinUnwrapsException() {
+        val future = CompletableFuture.supplyAsync(() -> { throw new CredentialsException(VALUE); });
+        TestsHelper.expectException(() -> AsyncHelper.join(future), CredentialsException.class, VALUE);
+    }
+
+    @Test
+    public void testFlatten() {
+        val nested = CompletableFuture.completedFuture((Object) CompletableFuture.completedFuture(VALUE));
+        assertEquals(VALUE, AsyncHelper.join(AsyncHelper.flatten(nested)));
+        assertEquals(VALUE, AsyncHelper.join(AsyncHelper.flatten(VALUE)));
+    }
+
+    @Test
+    public void testAuthenticatorAdapters() {
+        val ctx = new CallContext(MockWebContext.create(), new MockSessionStore());
+        val credentials = new UsernamePasswordCredentials(USERNAME, PASSWORD);
+        val async = AsyncAuthenticator.fromBlocking(Authenticator.ALWAYS_VALIDATE);
+        assertSame(credentials, AsyncHelper.join(async.validate(ctx, credentials)).get());
+
+        final AsyncAuthenticator failing = (c, cred) -> CompletableFuture.failedFuture(new CredentialsException(VALUE));
+        TestsHelper.expectException(() -> failing.toBlocking().validate(ctx, credentials), CredentialsException.class, VALUE);
+    }
+
+    @Test
+    public void testProfileCreatorAdapters() {
+        val ctx = new CallContext(MockWebContext.create(), new MockSessionStore());
+        val profile = new CommonProfile();
+        final AsyncProfileCreator async = (c, cred) -> CompletableFuture.completedFuture(Optional.of(profile));
+        val blocking = async.toBlocking();
+        assertSame(profile, blocking.create(ctx, new UsernamePasswordCredentials(USERNAME, PASSWORD)).get());
+        assertSame(profile, AsyncHelper.join(AsyncProfileCreator.fromBlocking(blocking, Runnable::run)
+            .create(ctx, new UsernamePasswordCredentials(USERNAME, PASSWORD))).get());
+    }
+
+    @Test
+    public void testSessionStoreAdapters() {
+        val context = MockWebContext.create();
+        val store = AsyncSessionStore.fromBlocking(new MockSessionStore()).toBlocking();
+        store.set(context, KEY, VALUE);
+        assertEquals(VALUE, store.get(context, KEY).get());
+        assertTrue(store.getSessionId(context, true).isPresent());
+        assertTrue(store.destroySession(context));
+        assertTrue(store.get(context, KEY).isEmpty());
+    }
+
+    @Test
+    public void testRejectedCallFailsTheStage() {
+        val caller = Thread.currentThread();
+        val stage = AsyncHelper.supplyAsync(() -> Thread.currentThread() == caller, r -> {
+            throw new RejectedExecutionException(VALUE);
+        });
+        TestsHelper.expectException(() -> AsyncHelper.join(stage), RejectedExecutionException.class, VALUE);
+    }
+
+    @Test
+    public void testDefaultExecutor() {
+        val virtual = AsyncHelper.supplyAsync(() -> {
+            try {
+                return (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+            } catch (final ReflectiveOperationException e) {
+                return false;
+            }
+        }, AsyncHelper.defaultExecutor());
+        assertEquals(AsyncHelper.isVirtualThreadExecutor(), AsyncHelper.join(virtual));
+    }
+}
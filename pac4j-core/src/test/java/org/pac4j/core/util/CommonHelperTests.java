@@ -188,6 +188,7 @@ public final class CommonHelperTests {
     private void testRandomString(final int size) {
         val s = CommonHelper.randomString(size);
         assertEquals(size, s.length());
+        assertTrue(s.matches("[0-9a-f]*"));
     }
 
     @Test
@@ -0,0 +1,164 @@
+package org.pac4j.core.util.serializer;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.Gender;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.profile.definition.CommonProfileDefinition;
+import org.pac4j.test.util.TestsConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link BinaryProfileSerializer}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class BinaryProfileSerializerTests implements TestsConstants {
+
+    private static CommonProfile buildProfile() {
+        val profile = new CommonProfile();
+        profile.setId(ID);
+        profile.setClientName(MY_CLIENT_NAME);
+        profile.setLinkedId(VALUE);
+        profile.setRemembered(true);
+        profile.addAttribute(KEY, VALUE);
+        profile.addAttribute(CommonProfileDefinition.EMAIL, EMAIL);
+        profile.addAttribute(CommonProfileDefinition.GENDER, Gender.FEMALE);
+        profile.addAttribute(CommonProfileDefinition.LOCALE, Locale.FRENCH);
+        profile.addAttribute(CommonProfileDefinition.PICTURE_URL, java.net.URI.create(PAC4J_URL));
+        profile.addAttribute("age", 42);
+        profile.addAttribute("size", 123456789012L);
+        profile.addAttribute("score", 1.5d);
+        profile.addAttribute("date", new Date(1000L));
+        profile.addAttribute("instant", Instant.ofEpochSecond(1000L, 5));
+        profile.addAttribute("groups", List.of("staff", "admins"));
+        profile.addAttribute("claims", Map.of("level", 2));
+        profile.addAuthenticationAttribute("acr", "silver");
+        profile.addRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+        return profile;
+    }
+
+    @Test
+    public void testProfileBytes() {
+        val profile = buildProfile();
+
+        val serializer = new BinaryProfileSerializer();
+        val encoded = serializer.serializeToBytes(profile);
+        val decoded = (CommonProfile) serializer.deserializeFromBytes(encoded);
+
+        assertEquals(profile, decoded);
+        assertEquals(Gender.FEMALE, decoded.getGender());
+        assertEquals(Locale.FRENCH, decoded.getLocale());
+        assertEquals(java.net.URI.create(PAC4J_URL), decoded.getPictureUrl());
+        assertTrue(decoded.isRemembered());
+        assertEquals(1, serializer.getSerializations());
+        assertEquals(encoded.length, serializer.getSerializedBytes());
+        assertEquals(1, serializer.getDeserializations());
+        assertEquals(0, serializer.getFallbackDeserializations());
+    }
+
+    @Test
+    public void testMultipleProfilesString() {
+        val profile = buildProfile();
+        val profile2 = buildProfile();
+        profile2.setId(NAME);
+        val profiles = new LinkedHashMap<String, UserProfile>();
+        profiles.put(MY_CLIENT_NAME, profile);
+        profiles.put(NAME, profile2);
+
+        val serializer = new BinaryProfileSerializer();
+        val encoded = serializer.serializeToString(profiles);
+        val decoded = serializer.deserializeFromString(encoded);
+
+        assertEquals(LinkedHashMap.class, decoded.getClass());
+        assertEquals(profiles, decoded);
+        assertEquals(List.of(MY_CLIENT_NAME, NAME), new ArrayList<>(((Map<?, ?>) decoded).keySet()));
+    }
+
+    @Test
+    public void testSmallerThanJson() {
+        val profiles = new LinkedHashMap<String, UserProfile>();
+        profiles.put(MY_CLIENT_NAME, buildProfile());
+
+        val binary = new BinaryProfileSerializer().serializeToBytes(profiles);
+        val json = new JsonSerializer().serializeToBytes(profiles);
+
+        assertTrue(binary.length < json.length / 2, binary.length + " / " + json.length);
+    }
+
+    @Test
+    public void testJsonCompatibility() {
+        val profile = buildProfile();
+        val profiles = new LinkedHashMap<String, UserProfile>();
+        profiles.put(MY_CLIENT_NAME, profile);
+        val jsonSerializer = new JsonSerializer();
+
+        val serializer = new BinaryProfileSerializer();
+        assertEquals(profiles, serializer.deserializeFromString(jsonSerializer.serializeToString(profiles)));
+        assertEquals(profiles, serializer.deserializeFromBytes(jsonSerializer.serializeToBytes(profiles)));
+        assertEquals(2, serializer.getFallbackDeserializations());
+        assertEquals(0, serializer.getDeserializations());
+    }
+
+    @Test
+    public void testCustomProfileTypes() {
+        val profiles = new LinkedHashMap<String, UserProfile>();
+        for (var i = 0; i < 3; i++) {
+            val profile = new CustomProfile();
+            profile.setId(ID + i);
+            profile.addAttribute(KEY, VALUE);
+            profiles.put(NAME + i, profile);
+        }
+
+        val serializer = new BinaryProfileSerializer();
+        val decoded = (Map<?, ?>) serializer.deserializeFromBytes(serializer.serializeToBytes(profiles));
+
+        assertEquals(profiles, decoded);
+        assertEquals(CustomProfile.class, decoded.get(NAME + 2).getClass());
+    }
+
+    @Test
+    public void testUntrustedFallbackClass() {
+        val className = "javax.management.BadAttributeValueExpException".getBytes(StandardCharsets.UTF_8);
+        val json = "{}".getBytes(StandardCharsets.UTF_8);
+        val payload = new ByteArrayOutputStream();
+        payload.writeBytes(new byte[] {(byte) 0xAC, 0x4A, 1, 17, 1, (byte) className.length});
+        payload.writeBytes(className);
+        payload.write(json.length);
+        payload.writeBytes(json);
+
+        assertNull(new BinaryProfileSerializer().deserializeFromBytes(payload.toByteArray()));
+    }
+
+    @Test
+    public void testOversizeLengths() {
+        val serializer = new BinaryProfileSerializer();
+        // a bytes array, a list and a map of 2^31 - 1 items in a few bytes
+        for (val tag : new byte[] {12, 13, 15}) {
+            val payload = new byte[] {(byte) 0xAC, 0x4A, 1, tag, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+            assertNull(serializer.deserializeFromBytes(payload));
+        }
+    }
+
+    @Test
+    public void testNonStandardCollection() {
+        val profile = buildProfile();
+        profile.addAttribute("queue", new ArrayDeque<>(List.of("a", "b")));
+
+        val serializer = new BinaryProfileSerializer();
+        val decoded = (CommonProfile) serializer.deserializeFromBytes(serializer.serializeToBytes(profile));
+
+        assertEquals(ArrayDeque.class, decoded.getAttribute("queue").getClass());
+    }
+
+    public static class CustomProfile extends CommonProfile {
+    }
+}
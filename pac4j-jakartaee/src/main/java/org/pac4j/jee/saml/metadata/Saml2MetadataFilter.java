@@ -8,17 +8,22 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.val;
+import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.util.CommonHelper;
 import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.jee.config.AbstractConfigFilter;
 import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.metadata.SAML2MetadataDocument;
 
 import java.io.IOException;
 
 /**
  * This filter prints the SP metadata for SAML.
  *
+ * The metadata are served pre-rendered with their <code>ETag</code> and <code>Last-Modified</code> headers
+ * and the conditional requests are answered with a 304 status code when the metadata have not changed.
+ *
  * Example shiro.ini configuration:
  *
  * saml2MetadataFilter = org.pac4j.saml.metadata.Saml2MetadataFilter
@@ -61,8 +66,33 @@ public class Saml2MetadataFilter extends AbstractConfigFilter {
             throw new TechnicalException("No SAML2 client: " + this.clientName);
         }
         client.init();
-        response.getWriter().write(client.getServiceProviderMetadataResolver().getMetadata());
-        response.getWriter().flush();
+        val document = client.getServiceProviderMetadataResolver().getMetadataDocument();
+        response.setHeader(HttpConstants.ETAG_HEADER, document.getEtag());
+        response.setDateHeader(HttpConstants.LAST_MODIFIED_HEADER, document.getLastModified());
+        if (document.isNotModified(request.getHeader(HttpConstants.IF_NONE_MATCH_HEADER),
+            getIfModifiedSince(request))) {
+            response.setStatus(HttpConstants.NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(SAML2MetadataDocument.CONTENT_TYPE);
+        response.setContentLength(document.getLength());
+        document.writeTo(response.getOutputStream());
+        response.getOutputStream().flush();
+    }
+
+    /**
+     * The date of the <code>If-Modified-Since</code> header, or <code>-1</code> if it is missing or invalid.
+     *
+     * @param request the HTTP request
+     * @return the date of the header
+     */
+    private static long getIfModifiedSince(final HttpServletRequest request) {
+        try {
+            return request.getDateHeader(HttpConstants.IF_MODIFIED_SINCE_HEADER);
+        } catch (final IllegalArgumentException e) {
+            // an invalid date is ignored, as if the header was not sent
+            return -1;
+        }
     }
 
     /** {@inheritDoc} */
@@ -4,6 +4,7 @@ import com.nimbusds.jose.*;
 import com.nimbusds.jwt.EncryptedJWT;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.SignedJWT;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -28,6 +29,13 @@ public abstract class AbstractEncryptionConfiguration extends InitializableObjec
 
     protected EncryptionMethod method;
 
+    protected String keyId;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile CachedDecrypter cachedDecrypter;
+
     /** {@inheritDoc} */
     @Override
     public String encrypt(final JWT jwt) {
@@ -36,7 +44,7 @@ public abstract class AbstractEncryptionConfiguration extends InitializableObjec
         if (jwt instanceof SignedJWT signedJWT) {
             // Create JWE object with signed JWT as payload
             val jweObject = new JWEObject(
-                    new JWEHeader.Builder(this.algorithm, this.method).contentType("JWT").build(),
+                    new JWEHeader.Builder(this.algorithm, this.method).contentType("JWT").keyID(this.keyId).build(),
                     new Payload(signedJWT));
 
             try {
@@ -50,7 +58,7 @@ public abstract class AbstractEncryptionConfiguration extends InitializableObjec
             return jweObject.serialize();
         } else {
             // create header
-            val header = new JWEHeader(this.algorithm, this.method);
+            val header = new JWEHeader.Builder(this.algorithm, this.method).keyID(this.keyId).build();
 
             try {
                 // encrypted jwt
@@ -80,7 +88,36 @@ public abstract class AbstractEncryptionConfiguration extends InitializableObjec
         init();
 
         // decrypt
-        encryptedJWT.decrypt(buildDecrypter());
+        encryptedJWT.decrypt(getDecrypter());
+    }
+
+    /**
+     * Get the decrypter: the (thread-safe) decrypter is built once and reused as long as the decryption key
+     * and the algorithm do not change.
+     *
+     * @return the decrypter
+     */
+    protected JWEDecrypter getDecrypter() {
+        val key = getDecryptionKey();
+        if (key == null) {
+            return buildDecrypter();
+        }
+        var cached = cachedDecrypter;
+        if (cached == null || cached.key() != key || cached.algorithm() != this.algorithm) {
+            cached = new CachedDecrypter(key, this.algorithm, buildDecrypter());
+            cachedDecrypter = cached;
+        }
+        return cached.decrypter();
+    }
+
+    /**
+     * The key used by the decrypter, to know when the decrypter must be re-built.
+     * By default, no key is returned and the decrypter is built for each decryption.
+     *
+     * @return the decryption key
+     */
+    protected Object getDecryptionKey() {
+        return null;
     }
 
     /**
@@ -89,4 +126,6 @@ public abstract class AbstractEncryptionConfiguration extends InitializableObjec
      * @return the appropriate decrypter
      */
     protected abstract JWEDecrypter buildDecrypter();
+
+    private record CachedDecrypter(Object key, JWEAlgorithm algorithm, JWEDecrypter decrypter) {}
 }
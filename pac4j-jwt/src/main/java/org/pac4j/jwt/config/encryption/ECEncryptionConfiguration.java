@@ -89,6 +89,12 @@ public class ECEncryptionConfiguration extends AbstractEncryptionConfiguration {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected Object getDecryptionKey() {
+        return this.privateKey;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected JWEDecrypter buildDecrypter() {
@@ -38,4 +38,13 @@ public interface EncryptionConfiguration {
      * @throws JOSEException exception when decrypting the JWT
      */
     void decrypt(EncryptedJWT encryptedJWT) throws JOSEException;
+
+    /**
+     * The identifier of the key (<code>kid</code>) of this configuration, if any.
+     *
+     * @return the key identifier
+     */
+    default String getKeyId() {
+        return null;
+    }
 }
@@ -1,6 +1,7 @@
 package org.pac4j.jwt.config.signature;
 
 import com.nimbusds.jose.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.pac4j.core.util.InitializableObject;
@@ -16,4 +17,53 @@ import org.pac4j.core.util.InitializableObject;
 public abstract class AbstractSignatureConfiguration extends InitializableObject implements SignatureConfiguration {
 
     protected JWSAlgorithm algorithm = JWSAlgorithm.HS256;
+
+    protected String keyId;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CachedVerifier cachedVerifier;
+
+    /**
+     * Get the verifier for the provided key: the (thread-safe) verifier is built once and reused as long as the key does not change.
+     *
+     * @param key the verification key
+     * @param builder the verifier builder
+     * @return the verifier
+     * @throws JOSEException exception when building the verifier
+     */
+    protected JWSVerifier getVerifier(final Object key, final VerifierBuilder builder) throws JOSEException {
+        var cached = cachedVerifier;
+        if (cached == null || cached.key() != key) {
+            cached = new CachedVerifier(key, builder.build());
+            cachedVerifier = cached;
+        }
+        return cached.verifier();
+    }
+
+    /**
+     * Build the JWS header for this configuration.
+     *
+     * @return the JWS header
+     */
+    protected JWSHeader buildHeader() {
+        return new JWSHeader.Builder(algorithm).keyID(keyId).build();
+    }
+
+    /**
+     * Builder of a verifier.
+     */
+    @FunctionalInterface
+    protected interface VerifierBuilder {
+
+        /**
+         * Build the verifier.
+         *
+         * @return the verifier
+         * @throws JOSEException exception when building the verifier
+         */
+        JWSVerifier build() throws JOSEException;
+    }
+
+    private record CachedVerifier(Object key, JWSVerifier verifier) {}
 }
@@ -2,9 +2,7 @@ package org.pac4j.jwt.config.signature;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.ECDSASigner;
 import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -87,7 +85,7 @@ public class ECSignatureConfiguration extends AbstractSignatureConfiguration {
 
         try {
             JWSSigner signer = new ECDSASigner(this.privateKey);
-            val signedJWT = new SignedJWT(new JWSHeader(algorithm), claims);
+            val signedJWT = new SignedJWT(buildHeader(), claims);
             signedJWT.sign(signer);
             return signedJWT;
         } catch (final JOSEException e) {
@@ -101,8 +99,7 @@ public class ECSignatureConfiguration extends AbstractSignatureConfiguration {
         init();
         CommonHelper.assertNotNull("publicKey", publicKey);
 
-        JWSVerifier verifier = new ECDSAVerifier(this.publicKey);
-        return jwt.verify(verifier);
+        return jwt.verify(getVerifier(this.publicKey, () -> new ECDSAVerifier(this.publicKey)));
     }
 
     /**
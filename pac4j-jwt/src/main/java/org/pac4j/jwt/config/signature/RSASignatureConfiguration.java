@@ -2,9 +2,7 @@ package org.pac4j.jwt.config.signature;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -86,7 +84,7 @@ public class RSASignatureConfiguration extends AbstractSignatureConfiguration {
 
         try {
             JWSSigner signer = new RSASSASigner(this.privateKey);
-            val signedJWT = new SignedJWT(new JWSHeader(algorithm), claims);
+            val signedJWT = new SignedJWT(buildHeader(), claims);
             signedJWT.sign(signer);
             return signedJWT;
         } catch (final JOSEException e) {
@@ -100,8 +98,7 @@ public class RSASignatureConfiguration extends AbstractSignatureConfiguration {
         init();
         CommonHelper.assertNotNull("publicKey", publicKey);
 
-        JWSVerifier verifier = new RSASSAVerifier(this.publicKey);
-        return jwt.verify(verifier);
+        return jwt.verify(getVerifier(this.publicKey, () -> new RSASSAVerifier(this.publicKey)));
     }
 
     /**
@@ -37,4 +37,13 @@ public interface SignatureConfiguration {
      * @throws JOSEException exception when verifying the JWT
      */
     boolean verify(SignedJWT jwt) throws JOSEException;
+
+    /**
+     * The identifier of the key (<code>kid</code>) of this configuration, if any.
+     *
+     * @return the key identifier
+     */
+    default String getKeyId() {
+        return null;
+    }
 }
@@ -2,6 +2,7 @@ package org.pac4j.jwt.credentials.authenticator;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -14,6 +15,7 @@ import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.exception.CredentialsException;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.exception.http.HttpAction;
+import org.pac4j.core.profile.BasicUserProfile;
 import org.pac4j.core.profile.ProfileHelper;
 import org.pac4j.core.profile.UserProfile;
 import org.pac4j.core.profile.definition.ProfileDefinitionAware;
@@ -28,6 +30,7 @@ import org.pac4j.jwt.profile.JwtProfileDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Array;
 import java.text.ParseException;
 import java.util.*;
 
@@ -75,6 +78,24 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
 
     private ValueGenerator identifierGenerator;
 
+    /**
+     * Maximum number of verified tokens whose profile is cached, {@code 0} (default) disables the cache.
+     */
+    private int verifiedTokenCacheSize = 0;
+
+    /**
+     * Maximum time (in seconds) a verified token is cached, whatever its expiration time.
+     */
+    private int verifiedTokenCacheTimeToLive = 300;
+
+    @Setter(AccessLevel.NONE)
+    private VerifiedJwtCache verifiedTokenCache;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile JwtConfigurationIndex configurationIndex;
+
     /**
      * <p>Constructor for JwtAuthenticator.</p>
      */
@@ -133,6 +154,14 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
         if (!encryptionConfigurations.isEmpty() && !encryptionRequired) {
             ANNOUNCE_ENCRYPTOPTIONAL.announce();
         }
+
+        rebuildConfigurationIndex();
+
+        if (verifiedTokenCacheSize > 0) {
+            verifiedTokenCache = new VerifiedJwtCache(verifiedTokenCacheSize);
+        } else {
+            verifiedTokenCache = null;
+        }
     }
 
     /**
@@ -186,6 +215,16 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
             }
         }
 
+        val cache = this.verifiedTokenCache;
+        if (cache != null) {
+            val cachedProfile = cache.get(token);
+            if (cachedProfile.isPresent()) {
+                logger.debug("JWT already verified -> using the cached profile");
+                credentials.setUserProfile(copyProfile(cachedProfile.get().subject(), cachedProfile.get().profile()));
+                return Optional.of(credentials);
+            }
+        }
+
         try {
             // Parse the token
             var jwt = JWTParser.parse(token);
@@ -213,23 +252,18 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
                     logger.debug("JWT is encrypted");
 
                     var found = false;
-                    val header = encryptedJWT.getHeader();
-                    val algorithm = header.getAlgorithm();
-                    val method = header.getEncryptionMethod();
-                    for (val config : encryptionConfigurations) {
-                        if (config.supports(algorithm, method)) {
-                            logger.debug("Using encryption configuration: {}", config);
-                            try {
-                                config.decrypt(encryptedJWT);
-                                signedJWT = encryptedJWT.getPayload().toSignedJWT();
-                                if (signedJWT != null) {
-                                    jwt = signedJWT;
-                                }
-                                found = true;
-                                break;
-                            } catch (final JOSEException e) {
-                                logger.debug("Decryption fails with encryption configuration: {}, passing to the next one", config);
+                    for (val config : getConfigurationIndex().findEncryptionConfigurations(encryptedJWT.getHeader())) {
+                        logger.debug("Using encryption configuration: {}", config);
+                        try {
+                            config.decrypt(encryptedJWT);
+                            signedJWT = encryptedJWT.getPayload().toSignedJWT();
+                            if (signedJWT != null) {
+                                jwt = signedJWT;
                             }
+                            found = true;
+                            break;
+                        } catch (final JOSEException e) {
+                            logger.debug("Decryption fails with encryption configuration: {}, passing to the next one", config);
                         }
                     }
                     if (!found) {
@@ -247,19 +281,16 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
 
                     var verified = false;
                     var found = false;
-                    val algorithm = signedJWT.getHeader().getAlgorithm();
-                    for (val config : signatureConfigurations) {
-                        if (config.supports(algorithm)) {
-                            logger.debug("Using signature configuration: {}", config);
-                            try {
-                                verified = config.verify(signedJWT);
-                                found = true;
-                                if (verified) {
-                                    break;
-                                }
-                            } catch (final JOSEException e) {
-                                logger.debug("Verification fails with signature configuration: {}, passing to the next one", config);
+                    for (val config : getConfigurationIndex().findSignatureConfigurations(signedJWT.getHeader())) {
+                        logger.debug("Using signature configuration: {}", config);
+                        try {
+                            verified = config.verify(signedJWT);
+                            found = true;
+                            if (verified) {
+                                break;
                             }
+                        } catch (final JOSEException e) {
+                            logger.debug("Verification fails with signature configuration: {}, passing to the next one", config);
                         }
                     }
                     if (!found) {
@@ -273,6 +304,10 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
 
             createJwtProfile(ctx, credentials, jwt);
 
+            if (cache != null) {
+                cacheVerifiedToken(cache, token, jwt, credentials.getUserProfile());
+            }
+
         } catch (final ParseException e) {
             throw new CredentialsException("Cannot decrypt / verify JWT", e);
         }
@@ -335,6 +370,127 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
         credentials.setUserProfile(profile);
     }
 
+    /**
+     * Get the index of the signature and encryption configurations, built on first use.
+     *
+     * @return the configuration index
+     */
+    private JwtConfigurationIndex getConfigurationIndex() {
+        var index = this.configurationIndex;
+        if (index == null) {
+            index = rebuildConfigurationIndex();
+        }
+        return index;
+    }
+
+    /**
+     * Rebuild the index of the signature and encryption configurations, when they are set or added.
+     *
+     * @return the new configuration index
+     */
+    private JwtConfigurationIndex rebuildConfigurationIndex() {
+        val index = new JwtConfigurationIndex(signatureConfigurations, encryptionConfigurations);
+        this.configurationIndex = index;
+        return index;
+    }
+
+    /**
+     * Cache a copy of the profile built from a verified token, until the token expires.
+     * Tokens without subject are not cached as their identifier is generated for each validation.
+     *
+     * @param cache the cache
+     * @param token the compact JWT
+     * @param jwt the verified JWT
+     * @param profile the built profile
+     * @throws ParseException if any.
+     */
+    protected void cacheVerifiedToken(final VerifiedJwtCache cache, final String token, final JWT jwt, final UserProfile profile)
+        throws ParseException {
+        val claimSet = jwt.getJWTClaimsSet();
+        val subject = claimSet.getSubject();
+        if (profile == null || subject == null) {
+            return;
+        }
+
+        var expiresAt = System.currentTimeMillis() + verifiedTokenCacheTimeToLive * 1000L;
+        val expTime = claimSet.getExpirationTime();
+        if (expTime != null) {
+            expiresAt = Math.min(expiresAt, expTime.getTime());
+        }
+        if (this.expirationTime != null) {
+            expiresAt = Math.min(expiresAt, this.expirationTime.getTime());
+        }
+        cache.put(token, subject, copyProfile(subject, profile), expiresAt);
+    }
+
+    /**
+     * Copy a profile so that the cached profile is never shared with (and modified by) the callers.
+     * The profile is built from the subject like in {@link #createJwtProfile(CallContext, TokenCredentials, JWT)}
+     * and the mutable attribute values (maps, collections, arrays and dates) are copied as well.
+     *
+     * @param subject the subject of the JWT
+     * @param profile the profile to copy
+     * @return the copied profile
+     */
+    protected UserProfile copyProfile(final String subject, final UserProfile profile) {
+        val copy = getProfileDefinition().newProfile(subject);
+        copy.setId(profile.getId());
+        for (val entry : profile.getAttributes().entrySet()) {
+            copy.addAttribute(entry.getKey(), copyAttributeValue(entry.getValue()));
+        }
+        if (profile instanceof BasicUserProfile basicProfile) {
+            for (val entry : basicProfile.getAuthenticationAttributes().entrySet()) {
+                copy.addAuthenticationAttribute(entry.getKey(), copyAttributeValue(entry.getValue()));
+            }
+        }
+        copy.addRoles(profile.getRoles());
+        copy.setLinkedId(profile.getLinkedId());
+        copy.setClientName(profile.getClientName());
+        copy.setRemembered(profile.isRemembered());
+        return copy;
+    }
+
+    private static Object copyAttributeValue(final Object value) {
+        if (value instanceof Map<?, ?> map) {
+            final Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            for (val entry : map.entrySet()) {
+                copy.put(entry.getKey(), copyAttributeValue(entry.getValue()));
+            }
+            return copy;
+        } else if (value instanceof Collection<?> collection) {
+            final Collection<Object> copy = value instanceof Set<?> ? new LinkedHashSet<>(collection.size())
+                : new ArrayList<>(collection.size());
+            for (val element : collection) {
+                copy.add(copyAttributeValue(element));
+            }
+            return copy;
+        } else if (value instanceof Object[] array) {
+            val copy = array.clone();
+            for (var i = 0; i < copy.length; i++) {
+                copy[i] = copyAttributeValue(copy[i]);
+            }
+            return copy;
+        } else if (value instanceof Date date) {
+            return new Date(date.getTime());
+        } else if (value != null && value.getClass().isArray()) {
+            val length = Array.getLength(value);
+            val copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Clear the cached profiles as they may have been verified with removed configurations.
+     */
+    private void clearVerifiedTokenCache() {
+        val cache = this.verifiedTokenCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     /**
      * <p>setSignatureConfiguration.</p>
      *
@@ -352,6 +508,8 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
     public void addSignatureConfiguration(final SignatureConfiguration signatureConfiguration) {
         assertNotNull("signatureConfiguration", signatureConfiguration);
         signatureConfigurations.add(signatureConfiguration);
+        rebuildConfigurationIndex();
+        clearVerifiedTokenCache();
     }
 
     /**
@@ -362,6 +520,8 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
     public void setSignatureConfigurations(final List<SignatureConfiguration> signatureConfigurations) {
         assertNotNull("signatureConfigurations", signatureConfigurations);
         this.signatureConfigurations = signatureConfigurations;
+        rebuildConfigurationIndex();
+        clearVerifiedTokenCache();
     }
 
     /**
@@ -381,6 +541,8 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
     public void addEncryptionConfiguration(final EncryptionConfiguration encryptionConfiguration) {
         assertNotNull("encryptionConfiguration", encryptionConfiguration);
         encryptionConfigurations.add(encryptionConfiguration);
+        rebuildConfigurationIndex();
+        clearVerifiedTokenCache();
     }
 
     /**
@@ -391,6 +553,8 @@ public class JwtAuthenticator extends ProfileDefinitionAware implements Authenti
     public void setEncryptionConfigurations(final List<EncryptionConfiguration> encryptionConfigurations) {
         assertNotNull("encryptionConfigurations", encryptionConfigurations);
         this.encryptionConfigurations = encryptionConfigurations;
+        rebuildConfigurationIndex();
+        clearVerifiedTokenCache();
     }
 
     /**
@@ -0,0 +1,119 @@
+package org.pac4j.jwt.credentials.authenticator;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import lombok.val;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Index of the signature and encryption configurations of a {@link JwtAuthenticator} by key identifier (<code>kid</code>)
+ * and algorithm, to find the configurations to try for a JWT header without testing them all.
+ *
+ * <p>Only non-empty results are memoized as the headers are provided by the clients. The index works on a copy
+ * of the configurations: it is rebuilt by the authenticator when its configurations are set or added.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+final class JwtConfigurationIndex {
+
+    private final List<SignatureConfiguration> signatureConfigurations;
+
+    private final List<EncryptionConfiguration> encryptionConfigurations;
+
+    private final Map<String, List<SignatureConfiguration>> signatureConfigurationsByKeyId;
+
+    private final Map<String, List<EncryptionConfiguration>> encryptionConfigurationsByKeyId;
+
+    private final Map<SignatureKey, List<SignatureConfiguration>> signatureConfigurationsByKey = new ConcurrentHashMap<>();
+
+    private final Map<EncryptionKey, List<EncryptionConfiguration>> encryptionConfigurationsByKey = new ConcurrentHashMap<>();
+
+    JwtConfigurationIndex(final List<SignatureConfiguration> signatureConfigurations,
+                          final List<EncryptionConfiguration> encryptionConfigurations) {
+        this.signatureConfigurations = List.copyOf(signatureConfigurations);
+        this.encryptionConfigurations = List.copyOf(encryptionConfigurations);
+        this.signatureConfigurationsByKeyId = indexByKeyId(this.signatureConfigurations, SignatureConfiguration::getKeyId);
+        this.encryptionConfigurationsByKeyId = indexByKeyId(this.encryptionConfigurations, EncryptionConfiguration::getKeyId);
+    }
+
+    /**
+     * Find the signature configurations to try for a JWS header: the ones with the same key identifier
+     * if any supports the algorithm, otherwise all the ones supporting the algorithm (in their original order).
+     *
+     * @param header the JWS header
+     * @return the signature configurations
+     */
+    List<SignatureConfiguration> findSignatureConfigurations(final JWSHeader header) {
+        val algorithm = header.getAlgorithm();
+        val keyId = header.getKeyID();
+        if (keyId != null && signatureConfigurationsByKeyId.containsKey(keyId)) {
+            val configurations = find(signatureConfigurationsByKey, new SignatureKey(keyId, algorithm),
+                signatureConfigurationsByKeyId.get(keyId), c -> c.supports(algorithm));
+            if (!configurations.isEmpty()) {
+                return configurations;
+            }
+        }
+        return find(signatureConfigurationsByKey, new SignatureKey(null, algorithm),
+            signatureConfigurations, c -> c.supports(algorithm));
+    }
+
+    /**
+     * Find the encryption configurations to try for a JWE header: the ones with the same key identifier
+     * if any supports the algorithm and method, otherwise all the ones supporting them (in their original order).
+     *
+     * @param header the JWE header
+     * @return the encryption configurations
+     */
+    List<EncryptionConfiguration> findEncryptionConfigurations(final JWEHeader header) {
+        val algorithm = header.getAlgorithm();
+        val method = header.getEncryptionMethod();
+        val keyId = header.getKeyID();
+        if (keyId != null && encryptionConfigurationsByKeyId.containsKey(keyId)) {
+            val configurations = find(encryptionConfigurationsByKey, new EncryptionKey(keyId, algorithm, method),
+                encryptionConfigurationsByKeyId.get(keyId), c -> c.supports(algorithm, method));
+            if (!configurations.isEmpty()) {
+                return configurations;
+            }
+        }
+        return find(encryptionConfigurationsByKey, new EncryptionKey(null, algorithm, method),
+            encryptionConfigurations, c -> c.supports(algorithm, method));
+    }
+
+    private static <K, C> List<C> find(final Map<K, List<C>> memo, final K key, final List<C> configurations,
+                                       final Predicate<C> supports) {
+        var found = memo.get(key);
+        if (found == null) {
+            found = configurations.stream().filter(supports).toList();
+            if (!found.isEmpty()) {
+                memo.putIfAbsent(key, found);
+            }
+        }
+        return found;
+    }
+
+    private static <C> Map<String, List<C>> indexByKeyId(final List<C> configurations,
+                                                         final Function<C, String> keyIdGetter) {
+        final Map<String, List<C>> index = new HashMap<>();
+        for (val configuration : configurations) {
+            val keyId = keyIdGetter.apply(configuration);
+            if (keyId != null) {
+                index.computeIfAbsent(keyId, k -> new ArrayList<>()).add(configuration);
+            }
+        }
+        return index;
+    }
+
+    private record SignatureKey(String keyId, JWSAlgorithm algorithm) {}
+
+    private record EncryptionKey(String keyId, JWEAlgorithm algorithm, EncryptionMethod method) {}
+}
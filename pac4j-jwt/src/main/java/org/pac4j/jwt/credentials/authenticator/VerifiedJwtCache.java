@@ -0,0 +1,155 @@
+package org.pac4j.jwt.credentials.authenticator;
+
+import lombok.ToString;
+import lombok.val;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Bounded cache of the profiles built from already verified JWTs, keyed by a SHA-256 digest of the compact serialization.</p>
+ *
+ * <p>Each entry has its own expiration date. When the cache is full, the expired entries are purged first,
+ * then arbitrary entries are evicted.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public class VerifiedJwtCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    @ToString.Include
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * <p>Constructor for VerifiedJwtCache.</p>
+     *
+     * @param maxSize the maximum number of cached tokens
+     */
+    public VerifiedJwtCache(final int maxSize) {
+        CommonHelper.assertTrue(maxSize > 0, "maxSize must be greater than zero");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the profile cached for a token.
+     *
+     * @param token the compact JWT
+     * @return the cached profile (not a copy) and the subject it has been built from
+     */
+    public Optional<CachedProfile> get(final String token) {
+        val key = digest(token);
+        val entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return Optional.of(entry.cachedProfile());
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Cache the profile built from a verified token.
+     *
+     * @param token the compact JWT
+     * @param subject the subject the profile has been built from
+     * @param profile the profile
+     * @param expiresAt the expiration date of the entry (in milliseconds)
+     */
+    public void put(final String token, final String subject, final UserProfile profile, final long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest(token), new Entry(new CachedProfile(subject, profile), expiresAt));
+    }
+
+    /**
+     * Remove all the cached tokens.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * <p>size.</p>
+     *
+     * @return the number of cached tokens
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * <p>getHits.</p>
+     *
+     * @return the number of lookups which found a valid entry
+     */
+    @ToString.Include
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * <p>getMisses.</p>
+     *
+     * @return the number of lookups which did not find a valid entry
+     */
+    @ToString.Include
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void evict() {
+        val now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        // still full: free 10% of the cache at once so that the next insertions do not scan it again
+        val target = maxSize - Math.max(1, maxSize / 10);
+        val iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String digest(final String token) {
+        try {
+            val digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    /**
+     * A cached profile and the subject of the JWT it has been built from.
+     *
+     * @param subject the subject
+     * @param profile the profile
+     */
+    public record CachedProfile(String subject, UserProfile profile) {}
+
+    private record Entry(CachedProfile cachedProfile, long expiresAt) {}
+}
@@ -95,6 +95,134 @@ public final class JwtTests implements TestsConstants {
         assertToken(profile, token, new JwtAuthenticator(new SecretSignatureConfiguration(MAC_SECRET)));
     }
 
+    @Test
+    public void testVerifiedTokenCache() {
+        val generator = new JwtGenerator(new SecretSignatureConfiguration(MAC_SECRET));
+        val profile = createProfile();
+        profile.addRoles(ROLES);
+        val token = generator.generate(profile);
+        val authenticator = new JwtAuthenticator(new SecretSignatureConfiguration(MAC_SECRET));
+        authenticator.setVerifiedTokenCacheSize(10);
+
+        val profile1 = assertToken(profile, token, authenticator);
+        profile1.addRole("added");
+        val profile2 = assertToken(profile, token, authenticator);
+        assertNotSame(profile1, profile2);
+        assertEquals(ROLES, profile2.getRoles());
+
+        val cache = authenticator.getVerifiedTokenCache();
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertThrows(CredentialsException.class, () -> authenticator.validate(null, new TokenCredentials(token + "x")));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testVerifiedTokenCacheCopiesAttributeValues() {
+        val generator = new JwtGenerator(new SecretSignatureConfiguration(MAC_SECRET));
+        val profile = createProfile();
+        profile.addAttribute(KEY, new ArrayList<>(List.of(VALUE)));
+        val token = generator.generate(profile);
+        val authenticator = new JwtAuthenticator(new SecretSignatureConfiguration(MAC_SECRET));
+        authenticator.setVerifiedTokenCacheSize(10);
+
+        val profile1 = assertToken(profile, token, authenticator);
+        ((List<Object>) profile1.getAttribute(KEY)).add(NAME);
+        val profile2 = assertToken(profile, token, authenticator);
+        assertEquals(List.of(VALUE), profile2.getAttribute(KEY));
+        assertEquals(1, authenticator.getVerifiedTokenCache().getHits());
+    }
+
+    @Test
+    public void testVerifiedTokenCacheClearedOnNewConfiguration() {
+        val generator = new JwtGenerator(new SecretSignatureConfiguration(MAC_SECRET));
+        val token = generator.generate(createProfile());
+        val authenticator = new JwtAuthenticator(new SecretSignatureConfiguration(MAC_SECRET));
+        authenticator.setVerifiedTokenCacheSize(10);
+        authenticator.validate(null, new TokenCredentials(token));
+        val cache = authenticator.getVerifiedTokenCache();
+        assertEquals(1, cache.size());
+
+        authenticator.setSignatureConfigurations(new ArrayList<>(List.of(new SecretSignatureConfiguration(KEY2))));
+        assertEquals(0, cache.size());
+        assertThrows(CredentialsException.class, () -> authenticator.validate(null, new TokenCredentials(token)));
+
+        authenticator.addSignatureConfiguration(new SecretSignatureConfiguration(MAC_SECRET));
+        authenticator.validate(null, new TokenCredentials(token));
+        assertEquals(1, cache.size());
+        authenticator.addEncryptionConfiguration(new SecretEncryptionConfiguration(MAC_SECRET));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSignatureConfigurationIndexRebuiltOnNewConfigurations() {
+        val config1 = new SecretSignatureConfiguration(MAC_SECRET);
+        config1.setKeyId("key1");
+        val config2 = new SecretSignatureConfiguration(KEY2);
+        config2.setKeyId("key2");
+        val profile = createProfile();
+        val token = new JwtGenerator(config2).generate(profile);
+        val authenticator = new JwtAuthenticator(config1);
+        assertThrows(CredentialsException.class, () -> authenticator.validate(null, new TokenCredentials(token)));
+
+        authenticator.setSignatureConfigurations(new ArrayList<>(List.of(config2)));
+        assertToken(profile, token, authenticator);
+
+        authenticator.setSignatureConfigurations(new ArrayList<>(List.of(config1)));
+        assertThrows(CredentialsException.class, () -> authenticator.validate(null, new TokenCredentials(token)));
+    }
+
+    @Test
+    public void testVerifiedTokenCacheExpiredToken() {
+        val generator = new JwtGenerator(new SecretSignatureConfiguration(MAC_SECRET));
+        generator.setExpirationTime(yesterday());
+        val token = generator.generate(createProfile());
+        val authenticator = new JwtAuthenticator(new SecretSignatureConfiguration(MAC_SECRET));
+        authenticator.setVerifiedTokenCacheSize(10);
+        val credentials = new TokenCredentials(token);
+        authenticator.validate(null, credentials);
+        assertNull(credentials.getUserProfile());
+        assertEquals(0, authenticator.getVerifiedTokenCache().size());
+    }
+
+    @Test
+    public void testSignatureConfigurationSelectedByKeyId() {
+        val config1 = new SecretSignatureConfiguration(MAC_SECRET);
+        config1.setKeyId("key1");
+        val config2 = new SecretSignatureConfiguration(KEY2);
+        config2.setKeyId("key2");
+        val authenticator = new JwtAuthenticator(List.of(config1, config2));
+
+        val profile = createProfile();
+        val token = new JwtGenerator(config2).generate(profile);
+        assertToken(profile, token, authenticator);
+
+        val wrongKey = new SecretSignatureConfiguration(KEY2);
+        wrongKey.setKeyId("key1");
+        val wrongToken = new JwtGenerator(wrongKey).generate(profile);
+        assertThrows(CredentialsException.class, () -> authenticator.validate(null, new TokenCredentials(wrongToken)));
+
+        val noKeyIdToken = new JwtGenerator(new SecretSignatureConfiguration(KEY2)).generate(profile);
+        assertToken(profile, noKeyIdToken, authenticator);
+    }
+
+    @Test
+    public void testEncryptionConfigurationSelectedByKeyId() {
+        val signatureConfiguration = new SecretSignatureConfiguration(MAC_SECRET);
+        val encryption1 = new SecretEncryptionConfiguration(MAC_SECRET);
+        encryption1.setKeyId("enc1");
+        val encryption2 = new SecretEncryptionConfiguration(KEY2);
+        encryption2.setKeyId("enc2");
+        val authenticator = new JwtAuthenticator(List.of(signatureConfiguration), List.of(encryption1, encryption2));
+
+        val profile = createProfile();
+        val token = new JwtGenerator(signatureConfiguration, encryption2).generate(profile);
+        assertToken(profile, token, authenticator);
+        assertToken(profile, token, authenticator);
+    }
+
     @Test
     public void testPlainJwtWithSignatureConfigurations() {
         assertThrows(CredentialsException.class, () -> {
@@ -232,6 +232,36 @@ public class LdapProfileService extends AbstractProfileService<LdapProfile> {
         return listAttributes;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected List<Map<String, Object>> readAll(final List<String> names, final String key, final Collection<String> values) {
+        List<Map<String, Object>> listAttributes = new ArrayList<>();
+        if (values.isEmpty()) {
+            return listAttributes;
+        }
+        try {
+            Operation<SearchRequest, SearchResponse> search = new SearchOperation(connectionFactory);
+            // (|(key={0})(key={1})...) with the values as escaped parameters
+            val filter = new FilterTemplate();
+            val sb = new StringBuilder("(|");
+            var i = 0;
+            for (val value : values) {
+                sb.append('(').append(key).append("={").append(i).append("})");
+                filter.setParameter(i++, value);
+            }
+            filter.setFilter(sb.append(')').toString());
+            val request = new SearchRequest(usersDn, filter);
+            request.setReturnAttributes(names.toArray(new String[names.size()]));
+            val result = search.execute(request);
+            for (val entry : result.getEntries()) {
+                listAttributes.add(getAttributesFromEntry(entry));
+            }
+        } catch (final LdapException e) {
+            throw new TechnicalException(e);
+        }
+        return listAttributes;
+    }
+
     /**
      * <p>getAttributesFromEntry.</p>
      *
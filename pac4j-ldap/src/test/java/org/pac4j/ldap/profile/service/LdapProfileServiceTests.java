@@ -181,6 +181,31 @@ public final class LdapProfileServiceTests implements TestsConstants {
         assertEquals(0, results.size());
     }
 
+    @Test
+    public void testFindByLinkedIds() {
+        val ldapProfileService = new LdapProfileService(connectionFactory, authenticator, LdapServer.BASE_PEOPLE_DN);
+        ldapProfileService.setIdAttribute(LdapServer.CN);
+        ldapProfileService.setUsernameAttribute(LdapServer.SN);
+        ldapProfileService.setPasswordAttribute("userPassword");
+        for (var i = 0; i < 3; i++) {
+            val profile = new LdapProfile();
+            profile.setId(LDAP_ID + i);
+            profile.setLinkedId(LDAP_LINKED_ID + i);
+            profile.addAttribute(USERNAME, LDAP_USER + i);
+            ldapProfileService.create(profile, LDAP_PASS);
+        }
+        try {
+            val profiles = ldapProfileService.findByLinkedIds(List.of(LDAP_LINKED_ID + 0, LDAP_LINKED_ID + 2, "*)(cn=*"));
+            assertEquals(2, profiles.size());
+            assertEquals(LDAP_ID + 0, profiles.get(LDAP_LINKED_ID + 0).getId());
+            assertEquals(LDAP_USER + 2, profiles.get(LDAP_LINKED_ID + 2).getUsername());
+        } finally {
+            for (var i = 0; i < 3; i++) {
+                ldapProfileService.removeById(LDAP_ID + i);
+            }
+        }
+    }
+
     @Test
     public void testCreateUpdateFindDelete() {
         val profile = new LdapProfile();
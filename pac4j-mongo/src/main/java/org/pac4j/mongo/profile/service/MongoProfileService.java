@@ -15,11 +15,13 @@ import org.pac4j.core.util.serializer.JsonSerializer;
 import org.pac4j.mongo.profile.MongoProfile;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 /**
  * The MongoDB profile service (which supersedes the Mongo authenticator).
@@ -149,16 +151,7 @@ public class MongoProfileService extends AbstractProfileService<MongoProfile> {
         try (val cursor = getCollection().find(eq(key, value)).iterator()) {
             var i = 0;
             while (cursor.hasNext() && i <= 2) {
-                val result = cursor.next();
-                Map<String, Object> newAttributes = new HashMap<>();
-                // filter on names
-                for (val entry : result.entrySet()) {
-                    val name = entry.getKey();
-                    if (names == null || names.contains(name)) {
-                        newAttributes.put(name, entry.getValue());
-                    }
-                }
-                listAttributes.add(newAttributes);
+                listAttributes.add(filterAttributes(cursor.next(), names));
                 i++;
             }
         }
@@ -167,6 +160,34 @@ public class MongoProfileService extends AbstractProfileService<MongoProfile> {
         return listAttributes;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected List<Map<String, Object>> readAll(final List<String> names, final String key, final Collection<String> values) {
+
+        logger.debug("Reading key / values: {} / {}", key, values);
+        List<Map<String, Object>> listAttributes = new ArrayList<>();
+        try (val cursor = getCollection().find(in(key, values)).iterator()) {
+            while (cursor.hasNext()) {
+                listAttributes.add(filterAttributes(cursor.next(), names));
+            }
+        }
+        logger.debug("Found: {}", listAttributes);
+
+        return listAttributes;
+    }
+
+    private Map<String, Object> filterAttributes(final Document result, final List<String> names) {
+        Map<String, Object> newAttributes = new HashMap<>();
+        // filter on names
+        for (val entry : result.entrySet()) {
+            val name = entry.getKey();
+            if (names == null || names.contains(name)) {
+                newAttributes.put(name, entry.getValue());
+            }
+        }
+        return newAttributes;
+    }
+
     /**
      * <p>getCollection.</p>
      *
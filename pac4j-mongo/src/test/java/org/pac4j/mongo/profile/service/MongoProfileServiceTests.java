@@ -188,6 +188,29 @@ public final class MongoProfileServiceTests implements TestsConstants {
                 Pac4jConstants.EMPTY_STRING), BadCredentialsException.class, "Bad credentials for: jle");
     }
 
+    @Test
+    public void testFindByLinkedIds() {
+        val mongoProfileService = new MongoProfileService(getClient());
+        mongoProfileService.setPasswordEncoder(PASSWORD_ENCODER);
+        for (var i = 0; i < 3; i++) {
+            val profile = new MongoProfile();
+            profile.setId(MONGO_ID + i);
+            profile.setLinkedId(MONGO_LINKEDID + i);
+            profile.addAttribute(USERNAME, MONGO_USER + i);
+            mongoProfileService.create(profile, MONGO_PASS);
+        }
+        try {
+            val profiles = mongoProfileService.findByLinkedIds(List.of(MONGO_LINKEDID + 1, MONGO_LINKEDID + 2, MONGO_LINKEDID));
+            assertEquals(2, profiles.size());
+            assertEquals(MONGO_ID + 1, profiles.get(MONGO_LINKEDID + 1).getId());
+            assertEquals(MONGO_USER + 2, profiles.get(MONGO_LINKEDID + 2).getUsername());
+        } finally {
+            for (var i = 0; i < 3; i++) {
+                mongoProfileService.removeById(MONGO_ID + i);
+            }
+        }
+    }
+
     @Test
     public void testCreateUpdateFindDelete() {
         val objectId = new ObjectId();
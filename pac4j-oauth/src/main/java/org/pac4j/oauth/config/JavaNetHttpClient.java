@@ -0,0 +1,312 @@
+package org.pac4j.oauth.config;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.httpclient.multipart.MultipartUtils;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import lombok.val;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A scribe HTTP client based on the {@link java.net.http.HttpClient} of the JDK: unlike the {@code JDKHttpClient} of scribe,
+ * it keeps its own pool of HTTP/1.1 keep-alive connections, released when it is closed.
+ * The protocol is pinned to HTTP/1.1 like the scribe client, so that no HTTP/2 upgrade is attempted with the providers.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public class JavaNetHttpClient implements HttpClient {
+
+    private static final String USER_AGENT = "User-Agent";
+
+    /** The headers set by the JDK client itself. */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final java.net.http.HttpClient client;
+
+    private final Duration readTimeout;
+
+    /**
+     * <p>Constructor for JavaNetHttpClient.</p>
+     */
+    public JavaNetHttpClient() {
+        this(JDKHttpClientConfig.defaultConfig());
+    }
+
+    /**
+     * <p>Constructor for JavaNetHttpClient.</p>
+     *
+     * @param config the connect and read timeouts, the proxy and the redirection policy
+     */
+    public JavaNetHttpClient(final JDKHttpClientConfig config) {
+        val builder = java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_1_1)
+            .followRedirects(config.isFollowRedirects() ? java.net.http.HttpClient.Redirect.NORMAL
+                : java.net.http.HttpClient.Redirect.NEVER);
+        if (config.getConnectTimeout() != null && config.getConnectTimeout() > 0) {
+            builder.connectTimeout(Duration.ofMillis(config.getConnectTimeout()));
+        }
+        val proxy = config.getProxy();
+        if (proxy != null && proxy.type() == Proxy.Type.HTTP && proxy.address() instanceof InetSocketAddress address) {
+            builder.proxy(ProxySelector.of(address));
+        }
+        this.client = builder.build();
+        this.readTimeout = config.getReadTimeout() != null && config.getReadTimeout() > 0
+            ? Duration.ofMillis(config.getReadTimeout()) : null;
+    }
+
+    /**
+     * Whether a scribe HTTP client configuration can be honored by this client.
+     *
+     * @param config the configuration
+     * @return whether it is supported
+     */
+    public static boolean supports(final Object config) {
+        if (config instanceof JDKHttpClientConfig jdkConfig) {
+            val proxy = jdkConfig.getProxy();
+            return proxy == null || proxy.type() == Proxy.Type.DIRECT
+                || proxy.type() == Proxy.Type.HTTP && proxy.address() instanceof InetSocketAddress;
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        // the JDK client is only closeable since Java 21: before, its connections are released when it is garbage collected
+        if (client instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                      final String completeUrl, final byte[] bodyContents,
+                                      final OAuthAsyncRequestCallback<T> callback,
+                                      final OAuthRequest.ResponseConverter<T> converter) {
+        return sendAsync(buildRequest(userAgent, headers, httpVerb, completeUrl, bodyContents, null), callback, converter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                      final String completeUrl, final MultipartPayload bodyContents,
+                                      final OAuthAsyncRequestCallback<T> callback,
+                                      final OAuthRequest.ResponseConverter<T> converter) {
+        final HttpRequest request;
+        try {
+            request = buildMultipartRequest(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        } catch (final IOException e) {
+            return failed(e, callback);
+        }
+        return sendAsync(request, callback, converter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                      final String completeUrl, final String bodyContents,
+                                      final OAuthAsyncRequestCallback<T> callback,
+                                      final OAuthRequest.ResponseConverter<T> converter) {
+        return sendAsync(buildRequest(userAgent, headers, httpVerb, completeUrl, toBytes(bodyContents), null),
+            callback, converter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> Future<T> executeAsync(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                      final String completeUrl, final File bodyContents,
+                                      final OAuthAsyncRequestCallback<T> callback,
+                                      final OAuthRequest.ResponseConverter<T> converter) {
+        final HttpRequest request;
+        try {
+            request = buildFileRequest(userAgent, headers, httpVerb, completeUrl, bodyContents);
+        } catch (final IOException e) {
+            return failed(e, callback);
+        }
+        return sendAsync(request, callback, converter);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                            final String completeUrl, final byte[] bodyContents)
+        throws InterruptedException, ExecutionException, IOException {
+        return send(buildRequest(userAgent, headers, httpVerb, completeUrl, bodyContents, null));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                            final String completeUrl, final MultipartPayload bodyContents)
+        throws InterruptedException, ExecutionException, IOException {
+        return send(buildMultipartRequest(userAgent, headers, httpVerb, completeUrl, bodyContents));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                            final String completeUrl, final String bodyContents)
+        throws InterruptedException, ExecutionException, IOException {
+        return send(buildRequest(userAgent, headers, httpVerb, completeUrl, toBytes(bodyContents), null));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Response execute(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                            final String completeUrl, final File bodyContents)
+        throws InterruptedException, ExecutionException, IOException {
+        return send(buildFileRequest(userAgent, headers, httpVerb, completeUrl, bodyContents));
+    }
+
+    private HttpRequest buildMultipartRequest(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                              final String completeUrl, final MultipartPayload bodyContents)
+        throws IOException {
+        final byte[] body = bodyContents == null ? null : MultipartUtils.getPayload(bodyContents).toByteArray();
+        return buildRequest(userAgent, headers, httpVerb, completeUrl, body,
+            bodyContents == null ? null : bodyContents.getHeaders());
+    }
+
+    private HttpRequest buildFileRequest(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                         final String completeUrl, final File bodyContents) throws FileNotFoundException {
+        if (bodyContents == null || !httpVerb.isPermitBody()) {
+            return buildRequest(userAgent, headers, httpVerb, completeUrl, null, null);
+        }
+        return buildRequest(userAgent, headers, httpVerb, completeUrl, HttpRequest.BodyPublishers.ofFile(bodyContents.toPath()));
+    }
+
+    private HttpRequest buildRequest(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                     final String completeUrl, final byte[] bodyContents,
+                                     final Map<String, String> payloadHeaders) {
+        final Map<String, String> allHeaders = new HashMap<>();
+        if (payloadHeaders != null) {
+            allHeaders.putAll(payloadHeaders);
+        }
+        allHeaders.putAll(headers);
+        if (bodyContents == null || !httpVerb.isPermitBody()) {
+            return buildRequest(userAgent, allHeaders, httpVerb, completeUrl,
+                httpVerb.isRequiresBody() ? HttpRequest.BodyPublishers.ofByteArray(new byte[0]) : null);
+        }
+        return buildRequest(userAgent, allHeaders, httpVerb, completeUrl, HttpRequest.BodyPublishers.ofByteArray(bodyContents));
+    }
+
+    private HttpRequest buildRequest(final String userAgent, final Map<String, String> headers, final Verb httpVerb,
+                                     final String completeUrl, final HttpRequest.BodyPublisher body) {
+        val builder = HttpRequest.newBuilder(URI.create(completeUrl));
+        if (readTimeout != null) {
+            builder.timeout(readTimeout);
+        }
+        var hasContentType = false;
+        for (val header : headers.entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                builder.setHeader(header.getKey(), header.getValue());
+                hasContentType |= CONTENT_TYPE.equalsIgnoreCase(header.getKey());
+            }
+        }
+        if (userAgent != null) {
+            builder.setHeader(USER_AGENT, userAgent);
+        }
+        if (body != null) {
+            if (!hasContentType) {
+                builder.setHeader(CONTENT_TYPE, DEFAULT_CONTENT_TYPE);
+            }
+            builder.method(httpVerb.name(), body);
+        } else {
+            builder.method(httpVerb.name(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private Response send(final HttpRequest request) throws InterruptedException, IOException {
+        return toResponse(client.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+    }
+
+    private <T> CompletableFuture<T> sendAsync(final HttpRequest request, final OAuthAsyncRequestCallback<T> callback,
+                                               final OAuthRequest.ResponseConverter<T> converter) {
+        val future = client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).thenApply(httpResponse -> {
+            try {
+                val response = toResponse(httpResponse);
+                @SuppressWarnings("unchecked")
+                final T result = converter == null ? (T) response : converter.convert(response);
+                return result;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (callback != null) {
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    callback.onThrowable(unwrap(error));
+                } else {
+                    callback.onCompleted(result);
+                }
+            });
+        }
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> failed(final IOException e, final OAuthAsyncRequestCallback<T> callback) {
+        if (callback != null) {
+            callback.onThrowable(e);
+        }
+        return CompletableFuture.failedFuture(e);
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        var cause = error;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static Response toResponse(final HttpResponse<InputStream> httpResponse) {
+        // the HTTP/2 header names are lower case
+        final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (val header : httpResponse.headers().map().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+        val body = httpResponse.body();
+        return new Response(httpResponse.statusCode(), null, headers, body, body);
+    }
+
+    private static byte[] toBytes(final String bodyContents) {
+        return bodyContents == null ? null : bodyContents.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -27,7 +27,7 @@ public class OAuth10Configuration extends OAuthConfiguration {
     /**
      * {@inheritDoc}
      *
-     * Build an OAuth service from the web context.
+     * Build an OAuth service from the web context (or reuse the one built for the same callback URL).
      */
     @Override
     public OAuthService buildService(final WebContext context, final IndirectClient client) {
@@ -35,8 +35,8 @@ public class OAuth10Configuration extends OAuthConfiguration {
 
         val finalCallbackUrl = client.computeFinalCallbackUrl(context);
 
-        return ((DefaultApi10a) api)
-            .createService(this.key, this.secret, finalCallbackUrl, this.scope, null, null, this.httpClientConfig, null);
+        return getOrBuildService(finalCallbackUrl, callbackUrl -> ((DefaultApi10a) api).createService(this.key, this.secret,
+            callbackUrl, this.scope, null, null, this.httpClientConfig, getServiceHttpClient()));
     }
 
     /**
@@ -50,7 +50,7 @@ public class OAuth20Configuration extends OAuthConfiguration {
     /**
      * {@inheritDoc}
      *
-     * Build an OAuth service from the web context.
+     * Build an OAuth service from the web context (or reuse the one built for the same callback URL).
      */
     @Override
     public OAuthService buildService(final WebContext context, final IndirectClient client) {
@@ -58,8 +58,8 @@ public class OAuth20Configuration extends OAuthConfiguration {
 
         val finalCallbackUrl = client.computeFinalCallbackUrl(context);
 
-        return ((DefaultApi20) api).createService(this.key, this.secret, finalCallbackUrl, this.scope,
-            this.responseType, null, null, this.httpClientConfig, null);
+        return getOrBuildService(finalCallbackUrl, callbackUrl -> ((DefaultApi20) api).createService(this.key, this.secret,
+            callbackUrl, this.scope, this.responseType, null, null, this.httpClientConfig, getServiceHttpClient()));
     }
 
     /**
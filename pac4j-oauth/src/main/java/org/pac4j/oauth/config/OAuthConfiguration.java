@@ -1,17 +1,29 @@
 package org.pac4j.oauth.config;
 
+import com.github.scribejava.core.httpclient.HttpClient;
 import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.HttpClientProvider;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
 import com.github.scribejava.core.oauth.OAuthService;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.pac4j.core.client.IndirectClient;
 import org.pac4j.core.client.config.BaseClientConfiguration;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.util.CommonHelper;
 import org.pac4j.oauth.profile.definition.OAuthProfileDefinition;
 
+import java.io.IOException;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
 /**
  * The base OAuth configuration.
  *
@@ -20,9 +32,10 @@ import org.pac4j.oauth.profile.definition.OAuthProfileDefinition;
  */
 @Getter
 @Setter
-@ToString(exclude = "secret")
+@Slf4j
+@ToString(exclude = {"secret", "service", "ownHttpClient"})
 @Accessors(chain = true)
-public abstract class OAuthConfiguration extends BaseClientConfiguration {
+public abstract class OAuthConfiguration extends BaseClientConfiguration implements AutoCloseable {
 
     /** Constant <code>OAUTH_TOKEN="oauth_token"</code> */
     public static final String OAUTH_TOKEN = "oauth_token";
@@ -46,8 +59,25 @@ public abstract class OAuthConfiguration extends BaseClientConfiguration {
 
     protected HttpClientConfig httpClientConfig;
 
+    /** The HTTP client of the OAuth services: if not defined, a client owned by this configuration is used. */
+    protected HttpClient httpClient;
+
+    /** Whether the HTTP client owned by this configuration is a pooled {@link JavaNetHttpClient} instead of the scribe JDK client. */
+    protected boolean pooledHttpClient;
+
+    /** Whether the OAuth service is reused while the final callback URL does not change. */
+    protected boolean cacheService = true;
+
     protected Object api;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile OAuthService service;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private HttpClient ownHttpClient;
+
     /** {@inheritDoc} */
     @Override
     protected void internalInit(final boolean forceReinit) {
@@ -56,6 +86,104 @@ public abstract class OAuthConfiguration extends BaseClientConfiguration {
         CommonHelper.assertNotBlank("secret", this.secret);
         CommonHelper.assertNotNull("hasBeenCancelledFactory", hasBeenCancelledFactory);
         CommonHelper.assertNotNull("profileDefinition", profileDefinition);
+
+        final HttpClient previousHttpClient;
+        synchronized (this) {
+            previousHttpClient = ownHttpClient;
+            ownHttpClient = httpClient == null ? createOwnHttpClient() : null;
+            service = null;
+        }
+        // the in-flight requests of the previous client are completed before it is closed
+        closeHttpClient(previousHttpClient);
+    }
+
+    /**
+     * Release the OAuth service and close the HTTP client created by this configuration (not the defined one).
+     */
+    @Override
+    public void close() {
+        final HttpClient previousHttpClient;
+        synchronized (this) {
+            previousHttpClient = ownHttpClient;
+            ownHttpClient = null;
+            service = null;
+        }
+        closeHttpClient(previousHttpClient);
+    }
+
+    private static void closeHttpClient(final HttpClient client) {
+        if (client != null) {
+            try {
+                client.close();
+            } catch (final IOException | RuntimeException e) {
+                LOGGER.warn("Cannot close the HTTP client of the OAuth services", e);
+            }
+        }
+    }
+
+    /**
+     * Get the OAuth service of this configuration or build it.
+     *
+     * <p>A single service is kept per configuration: it is reused as long as the final callback URL is the same one
+     * and replaced otherwise, so that callback URLs built from the request (like the <code>Host</code> header) cannot
+     * fill any cache.</p>
+     *
+     * @param callbackUrl the final callback URL
+     * @param builder the builder of the service
+     * @param <S> the type of the service
+     * @return the OAuth service
+     */
+    protected <S extends OAuthService> S getOrBuildService(final String callbackUrl, final Function<String, S> builder) {
+        if (!cacheService) {
+            return builder.apply(callbackUrl);
+        }
+        val current = service;
+        if (current != null && Objects.equals(current.getCallback(), callbackUrl)) {
+            return (S) current;
+        }
+        val newService = builder.apply(callbackUrl);
+        service = newService;
+        return newService;
+    }
+
+    /**
+     * Return the HTTP client of the OAuth services: the defined one or the one created (once) by this configuration.
+     *
+     * @return the HTTP client (<code>null</code> if no provider supports the HTTP client configuration)
+     */
+    protected synchronized HttpClient getServiceHttpClient() {
+        if (httpClient != null) {
+            return httpClient;
+        }
+        if (ownHttpClient == null) {
+            ownHttpClient = createOwnHttpClient();
+        }
+        return ownHttpClient;
+    }
+
+    /**
+     * Create the HTTP client owned by this configuration: the scribe JDK client, as scribe does by default,
+     * or a pooled {@link JavaNetHttpClient} if {@link #pooledHttpClient} is enabled and supports the HTTP client configuration.
+     *
+     * @return the HTTP client
+     */
+    protected HttpClient createOwnHttpClient() {
+        if (httpClientConfig == null) {
+            return pooledHttpClient ? new JavaNetHttpClient() : new JDKHttpClient(JDKHttpClientConfig.defaultConfig());
+        } else if (pooledHttpClient && JavaNetHttpClient.supports(httpClientConfig)) {
+            return new JavaNetHttpClient((JDKHttpClientConfig) httpClientConfig);
+        }
+        return createHttpClient(httpClientConfig);
+    }
+
+    private static HttpClient createHttpClient(final HttpClientConfig config) {
+        for (val provider : ServiceLoader.load(HttpClientProvider.class)) {
+            val client = provider.createClient(config);
+            if (client != null) {
+                return client;
+            }
+        }
+        return null;
     }
 
     /**
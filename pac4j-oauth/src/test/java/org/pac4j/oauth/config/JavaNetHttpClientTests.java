@@ -0,0 +1,92 @@
+package org.pac4j.oauth.config;
+
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+import com.sun.net.httpserver.HttpServer;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pac4j.test.util.TestsConstants;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link JavaNetHttpClient}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class JavaNetHttpClientTests implements TestsConstants {
+
+    private HttpServer server;
+
+    private String url;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            val request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            val body = (exchange.getRequestMethod() + ":" + exchange.getRequestHeaders().getFirst("Content-Type") + ":"
+                + exchange.getRequestHeaders().getFirst("X-Test") + ":" + request).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Result", VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        try (val client = new JavaNetHttpClient()) {
+            for (var i = 0; i < 3; i++) {
+                try (val response = client.execute(null, Map.of("X-Test", KEY, "Content-Length", "1"), Verb.POST, url,
+                    "a=b")) {
+                    assertEquals(200, response.getCode());
+                    assertEquals(VALUE, response.getHeader("X-Result"));
+                    assertEquals("POST:application/x-www-form-urlencoded:" + KEY + ":a=b", response.getBody());
+                }
+            }
+            try (val response = client.execute(null, Map.of(), Verb.GET, url, (byte[]) null)) {
+                assertEquals("GET:null:null:", response.getBody());
+            }
+        }
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        try (val client = new JavaNetHttpClient()) {
+            val completed = new CompletableFuture<String>();
+            val future = client.executeAsync(null, Map.of(), Verb.PUT, url, VALUE, new OAuthAsyncRequestCallback<String>() {
+                @Override
+                public void onCompleted(final String response) {
+                    completed.complete(response);
+                }
+
+                @Override
+                public void onThrowable(final Throwable t) {
+                    completed.completeExceptionally(t);
+                }
+            }, Response::getBody);
+            val expected = "PUT:application/x-www-form-urlencoded:null:" + VALUE;
+            assertEquals(expected, future.get(10, TimeUnit.SECONDS));
+            assertEquals(expected, completed.get(10, TimeUnit.SECONDS));
+        }
+    }
+}
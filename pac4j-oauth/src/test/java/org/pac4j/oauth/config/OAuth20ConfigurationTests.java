@@ -0,0 +1,113 @@
+package org.pac4j.oauth.config;
+
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClient;
+import com.github.scribejava.core.oauth.OAuth20Service;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.pac4j.oauth.client.GitHubClient;
+import org.pac4j.oauth.client.OAuth20Client;
+import org.pac4j.test.context.MockWebContext;
+import org.pac4j.test.util.TestsConstants;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link OAuth20Configuration}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class OAuth20ConfigurationTests implements TestsConstants {
+
+    private static OAuth20Client getClient(final String callbackUrl) {
+        val client = new GitHubClient(KEY, SECRET);
+        client.setCallbackUrl(callbackUrl);
+        client.init();
+        return client;
+    }
+
+    @Test
+    public void testServiceReusedForSameCallbackUrl() {
+        val client = getClient(CALLBACK_URL);
+        val configuration = client.getConfiguration();
+        val context = MockWebContext.create();
+
+        val service = (OAuth20Service) configuration.buildService(context, client);
+        assertSame(service, configuration.buildService(context, client));
+
+        val otherClient = getClient(PAC4J_BASE_URL);
+        val otherService = (OAuth20Service) configuration.buildService(context, otherClient);
+        assertNotSame(service, otherService);
+        assertTrue(otherService.getCallback().startsWith(PAC4J_BASE_URL));
+        assertSame(otherService, configuration.buildService(context, otherClient));
+    }
+
+    @Test
+    public void testSingleServicePerConfiguration() {
+        val client = getClient(CALLBACK_URL);
+        val configuration = client.getConfiguration();
+        val context = MockWebContext.create();
+
+        val service = configuration.buildService(context, client);
+        configuration.buildService(context, getClient(PAC4J_BASE_URL));
+        assertNotSame(service, configuration.buildService(context, client));
+    }
+
+    @Test
+    public void testServiceCacheDisabled() {
+        val client = getClient(CALLBACK_URL);
+        val configuration = client.getConfiguration();
+        configuration.setCacheService(false);
+        val context = MockWebContext.create();
+
+        assertNotSame(configuration.buildService(context, client), configuration.buildService(context, client));
+    }
+
+    @Test
+    public void testHttpClientOwnedByConfiguration() {
+        val configuration = getClient(CALLBACK_URL).getConfiguration();
+        val httpClient = configuration.getServiceHttpClient();
+        assertTrue(httpClient instanceof JDKHttpClient);
+        assertSame(httpClient, configuration.getServiceHttpClient());
+        assertNotSame(httpClient, getClient(CALLBACK_URL).getConfiguration().getServiceHttpClient());
+
+        configuration.close();
+        assertNotSame(httpClient, configuration.getServiceHttpClient());
+
+        val definedHttpClient = new JavaNetHttpClient();
+        configuration.setHttpClient(definedHttpClient);
+        assertSame(definedHttpClient, configuration.getServiceHttpClient());
+    }
+
+    @Test
+    public void testPooledHttpClientSwappedOnReinit() {
+        val client = getClient(CALLBACK_URL);
+        val configuration = client.getConfiguration();
+        configuration.setPooledHttpClient(true);
+        configuration.init(true);
+        val httpClient = configuration.getServiceHttpClient();
+        assertTrue(httpClient instanceof JavaNetHttpClient);
+        val service = (OAuth20Service) configuration.buildService(MockWebContext.create(), client);
+
+        configuration.init(true);
+        val newHttpClient = configuration.getServiceHttpClient();
+        assertTrue(newHttpClient instanceof JavaNetHttpClient);
+        assertNotSame(httpClient, newHttpClient);
+        assertNotSame(service, configuration.buildService(MockWebContext.create(), client));
+        configuration.close();
+    }
+
+    @Test
+    public void testServiceRebuiltOnReinit() {
+        val client = getClient(CALLBACK_URL);
+        val configuration = client.getConfiguration();
+        val context = MockWebContext.create();
+
+        val service = (OAuth20Service) configuration.buildService(context, client);
+        configuration.setScope("user:email");
+        configuration.init(true);
+        val newService = (OAuth20Service) configuration.buildService(context, client);
+        assertNotSame(service, newService);
+        assertEquals("user:email", newService.getDefaultScope());
+    }
+}
@@ -1,6 +1,7 @@
 package org.pac4j.oidc.config;
 
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
 import com.nimbusds.jose.util.ResourceRetriever;
 import com.nimbusds.oauth2.sdk.ParseException;
@@ -27,6 +28,7 @@ import org.pac4j.oidc.metadata.IOidcOpMetadataResolver;
 import org.pac4j.oidc.metadata.OidcFederationOpMetadataResolver;
 import org.pac4j.oidc.metadata.OidcOpMetadataResolver;
 import org.pac4j.oidc.util.SessionStoreValueRetriever;
+import org.pac4j.oidc.util.SharedJwkSources;
 import org.pac4j.oidc.util.ValueRetriever;
 
 import javax.net.ssl.HostnameVerifier;
@@ -48,7 +50,7 @@ import static org.pac4j.core.util.CommonHelper.assertNotNull;
  */
 @Getter
 @Setter
-@ToString(exclude = {"secret", "oidcClient"})
+@ToString(exclude = {"secret", "oidcClient", "jwkSources"})
 @Accessors(chain = true)
 @With
 @AllArgsConstructor
@@ -196,6 +198,18 @@ public class OidcConfiguration extends BaseClientConfiguration {
 
     private ResourceRetriever resourceRetriever;
 
+    /* time-to-live of the shared JWKS cache (in milliseconds) */
+    private long jwksCacheTimeToLive = JWKSourceBuilder.DEFAULT_CACHE_TIME_TO_LIVE;
+
+    /* time before the expiration of the shared JWKS cache to refresh it in background (in milliseconds) */
+    private long jwksRefreshAheadTime = JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME;
+
+    /* minimum interval between two JWKS fetches, for example when an unknown kid shows up (in milliseconds) */
+    private long jwksRateLimitInterval = JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL;
+
+    /* JWKS caches shared by the token validators of this configuration */
+    private SharedJwkSources jwkSources = new SharedJwkSources();
+
     private ResponseType responseType = AUTHORIZATION_CODE_FLOWS.get(0);
 
     private String responseMode;
@@ -286,6 +300,10 @@ public class OidcConfiguration extends BaseClientConfiguration {
                 + "this is a bad practice even if you have increased the header response size for the RP/OP");
         }
 
+        if (forceReinit) {
+            jwkSources.clear();
+        }
+
         if (forceReinit || getResourceRetriever() == null) {
             try {
                 setResourceRetriever(new OidcResourceRetriever());
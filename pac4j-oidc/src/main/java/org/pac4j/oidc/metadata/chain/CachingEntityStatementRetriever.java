@@ -0,0 +1,189 @@
+package org.pac4j.oidc.metadata.chain;
+
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityID;
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityStatement;
+import com.nimbusds.openid.connect.sdk.federation.trust.EntityStatementRetriever;
+import com.nimbusds.openid.connect.sdk.federation.trust.ResolveException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.util.CommonHelper;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entity statement retriever caching the statements until their expiration (minus a margin),
+ * so that a refresh of the trust chains only re-fetches the expired statements.
+ *
+ * <p>When an executor is provided, the statements of the superiors (entity configuration and subordinate statement)
+ * listed in the <code>authority_hints</code> of a fetched entity configuration are prefetched concurrently,
+ * with the parallelism of the executor. A statement is never fetched twice at the same time.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+public class CachingEntityStatementRetriever implements EntityStatementRetriever {
+
+    @FunctionalInterface
+    private interface Fetcher {
+        EntityStatement fetch() throws ResolveException;
+    }
+
+    private final EntityStatementRetriever delegate;
+
+    private final Executor executor;
+
+    @Getter
+    @Setter
+    private long expiryMargin;
+
+    private final Map<String, CompletableFuture<EntityStatement>> statements = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nbFetches = new AtomicInteger();
+
+    /**
+     * <p>Constructor for CachingEntityStatementRetriever.</p>
+     *
+     * @param delegate the retriever really fetching the statements
+     * @param executor the executor for the prefetches (no prefetch if <code>null</code>)
+     * @param expiryMargin the margin before the expiration of a statement to re-fetch it (in milliseconds)
+     */
+    public CachingEntityStatementRetriever(final EntityStatementRetriever delegate, final Executor executor,
+                                           final long expiryMargin) {
+        CommonHelper.assertNotNull("delegate", delegate);
+        this.delegate = delegate;
+        this.executor = executor;
+        this.expiryMargin = expiryMargin;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EntityStatement fetchEntityConfiguration(final EntityID target) throws ResolveException {
+        return await(getOrFetch(configurationKey(target), () -> delegate.fetchEntityConfiguration(target), false));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EntityStatement fetchEntityStatement(final URI federationAPIEndpoint, final EntityID issuer, final EntityID subject)
+        throws ResolveException {
+        return await(getOrFetch(statementKey(federationAPIEndpoint, issuer, subject),
+            () -> delegate.fetchEntityStatement(federationAPIEndpoint, issuer, subject), false));
+    }
+
+    /**
+     * Remove the expired statements from the cache.
+     */
+    public void removeExpired() {
+        statements.values().removeIf(this::isExpired);
+    }
+
+    /**
+     * Return the number of statements really fetched.
+     *
+     * @return the number of fetches
+     */
+    public int getNbFetches() {
+        return nbFetches.get();
+    }
+
+    private CompletableFuture<EntityStatement> getOrFetch(final String key, final Fetcher fetcher, final boolean async) {
+        while (true) {
+            val existing = statements.get(key);
+            if (existing != null && !isExpired(existing)) {
+                return existing;
+            }
+            val future = new CompletableFuture<EntityStatement>();
+            val owner = existing == null ? statements.putIfAbsent(key, future) == null : statements.replace(key, existing, future);
+            if (owner) {
+                if (async) {
+                    executor.execute(() -> fetch(key, fetcher, future));
+                } else {
+                    fetch(key, fetcher, future);
+                }
+                return future;
+            }
+        }
+    }
+
+    private void fetch(final String key, final Fetcher fetcher, final CompletableFuture<EntityStatement> future) {
+        try {
+            LOGGER.debug("Fetching entity statement: {}", key);
+            val statement = fetcher.fetch();
+            nbFetches.incrementAndGet();
+            future.complete(statement);
+            if (statement.getClaimsSet().isSelfStatement()) {
+                prefetchSuperiors(statement);
+            }
+        } catch (final ResolveException | RuntimeException e) {
+            statements.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Prefetch the statements of the superiors of an entity.
+     *
+     * @param configuration the entity configuration
+     */
+    protected void prefetchSuperiors(final EntityStatement configuration) {
+        val hints = configuration.getClaimsSet().getAuthorityHints();
+        if (executor == null || hints == null) {
+            return;
+        }
+        val subject = configuration.getEntityID();
+        for (val hint : hints) {
+            getOrFetch(configurationKey(hint), () -> delegate.fetchEntityConfiguration(hint), true)
+                .thenAccept(superior -> {
+                    val metadata = superior.getClaimsSet().getFederationEntityMetadata();
+                    val endpoint = metadata != null ? metadata.getFederationFetchEndpointURI() : null;
+                    if (endpoint != null) {
+                        getOrFetch(statementKey(endpoint, hint, subject),
+                            () -> delegate.fetchEntityStatement(endpoint, hint, subject), true);
+                    }
+                });
+        }
+    }
+
+    private boolean isExpired(final CompletableFuture<EntityStatement> future) {
+        if (!future.isDone()) {
+            return false;
+        } else if (future.isCompletedExceptionally()) {
+            return true;
+        }
+        val expirationTime = future.join().getClaimsSet().getExpirationTime();
+        return expirationTime == null || expirationTime.getTime() - expiryMargin <= System.currentTimeMillis();
+    }
+
+    private static EntityStatement await(final CompletableFuture<EntityStatement> future) throws ResolveException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResolveException("Interrupted while fetching an entity statement", e);
+        } catch (final ExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof ResolveException resolveException) {
+                throw resolveException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ResolveException(cause.getMessage(), cause);
+        }
+    }
+
+    private static String configurationKey(final EntityID entityID) {
+        return "configuration|" + entityID.getValue();
+    }
+
+    private static String statementKey(final URI endpoint, final EntityID issuer, final EntityID subject) {
+        return "statement|" + endpoint + "|" + issuer.getValue() + "|" + subject.getValue();
+    }
+}
@@ -5,7 +5,9 @@ import com.nimbusds.openid.connect.sdk.federation.entities.EntityID;
 import com.nimbusds.openid.connect.sdk.federation.entities.EntityType;
 import com.nimbusds.openid.connect.sdk.federation.policy.language.PolicyViolationException;
 import com.nimbusds.openid.connect.sdk.federation.trust.*;
+import com.nimbusds.openid.connect.sdk.federation.trust.constraints.TrustChainConstraints;
 import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -13,22 +15,33 @@ import lombok.val;
 import net.minidev.json.JSONArray;
 import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.resource.SpringResourceHelper;
+import org.pac4j.core.util.AsyncHelper;
 import org.pac4j.oidc.config.OidcConfiguration;
 import org.pac4j.oidc.exceptions.OidcConfigurationException;
 import org.pac4j.oidc.exceptions.OidcException;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.pac4j.core.util.CommonHelper.assertNotNull;
 
 /**
  * Resolves OpenID federation trust chains and OP metadata.
  *
+ * <p>The entity statements are fetched concurrently (at most <code>parallelism</code> at a time) and cached
+ * until their expiration, so a new resolution only re-fetches the expired statements.</p>
+ *
  * @author Jerome LELEU
  * @since 6.4.0
  */
@@ -39,6 +52,16 @@ public class FederationChainResolver {
 
     private long expiryMargin = 2 * 60 * 1000L;
 
+    private int parallelism = 4;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService executor;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CachingEntityStatementRetriever entityStatementRetriever;
+
     public ResolutionResult resolve(final OidcConfiguration configuration) {
         val entityId = configuration.getFederation().getEntityId();
         LOGGER.info("Resolving federation chain for RP: {}", entityId);
@@ -46,7 +69,7 @@ public class FederationChainResolver {
         val anchors = loadTrustAnchors(configuration);
         LOGGER.debug("Loaded {} trust anchor(s)", anchors.size());
 
-        val resolver = new TrustChainResolver(anchors, configuration.getConnectTimeout(), configuration.getReadTimeout());
+        val resolver = createTrustChainResolver(configuration, anchors);
 
         val targetIssuer = new EntityID(configuration.getFederation().getTargetOp());
         LOGGER.debug("OP target issuer: {}", targetIssuer);
@@ -75,6 +98,54 @@ public class FederationChainResolver {
         return opResolution;
     }
 
+    /**
+     * Create the trust chain resolver, using the (shared between resolutions) caching entity statement retriever.
+     *
+     * @param configuration the configuration
+     * @param anchors the trust anchors
+     * @return the trust chain resolver
+     */
+    protected TrustChainResolver createTrustChainResolver(final OidcConfiguration configuration, final Map<EntityID, JWKSet> anchors) {
+        synchronized (this) {
+            if (entityStatementRetriever == null) {
+                entityStatementRetriever = new CachingEntityStatementRetriever(createEntityStatementRetriever(configuration),
+                    getExecutor(), expiryMargin);
+            }
+        }
+        entityStatementRetriever.setExpiryMargin(expiryMargin);
+        entityStatementRetriever.removeExpired();
+        return new TrustChainResolver(anchors, TrustChainConstraints.NO_CONSTRAINTS, entityStatementRetriever);
+    }
+
+    /**
+     * Create the retriever really fetching the entity statements.
+     *
+     * @param configuration the configuration
+     * @return the entity statement retriever
+     */
+    protected EntityStatementRetriever createEntityStatementRetriever(final OidcConfiguration configuration) {
+        return new DefaultEntityStatementRetriever(configuration.getConnectTimeout(), configuration.getReadTimeout());
+    }
+
+    /**
+     * Get the bounded executor for the concurrent fetches (its idle threads are released).
+     *
+     * @return the executor
+     */
+    protected synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            val counter = new AtomicInteger();
+            val threadPool = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                val thread = new Thread(r, "pac4j-federation-fetch-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            threadPool.allowCoreThreadTimeOut(true);
+            executor = threadPool;
+        }
+        return executor;
+    }
+
     protected TrustChain resolve(final TrustChainResolver resolver, final EntityMetadataValidator validator, final EntityID entityID) {
         TrustChainSet resolvedChains;
         try {
@@ -140,20 +211,24 @@ public class FederationChainResolver {
             throw new OidcConfigurationException("No trust anchors defined");
         }
 
+        final List<CompletableFuture<JWKSet>> futures = new ArrayList<>();
         for (val trustAnchor : trustAnchors) {
-            val entity = new EntityID(trustAnchor.getIssuer());
-            JWKSet jwks = null;
             val jwkResource = trustAnchor.getJwksResource();
-            if (jwkResource != null) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                if (jwkResource == null) {
+                    return null;
+                }
                 try (val in = SpringResourceHelper.getResourceInputStream(jwkResource, null,
                     configuration.getSslSocketFactory(), configuration.getHostnameVerifier(),
                     configuration.getConnectTimeout(), configuration.getReadTimeout())) {
-                    jwks = JWKSet.load(in);
+                    return JWKSet.load(in);
                 } catch (final IOException | ParseException e) {
                     throw new TechnicalException(e);
                 }
-            }
-            anchors.put(entity, jwks);
+            }, getExecutor()));
+        }
+        for (var i = 0; i < trustAnchors.size(); i++) {
+            anchors.put(new EntityID(trustAnchors.get(i).getIssuer()), AsyncHelper.join(futures.get(i)));
         }
 
         return anchors;
@@ -246,12 +246,17 @@ public class OidcProfile extends AbstractJwtProfile {
 
     @JsonIgnore
     public boolean isExpired() {
+        return willExpireWithin(0);
+    }
+
+    @Override
+    public boolean willExpireWithin(final int seconds) {
         var tokenExpirationAdvance = getTokenExpirationAdvance();
         if (tokenExpirationAdvance < 0) {
             return false;
         }
         var expiration = getExpiration();
         return expiration != null
-            && expiration.toInstant().isBefore(Instant.now().plusSeconds(tokenExpirationAdvance));
+            && expiration.toInstant().isBefore(Instant.now().plusSeconds(tokenExpirationAdvance + (long) seconds));
     }
 }
@@ -1,8 +1,12 @@
 package org.pac4j.oidc.profile.creator;
 
+import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.proc.BadJWTException;
 import com.nimbusds.oauth2.sdk.auth.Secret;
@@ -24,14 +28,20 @@ import org.pac4j.oidc.config.OidcConfiguration;
 import org.pac4j.oidc.exceptions.OidcException;
 import org.pac4j.oidc.exceptions.OidcTokenException;
 import org.pac4j.oidc.util.OidcHelper;
+import org.pac4j.oidc.util.SharedJwkSources;
 
 import java.net.MalformedURLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ID Token validator.
  *
+ * <p>The validator is picked from the algorithm of the token header and the asymmetric keys
+ * come from the JWKS cache of the configuration shared by all the algorithms of the issuer (see {@link SharedJwkSources}).</p>
+ *
  * @author Jerome Leleu
  * @since 3.4.0
  */
@@ -41,14 +51,16 @@ public class TokenValidator {
         "Be careful when enabling 'allowUnsignedIdTokens': this weakens ID token signature guarantees and "
             + "must only be used in strictly controlled scenarios.");
 
-    private final List<IDTokenValidator> idTokenValidators;
+    private final Map<Algorithm, IDTokenValidator> idTokenValidators;
 
-    private final List<LogoutTokenValidator> logoutTokenValidators;
+    private final Map<Algorithm, LogoutTokenValidator> logoutTokenValidators;
 
     private final OidcConfiguration configuration;
 
     private final OIDCProviderMetadata metadata;
 
+    private JWKSource<SecurityContext> jwkSource;
+
     /**
      * <p>Constructor for TokenValidator.</p>
      *
@@ -64,8 +76,8 @@ public class TokenValidator {
         val idTokenJwsAlgs = OidcHelper.matchRPAlgAgainstOPAlgs("ID Token",
             config.getIdTokenSigningAlgorithm(), metadata.getIDTokenJWSAlgs());
 
-        idTokenValidators = new ArrayList<>();
-        logoutTokenValidators = new ArrayList<>();
+        idTokenValidators = new LinkedHashMap<>();
+        logoutTokenValidators = new LinkedHashMap<>();
         val _clientID = new ClientID(config.getClientId());
 
         for (var alg : idTokenJwsAlgs) {
@@ -90,18 +102,18 @@ public class TokenValidator {
                 if (metadata.supportsBackChannelLogout()) {
                     logoutTokenValidator = new LogoutTokenValidator(metadata.getIssuer(), _clientID, alg, _secret);
                     logoutTokenValidator.setMaxClockSkew(config.getMaxClockSkew());
-                    logoutTokenValidators.add(logoutTokenValidator);
+                    logoutTokenValidators.put(alg, logoutTokenValidator);
                 }
             } else {
                 idTokenValidator = createRSAIdTokenValidator(alg, _clientID);
                 if (metadata.supportsBackChannelLogout()) {
                     logoutTokenValidator = createRSALogoutTokenValidator(alg, _clientID);
                     logoutTokenValidator.setMaxClockSkew(config.getMaxClockSkew());
-                    logoutTokenValidators.add(logoutTokenValidator);
+                    logoutTokenValidators.put(alg, logoutTokenValidator);
                 }
             }
             idTokenValidator.setMaxClockSkew(config.getMaxClockSkew());
-            idTokenValidators.add(idTokenValidator);
+            idTokenValidators.put(alg, idTokenValidator);
         }
     }
 
@@ -113,12 +125,8 @@ public class TokenValidator {
      * @return a {@link IDTokenValidator} object
      */
     protected IDTokenValidator createRSAIdTokenValidator(final JWSAlgorithm jwsAlgorithm, final ClientID clientID) {
-        try {
-            return new IDTokenValidator(metadata.getIssuer(), clientID, jwsAlgorithm, metadata.getJWKSetURI().toURL(),
-                configuration.getResourceRetriever());
-        } catch (final MalformedURLException e) {
-            throw new OidcException(e);
-        }
+        return new IDTokenValidator(metadata.getIssuer(), clientID,
+            new JWSVerificationKeySelector<>(jwsAlgorithm, getJwkSource()), null);
     }
 
     /**
@@ -129,12 +137,26 @@ public class TokenValidator {
      * @return a {@link LogoutTokenValidator} object
      */
     protected LogoutTokenValidator createRSALogoutTokenValidator(final JWSAlgorithm jwsAlgorithm, final ClientID clientID) {
-        try {
-            return new LogoutTokenValidator(metadata.getIssuer(), clientID, jwsAlgorithm, metadata.getJWKSetURI().toURL(),
-                configuration.getResourceRetriever());
-        } catch (final MalformedURLException e) {
-            throw new OidcException(e);
+        return new LogoutTokenValidator(metadata.getIssuer(), clientID,
+            new JWSVerificationKeySelector<>(jwsAlgorithm, getJwkSource()), null);
+    }
+
+    /**
+     * Get the JWK source of the issuer, shared by all the algorithms and validators of the configuration.
+     *
+     * @return the JWK source
+     */
+    protected JWKSource<SecurityContext> getJwkSource() {
+        if (jwkSource == null) {
+            try {
+                jwkSource = configuration.getJwkSources().get(metadata.getJWKSetURI().toURL(), configuration.getResourceRetriever(),
+                    configuration.getJwksCacheTimeToLive(), configuration.getJwksRefreshAheadTime(),
+                    configuration.getJwksRateLimitInterval());
+            } catch (final MalformedURLException e) {
+                throw new OidcException(e);
+            }
         }
+        return jwkSource;
     }
 
     /**
@@ -161,12 +183,20 @@ public class TokenValidator {
     public IDTokenClaimsSet validateIdToken(final JWT idToken, final Nonce expectedNonce)
         throws BadJOSEException, JOSEException {
 
+        val headerValidator = idTokenValidators.get(idToken.getHeader().getAlgorithm());
+        if (headerValidator != null) {
+            val validated = headerValidator.validate(idToken, expectedNonce);
+            LOGGER.debug("Validated: {}", validated);
+            return validated;
+        }
+
+        // encrypted token: try all the validators
         String jws;
         String jwe;
         BadJWTException badJWTException = null;
         BadJOSEException badJOSEException = null;
         JOSEException joseException = null;
-        for (val idTokenValidator : idTokenValidators) {
+        for (val idTokenValidator : idTokenValidators.values()) {
             jws = Pac4jConstants.EMPTY_STRING;
             val jwsSelector = idTokenValidator.getJWSKeySelector();
             if (jwsSelector != null) {
@@ -217,12 +247,18 @@ public class TokenValidator {
     public LogoutTokenClaimsSet validateLogoutToken(final JWT logoutToken)
         throws BadJOSEException, JOSEException {
 
+        val logoutTokenValidator = logoutTokenValidators.get(logoutToken.getHeader().getAlgorithm());
+        if (logoutTokenValidator != null) {
+            return logoutTokenValidator.validate(logoutToken);
+        }
+
+        // encrypted token: try all the validators
         BadJOSEException badJOSEException = null;
         JOSEException joseException = null;
-        for (val logoutTokenValidator : logoutTokenValidators) {
+        for (val validator : logoutTokenValidators.values()) {
             LOGGER.debug("Trying LogoutToken validator: {}", logoutToken);
             try {
-                return logoutTokenValidator.validate(logoutToken);
+                return validator.validate(logoutToken);
             } catch (final BadJOSEException e1) {
                 LOGGER.debug(e1.getMessage(), e1);
                 badJOSEException = e1;
@@ -243,11 +279,11 @@ public class TokenValidator {
 
     // for tests
     List<IDTokenValidator> getIdTokenValidators() {
-        return idTokenValidators;
+        return new ArrayList<>(idTokenValidators.values());
     }
 
     // for tests
     List<LogoutTokenValidator> getLogoutTokenValidators() {
-        return logoutTokenValidators;
+        return new ArrayList<>(logoutTokenValidators.values());
     }
 }
@@ -0,0 +1,120 @@
+package org.pac4j.oidc.util;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ResourceRetriever;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.pac4j.core.util.CommonHelper;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JWK sources shared by the token validators of an OIDC configuration: there is one cache per JWKS URL (so per issuer),
+ * resource retriever and cache settings, whatever the number of algorithms or metadata reloads.
+ *
+ * <p>Each cache is refreshed ahead of its expiration on a background thread, the keys are selected by their
+ * <code>kid</code> and the re-fetches triggered by unknown keys are rate-limited.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+public final class SharedJwkSources {
+
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newCachedThreadPool(daemonThreadFactory("refresh"));
+
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("scheduler"));
+
+    private final Map<Key, JWKSource<SecurityContext>> sources = new ConcurrentHashMap<>();
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        val counter = new AtomicInteger();
+        return r -> {
+            val thread = new Thread(r, "pac4j-jwks-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Get (or create) the shared JWK source of a JWKS URL.
+     *
+     * @param jwkSetUrl the JWKS URL
+     * @param resourceRetriever the resource retriever (the default one if <code>null</code>)
+     * @param timeToLive the time-to-live of the cache (in milliseconds)
+     * @param refreshAheadTime the time before expiration to refresh the cache (in milliseconds)
+     * @param rateLimitInterval the minimum interval between two fetches (in milliseconds)
+     * @return the shared JWK source
+     */
+    public JWKSource<SecurityContext> get(final URL jwkSetUrl, final ResourceRetriever resourceRetriever,
+                                          final long timeToLive, final long refreshAheadTime, final long rateLimitInterval) {
+        CommonHelper.assertNotNull("jwkSetUrl", jwkSetUrl);
+        val key = new Key(jwkSetUrl.toString(), resourceRetriever,
+            positiveOrDefault(timeToLive, JWKSourceBuilder.DEFAULT_CACHE_TIME_TO_LIVE),
+            positiveOrDefault(refreshAheadTime, JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME),
+            positiveOrDefault(rateLimitInterval, JWKSourceBuilder.DEFAULT_RATE_LIMIT_MIN_INTERVAL));
+        return sources.computeIfAbsent(key, k -> {
+            LOGGER.debug("Creating the shared JWK source for: {}", k.url());
+            final JWKSourceBuilder<SecurityContext> builder = k.resourceRetriever() != null
+                ? JWKSourceBuilder.create(jwkSetUrl, k.resourceRetriever()) : JWKSourceBuilder.create(jwkSetUrl);
+            return builder
+                .cache(k.timeToLive(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(k.refreshAheadTime(), null, REFRESH_EXECUTOR, false, SCHEDULER, false)
+                .rateLimited(k.rateLimitInterval())
+                .build();
+        });
+    }
+
+    /**
+     * Remove the shared JWK sources of a JWKS URL (for example, after a key compromise).
+     *
+     * @param jwkSetUrl the JWKS URL
+     */
+    public void remove(final URL jwkSetUrl) {
+        val url = jwkSetUrl.toString();
+        sources.entrySet().removeIf(entry -> {
+            if (entry.getKey().url().equals(url)) {
+                close(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Remove all the shared JWK sources.
+     */
+    public void clear() {
+        sources.entrySet().removeIf(entry -> {
+            close(entry.getValue());
+            return true;
+        });
+    }
+
+    private static void close(final JWKSource<SecurityContext> source) {
+        if (source instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (final Exception e) {
+                LOGGER.debug("Cannot close the JWK source", e);
+            }
+        }
+    }
+
+    private static long positiveOrDefault(final long value, final long defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    private record Key(String url, ResourceRetriever resourceRetriever, long timeToLive, long refreshAheadTime,
+                       long rateLimitInterval) {}
+}
@@ -1,15 +1,21 @@
 package org.pac4j.oidc.metadata.chain;
 
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.openid.connect.sdk.federation.entities.EntityID;
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityStatement;
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityStatementClaimsSet;
+import com.nimbusds.openid.connect.sdk.federation.entities.FederationEntityMetadata;
 import com.nimbusds.openid.connect.sdk.federation.entities.EntityType;
 import com.nimbusds.openid.connect.sdk.federation.trust.EntityMetadataValidator;
+import com.nimbusds.openid.connect.sdk.federation.trust.EntityStatementRetriever;
 import com.nimbusds.openid.connect.sdk.federation.trust.TrustChain;
 import com.nimbusds.openid.connect.sdk.federation.trust.TrustChainResolver;
 import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
 import lombok.val;
 import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -19,6 +25,7 @@ import org.pac4j.oidc.exceptions.OidcConfigurationException;
 import org.pac4j.oidc.exceptions.OidcException;
 import org.pac4j.oidc.federation.config.OidcTrustAnchorProperties;
 
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -41,6 +48,7 @@ public final class FederationChainResolverTests {
     private static final String OP_ENTITY_ID = "https://op.example.org";
     private static final String RP_ENTITY_ID = "https://rp.example.org";
     private static final String TRUST_ANCHOR_ISSUER = "https://ta.example.org";
+    private static final String INTERMEDIATE_ENTITY_ID = "https://im.example.org";
     private static final String METADATA_CLIENT_SECRET_BASIC = """
         {
           "issuer": "https://op.example.org",
@@ -59,6 +67,7 @@ public final class FederationChainResolverTests {
 
     private OidcConfiguration configuration;
     private FederationChainResolver resolver;
+    private RSAKey trustAnchorKey;
 
     @BeforeEach
     public void beforeEach() throws Exception {
@@ -66,7 +75,7 @@ public final class FederationChainResolverTests {
         configuration.getFederation().setTargetOp(OP_ENTITY_ID);
         configuration.getFederation().setEntityId(RP_ENTITY_ID);
 
-        val trustAnchorKey = new RSAKeyGenerator(2048).keyID("ta-key").generate();
+        trustAnchorKey = new RSAKeyGenerator(2048).keyID("ta-key").generate();
         val trustAnchorJwks = new JWKSet(trustAnchorKey.toPublicJWK());
         val trustAnchorJwksFile = tmp.resolve("trust-anchor.jwks");
         Files.writeString(trustAnchorJwksFile, trustAnchorJwks.toString(false));
@@ -203,4 +212,77 @@ public final class FederationChainResolverTests {
         val exception = assertThrows(OidcException.class, () -> resolver.getResolvedProviderMetadata(chain));
         assertEquals("No federationJWKS found", exception.getMessage());
     }
+
+    private FileEntityStatementRetriever writeFederation(final long opStatementLifetime) throws Exception {
+        val fixture = new FileEntityStatementRetriever(tmp);
+        val ta = new EntityID(TRUST_ANCHOR_ISSUER);
+        val im = new EntityID(INTERMEDIATE_ENTITY_ID);
+        val op = new EntityID(OP_ENTITY_ID);
+        val imKey = new RSAKeyGenerator(2048).keyID("im-key").generate();
+        val opKey = new RSAKeyGenerator(2048).keyID("op-key").generate();
+        val now = new Date();
+        val exp = new Date(now.getTime() + 3600_000L);
+
+        val taConfiguration = new EntityStatementClaimsSet(ta, ta, now, exp, new JWKSet(trustAnchorKey.toPublicJWK()));
+        taConfiguration.setFederationEntityMetadata(new FederationEntityMetadata(new URI(TRUST_ANCHOR_ISSUER + "/fetch")));
+        fixture.write(FileEntityStatementRetriever.configurationFile(ta), EntityStatement.sign(taConfiguration, trustAnchorKey));
+        val taStatement = new EntityStatementClaimsSet(ta, im, now, exp, new JWKSet(imKey.toPublicJWK()));
+        fixture.write(FileEntityStatementRetriever.statementFile(ta, im), EntityStatement.sign(taStatement, trustAnchorKey));
+
+        val imConfiguration = new EntityStatementClaimsSet(im, im, now, exp, new JWKSet(imKey.toPublicJWK()));
+        imConfiguration.setAuthorityHints(List.of(ta));
+        imConfiguration.setFederationEntityMetadata(new FederationEntityMetadata(new URI(INTERMEDIATE_ENTITY_ID + "/fetch")));
+        fixture.write(FileEntityStatementRetriever.configurationFile(im), EntityStatement.sign(imConfiguration, imKey));
+        val imStatement = new EntityStatementClaimsSet(im, op, now, new Date(now.getTime() + opStatementLifetime),
+            new JWKSet(opKey.toPublicJWK()));
+        // the Nimbus retriever only follows the subordinate statements listing authority hints
+        imStatement.setAuthorityHints(List.of(ta));
+        fixture.write(FileEntityStatementRetriever.statementFile(im, op), EntityStatement.sign(imStatement, imKey));
+
+        val opConfiguration = new EntityStatementClaimsSet(op, op, now, exp, new JWKSet(opKey.toPublicJWK()));
+        opConfiguration.setAuthorityHints(List.of(im));
+        val opMetadata = (JSONObject) new JSONParser(JSONParser.MODE_PERMISSIVE).parse(METADATA_CLIENT_SECRET_BASIC);
+        opMetadata.put("client_registration_types_supported", List.of("automatic"));
+        opConfiguration.setMetadata(EntityType.OPENID_PROVIDER, opMetadata);
+        fixture.write(FileEntityStatementRetriever.configurationFile(op), EntityStatement.sign(opConfiguration, opKey));
+        return fixture;
+    }
+
+    private FederationChainResolver buildResolver(final EntityStatementRetriever retriever) {
+        return new FederationChainResolver() {
+            @Override
+            protected EntityStatementRetriever createEntityStatementRetriever(final OidcConfiguration configuration) {
+                return retriever;
+            }
+        };
+    }
+
+    @Test
+    public void testResolveOfflineFederationWithCachedStatements() throws Exception {
+        val fixture = writeFederation(3600_000L);
+        val federationResolver = buildResolver(fixture);
+
+        val result = federationResolver.resolve(configuration);
+        assertEquals(OP_ENTITY_ID, result.metadata().getIssuer().getValue());
+        // 3 entity configurations + 2 subordinate statements, each fetched once despite the prefetches
+        assertEquals(5, fixture.getNbReads());
+
+        federationResolver.resolve(configuration);
+        assertEquals(5, fixture.getNbReads());
+    }
+
+    @Test
+    public void testRefreshOnlyFetchesExpiredStatements() throws Exception {
+        // the subordinate statement about the OP enters the expiry margin after 2 seconds
+        val fixture = writeFederation(62_000L);
+        val federationResolver = buildResolver(fixture);
+        federationResolver.setExpiryMargin(60_000L);
+
+        federationResolver.resolve(configuration);
+        assertEquals(5, fixture.getNbReads());
+
+        Thread.sleep(2_100L);
+        federationResolver.resolve(configuration);
+        assertEquals(6, fixture.getNbReads());
+    }
 }
@@ -0,0 +1,71 @@
+package org.pac4j.oidc.metadata.chain;
+
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityID;
+import com.nimbusds.openid.connect.sdk.federation.entities.EntityStatement;
+import com.nimbusds.openid.connect.sdk.federation.trust.EntityStatementRetriever;
+import com.nimbusds.openid.connect.sdk.federation.trust.ResolveException;
+import lombok.val;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline federation fixture: the entity statements are read from a directory.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class FileEntityStatementRetriever implements EntityStatementRetriever {
+
+    private final Path directory;
+
+    private final AtomicInteger nbReads = new AtomicInteger();
+
+    public FileEntityStatementRetriever(final Path directory) {
+        this.directory = directory;
+    }
+
+    public static String configurationFile(final EntityID entity) {
+        return toFileName(entity) + ".jwt";
+    }
+
+    public static String statementFile(final EntityID issuer, final EntityID subject) {
+        return toFileName(issuer) + "_" + toFileName(subject) + ".jwt";
+    }
+
+    private static String toFileName(final EntityID entity) {
+        return entity.getValue().replaceAll("[^A-Za-z0-9]", "-");
+    }
+
+    public void write(final String file, final EntityStatement statement) throws IOException {
+        Files.writeString(directory.resolve(file), statement.getSignedStatement().serialize());
+    }
+
+    public int getNbReads() {
+        return nbReads.get();
+    }
+
+    @Override
+    public EntityStatement fetchEntityConfiguration(final EntityID target) throws ResolveException {
+        return read(configurationFile(target));
+    }
+
+    @Override
+    public EntityStatement fetchEntityStatement(final URI federationAPIEndpoint, final EntityID issuer, final EntityID subject)
+        throws ResolveException {
+        return read(statementFile(issuer, subject));
+    }
+
+    private EntityStatement read(final String file) throws ResolveException {
+        nbReads.incrementAndGet();
+        try {
+            val content = Files.readString(directory.resolve(file));
+            return EntityStatement.parse(content);
+        } catch (final IOException | com.nimbusds.oauth2.sdk.ParseException e) {
+            throw new ResolveException("Cannot read entity statement: " + file, e);
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package org.pac4j.oidc.profile.creator;
 
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.id.Issuer;
 import com.nimbusds.openid.connect.sdk.Nonce;
@@ -17,11 +27,13 @@ import org.pac4j.test.util.TestsHelper;
 import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
 import org.pac4j.jwt.profile.JwtGenerator;
 import org.pac4j.oidc.config.OidcConfiguration;
+import org.pac4j.oidc.util.SharedJwkSources;
 import org.pac4j.test.util.TestsConstants;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -51,6 +63,7 @@ public final class TokenValidatorTests implements TestsConstants {
         when(metadata.getJWKSetURI()).thenReturn(new URI(PAC4J_BASE_URL));
         when(configuration.getClientId()).thenReturn(ID);
         when(configuration.getSecret()).thenReturn(CLIENT_SECRET);
+        when(configuration.getJwkSources()).thenReturn(new SharedJwkSources());
         algorithms = new ArrayList<>();
         when(metadata.getIDTokenJWSAlgs()).thenReturn(algorithms);
     }
@@ -183,4 +196,72 @@ public final class TokenValidatorTests implements TestsConstants {
         assertEquals(jti, claimsSet.getJWTID().toString());
         assertEquals(sessionId, claimsSet.getSessionID().toString());
     }
+
+    @Test
+    public void testJwkSourceSharedByAlgorithmsAndValidators() throws URISyntaxException {
+        when(metadata.getJWKSetURI()).thenReturn(new URI(PAC4J_BASE_URL + "shared/jwks"));
+        algorithms.add(JWSAlgorithm.RS256);
+        algorithms.add(JWSAlgorithm.ES256);
+
+        final List<IDTokenValidator> idTokenValidators = new TokenValidator(configuration, metadata).getIdTokenValidators();
+        assertEquals(2, idTokenValidators.size());
+        final IDTokenValidator otherValidator = new TokenValidator(configuration, metadata).getIdTokenValidators().get(0);
+
+        final Object source = ((JWSVerificationKeySelector<?>) idTokenValidators.get(0).getJWSKeySelector()).getJWKSource();
+        assertSame(source, ((JWSVerificationKeySelector<?>) idTokenValidators.get(1).getJWSKeySelector()).getJWKSource());
+        assertSame(source, ((JWSVerificationKeySelector<?>) otherValidator.getJWSKeySelector()).getJWKSource());
+    }
+
+    @Test
+    public void testJwkSourceNotSharedBetweenSettings() throws URISyntaxException {
+        when(metadata.getJWKSetURI()).thenReturn(new URI(PAC4J_BASE_URL + "settings/jwks"));
+        algorithms.add(JWSAlgorithm.RS256);
+        final IDTokenValidator validator = new TokenValidator(configuration, metadata).getIdTokenValidators().get(0);
+        final Object source = ((JWSVerificationKeySelector<?>) validator.getJWSKeySelector()).getJWKSource();
+
+        when(configuration.getJwksCacheTimeToLive()).thenReturn(60000L);
+        final IDTokenValidator otherValidator = new TokenValidator(configuration, metadata).getIdTokenValidators().get(0);
+        assertNotSame(source, ((JWSVerificationKeySelector<?>) otherValidator.getJWSKeySelector()).getJWKSource());
+
+        final OidcConfiguration otherConfiguration = mock(OidcConfiguration.class);
+        when(otherConfiguration.getClientId()).thenReturn(ID);
+        when(otherConfiguration.getJwkSources()).thenReturn(new SharedJwkSources());
+        final IDTokenValidator otherConfigurationValidator = new TokenValidator(otherConfiguration, metadata).getIdTokenValidators().get(0);
+        assertNotSame(source, ((JWSVerificationKeySelector<?>) otherConfigurationValidator.getJWSKeySelector()).getJWKSource());
+
+        configuration.getJwkSources().clear();
+        when(configuration.getJwksCacheTimeToLive()).thenReturn(0L);
+        final IDTokenValidator newValidator = new TokenValidator(configuration, metadata).getIdTokenValidators().get(0);
+        assertNotSame(source, ((JWSVerificationKeySelector<?>) newValidator.getJWSKeySelector()).getJWKSource());
+    }
+
+    @Test
+    public void testValidateRsaIdTokenWithCachedKeys() throws Exception {
+        final RSAKey key = new RSAKeyGenerator(2048).keyID(KEY).generate();
+        final AtomicInteger nbFetches = new AtomicInteger();
+        final ResourceRetriever retriever = url -> {
+            nbFetches.incrementAndGet();
+            return new Resource(new JWKSet(key.toPublicJWK()).toString(), "application/json");
+        };
+        when(configuration.getResourceRetriever()).thenReturn(retriever);
+        when(metadata.getJWKSetURI()).thenReturn(new URI(PAC4J_BASE_URL + "rsa/jwks"));
+        algorithms.add(JWSAlgorithm.HS256);
+        algorithms.add(JWSAlgorithm.RS256);
+        final TokenValidator validator = new TokenValidator(configuration, metadata);
+
+        final long now = new Date().getTime();
+        final Nonce nonce = new Nonce();
+        final JWTClaimsSet claims = new JWTClaimsSet.Builder().issuer(PAC4J_URL).subject(VALUE).audience(ID)
+            .expirationTime(new Date(now + 100000)).issueTime(new Date(now)).claim("nonce", nonce.toString()).build();
+        for (var i = 0; i < 2; i++) {
+            final SignedJWT idToken = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(KEY).build(), claims);
+            idToken.sign(new RSASSASigner(key));
+            assertEquals(VALUE, validator.validateIdToken(idToken, nonce).getSubject().getValue());
+        }
+        assertEquals(1, nbFetches.get());
+
+        final SignedJWT unknownAlgToken = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.PS256).keyID(KEY).build(), claims);
+        unknownAlgToken.sign(new RSASSASigner(key));
+        assertThrows(BadJOSEException.class, () -> validator.validateIdToken(unknownAlgToken, nonce));
+    }
 }
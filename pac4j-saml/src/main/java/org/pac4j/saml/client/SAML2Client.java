@@ -179,6 +179,13 @@ public class SAML2Client extends IndirectClient {
 
     protected void initSOAPPipelineProvider(final boolean forceReinit) {
         if (soapPipelineProvider == null || forceReinit) {
+            if (soapPipelineProvider instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (final Exception e) {
+                    logger.warn("Cannot close the SOAP pipeline provider", e);
+                }
+            }
             this.soapPipelineProvider = new DefaultSOAPPipelineProvider(this);
         }
     }
@@ -33,6 +33,7 @@ import org.pac4j.saml.sso.impl.SAML2AuthnRequestBuilder;
 import org.pac4j.saml.sso.impl.SAML2ScopingIdentityProvider;
 import org.pac4j.saml.store.EmptyStoreFactory;
 import org.pac4j.saml.store.SAMLMessageStoreFactory;
+import org.pac4j.saml.transport.AbstractPac4jDecoder;
 import org.pac4j.saml.util.SAML2HttpClientBuilder;
 import org.pac4j.saml.util.SAML2UrlResource;
 import org.springframework.core.io.ClassPathResource;
@@ -205,6 +206,11 @@ public class SAML2Configuration extends BaseClientConfiguration {
 
     private int identityProviderMetadataReadTimeout = 2500;
 
+    /**
+     * Maximum size (in bytes) of a received SAML message, once decoded and inflated.
+     */
+    private int maxMessageSize = AbstractPac4jDecoder.DEFAULT_MAX_MESSAGE_SIZE;
+
     /**
      * <p>Constructor for SAML2Configuration.</p>
      *
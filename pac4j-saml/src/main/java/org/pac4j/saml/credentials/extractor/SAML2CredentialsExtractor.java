@@ -127,6 +127,7 @@ public class SAML2CredentialsExtractor implements CredentialsExtractor {
         } else if (WebContextHelper.isPost(callContext.webContext())) {
             decoder = new Pac4jHTTPPostDecoder(callContext);
             try {
+                decoder.setMaxMessageSize(saml2Configuration.getMaxMessageSize());
                 decoder.setParserPool(Configuration.getParserPool());
                 decoder.initialize();
                 decoder.decode();
@@ -140,6 +141,7 @@ public class SAML2CredentialsExtractor implements CredentialsExtractor {
             decoder = new Pac4jHTTPRedirectDeflateDecoder(callContext);
 
             try {
+                decoder.setMaxMessageSize(saml2Configuration.getMaxMessageSize());
                 decoder.setParserPool(Configuration.getParserPool());
                 decoder.initialize();
                 decoder.decode();
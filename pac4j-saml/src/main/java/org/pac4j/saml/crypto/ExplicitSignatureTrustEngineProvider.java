@@ -15,6 +15,9 @@ import org.pac4j.saml.util.SAML2Utils;
 /**
  * Provider returning well configured {@link SignatureTrustEngine} instances.
  *
+ * <p>The trust engine is cached and only rebuilt when the idp or sp metadata resolver changes
+ * (for example when the idp metadata are reloaded).</p>
+ *
  * @author Misagh Moayyed
  * @since 1.8.0
  */
@@ -24,6 +27,8 @@ public class ExplicitSignatureTrustEngineProvider implements SAML2SignatureTrust
 
     private final SAML2MetadataResolver spMetadataResolver;
 
+    private volatile CachedTrustEngine cachedTrustEngine;
+
     /**
      * <p>Constructor for ExplicitSignatureTrustEngineProvider.</p>
      *
@@ -39,8 +44,29 @@ public class ExplicitSignatureTrustEngineProvider implements SAML2SignatureTrust
     /** {@inheritDoc} */
     @Override
     public SignatureTrustEngine build() {
+        val idpResolver = idpMetadataResolver.resolve();
+        val spResolver = spMetadataResolver.resolve();
+
+        val cached = cachedTrustEngine;
+        if (cached != null && cached.idpResolver() == idpResolver && cached.spResolver() == spResolver) {
+            return cached.trustEngine();
+        }
+
+        val trustEngine = buildTrustEngine(idpResolver, spResolver);
+        cachedTrustEngine = new CachedTrustEngine(idpResolver, spResolver, trustEngine);
+        return trustEngine;
+    }
+
+    /**
+     * Build a new trust engine for the given metadata resolvers.
+     *
+     * @param idpResolver the idp metadata resolver
+     * @param spResolver the sp metadata resolver
+     * @return the trust engine
+     */
+    protected SignatureTrustEngine buildTrustEngine(final MetadataResolver idpResolver, final MetadataResolver spResolver) {
         val metadataCredentialResolver = new MetadataCredentialResolver();
-        final MetadataResolver metadataResolver = SAML2Utils.buildChainingMetadataResolver(idpMetadataResolver, spMetadataResolver);
+        final MetadataResolver metadataResolver = SAML2Utils.buildChainingMetadataResolver(idpResolver, spResolver);
         val roleResolver = new PredicateRoleDescriptorResolver(metadataResolver);
 
         val keyResolver =
@@ -58,4 +84,7 @@ public class ExplicitSignatureTrustEngineProvider implements SAML2SignatureTrust
 
         return new ExplicitKeySignatureTrustEngine(metadataCredentialResolver, keyResolver);
     }
+
+    private record CachedTrustEngine(MetadataResolver idpResolver, MetadataResolver spResolver,
+                                     SignatureTrustEngine trustEngine) {}
 }
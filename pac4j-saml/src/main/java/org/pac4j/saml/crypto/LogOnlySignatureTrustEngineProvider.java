@@ -1,6 +1,7 @@
 package org.pac4j.saml.crypto;
 
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import net.shibboleth.shared.resolver.CriteriaSet;
 import org.opensaml.security.SecurityException;
 import org.opensaml.security.credential.Credential;
@@ -21,6 +22,8 @@ public class LogOnlySignatureTrustEngineProvider implements SAML2SignatureTrustE
 
     private final SAML2SignatureTrustEngineProvider wrapped;
 
+    private volatile LogOnlySignatureTrustEngine cachedTrustEngine;
+
     /**
      * <p>Constructor for LogOnlySignatureTrustEngineProvider.</p>
      *
@@ -33,7 +36,14 @@ public class LogOnlySignatureTrustEngineProvider implements SAML2SignatureTrustE
     /** {@inheritDoc} */
     @Override
     public SignatureTrustEngine build() {
-        return new LogOnlySignatureTrustEngine(wrapped.build());
+        val wrappedTrustEngine = wrapped.build();
+        val cached = cachedTrustEngine;
+        if (cached != null && cached.wrapped == wrappedTrustEngine) {
+            return cached;
+        }
+        val trustEngine = new LogOnlySignatureTrustEngine(wrappedTrustEngine);
+        cachedTrustEngine = trustEngine;
+        return trustEngine;
     }
 
     private static class LogOnlySignatureTrustEngine implements TrustedCredentialTrustEngine<Signature>, SignatureTrustEngine {
@@ -0,0 +1,118 @@
+package org.pac4j.saml.metadata;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+import org.pac4j.core.exception.TechnicalException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * An immutable, pre-rendered metadata document with its strong entity tag (<code>ETag</code>) and last modification date,
+ * to serve the metadata without rendering them again and answer the conditional requests.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@ToString(exclude = "content")
+public final class SAML2MetadataDocument {
+
+    /** The content type of the SAML metadata. */
+    public static final String CONTENT_TYPE = "application/samlmetadata+xml; charset=UTF-8";
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] content;
+
+    private final String etag;
+
+    /** The last modification date (in milliseconds, truncated to the second as in the HTTP dates). */
+    private final long lastModified;
+
+    /**
+     * <p>Constructor for SAML2MetadataDocument.</p>
+     *
+     * @param metadata the metadata
+     * @param lastModified the last modification date (in milliseconds)
+     */
+    public SAML2MetadataDocument(final String metadata, final long lastModified) {
+        this.content = metadata.getBytes(StandardCharsets.UTF_8);
+        this.etag = computeEtag(this.content);
+        this.lastModified = lastModified - lastModified % 1000;
+    }
+
+    /**
+     * <p>Constructor for SAML2MetadataDocument (modified now).</p>
+     *
+     * @param metadata the metadata
+     */
+    public SAML2MetadataDocument(final String metadata) {
+        this(metadata, System.currentTimeMillis());
+    }
+
+    /**
+     * <p>getLength.</p>
+     *
+     * @return the length (in bytes) of the document
+     */
+    public int getLength() {
+        return content.length;
+    }
+
+    /**
+     * Get the document as a read-only buffer (no copy).
+     *
+     * @return the content
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
+    /**
+     * Write the document (no copy).
+     *
+     * @param out the output stream
+     * @throws IOException if the document cannot be written
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(content);
+    }
+
+    /**
+     * Whether the client already has this document, according to the conditional request headers:
+     * the <code>If-None-Match</code> header takes precedence over the <code>If-Modified-Since</code> one.
+     *
+     * @param ifNoneMatch the <code>If-None-Match</code> header (may be null)
+     * @param ifModifiedSince the <code>If-Modified-Since</code> date in milliseconds (negative if none)
+     * @return whether the document is not modified
+     */
+    public boolean isNotModified(final String ifNoneMatch, final long ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (val tag : ifNoneMatch.split(",")) {
+                val trimmed = tag.trim();
+                // weak comparison as recommended for the If-None-Match header
+                if ("*".equals(trimmed) || etag.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    private static String computeEtag(final byte[] content) {
+        try {
+            val digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (final NoSuchAlgorithmException e) {
+            throw new TechnicalException(e);
+        }
+    }
+}
@@ -41,6 +41,15 @@ public interface SAML2MetadataResolver {
      */
     String getMetadata();
 
+    /**
+     * Get the metadata as a pre-rendered document.
+     *
+     * @return the metadata document
+     */
+    default SAML2MetadataDocument getMetadataDocument() {
+        return new SAML2MetadataDocument(getMetadata());
+    }
+
     /**
      * <p>getEntityDescriptorElement.</p>
      *
@@ -1,5 +1,6 @@
 package org.pac4j.saml.metadata;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.shared.resolver.CriteriaSet;
 import net.shibboleth.shared.resolver.ResolverException;
@@ -9,17 +10,25 @@ import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.pac4j.saml.config.SAML2Configuration;
 import org.pac4j.saml.exceptions.SAMLException;
 
+import java.io.IOException;
+
 /**
  * <p>SAML2ServiceProviderMetadataResolver class.</p>
  *
+ * <p>The metadata document is rendered once and only rendered again when the metadata are resolved again (forced)
+ * or when the keystore file changes.</p>
+ *
  * @author Misagh Moayyed
  * @since 1.7
  */
+@Slf4j
 public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolver {
 
     protected final SAML2Configuration configuration;
     private MetadataResolver metadataResolver;
 
+    private volatile CachedMetadataDocument cachedMetadataDocument;
+
     public SAML2ServiceProviderMetadataResolver(final SAML2Configuration configuration) {
         this.configuration = configuration;
         this.metadataResolver = prepareServiceProviderMetadata();
@@ -48,6 +57,7 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
     public final MetadataResolver resolve(final boolean force) {
         if (force) {
             this.metadataResolver = prepareServiceProviderMetadata();
+            this.cachedMetadataDocument = null;
         }
         return this.metadataResolver;
     }
@@ -68,6 +78,36 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
         }
     }
 
+    @Override
+    public SAML2MetadataDocument getMetadataDocument() {
+        val keystoreLastModified = getKeystoreLastModified();
+        val cached = cachedMetadataDocument;
+        if (cached != null && cached.keystoreLastModified() == keystoreLastModified) {
+            return cached.document();
+        }
+        val document = new SAML2MetadataDocument(getMetadata());
+        cachedMetadataDocument = new CachedMetadataDocument(document, keystoreLastModified);
+        return document;
+    }
+
+    /**
+     * Get the last modification date of the keystore if it is a file (remote keystores are not checked).
+     *
+     * @return the last modification date or <code>-1</code>
+     */
+    protected long getKeystoreLastModified() {
+        val keystore = configuration.getKeystore();
+        val resource = keystore != null ? keystore.getKeystoreResource() : null;
+        if (resource != null && resource.isFile()) {
+            try {
+                return resource.lastModified();
+            } catch (final IOException e) {
+                LOGGER.debug("Cannot get the last modification date of: {}", resource, e);
+            }
+        }
+        return -1;
+    }
+
     @Override
     public XMLObject getEntityDescriptorElement() {
         try {
@@ -76,4 +116,6 @@ public class SAML2ServiceProviderMetadataResolver implements SAML2MetadataResolv
             throw new SAMLException("Unable to resolve metadata", e);
         }
     }
+
+    private record CachedMetadataDocument(SAML2MetadataDocument document, long keystoreLastModified) {}
 }
@@ -2,8 +2,14 @@ package org.pac4j.saml.sso.artifact;
 
 import lombok.RequiredArgsConstructor;
 import net.shibboleth.shared.httpclient.HttpClientBuilder;
+import org.apache.hc.client5.http.classic.HttpClient;
 import org.opensaml.messaging.pipeline.httpclient.HttpClientMessagePipelineFactory;
+import org.pac4j.core.util.CommonHelper;
 import org.pac4j.saml.client.SAML2Client;
+import org.pac4j.saml.util.SAML2HttpClientBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
 
 /**
  * A default implementation of {@link SOAPPipelineProvider}, which enforces the
@@ -13,12 +19,35 @@ import org.pac4j.saml.client.SAML2Client;
  * @author Jerome LELEU
  */
 @RequiredArgsConstructor
-public class DefaultSOAPPipelineProvider implements SOAPPipelineProvider {
+public class DefaultSOAPPipelineProvider implements SOAPPipelineProvider, AutoCloseable {
     private final SAML2Client client;
 
+    private HttpClient httpClient;
+
     @Override
     public HttpClientBuilder getHttpClientBuilder() {
-        return new HttpClientBuilder();
+        final HttpClientBuilder builder = new HttpClientBuilder();
+        builder.setConnectionCloseAfterResponse(false);
+        return builder;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The client is built once and reused. By default, it relies on the connection pool shared by the
+     * {@link SAML2HttpClientBuilder#pooled()} clients, so the artifact resolutions of all the SAML clients share
+     * their keep-alive connections. When {@link #getHttpClientBuilder()} is overridden, the client is built from it.</p>
+     */
+    @Override
+    public synchronized HttpClient getHttpClient() throws Exception {
+        if (httpClient == null) {
+            if (CommonHelper.isOverridden(this, DefaultSOAPPipelineProvider.class, "getHttpClientBuilder")) {
+                httpClient = getHttpClientBuilder().buildClient();
+            } else {
+                httpClient = SAML2HttpClientBuilder.pooled().build();
+            }
+        }
+        return httpClient;
     }
 
     @Override
@@ -27,4 +56,17 @@ public class DefaultSOAPPipelineProvider implements SOAPPipelineProvider {
                 client.getServiceProviderMetadataResolver(), client.getSignatureSigningParametersProvider(),
                 client.getSignatureTrustEngineProvider(), client.getReplayCache());
     }
+
+    /**
+     * Close the built HTTP client and its own connections (a shared connection pool remains open).
+     *
+     * @throws IOException if the client cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (httpClient instanceof Closeable closeable) {
+            closeable.close();
+        }
+        httpClient = null;
+    }
 }
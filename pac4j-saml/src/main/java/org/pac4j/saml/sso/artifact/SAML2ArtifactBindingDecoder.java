@@ -79,7 +79,7 @@ public class SAML2ArtifactBindingDecoder extends AbstractPac4jDecoder {
                 }
             };
             soapClient.setPipelineFactory(soapPipelineProvider.getPipelineFactory());
-            soapClient.setHttpClient(soapPipelineProvider.getHttpClientBuilder().buildClient());
+            soapClient.setHttpClient(soapPipelineProvider.getHttpClient());
 
             val artifactDecoder = new Pac4jHTTPArtifactDecoder();
             artifactDecoder.setCallContext(callContext);
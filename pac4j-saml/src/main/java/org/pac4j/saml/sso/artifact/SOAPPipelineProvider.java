@@ -1,6 +1,7 @@
 package org.pac4j.saml.sso.artifact;
 
 import net.shibboleth.shared.httpclient.HttpClientBuilder;
+import org.apache.hc.client5.http.classic.HttpClient;
 import org.opensaml.messaging.pipeline.httpclient.HttpClientMessagePipelineFactory;
 
 /**
@@ -18,6 +19,17 @@ public interface SOAPPipelineProvider {
      */
     HttpClientBuilder getHttpClientBuilder();
 
+    /**
+     * <p>getHttpClient.</p>
+     *
+     * @return the http client used for the SOAP calls, built from {@link #getHttpClientBuilder()} by default.
+     * @throws Exception if the client cannot be built
+     * @since 6.6.0
+     */
+    default HttpClient getHttpClient() throws Exception {
+        return getHttpClientBuilder().buildClient();
+    }
+
     /**
      * <p>getPipelineFactory.</p>
      *
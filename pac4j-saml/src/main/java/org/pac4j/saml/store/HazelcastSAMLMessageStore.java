@@ -2,6 +2,8 @@ package org.pac4j.saml.store;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.opensaml.core.xml.XMLObject;
 import org.pac4j.core.util.CommonHelper;
@@ -14,8 +16,7 @@ import java.util.Optional;
 /**
  * Class implements store of SAML messages and uses Hazelcast as underlying dataStore.
  * As the XMLObjects can't be serialized (which could lead to problems during failover), the messages are transformed
- * into SAMLObject which internally marshalls the content into XML during serialization.
- * Base64 encoding / decoding is also used to reduce space allocation.
+ * into compact XML bytes, optionally compressed (<code>deflateMessages</code>) to reduce the cluster traffic.
  *
  * @author Francesco Chicchiriccò
  * @since 5.0.1
@@ -27,6 +28,10 @@ public class HazelcastSAMLMessageStore implements SAMLMessageStore {
 
     private final HazelcastInstance hazelcastInstance;
 
+    @Getter
+    @Setter
+    private boolean deflateMessages;
+
     /**
      * <p>Constructor for HazelcastSAMLMessageStore.</p>
      *
@@ -37,8 +42,8 @@ public class HazelcastSAMLMessageStore implements SAMLMessageStore {
         this.hazelcastInstance = hazelcastInstance;
     }
 
-    private IMap<String, String> getStoreMapInstance() {
-        IMap<String, String> inst = hazelcastInstance.getMap(MAP_NAME);
+    private IMap<String, Object> getStoreMapInstance() {
+        IMap<String, Object> inst = hazelcastInstance.getMap(MAP_NAME);
         LOGGER.debug("Located Hazelcast map instance [{}]", MAP_NAME);
         return inst;
     }
@@ -46,10 +51,10 @@ public class HazelcastSAMLMessageStore implements SAMLMessageStore {
     /** {@inheritDoc} */
     @Override
     public Optional<XMLObject> get(final String messageID) {
-        IMap<String, String> map = getStoreMapInstance();
+        IMap<String, Object> map = getStoreMapInstance();
         LOGGER.debug("Attempting to get message {} from Hazelcast map {}", messageID, MAP_NAME);
 
-        String message = map.get(messageID);
+        Object message = map.get(messageID);
         if (message == null) {
             LOGGER.debug("Message {} not found in Hazelcast map {}", messageID, MAP_NAME);
             return Optional.empty();
@@ -58,23 +63,26 @@ public class HazelcastSAMLMessageStore implements SAMLMessageStore {
         LOGGER.debug("Message {} found in Hazelcast map {}, clearing", messageID, MAP_NAME);
         map.remove(messageID);
 
-        return Configuration.deserializeSamlObject(
-                new String(Base64.getDecoder().decode(message), StandardCharsets.UTF_8));
+        if (message instanceof String base64Message) {
+            // message stored by a previous version
+            return Configuration.deserializeSamlObject(
+                    new String(Base64.getDecoder().decode(base64Message), StandardCharsets.UTF_8));
+        }
+        return Configuration.deserializeSamlObject((byte[]) message);
     }
 
     /** {@inheritDoc} */
     @Override
     public void set(final String messageID, final XMLObject message) {
-        IMap<String, String> map = getStoreMapInstance();
+        IMap<String, Object> map = getStoreMapInstance();
         LOGGER.debug("Storing message {} to Hazelcast map {}", messageID, MAP_NAME);
-        map.put(messageID, Base64.getEncoder().encodeToString(
-                Configuration.serializeSamlObject(message).toString().getBytes(StandardCharsets.UTF_8)));
+        map.put(messageID, Configuration.serializeSamlObjectToBytes(message, deflateMessages));
     }
 
     /** {@inheritDoc} */
     @Override
     public void remove(final String messageID) {
-        IMap<String, String> map = getStoreMapInstance();
+        IMap<String, Object> map = getStoreMapInstance();
         LOGGER.debug("Removing message {} from Hazelcast map {}", messageID, MAP_NAME);
         map.remove(messageID);
     }
@@ -1,6 +1,9 @@
 package org.pac4j.saml.store;
 
 import com.hazelcast.core.HazelcastInstance;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.val;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 
@@ -14,6 +17,10 @@ public class HazelcastSAMLMessageStoreFactory implements SAMLMessageStoreFactory
 
     private final HazelcastInstance hazelcastInstance;
 
+    @Getter
+    @Setter
+    private boolean deflateMessages;
+
     /**
      * <p>Constructor for HazelcastSAMLMessageStoreFactory.</p>
      *
@@ -26,6 +33,8 @@ public class HazelcastSAMLMessageStoreFactory implements SAMLMessageStoreFactory
     /** {@inheritDoc} */
     @Override
     public SAMLMessageStore getMessageStore(final WebContext context, final SessionStore sessionStore) {
-        return new HazelcastSAMLMessageStore(hazelcastInstance);
+        val store = new HazelcastSAMLMessageStore(hazelcastInstance);
+        store.setDeflateMessages(deflateMessages);
+        return store;
     }
 }
@@ -1,6 +1,8 @@
 package org.pac4j.saml.store;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.opensaml.core.xml.XMLObject;
@@ -13,8 +15,8 @@ import java.util.Optional;
 
 /**
  * Class implements store of SAML messages and uses HttpSession as underlying dataStore. As the XMLObjects
- * can't be serialized (which could lead to problems during failover), the messages are transformed into SAMLObject
- * which internally marshals the content into XML during serialization.
+ * can't be serialized (which could lead to problems during failover), the messages are stored as compact XML bytes,
+ * optionally compressed (<code>deflateMessages</code>).
  *
  * Messages are populated to a Hashtable and stored inside HttpSession. The Hashtable is lazily initialized
  * during first attempt to create or retrieve a message.
@@ -32,10 +34,17 @@ public class HttpSessionStore implements SAMLMessageStore {
 
     private final SessionStore sessionStore;
 
+    /**
+     * Whether the stored messages are compressed.
+     */
+    @Getter
+    @Setter
+    private boolean deflateMessages;
+
     /**
      * Internal store for messages, corresponding to the object in session.
      */
-    private LinkedHashMap<String, String> internalMessages;
+    private LinkedHashMap<String, Object> internalMessages;
 
     /**
      * Session key for storing the hashtable.
@@ -54,7 +63,7 @@ public class HttpSessionStore implements SAMLMessageStore {
         LOGGER.debug("Storing message {} to session {}", messageID,
             sessionStore.getSessionId(context, true).orElseThrow());
         val messages = getMessages();
-        messages.put(messageID, Configuration.serializeSamlObject(message).toString());
+        messages.put(messageID, Configuration.serializeSamlObjectToBytes(message, deflateMessages));
         updateSession(messages);
     }
 
@@ -64,7 +73,7 @@ public class HttpSessionStore implements SAMLMessageStore {
      * Returns previously stored message with the given ID or null, if there is no message
      * stored.
      * <p>
-     * Message is stored in String format and must be unmarshalled into XMLObject. Call to this
+     * Message is stored in binary format and must be unmarshalled into XMLObject. Call to this
      * method may thus be expensive.
      * <p>
      * Messages are automatically cleared upon successful reception, as we presume that there
@@ -84,7 +93,11 @@ public class HttpSessionStore implements SAMLMessageStore {
         messages.clear();
         updateSession(messages);
 
-        return Configuration.deserializeSamlObject(o);
+        if (o instanceof String xml) {
+            // message stored by a previous version
+            return Configuration.deserializeSamlObject(xml);
+        }
+        return Configuration.deserializeSamlObject((byte[]) o);
     }
 
     /**
@@ -93,7 +106,7 @@ public class HttpSessionStore implements SAMLMessageStore {
      *
      * @return message store
      */
-    private LinkedHashMap<String, String> getMessages() {
+    private LinkedHashMap<String, Object> getMessages() {
         if (internalMessages == null) {
             internalMessages = initializeSession();
         }
@@ -107,31 +120,34 @@ public class HttpSessionStore implements SAMLMessageStore {
      * Method synchronizes on session object to prevent two threads from overwriting each others hashtable.
      */
     @SuppressWarnings("unchecked")
-    private LinkedHashMap<String, String> initializeSession() {
+    private LinkedHashMap<String, Object> initializeSession() {
         var messages = sessionStore.get(context, SAML_STORAGE_KEY);
         if (messages.isEmpty()) {
             synchronized (context) {
                 messages = sessionStore.get(context, SAML_STORAGE_KEY);
                 if (messages.isEmpty()) {
                     messages = Optional.of(new LinkedHashMap<>());
-                    updateSession((LinkedHashMap<String, String>) messages.get());
+                    updateSession((LinkedHashMap<String, Object>) messages.get());
                 }
             }
         }
-        return (LinkedHashMap<String, String>) messages.get();
+        return (LinkedHashMap<String, Object>) messages.get();
     }
 
     /**
      * Updates session with the internalMessages key. Some application servers require session value to be updated
      * in order to replicate the session across nodes or persist it correctly.
      */
-    private void updateSession(final LinkedHashMap<String, String> messages) {
+    private void updateSession(final LinkedHashMap<String, Object> messages) {
         sessionStore.set(context, SAML_STORAGE_KEY, messages);
     }
 
     /** {@inheritDoc} */
     @Override
     public void remove(final String key) {
-        set(key, null);
+        val messages = getMessages();
+        if (messages.remove(key) != null) {
+            updateSession(messages);
+        }
     }
 }
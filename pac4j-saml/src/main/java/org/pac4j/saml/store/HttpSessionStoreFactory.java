@@ -1,5 +1,8 @@
 package org.pac4j.saml.store;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.val;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 
@@ -8,12 +11,21 @@ import org.pac4j.core.context.session.SessionStore;
  *
  * @author Jerome LELEU
  */
+@Getter
+@Setter
 public class HttpSessionStoreFactory implements SAMLMessageStoreFactory {
 
+    /**
+     * Whether the stored messages are compressed.
+     */
+    private boolean deflateMessages;
+
     /** {@inheritDoc} */
     @Override
     public SAMLMessageStore getMessageStore(final WebContext context, final SessionStore sessionStore) {
-        return new HttpSessionStore(context, sessionStore);
+        val store = new HttpSessionStore(context, sessionStore);
+        store.setDeflateMessages(deflateMessages);
+        return store;
     }
 
 }
@@ -1,17 +1,14 @@
 package org.pac4j.saml.transport;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import net.shibboleth.shared.codec.Base64Support;
 import net.shibboleth.shared.component.ComponentInitializationException;
 import net.shibboleth.shared.logic.Constraint;
 import net.shibboleth.shared.xml.ParserPool;
 import net.shibboleth.shared.xml.XMLParserException;
-import org.apache.hc.core5.net.URLEncodedUtils;
 import org.opensaml.core.xml.XMLObject;
 import org.opensaml.core.xml.io.UnmarshallingException;
 import org.opensaml.core.xml.util.XMLObjectSupport;
@@ -22,9 +19,12 @@ import org.opensaml.saml.common.messaging.context.SAMLBindingContext;
 import org.pac4j.core.context.CallContext;
 import org.pac4j.saml.context.SAML2MessageContext;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.util.Base64;
 
 /**
  * Common decoder.
@@ -38,6 +38,9 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
 
     static final String[] SAML_PARAMETERS = {"SAMLRequest", "SAMLResponse", "logoutRequest"};
 
+    /** Default maximum size of a decoded (and inflated) message: 2 MB. */
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 2 * 1024 * 1024;
+
     /** Parser pool used to deserialize the message. */
     @Getter
     protected ParserPool parserPool;
@@ -45,6 +48,11 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
     @Getter
     protected final CallContext callContext;
 
+    /** Maximum size of a decoded (and inflated) message, no limit if not strictly positive. */
+    @Getter
+    @Setter
+    protected int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+
 
     /**
      * <p>getBase64DecodedMessage.</p>
@@ -53,51 +61,65 @@ public abstract class AbstractPac4jDecoder extends AbstractMessageDecoder {
      * @throws MessageDecodingException if any.
      */
     protected byte[] getBase64DecodedMessage() throws MessageDecodingException {
-        Optional<String> encodedMessage = Optional.empty();
+        try (final InputStream stream = getDecodedMessageStream()) {
+            return stream.readAllBytes();
+        } catch (final IOException e) {
+            throw new MessageDecodingException(e);
+        }
+    }
+
+    /**
+     * Get the decoded message as a stream: the message is URL-decoded (when read from the request content)
+     * and Base64-decoded while it is read, up to {@link #maxMessageSize} bytes.
+     *
+     * @return the decoded message stream
+     * @throws MessageDecodingException if there is no message
+     */
+    protected InputStream getDecodedMessageStream() throws MessageDecodingException {
         for (val parameter : SAML_PARAMETERS) {
-            encodedMessage = this.callContext.webContext().getRequestParameter(parameter);
+            val encodedMessage = this.callContext.webContext().getRequestParameter(parameter);
             if (encodedMessage.isPresent()) {
-                break;
-            }
-        }
-        if (encodedMessage.isEmpty()) {
-            encodedMessage = Optional.ofNullable(this.callContext.webContext().getRequestContent());
-            // we have a body, it may be the SAML request/response directly
-            // but we also try to parse it as a list key=value where the value is the SAML request/response
-            if (encodedMessage.isPresent()) {
-                val a = URLEncodedUtils.parse(encodedMessage.get(), StandardCharsets.UTF_8);
-                final Multimap<String, String>  paramMap = HashMultimap.create();
-                for (val p : a) {
-                    paramMap.put(p.getName(), p.getValue());
-                }
-                for (val parameter : SAML_PARAMETERS) {
-                    val newEncodedMessageCollection = paramMap.get(parameter);
-                    if (newEncodedMessageCollection != null && !newEncodedMessageCollection.isEmpty()) {
-                        encodedMessage = Optional.of(newEncodedMessageCollection.iterator().next());
-                        break;
-                    }
-                }
+                return decodedStream(encodedMessage.get());
             }
         }
 
-        if (encodedMessage.isEmpty()) {
+        val content = this.callContext.webContext().getRequestContent();
+        if (content == null) {
             throw new MessageDecodingException("Request did not contain either a SAMLRequest parameter, a SAMLResponse parameter, "
                 + "a logoutRequest parameter or a body content");
-        } else {
-            if (encodedMessage.get().contains("<")) {
-                LOGGER.trace("Raw SAML message:\n{}", encodedMessage);
-                return encodedMessage.get().getBytes(StandardCharsets.UTF_8);
-            } else {
-
+        }
+        // we have a body, it may be the SAML request/response directly
+        // but we also try to read it as a list key=value where the value is the SAML request/response
+        for (val parameter : SAML_PARAMETERS) {
+            val range = MessageStreamHelper.findFormParameter(content, parameter);
+            if (range != null) {
                 try {
-                    val decodedBytes = Base64Support.decode(encodedMessage.get());
-                    LOGGER.trace("Decoded SAML message:\n{}", new String(decodedBytes, StandardCharsets.UTF_8));
-                    return decodedBytes;
-                } catch (final Exception e) {
+                    val stream = new PushbackInputStream(MessageStreamHelper.urlDecodedStream(content, range[0], range[1]), 1);
+                    val first = stream.read();
+                    if (first >= 0) {
+                        stream.unread(first);
+                    }
+                    if (first == '<') {
+                        LOGGER.trace("Raw SAML message read from the request content");
+                        return MessageStreamHelper.limit(stream, maxMessageSize);
+                    }
+                    return MessageStreamHelper.limit(Base64.getMimeDecoder().wrap(stream), maxMessageSize);
+                } catch (final IOException e) {
                     throw new MessageDecodingException(e);
                 }
             }
         }
+        return decodedStream(content);
+    }
+
+    private InputStream decodedStream(final String encodedMessage) {
+        if (encodedMessage.indexOf('<') >= 0) {
+            LOGGER.trace("Raw SAML message:\n{}", encodedMessage);
+            return MessageStreamHelper.limit(new ByteArrayInputStream(encodedMessage.getBytes(StandardCharsets.UTF_8)),
+                maxMessageSize);
+        }
+        val encodedStream = MessageStreamHelper.asciiStream(encodedMessage, 0, encodedMessage.length());
+        return MessageStreamHelper.limit(Base64.getMimeDecoder().wrap(encodedStream), maxMessageSize);
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,221 @@
+package org.pac4j.saml.transport;
+
+import lombok.val;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A helper to read the SAML messages as streams: the encoded message is read directly from the request string,
+ * URL-decoded, Base64-decoded and inflated on the fly, without intermediate copies.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class MessageStreamHelper {
+
+    private MessageStreamHelper() {}
+
+    /**
+     * Find the raw (still URL-encoded) value of a parameter in a form-encoded content.
+     *
+     * @param content the form-encoded content
+     * @param name the parameter name
+     * @return the start and end indexes of the value, or {@code null} if the parameter is not found
+     */
+    public static int[] findFormParameter(final CharSequence content, final String name) {
+        val length = content.length();
+        var start = 0;
+        while (start < length) {
+            var end = start;
+            while (end < length && content.charAt(end) != '&') {
+                end++;
+            }
+            val nameEnd = start + name.length();
+            if (nameEnd < end && content.charAt(nameEnd) == '='
+                && content.subSequence(start, nameEnd).toString().equals(name)) {
+                return new int[] {nameEnd + 1, end};
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Read some ASCII characters as bytes.
+     *
+     * @param chars the characters
+     * @param start the start index (inclusive)
+     * @param end the end index (exclusive)
+     * @return the stream of bytes
+     */
+    public static InputStream asciiStream(final CharSequence chars, final int start, final int end) {
+        return new CharSequenceInputStream(chars, start, end, false);
+    }
+
+    /**
+     * Read some URL-encoded characters as (decoded) bytes.
+     *
+     * @param chars the characters
+     * @param start the start index (inclusive)
+     * @param end the end index (exclusive)
+     * @return the stream of decoded bytes
+     */
+    public static InputStream urlDecodedStream(final CharSequence chars, final int start, final int end) {
+        return new CharSequenceInputStream(chars, start, end, true);
+    }
+
+    /**
+     * Limit the number of bytes which can be read from a stream.
+     *
+     * @param in the stream
+     * @param maxSize the maximum number of bytes (no limit if not strictly positive)
+     * @return the limited stream
+     */
+    public static InputStream limit(final InputStream in, final long maxSize) {
+        return maxSize > 0 ? new LimitedInputStream(in, maxSize) : in;
+    }
+
+    /**
+     * Inflate a stream (raw DEFLATE or ZLIB) or return it as is if it is already XML.
+     *
+     * @param in the stream
+     * @return the inflated stream
+     * @throws IOException if the stream cannot be read
+     */
+    public static InputStream inflate(final InputStream in) throws IOException {
+        val pushback = new PushbackInputStream(in, 2);
+        val first = pushback.read();
+        if (first < 0) {
+            return pushback;
+        }
+        val second = pushback.read();
+        if (second >= 0) {
+            pushback.unread(second);
+        }
+        pushback.unread(first);
+        if (first == '<') {
+            return pushback;
+        }
+        // ZLIB header (RFC 1950): deflate method, window <= 32K and check bits
+        val zlib = second >= 0 && (first & 0x0F) == 8 && (first >> 4) <= 7 && ((first << 8) | second) % 31 == 0;
+        return new EndingInflaterInputStream(pushback, new Inflater(!zlib));
+    }
+
+    private static final class CharSequenceInputStream extends InputStream {
+
+        private final CharSequence chars;
+
+        private final int end;
+
+        private final boolean urlDecode;
+
+        private int position;
+
+        private CharSequenceInputStream(final CharSequence chars, final int start, final int end, final boolean urlDecode) {
+            this.chars = chars;
+            this.position = start;
+            this.end = end;
+            this.urlDecode = urlDecode;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            val c = chars.charAt(position++);
+            if (urlDecode) {
+                if (c == '+') {
+                    return ' ';
+                } else if (c == '%' && position + 1 < end) {
+                    val high = Character.digit(chars.charAt(position), 16);
+                    val low = Character.digit(chars.charAt(position + 1), 16);
+                    if (high >= 0 && low >= 0) {
+                        position += 2;
+                        return (high << 4) | low;
+                    }
+                }
+            }
+            return c & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            var n = 0;
+            while (n < len) {
+                val c = read();
+                if (c < 0) {
+                    break;
+                }
+                b[off + n++] = (byte) c;
+            }
+            return n == 0 ? -1 : n;
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+
+        private long count;
+
+        private LimitedInputStream(final InputStream in, final long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            val c = super.read();
+            if (c >= 0) {
+                check(1);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            val n = super.read(b, off, len);
+            if (n > 0) {
+                check(n);
+            }
+            return n;
+        }
+
+        private void check(final int n) throws IOException {
+            count += n;
+            if (count > maxSize) {
+                throw new IOException("SAML message exceeds the maximum size of " + maxSize + " bytes");
+            }
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static final class EndingInflaterInputStream extends InflaterInputStream {
+
+        private EndingInflaterInputStream(final InputStream in, final Inflater inflater) {
+            super(in, inflater);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.pac4j.saml.transport;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.shared.component.ComponentInitializationException;
+import org.opensaml.core.xml.XMLObject;
 import org.opensaml.messaging.decoder.MessageDecodingException;
 import org.opensaml.messaging.handler.MessageHandlerException;
 import org.opensaml.saml.common.SAMLObject;
@@ -15,7 +16,8 @@ import org.pac4j.core.context.WebContextHelper;
 import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.util.SAML2Utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Decoder for messages sent via POST and SOAP bindings.
@@ -45,8 +47,12 @@ public class Pac4jHTTPPostDecoder extends AbstractPac4jDecoder {
             val relayState = this.callContext.webContext().getRequestParameter("RelayState").orElse(null);
             LOGGER.debug("Decoded SAML relay state of: {}", relayState);
             SAMLBindingSupport.setRelayState(messageContext.getMessageContext(), relayState);
-            val base64DecodedMessage = this.getBase64DecodedMessage();
-            val xmlObject = this.unmarshallMessage(new ByteArrayInputStream(base64DecodedMessage));
+            final XMLObject xmlObject;
+            try (final InputStream messageStream = this.getDecodedMessageStream()) {
+                xmlObject = this.unmarshallMessage(messageStream);
+            } catch (final IOException e) {
+                throw new MessageDecodingException(e);
+            }
             SAML2Utils.logProtocolMessage(xmlObject);
             final SAMLObject inboundMessage;
             if (xmlObject instanceof Envelope soapMessage) {
@@ -13,12 +13,8 @@ import org.pac4j.saml.context.SAML2MessageContext;
 import org.pac4j.saml.util.SAML2Utils;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Decoder for messages sent via HTTP-Redirect binding.
@@ -48,9 +44,12 @@ public class Pac4jHTTPRedirectDeflateDecoder extends AbstractPac4jDecoder {
             LOGGER.debug("Decoded SAML relay state of: {}", relayState);
             SAMLBindingSupport.setRelayState(messageContext.getMessageContext(), relayState);
 
-            val base64DecodedMessage = this.getBase64DecodedMessage();
-            val inflatedMessage = inflate(base64DecodedMessage);
-            XMLObject inboundMessage = (SAMLObject) this.unmarshallMessage(inflatedMessage);
+            final XMLObject inboundMessage;
+            try (final InputStream inflatedMessage = inflate(this.getDecodedMessageStream())) {
+                inboundMessage = (SAMLObject) this.unmarshallMessage(inflatedMessage);
+            } catch (final IOException e) {
+                throw new MessageDecodingException(e);
+            }
             SAML2Utils.logProtocolMessage(inboundMessage);
             messageContext.getMessageContext().setMessage(inboundMessage);
             LOGGER.debug("Decoded SAML message");
@@ -62,51 +61,29 @@ public class Pac4jHTTPRedirectDeflateDecoder extends AbstractPac4jDecoder {
     }
 
     /**
-     * <p>inflate.</p>
+     * Inflate the decoded message while it is read (raw DEFLATE, ZLIB or already inflated message),
+     * up to {@link #maxMessageSize} inflated bytes.
      *
-     * @param input an array of {@code byte} objects
+     * @param input the decoded message stream
      * @return a {@link InputStream} object
-     * @throws MessageDecodingException if any.
+     * @throws IOException if any.
      */
-    protected InputStream inflate(final byte[] input) throws MessageDecodingException {
-        try {
-            // compatible with GZIP and PKZIP
-            return internalInflate(input, new Inflater(true));
-        } catch (final IOException e) {
-            try {
-                // deflate compression only
-                return internalInflate(input, new Inflater());
-            } catch (final IOException e2) {
-                LOGGER.warn("Cannot inflate message, returning it as is");
-                return new ByteArrayInputStream(input);
-            }
-        }
+    protected InputStream inflate(final InputStream input) throws IOException {
+        return MessageStreamHelper.limit(MessageStreamHelper.inflate(input), maxMessageSize);
     }
 
     /**
-     * <p>internalInflate.</p>
+     * <p>inflate.</p>
      *
      * @param input an array of {@code byte} objects
-     * @param inflater a {@link Inflater} object
      * @return a {@link InputStream} object
-     * @throws IOException if any.
+     * @throws MessageDecodingException if any.
      */
-    protected InputStream internalInflate(final byte[] input, final Inflater inflater) throws IOException {
-        val baos = new ByteArrayOutputStream();
-        val iis = new InflaterInputStream(new ByteArrayInputStream(input), inflater);
+    protected InputStream inflate(final byte[] input) throws MessageDecodingException {
         try {
-            val buffer = new byte[1000];
-            int length;
-            while ((length = iis.read(buffer)) > 0) {
-                baos.write(buffer, 0, length);
-            }
-            val decodedBytes = baos.toByteArray();
-            val decodedMessage = new String(decodedBytes, StandardCharsets.UTF_8);
-            LOGGER.debug("Inflated SAML message: {}", decodedMessage);
-            return new ByteArrayInputStream(decodedBytes);
-        } finally {
-            baos.close();
-            iis.close();
+            return inflate(new ByteArrayInputStream(input));
+        } catch (final IOException e) {
+            throw new MessageDecodingException(e);
         }
     }
 
@@ -16,15 +16,27 @@ import org.pac4j.saml.exceptions.SAMLException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * OpenSAML configuration bean to bootstrap the parser pool.
@@ -40,6 +52,15 @@ import java.util.ServiceLoader;
 @Slf4j
 public final class Configuration {
 
+    /** The first byte of a zlib stream compressed with the default window size (never the first byte of an XML document). */
+    private static final int ZLIB_HEADER = 0x78;
+
+    private static final int MAX_POOLED_TRANSFORMERS = 64;
+
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private static final BlockingQueue<Transformer> COMPACT_TRANSFORMERS = new ArrayBlockingQueue<>(MAX_POOLED_TRANSFORMERS);
+
     private Configuration() {
     }
 
@@ -125,8 +146,7 @@ public final class Configuration {
                 Source domSource = new DOMSource(element);
 
                 Result result = new StreamResult(writer);
-                val tf = TransformerFactory.newInstance();
-                val transformer = tf.newTransformer();
+                val transformer = newTransformer();
                 transformer.setOutputProperty(OutputKeys.INDENT, "yes");
                 transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
                 transformer.transform(domSource, result);
@@ -137,6 +157,46 @@ public final class Configuration {
         return writer;
     }
 
+    /**
+     * Serialize a SAML object into compact UTF-8 XML (no indentation, no XML declaration), optionally compressed
+     * with DEFLATE (zlib format). This is the format to use to store SAML messages.
+     *
+     * @param samlObject the SAML object
+     * @param deflate whether the XML must be compressed
+     * @return the serialized object
+     */
+    public static byte[] serializeSamlObjectToBytes(final XMLObject samlObject, final boolean deflate) {
+        val marshaller = getMarshallerFactory().getMarshaller(samlObject.getElementQName());
+        if (marshaller == null) {
+            throw new SAMLException("No marshaller for: " + samlObject.getElementQName());
+        }
+        val bytes = new ByteArrayOutputStream();
+        Transformer transformer = null;
+        Deflater deflater = null;
+        try {
+            val element = marshaller.marshall(samlObject);
+            transformer = acquireCompactTransformer();
+            if (deflate) {
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                    transformer.transform(new DOMSource(element), new StreamResult(out));
+                }
+            } else {
+                transformer.transform(new DOMSource(element), new StreamResult(bytes));
+            }
+        } catch (final Exception e) {
+            // do not reuse a transformer in an unknown state
+            transformer = null;
+            throw new SAMLException(e.getMessage(), e);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            releaseCompactTransformer(transformer);
+        }
+        return bytes.toByteArray();
+    }
+
     /**
      * <p>deserializeSamlObject.</p>
      *
@@ -151,4 +211,52 @@ public final class Configuration {
             return Optional.empty();
         }
     }
+
+    /**
+     * Deserialize a SAML object serialized by {@link #serializeSamlObjectToBytes(XMLObject, boolean)}
+     * (compressed or not) or any UTF-8 XML document.
+     *
+     * @param bytes the serialized object
+     * @return the SAML object
+     */
+    public static Optional<XMLObject> deserializeSamlObject(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return Optional.empty();
+        }
+        InputStream in = new ByteArrayInputStream(bytes);
+        if ((bytes[0] & 0xFF) == ZLIB_HEADER) {
+            in = new InflaterInputStream(in);
+        }
+        try (in) {
+            return Optional.of(XMLObjectSupport.unmarshallFromInputStream(getParserPool(), in));
+        } catch (final Exception e) {
+            LOGGER.error("Error unmarshalling message from input stream", e);
+            return Optional.empty();
+        }
+    }
+
+    private static Transformer newTransformer() throws TransformerConfigurationException {
+        // the factory is shared, but not guaranteed to be thread-safe
+        synchronized (TRANSFORMER_FACTORY) {
+            return TRANSFORMER_FACTORY.newTransformer();
+        }
+    }
+
+    private static Transformer acquireCompactTransformer() throws TransformerConfigurationException {
+        val pooled = COMPACT_TRANSFORMERS.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        val transformer = newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "no");
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+        return transformer;
+    }
+
+    private static void releaseCompactTransformer(final Transformer transformer) {
+        if (transformer != null) {
+            COMPACT_TRANSFORMERS.offer(transformer);
+        }
+    }
 }
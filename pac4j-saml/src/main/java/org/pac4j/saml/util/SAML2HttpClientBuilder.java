@@ -7,6 +7,9 @@ import lombok.val;
 import net.shibboleth.shared.httpclient.HttpClientBuilder;
 import org.apache.hc.client5.http.auth.CredentialsProvider;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
 import org.pac4j.core.exception.TechnicalException;
 
 import java.time.Duration;
@@ -14,6 +17,11 @@ import java.time.Duration;
 /**
  * This is {@link SAML2HttpClientBuilder}.
  *
+ * <p>When {@link #sharedConnectionPool} is enabled, the built client relies on a {@link SAML2HttpConnectionPool}
+ * shared by all the clients built with the same connection settings and keeps its connections alive. Such a client is
+ * not built by the Shibboleth builder: it uses the default TLS settings of the JVM (or the system properties) and
+ * it can no longer be used once its pool is closed.</p>
+ *
  * @author Misagh Moayyed
  */
 @Getter
@@ -28,12 +36,35 @@ public class SAML2HttpClientBuilder {
     private int maxConnectionsTotal = 3;
     private CredentialsProvider credentialsProvider;
 
+    private boolean sharedConnectionPool;
+    private int maxConnectionsPerRoute = 20;
+    private Duration connectionTimeToLive;
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private int retryCount = 1;
+
+    /**
+     * A builder of keep-alive clients relying on a shared connection pool.
+     *
+     * @return the builder
+     * @since 6.6.0
+     */
+    public static SAML2HttpClientBuilder pooled() {
+        val builder = new SAML2HttpClientBuilder();
+        builder.setSharedConnectionPool(true);
+        builder.setCloseConnectionAfterResponse(false);
+        builder.setMaxConnectionsTotal(100);
+        return builder;
+    }
+
     /**
      * <p>build.</p>
      *
      * @return a {@link HttpClient} object
      */
     public HttpClient build() {
+        if (sharedConnectionPool) {
+            return buildOnSharedConnectionPool();
+        }
         try {
             val builder = new Pac4jHttpClientBuilder(credentialsProvider);
             builder.resetDefaults();
@@ -55,6 +86,40 @@ public class SAML2HttpClientBuilder {
         }
     }
 
+    /**
+     * The shared pool used by the clients built with the current settings.
+     *
+     * @return the shared connection pool
+     * @since 6.6.0
+     */
+    public SAML2HttpConnectionPool getConnectionPool() {
+        return SAML2HttpConnectionPool.get(new SAML2HttpConnectionPool.Settings(maxConnectionsTotal,
+            Math.min(maxConnectionsPerRoute, maxConnectionsTotal), connectionTimeout, socketTimeout,
+            connectionTimeToLive, idleTimeout, useSystemProperties));
+    }
+
+    private HttpClient buildOnSharedConnectionPool() {
+        val builder = HttpClients.custom()
+            .setConnectionManager(getConnectionPool().getConnectionManager())
+            // the pool outlives the client: closing the client must not shut it down
+            .setConnectionManagerShared(true);
+        if (useSystemProperties) {
+            builder.useSystemProperties();
+        }
+        if (!followRedirects) {
+            builder.disableRedirectHandling();
+        }
+        if (retryCount > 0) {
+            builder.setRetryStrategy(new DefaultHttpRequestRetryStrategy(retryCount, TimeValue.ofSeconds(1)));
+        } else {
+            builder.disableAutomaticRetries();
+        }
+        if (credentialsProvider != null) {
+            builder.setDefaultCredentialsProvider(credentialsProvider);
+        }
+        return builder.build();
+    }
+
     @RequiredArgsConstructor
     private static class Pac4jHttpClientBuilder extends HttpClientBuilder {
 
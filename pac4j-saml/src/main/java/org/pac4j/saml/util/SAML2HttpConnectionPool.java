@@ -0,0 +1,199 @@
+package org.pac4j.saml.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of keep-alive HTTP connections, shared by all the HTTP clients built with the same connection settings
+ * (so by all the SAML clients calling the same IdP endpoints): the TLS connections (and sessions) are reused
+ * for the back-channel calls.
+ *
+ * <p>The TLS connections use the default SSL context of the JVM (or the system properties if <code>useSystemProperties</code>
+ * is enabled) with a strict hostname verification. The idle and expired connections are evicted in the background.</p>
+ *
+ * <p>The pools must be closed when the application stops ({@link #closeAll()}) to release their connections and
+ * the eviction thread.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Slf4j
+public final class SAML2HttpConnectionPool implements AutoCloseable {
+
+    private static final Map<Settings, SAML2HttpConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    private static final Object EVICTOR_LOCK = new Object();
+
+    private static ScheduledExecutorService evictor;
+
+    @Getter
+    private final Settings settings;
+
+    @Getter
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final ScheduledFuture<?> eviction;
+
+    private SAML2HttpConnectionPool(final Settings settings) {
+        this.settings = settings;
+
+        val connectionConfig = ConnectionConfig.custom()
+            .setTimeToLive(toTimeValue(settings.connectionTimeToLive()))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(2));
+        if (settings.connectionTimeout() != null) {
+            connectionConfig.setConnectTimeout(Timeout.of(settings.connectionTimeout()));
+        }
+        if (settings.socketTimeout() != null) {
+            connectionConfig.setSocketTimeout(Timeout.of(settings.socketTimeout()));
+        }
+        val builder = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(settings.maxConnectionsTotal())
+            .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+            .setDefaultConnectionConfig(connectionConfig.build());
+        if (settings.useSystemProperties()) {
+            builder.useSystemProperties();
+        }
+        this.connectionManager = builder.build();
+
+        val idleTimeout = settings.idleTimeout();
+        if (idleTimeout != null && !idleTimeout.isZero() && !idleTimeout.isNegative()) {
+            val period = Math.max(1000L, idleTimeout.toMillis() / 2);
+            this.eviction = getEvictor().scheduleWithFixedDelay(this::evict, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.eviction = null;
+        }
+        LOGGER.debug("Created shared SAML HTTP connection pool: {}", settings);
+    }
+
+    private static ScheduledExecutorService getEvictor() {
+        synchronized (EVICTOR_LOCK) {
+            if (evictor == null) {
+                evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    val thread = new Thread(r, "pac4j-saml-connection-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return evictor;
+        }
+    }
+
+    private static TimeValue toTimeValue(final Duration duration) {
+        return duration != null && !duration.isZero() && !duration.isNegative()
+            ? TimeValue.ofMilliseconds(duration.toMillis()) : TimeValue.NEG_ONE_MILLISECOND;
+    }
+
+    /**
+     * Get (or create) the pool for some connection settings.
+     *
+     * @param settings the connection settings
+     * @return the shared pool
+     */
+    public static SAML2HttpConnectionPool get(final Settings settings) {
+        return POOLS.computeIfAbsent(settings, SAML2HttpConnectionPool::new);
+    }
+
+    /**
+     * All the shared pools.
+     *
+     * @return the shared pools
+     */
+    public static Collection<SAML2HttpConnectionPool> getPools() {
+        return Collections.unmodifiableCollection(POOLS.values());
+    }
+
+    /**
+     * Close all the shared pools and stop the eviction thread.
+     */
+    public static void closeAll() {
+        for (val pool : new ArrayList<>(POOLS.values())) {
+            pool.close();
+        }
+        synchronized (EVICTOR_LOCK) {
+            if (evictor != null) {
+                evictor.shutdownNow();
+                evictor = null;
+            }
+        }
+    }
+
+    /**
+     * Close the idle and expired connections.
+     */
+    public void evict() {
+        connectionManager.closeExpired();
+        if (settings.idleTimeout() != null) {
+            connectionManager.closeIdle(TimeValue.ofMilliseconds(settings.idleTimeout().toMillis()));
+        }
+    }
+
+    /**
+     * Close this pool and its connections: the clients using it can no longer be used.
+     */
+    @Override
+    public void close() {
+        POOLS.remove(settings, this);
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        connectionManager.close(CloseMode.GRACEFUL);
+        LOGGER.debug("Closed shared SAML HTTP connection pool: {}", settings);
+    }
+
+    /**
+     * The statistics of the whole pool (leased, pending, available and max connections).
+     *
+     * @return the pool statistics
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * The statistics per route (target host).
+     *
+     * @return the pool statistics by route
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        final Map<String, PoolStats> stats = new LinkedHashMap<>();
+        for (val route : connectionManager.getRoutes()) {
+            stats.put(route.toString(), connectionManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * The settings identifying a shared pool.
+     *
+     * @param maxConnectionsTotal the maximum number of connections
+     * @param maxConnectionsPerRoute the maximum number of connections per route
+     * @param connectionTimeout the connection timeout
+     * @param socketTimeout the socket timeout
+     * @param connectionTimeToLive the maximum lifetime of a connection
+     * @param idleTimeout the time after which an idle connection is closed
+     * @param useSystemProperties whether the system properties (TLS, proxy) are used
+     */
+    public record Settings(int maxConnectionsTotal, int maxConnectionsPerRoute, Duration connectionTimeout,
+                           Duration socketTimeout, Duration connectionTimeToLive, Duration idleTimeout,
+                           boolean useSystemProperties) {}
+}
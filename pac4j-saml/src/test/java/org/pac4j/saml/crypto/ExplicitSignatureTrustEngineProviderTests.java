@@ -0,0 +1,63 @@
+package org.pac4j.saml.crypto;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.xmlsec.signature.support.SignatureTrustEngine;
+import org.pac4j.saml.metadata.SAML2MetadataResolver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link ExplicitSignatureTrustEngineProvider}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class ExplicitSignatureTrustEngineProviderTests {
+
+    @Test
+    public void testTrustEngineCachedUntilMetadataChange() {
+        val idpMetadataResolver = mock(SAML2MetadataResolver.class);
+        val spMetadataResolver = mock(SAML2MetadataResolver.class);
+        val spResolver = mock(MetadataResolver.class);
+        when(idpMetadataResolver.resolve()).thenReturn(mock(MetadataResolver.class));
+        when(spMetadataResolver.resolve()).thenReturn(spResolver);
+
+        val nbBuilds = new AtomicInteger();
+        val provider = new ExplicitSignatureTrustEngineProvider(idpMetadataResolver, spMetadataResolver) {
+            @Override
+            protected SignatureTrustEngine buildTrustEngine(final MetadataResolver idpResolver, final MetadataResolver spResolver) {
+                nbBuilds.incrementAndGet();
+                return mock(SignatureTrustEngine.class);
+            }
+        };
+
+        val engine = provider.build();
+        assertSame(engine, provider.build());
+        assertEquals(1, nbBuilds.get());
+
+        // idp metadata reloaded
+        when(idpMetadataResolver.resolve()).thenReturn(mock(MetadataResolver.class));
+        val newEngine = provider.build();
+        assertNotSame(engine, newEngine);
+        assertSame(newEngine, provider.build());
+        assertEquals(2, nbBuilds.get());
+    }
+
+    @Test
+    public void testLogOnlyTrustEngineCachedUntilWrappedChange() {
+        val wrapped = mock(SAML2SignatureTrustEngineProvider.class);
+        when(wrapped.build()).thenReturn(mock(SignatureTrustEngine.class));
+        val provider = new LogOnlySignatureTrustEngineProvider(wrapped);
+
+        val engine = provider.build();
+        assertSame(engine, provider.build());
+
+        when(wrapped.build()).thenReturn(mock(SignatureTrustEngine.class));
+        assertNotSame(engine, provider.build());
+    }
+}
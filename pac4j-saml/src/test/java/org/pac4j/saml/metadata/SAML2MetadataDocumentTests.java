@@ -0,0 +1,48 @@
+package org.pac4j.saml.metadata;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link SAML2MetadataDocument}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class SAML2MetadataDocumentTests {
+
+    private static final String METADATA = "<md:EntityDescriptor entityID=\"sp\"/>";
+
+    @Test
+    public void testContent() throws IOException {
+        val document = new SAML2MetadataDocument(METADATA, 1_234_567L);
+        val out = new ByteArrayOutputStream();
+        document.writeTo(out);
+
+        assertEquals(METADATA, out.toString(StandardCharsets.UTF_8));
+        assertEquals(METADATA.length(), document.getLength());
+        assertTrue(document.asByteBuffer().isReadOnly());
+        assertEquals(1_234_000L, document.getLastModified());
+        assertEquals(document.getEtag(), new SAML2MetadataDocument(METADATA).getEtag());
+        assertNotEquals(document.getEtag(), new SAML2MetadataDocument(METADATA + " ").getEtag());
+    }
+
+    @Test
+    public void testNotModified() {
+        val document = new SAML2MetadataDocument(METADATA, 1_234_567L);
+
+        assertTrue(document.isNotModified(document.getEtag(), -1));
+        assertTrue(document.isNotModified("\"other\", W/" + document.getEtag(), -1));
+        assertTrue(document.isNotModified("*", -1));
+        assertFalse(document.isNotModified("\"other\"", 9_999_999L));
+        assertTrue(document.isNotModified(null, 1_234_000L));
+        assertFalse(document.isNotModified(null, 1_233_999L));
+        assertFalse(document.isNotModified(null, -1));
+    }
+}
@@ -30,17 +30,17 @@ public class HazelcastSAMLMessageStoreTests implements TestsConstants {
 
     private final XMLObjectBuilderFactory builderFactory = Configuration.getBuilderFactory();
 
-    private final Map<String, String> backendMap = new HashMap<>();
+    private final Map<String, Object> backendMap = new HashMap<>();
 
     @Mock
-    private IMap<String, String> storeMapInstance;
+    private IMap<String, Object> storeMapInstance;
 
     private HazelcastSAMLMessageStore store;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(storeMapInstance.put(anyString(), anyString())).thenAnswer(ic -> {
+        when(storeMapInstance.put(anyString(), any())).thenAnswer(ic -> {
             backendMap.put(ic.getArgument(0), ic.getArgument(1));
             return ic.getArgument(0);
         });
@@ -62,8 +62,7 @@ public class HazelcastSAMLMessageStoreTests implements TestsConstants {
         message.setValue("value");
 
         store.set("id", message);
-        verify(storeMapInstance, times(1)).put(eq("id"), eq(Base64.getEncoder().encodeToString(
-                Configuration.serializeSamlObject(message).toString().getBytes(StandardCharsets.UTF_8))));
+        verify(storeMapInstance, times(1)).put(eq("id"), aryEq(Configuration.serializeSamlObjectToBytes(message, false)));
 
         assertEquals(message.getValue(), ((NameID) store.get("id").get()).getValue());
         assertNull(verify(storeMapInstance, times(1)).get(eq("id")));
@@ -72,6 +71,33 @@ public class HazelcastSAMLMessageStoreTests implements TestsConstants {
         assertTrue(store.get("id").isEmpty());
     }
 
+    @Test
+    public void setGetDeflated() {
+        @SuppressWarnings("unchecked")
+        NameID message = ((SAMLObjectBuilder<NameID>) builderFactory.getBuilder(NameID.DEFAULT_ELEMENT_NAME)).
+                buildObject();
+        message.setValue("value");
+
+        store.setDeflateMessages(true);
+        store.set("id", message);
+        verify(storeMapInstance, times(1)).put(eq("id"), aryEq(Configuration.serializeSamlObjectToBytes(message, true)));
+
+        assertEquals(message.getValue(), ((NameID) store.get("id").get()).getValue());
+    }
+
+    @Test
+    public void getLegacyBase64Message() {
+        @SuppressWarnings("unchecked")
+        NameID message = ((SAMLObjectBuilder<NameID>) builderFactory.getBuilder(NameID.DEFAULT_ELEMENT_NAME)).
+                buildObject();
+        message.setValue("value");
+
+        backendMap.put("id", Base64.getEncoder().encodeToString(
+                Configuration.serializeSamlObject(message).toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(message.getValue(), ((NameID) store.get("id").get()).getValue());
+    }
+
     @Test
     public void getEmpty() {
         assertTrue(store.get("notfound").isEmpty());
@@ -13,6 +13,7 @@ import org.pac4j.test.context.MockWebContext;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -136,6 +137,19 @@ public class Pac4jHTTPPostDecoderTest {
         decode(decoder);
     }
 
+    @Test
+    public void testDecodeTooLargeBody() {
+        val webContext = MockWebContext.create();
+
+        webContext.setRequestMethod("POST");
+        val decoder =
+            new Pac4jHTTPPostDecoder(new CallContext(webContext, new MockSessionStore()));
+        decoder.setMaxMessageSize(1000);
+        webContext.setRequestContent("SAMLResponse=" + SAML_RESPONSE);
+
+        assertThrows(MessageDecodingException.class, () -> decode(decoder));
+    }
+
     private void decode(final Pac4jHTTPPostDecoder decoder)
             throws ComponentInitializationException, MessageDecodingException {
 
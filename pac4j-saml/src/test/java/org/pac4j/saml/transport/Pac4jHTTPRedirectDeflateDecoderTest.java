@@ -4,6 +4,7 @@ import lombok.val;
 import org.junit.jupiter.api.Test;
 import org.opensaml.core.xml.util.XMLObjectSupport;
 import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.messaging.decoder.MessageDecodingException;
 import org.opensaml.saml.common.SAMLObject;
 import org.opensaml.saml.saml2.core.impl.AuthnRequestImpl;
 import org.pac4j.core.context.CallContext;
@@ -14,6 +15,7 @@ import org.pac4j.test.context.MockWebContext;
 import java.io.StringReader;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -57,6 +59,25 @@ public class Pac4jHTTPRedirectDeflateDecoderTest {
         assertTrue(decoder.getMessageContext().getMessage() instanceof AuthnRequestImpl);
     }
 
+    @Test
+    public void testDecodeTooLargeInflatedMessage() throws Exception {
+        val webContext = MockWebContext.create();
+
+        val xmlObject = XMLObjectSupport.unmarshallFromReader(Configuration.getParserPool(), new StringReader(AUTHN_REQUEST));
+
+        val encoder =
+            new Pac4jHTTPRedirectDeflateEncoder(new DefaultPac4jSAMLResponse(webContext), false);
+        val message = encoder.deflateAndBase64Encode((SAMLObject) xmlObject);
+
+        webContext.addRequestParameter("SAMLRequest", message);
+        val decoder = new Pac4jHTTPRedirectDeflateDecoder(new CallContext(webContext, new MockSessionStore()));
+        decoder.setParserPool(Configuration.getParserPool());
+        decoder.setMaxMessageSize(message.length());
+        decoder.initialize();
+
+        assertThrows(MessageDecodingException.class, decoder::decode);
+    }
+
     @Test
     public void testBuildRedirectUrlWithExistingQueryParameters() throws Exception {
         val webContext = MockWebContext.create();
@@ -0,0 +1,63 @@
+package org.pac4j.saml.util;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link SAML2HttpClientBuilder}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class SAML2HttpClientBuilderTests {
+
+    @Test
+    public void testSamePoolForSameSettings() {
+        val pool1 = SAML2HttpClientBuilder.pooled().getConnectionPool();
+        val pool2 = SAML2HttpClientBuilder.pooled().getConnectionPool();
+        assertSame(pool1, pool2);
+        assertTrue(SAML2HttpConnectionPool.getPools().contains(pool1));
+        assertEquals(100, pool1.getTotalStats().getMax());
+    }
+
+    @Test
+    public void testOtherPoolForOtherSettings() {
+        val pool1 = SAML2HttpClientBuilder.pooled().getConnectionPool();
+        val builder = SAML2HttpClientBuilder.pooled();
+        builder.setSocketTimeout(Duration.ofSeconds(5));
+        val pool2 = builder.getConnectionPool();
+        assertNotSame(pool1, pool2);
+    }
+
+    @Test
+    public void testMaxConnectionsPerRouteBoundedByTotal() {
+        val builder = SAML2HttpClientBuilder.pooled();
+        builder.setMaxConnectionsTotal(5);
+        val pool = builder.getConnectionPool();
+        assertEquals(5, pool.getSettings().maxConnectionsPerRoute());
+    }
+
+    @Test
+    public void testClosePool() {
+        val builder = SAML2HttpClientBuilder.pooled();
+        builder.setMaxConnectionsTotal(7);
+        val pool = builder.getConnectionPool();
+        pool.close();
+        assertFalse(SAML2HttpConnectionPool.getPools().contains(pool));
+        assertNotSame(pool, builder.getConnectionPool());
+
+        SAML2HttpConnectionPool.closeAll();
+        assertTrue(SAML2HttpConnectionPool.getPools().isEmpty());
+        assertNotNull(SAML2HttpClientBuilder.pooled().getConnectionPool());
+    }
+
+    @Test
+    public void testBuildPooledClient() {
+        assertNotNull(SAML2HttpClientBuilder.pooled().build());
+        assertNotNull(new SAML2HttpClientBuilder().build());
+    }
+}
@@ -1,5 +1,6 @@
 package org.pac4j.sql.profile.service;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -9,17 +10,25 @@ import org.pac4j.core.profile.definition.CommonProfileDefinition;
 import org.pac4j.core.profile.service.AbstractProfileService;
 import org.pac4j.core.util.serializer.JsonSerializer;
 import org.pac4j.sql.profile.DbProfile;
+import org.skife.jdbi.v2.CachingStatementBuilderFactory;
 import org.skife.jdbi.v2.DBI;
 import org.skife.jdbi.v2.Handle;
+import org.skife.jdbi.v2.PreparedBatch;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.pac4j.core.util.CommonHelper.assertNotBlank;
 import static org.pac4j.core.util.CommonHelper.assertNotNull;
+import static org.pac4j.core.util.CommonHelper.assertTrue;
+import static org.pac4j.core.util.Pac4jConstants.PASSWORD;
+import static org.pac4j.core.util.Pac4jConstants.USERNAME;
 
 /**
  * The DB profile service (which supersedes the DB authenticator).
@@ -29,8 +38,12 @@ import static org.pac4j.core.util.CommonHelper.assertNotNull;
  */
 @Getter
 @ToString(callSuper = true)
+@SuppressWarnings("PMD.TooManyStaticImports")
 public class DbProfileService extends AbstractProfileService<DbProfile> {
 
+    /** Constant <code>DEFAULT_BATCH_SIZE=1000</code> */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     protected DBI dbi;
 
     private String usersTable = "users";
@@ -38,6 +51,19 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
     @Setter
     private DataSource dataSource;
 
+    /** The number of rows to fetch per round trip when reading several profiles (0 for the driver default). */
+    @Setter
+    private int fetchSize;
+
+    /** The number of profiles inserted per JDBC batch (and transaction) by the bulk import. */
+    @Setter
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // the generated SQL queries by shape (type of query, key and attributes)
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Map<SqlShape, String> queries = new ConcurrentHashMap<>();
+
     /**
      * <p>Constructor for DbProfileService.</p>
      */
@@ -92,7 +118,12 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
     protected void internalInit(final boolean forceReinit) {
         assertNotNull("passwordEncoder", getPasswordEncoder());
         assertNotNull("dataSource", this.dataSource);
+        assertTrue(fetchSize >= 0, "fetchSize cannot be negative");
+        assertTrue(batchSize > 0, "batchSize must be greater than 0");
         this.dbi = new DBI(this.dataSource);
+        // reuse the prepared statements for the queries executed several times on the same handle
+        this.dbi.setStatementBuilderFactory(new CachingStatementBuilderFactory());
+        queries.clear();
 
         setProfileDefinitionIfUndefined(new CommonProfileDefinition(x -> new DbProfile()));
         setSerializer(new JsonSerializer(DbProfile.class));
@@ -103,54 +134,140 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
     /** {@inheritDoc} */
     @Override
     protected void insert(final Map<String, Object> attributes) {
-        final List<String> names = new ArrayList<>();
-        final List<String> questionMarks = new ArrayList<>();
+        final List<String> names = new ArrayList<>(attributes.keySet());
         final Collection<Object> values = new ArrayList<>();
-        for (val entry : attributes.entrySet()) {
-            names.add(entry.getKey());
-            questionMarks.add("?");
-            values.add(entry.getValue());
+        for (val name : names) {
+            values.add(attributes.get(name));
         }
 
-        val query = "insert into " + usersTable + " (" + buildAttributesList(names) + ") values ("
-            + buildAttributesList(questionMarks) + ")";
+        val query = getQuery(new SqlShape("insert", null, names), () -> {
+            final List<String> questionMarks = new ArrayList<>();
+            for (var i = 0; i < names.size(); i++) {
+                questionMarks.add("?");
+            }
+            return "insert into " + usersTable + " (" + buildAttributesList(names) + ") values ("
+                + buildAttributesList(questionMarks) + ")";
+        });
         execute(query, values.toArray());
     }
 
+    /**
+     * Create profiles with their associated passwords in the storage, using JDBC batch inserts:
+     * the profiles are inserted by batches of <code>batchSize</code> profiles, one transaction per batch.
+     *
+     * @param profiles the profiles (they can be lazily provided)
+     * @param passwordProvider the provider of the password of each profile
+     * @return the number of created profiles
+     */
+    public int createAll(final Iterable<DbProfile> profiles, final Function<DbProfile, String> passwordProvider) {
+        init();
+
+        assertNotNull("profiles", profiles);
+        assertNotNull("passwordProvider", passwordProvider);
+
+        var count = 0;
+        Handle h = null;
+        try {
+            h = dbi.open();
+            List<String> names = null;
+            PreparedBatch batch = null;
+            for (val profile : profiles) {
+                assertNotNull("profile", profile);
+                val password = passwordProvider.apply(profile);
+                assertNotBlank(PASSWORD, password);
+                assertNotBlank(ID, profile.getId());
+                assertNotBlank(USERNAME, profile.getUsername());
+
+                val attributes = convertProfileAndPasswordToAttributes(profile, password);
+                // a new batch is needed if the attributes are not the same as for the previous profiles
+                if (batch != null && (batch.size() >= batchSize || !names.equals(new ArrayList<>(attributes.keySet())))) {
+                    count += executeBatch(h, batch);
+                    batch = null;
+                }
+                if (batch == null) {
+                    names = new ArrayList<>(attributes.keySet());
+                    batch = h.prepareBatch(getNamedInsertQuery(names));
+                }
+                batch.add(attributes);
+            }
+            if (batch != null) {
+                count += executeBatch(h, batch);
+            }
+        } finally {
+            if (h != null) {
+                h.close();
+            }
+        }
+        logger.debug("{} profile(s) created", count);
+        return count;
+    }
+
+    private int executeBatch(final Handle h, final PreparedBatch batch) {
+        val size = batch.size();
+        logger.debug("Execute batch insert of {} profile(s)", size);
+        h.begin();
+        try {
+            batch.execute();
+            h.commit();
+        } catch (final RuntimeException e) {
+            h.rollback();
+            throw e;
+        }
+        return size;
+    }
+
+    private String getNamedInsertQuery(final List<String> names) {
+        return getQuery(new SqlShape("insertBatch", null, names), () -> {
+            final List<String> parameters = new ArrayList<>();
+            for (val name : names) {
+                parameters.add(":" + name);
+            }
+            return "insert into " + usersTable + " (" + buildAttributesList(names) + ") values ("
+                + buildAttributesList(parameters) + ")";
+        });
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void update(final Map<String, Object> attributes) {
-        val attributesList = new StringBuilder();
         String id = null;
+        final List<String> names = new ArrayList<>();
         final Collection<Object> values = new ArrayList<>();
-        var i = 0;
         for (val entry : attributes.entrySet()) {
             val name = entry.getKey();
             val value = entry.getValue();
             if (ID.equals(name)) {
                 id = (String) value;
             } else {
+                names.add(name);
+                values.add(value);
+            }
+        }
+
+        assertNotNull(ID, id);
+        values.add(id);
+        val query = getQuery(new SqlShape("update", getIdAttribute(), names), () -> {
+            val attributesList = new StringBuilder();
+            var i = 0;
+            for (val name : names) {
                 if (i > 0) {
                     attributesList.append(",");
                 }
                 attributesList.append(name);
                 attributesList.append("= :");
                 attributesList.append(name);
-                values.add(value);
                 i++;
             }
-        }
-
-        assertNotNull(ID, id);
-        values.add(id);
-        val query = "update " + usersTable + " set " + attributesList.toString() + " where " + getIdAttribute() + " = :id";
+            return "update " + usersTable + " set " + attributesList.toString() + " where " + getIdAttribute() + " = :id";
+        });
         execute(query, values.toArray());
     }
 
     /** {@inheritDoc} */
     @Override
     protected void deleteById(final String id) {
-        val query = "delete from " + usersTable + " where " + getIdAttribute() + " = :id";
+        val query = getQuery(new SqlShape("delete", getIdAttribute(), List.of()),
+            () -> "delete from " + usersTable + " where " + getIdAttribute() + " = :id");
         execute(query, id);
     }
 
@@ -176,12 +293,46 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
     /** {@inheritDoc} */
     @Override
     protected List<Map<String, Object>> read(final List<String> names, final String key, final String value) {
-        val attributesList = buildAttributesList(names);
-
-        val query = "select " + attributesList + " from " + usersTable + " where " + key + " = :" + key;
+        val query = getQuery(new SqlShape("select", key, names),
+            () -> "select " + buildAttributesList(names) + " from " + usersTable + " where " + key + " = :" + key);
         return query(query, key, value);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected List<Map<String, Object>> readAll(final List<String> names, final String key, final Collection<String> values) {
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        val nbValues = values.size();
+        val query = getQuery(new SqlShape("select" + nbValues, key, names), () -> {
+            final List<String> parameters = new ArrayList<>(nbValues);
+            for (var i = 0; i < nbValues; i++) {
+                parameters.add(":" + key + i);
+            }
+            return "select " + buildAttributesList(names) + " from " + usersTable + " where " + key + " in ("
+                + buildAttributesList(parameters) + ")";
+        });
+        Handle h = null;
+        try {
+            h = dbi.open();
+            logger.debug("Query: {} for key/values: {} / {}", query, key, values);
+            val q = h.createQuery(query);
+            if (fetchSize > 0) {
+                q.setFetchSize(fetchSize);
+            }
+            var i = 0;
+            for (val value : values) {
+                q.bind(key + i++, value);
+            }
+            return q.list();
+        } finally {
+            if (h != null) {
+                h.close();
+            }
+        }
+    }
+
     /**
      * <p>query.</p>
      *
@@ -195,7 +346,8 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
         try {
             h = dbi.open();
             logger.debug("Query: {} for key/value: {} / {}", query, key, value);
-            return h.createQuery(query).bind(key, value).list(2);
+            // at most two rows are needed to detect multiple accounts
+            return h.createQuery(query).bind(key, value).setMaxRows(2).list(2);
         } finally {
             if (h != null) {
                 h.close();
@@ -203,6 +355,17 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
         }
     }
 
+    /**
+     * Get the SQL query for a shape, generating it only once.
+     *
+     * @param shape the shape of the query
+     * @param generator the generator of the SQL query
+     * @return the SQL query
+     */
+    protected String getQuery(final SqlShape shape, final Supplier<String> generator) {
+        return queries.computeIfAbsent(shape, k -> generator.get());
+    }
+
     /**
      * <p>buildAttributesList.</p>
      *
@@ -230,5 +393,27 @@ public class DbProfileService extends AbstractProfileService<DbProfile> {
     public void setUsersTable(final String usersTable) {
         assertNotBlank("usersTable", usersTable);
         this.usersTable = usersTable;
+        queries.clear();
+    }
+
+    /**
+     * The shape of a SQL query: its type, key and attributes.
+     *
+     * @param type the type of query
+     * @param key the key of the query
+     * @param names the attribute names
+     */
+    protected record SqlShape(String type, String key, List<String> names) {
+
+        /**
+         * <p>Constructor for SqlShape.</p>
+         *
+         * @param type the type of query
+         * @param key the key of the query
+         * @param names the attribute names
+         */
+        public SqlShape {
+            names = List.copyOf(names);
+        }
     }
 }
@@ -0,0 +1,214 @@
+package org.pac4j.sql.store;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.store.AbstractStore;
+import org.pac4j.core.util.CommonHelper;
+import org.skife.jdbi.v2.DBI;
+import org.skife.jdbi.v2.Handle;
+import org.skife.jdbi.v2.exceptions.UnableToExecuteStatementException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Store string values in a database table, so they can be shared between the nodes of a cluster
+ * (for example, the index of the <code>DefaultSessionLogoutHandler</code>).
+ *
+ * <p>The table must have a key column (primary key), a value column and an expiration date column (in milliseconds):
+ * <code>create table pac4j_store (storekey varchar(255) primary key, storevalue varchar(1000), expiration bigint)</code>.
+ * The expired entries are ignored and can be purged via the {@link #removeExpired()} method.</p>
+ *
+ * <p>The values are saved by a single upsert statement for PostgreSQL, MySQL, MariaDB and H2, or by the
+ * <code>upsertQuery</code> if defined (with the <code>:key</code>, <code>:value</code> and <code>:expiration</code> parameters).
+ * For the other databases, the row is updated and inserted if it does not exist yet, the update being retried if the row
+ * has been inserted concurrently.</p>
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@ToString(of = {"table", "timeoutInSeconds"})
+@Slf4j
+public class DbStore extends AbstractStore<String, Object> {
+
+    private DataSource dataSource;
+
+    private String table = "pac4j_store";
+
+    private String keyColumn = "storekey";
+
+    private String valueColumn = "storevalue";
+
+    private String expirationColumn = "expiration";
+
+    private long timeoutInSeconds = 30 * 60;
+
+    private String upsertQuery;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private DBI dbi;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String selectQuery;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String insertQuery;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String updateQuery;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String upsertStatement;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String deleteQuery;
+
+    /**
+     * <p>Constructor for DbStore.</p>
+     */
+    public DbStore() {}
+
+    /**
+     * <p>Constructor for DbStore.</p>
+     *
+     * @param dataSource the data source
+     * @param timeoutInSeconds the time-to-live of the values
+     */
+    public DbStore(final DataSource dataSource, final long timeoutInSeconds) {
+        this.dataSource = dataSource;
+        this.timeoutInSeconds = timeoutInSeconds;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void internalInit(final boolean forceReinit) {
+        CommonHelper.assertNotNull("dataSource", dataSource);
+        CommonHelper.assertNotBlank("table", table);
+        CommonHelper.assertNotBlank("keyColumn", keyColumn);
+        CommonHelper.assertNotBlank("valueColumn", valueColumn);
+        CommonHelper.assertNotBlank("expirationColumn", expirationColumn);
+        CommonHelper.assertTrue(timeoutInSeconds > 0, "timeoutInSeconds must be greater than 0");
+
+        dbi = new DBI(dataSource);
+        selectQuery = "select " + valueColumn + " from " + table + " where " + keyColumn + " = :key and "
+            + expirationColumn + " > :now";
+        insertQuery = "insert into " + table + " (" + keyColumn + "," + valueColumn + "," + expirationColumn
+            + ") values (:key, :value, :expiration)";
+        updateQuery = "update " + table + " set " + valueColumn + " = :value, " + expirationColumn + " = :expiration where "
+            + keyColumn + " = :key";
+        deleteQuery = "delete from " + table + " where " + keyColumn + " = :key";
+        upsertStatement = StringUtils.isNotBlank(upsertQuery) ? upsertQuery : buildUpsertQuery(getDatabaseProductName());
+        LOGGER.debug("Upsert statement: {}", upsertStatement);
+    }
+
+    private String getDatabaseProductName() {
+        try (val connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName();
+        } catch (final SQLException e) {
+            throw new TechnicalException(e);
+        }
+    }
+
+    /**
+     * Build the upsert statement for a database.
+     *
+     * @param databaseProductName the database product name
+     * @return the upsert statement or {@code null} if the database is not supported
+     */
+    protected String buildUpsertQuery(final String databaseProductName) {
+        val columns = " (" + keyColumn + "," + valueColumn + "," + expirationColumn + ") ";
+        val values = "values (:key, :value, :expiration)";
+        if ("PostgreSQL".equalsIgnoreCase(databaseProductName)) {
+            return "insert into " + table + columns + values + " on conflict (" + keyColumn + ") do update set "
+                + valueColumn + " = excluded." + valueColumn + ", " + expirationColumn + " = excluded." + expirationColumn;
+        } else if ("MySQL".equalsIgnoreCase(databaseProductName) || "MariaDB".equalsIgnoreCase(databaseProductName)) {
+            return "insert into " + table + columns + values + " on duplicate key update "
+                + valueColumn + " = values(" + valueColumn + "), " + expirationColumn + " = values(" + expirationColumn + ")";
+        } else if ("H2".equalsIgnoreCase(databaseProductName)) {
+            return "merge into " + table + columns + "key (" + keyColumn + ") " + values;
+        }
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Optional<Object> internalGet(final String key) {
+        try (val h = dbi.open()) {
+            return Optional.ofNullable(h.createQuery(selectQuery).bind("key", key).bind("now", System.currentTimeMillis())
+                .mapTo(String.class).first());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void internalSet(final String key, final Object value) {
+        if (!(value instanceof String)) {
+            throw new TechnicalException("Only string values can be saved in the database: " + value.getClass());
+        }
+        val stringValue = (String) value;
+        val expiration = System.currentTimeMillis() + timeoutInSeconds * 1000;
+        try (val h = dbi.open()) {
+            if (upsertStatement != null) {
+                execute(h, upsertStatement, key, stringValue, expiration);
+            } else if (execute(h, updateQuery, key, stringValue, expiration) == 0) {
+                try {
+                    execute(h, insertQuery, key, stringValue, expiration);
+                } catch (final UnableToExecuteStatementException e) {
+                    // inserted in the meantime by another node
+                    if (!isConstraintViolation(e) || execute(h, updateQuery, key, stringValue, expiration) == 0) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int execute(final Handle h, final String query, final String key, final String value, final long expiration) {
+        return h.createStatement(query).bind("key", key).bind("value", value).bind("expiration", expiration).execute();
+    }
+
+    private static boolean isConstraintViolation(final UnableToExecuteStatementException e) {
+        // SQL state class 23: integrity constraint violation
+        return e.getCause() instanceof SQLException sqlException && sqlException.getSQLState() != null
+            && sqlException.getSQLState().startsWith("23");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void internalRemove(final String key) {
+        try (val h = dbi.open()) {
+            h.createStatement(deleteQuery).bind("key", key).execute();
+        }
+    }
+
+    /**
+     * Purge the expired values.
+     *
+     * @return the number of purged values
+     */
+    public int removeExpired() {
+        init();
+
+        try (val h = dbi.open()) {
+            val nb = h.createStatement("delete from " + table + " where " + expirationColumn + " <= :now")
+                .bind("now", System.currentTimeMillis()).execute();
+            LOGGER.debug("{} expired value(s) removed", nb);
+            return nb;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.skife.jdbi.v2.Handle;
 import org.skife.jdbi.v2.IDBI;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -156,6 +157,57 @@ public final class DbProfileServiceTests implements TestsConstants {
         assertEquals(0, results3.size());
     }
 
+    @Test
+    public void testFindByLinkedIds() {
+        val dbProfileService = new DbProfileService(ds, DbServer.PASSWORD_ENCODER);
+        for (var i = 0; i < 3; i++) {
+            val profile = new DbProfile();
+            profile.setId(Pac4jConstants.EMPTY_STRING + (DB_ID + i));
+            profile.setLinkedId(DB_LINKED_ID + i);
+            profile.addAttribute(USERNAME, DB_USER + i);
+            dbProfileService.create(profile, DB_PASS);
+        }
+        try {
+            val profiles = dbProfileService.findByLinkedIds(List.of(DB_LINKED_ID + 0, DB_LINKED_ID + 2, DB_LINKED_ID));
+            assertEquals(2, profiles.size());
+            assertEquals(Pac4jConstants.EMPTY_STRING + DB_ID, profiles.get(DB_LINKED_ID + 0).getId());
+            assertEquals(DB_USER + 2, profiles.get(DB_LINKED_ID + 2).getUsername());
+        } finally {
+            for (var i = 0; i < 3; i++) {
+                dbProfileService.removeById(Pac4jConstants.EMPTY_STRING + (DB_ID + i));
+            }
+        }
+    }
+
+    @Test
+    public void testCreateAll() {
+        val dbProfileService = new DbProfileService(ds, DbServer.PASSWORD_ENCODER);
+        dbProfileService.setBatchSize(2);
+        dbProfileService.setFetchSize(10);
+        final List<DbProfile> profiles = new ArrayList<>();
+        for (var i = 0; i < 5; i++) {
+            val profile = new DbProfile();
+            profile.setId(Pac4jConstants.EMPTY_STRING + (DB_ID + i));
+            profile.setLinkedId(DB_LINKED_ID + i);
+            profile.addAttribute(USERNAME, DB_USER + i);
+            profiles.add(profile);
+        }
+        try {
+            assertEquals(5, dbProfileService.createAll(profiles, p -> DB_PASS + p.getId()));
+            assertEquals(DB_LINKED_ID + 4, dbProfileService.findById(Pac4jConstants.EMPTY_STRING + (DB_ID + 4)).getLinkedId());
+            assertEquals(5, dbProfileService.findByLinkedIds(profiles.stream().map(DbProfile::getLinkedId).toList()).size());
+
+            val credentials = new UsernamePasswordCredentials(DB_USER + 3, DB_PASS + (DB_ID + 3));
+            dbProfileService.validate(null, credentials);
+            assertEquals(Pac4jConstants.EMPTY_STRING + (DB_ID + 3), credentials.getUserProfile().getId());
+        } finally {
+            for (val profile : profiles) {
+                dbProfileService.remove(profile);
+            }
+        }
+        assertEquals(0, getData(DB_ID).size());
+    }
+
     @Test
     public void testChangeUserAndPasswordAttributes() {
         alterTableChangeColumnName(USERNAME, ALT_USER_ATT);
@@ -0,0 +1,116 @@
+package org.pac4j.sql.store;
+
+import lombok.val;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.test.util.TestsConstants;
+import org.pac4j.test.util.TestsHelper;
+import org.skife.jdbi.v2.DBI;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link DbStore}.
+ *
+ * @author Jerome Leleu
+ * @since 6.6.0
+ */
+public final class DbStoreTests implements TestsConstants {
+
+    private static final DataSource ds = JdbcConnectionPool.create("jdbc:h2:mem:store", Pac4jConstants.USERNAME,
+        Pac4jConstants.PASSWORD);
+
+    @BeforeAll
+    public static void createTable() {
+        try (val h = new DBI(ds).open()) {
+            h.execute("create table pac4j_store (storekey varchar(255) primary key, storevalue varchar(1000), "
+                + "expiration bigint)");
+        }
+    }
+
+    @Test
+    public void testSetGetRemove() {
+        val store = new DbStore(ds, 60);
+        assertTrue(store.get(KEY).isEmpty());
+        store.set(KEY, VALUE);
+        assertEquals(VALUE, store.get(KEY).get());
+        store.set(KEY, NAME);
+        assertEquals(NAME, store.get(KEY).get());
+        // shared between instances (nodes)
+        assertEquals(NAME, new DbStore(ds, 60).get(KEY).get());
+        store.remove(KEY);
+        assertTrue(store.get(KEY).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentSets() throws Exception {
+        concurrentSets(new DbStore(ds, 60), "merge");
+    }
+
+    @Test
+    public void testConcurrentSetsWithoutUpsert() throws Exception {
+        val store = new DbStore(ds, 60) {
+            @Override
+            protected String buildUpsertQuery(final String databaseProductName) {
+                return null;
+            }
+        };
+        concurrentSets(store, "update");
+    }
+
+    @Test
+    public void testCustomUpsertQuery() {
+        val store = new DbStore(ds, 60);
+        store.setUpsertQuery("merge into pac4j_store (storekey, storevalue, expiration) key (storekey) "
+            + "values (:key, :value, :expiration)");
+        store.set("custom", VALUE);
+        store.set("custom", NAME);
+        assertEquals(NAME, store.get("custom").get());
+    }
+
+    private void concurrentSets(final DbStore store, final String key) throws Exception {
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (var i = 0; i < 8; i++) {
+                val value = VALUE + i;
+                futures.add(executor.submit(() -> {
+                    for (var j = 0; j < 50; j++) {
+                        store.set(key, value);
+                    }
+                }));
+            }
+            for (val future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(store.get(key).get().toString().startsWith(VALUE));
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        val store = new DbStore(ds, 1);
+        store.set(ID, VALUE);
+        Thread.sleep(1100);
+        assertTrue(store.get(ID).isEmpty());
+        assertTrue(store.removeExpired() >= 1);
+    }
+
+    @Test
+    public void testNotString() {
+        TestsHelper.expectException(() -> new DbStore(ds, 60).set(KEY, 1), TechnicalException.class,
+            "Only string values can be saved in the database: class java.lang.Integer");
+    }
+}